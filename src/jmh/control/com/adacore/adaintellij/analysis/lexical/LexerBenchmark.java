@@ -0,0 +1,371 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.*;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the Ada and GPR file lexers.
+ * <p>
+ * Every benchmark counts the tokens it analyses in an auxiliary counter,
+ * so that JMH reports a "tokens" throughput (in tokens per second) next
+ * to the primary score. When run with the `gc` profiler (the default in
+ * the `jmh` Gradle configuration), the number of bytes allocated per
+ * token is `gc.alloc.rate.norm` divided by the number of tokens analysed
+ * in one operation, which is the "tokens" throughput divided by the
+ * primary score.
+ * <p>
+ * Sources are either the concatenated test fixtures and project template
+ * GPR files (`fixtures`), or large synthetic files generated from
+ * templates covering all kinds of tokens (`synthetic`).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class LexerBenchmark {
+
+	/*
+		Constants
+	*/
+
+	/**
+	 * The resources over which to run the benchmarks: the Ada test
+	 * fixtures, and the GPR files of the project templates.
+	 */
+	private static final String[] ADA_FIXTURES = {
+		"/ada-sources/bad-syntax.adb", "/ada-sources/code-with-comments.adb",
+		"/ada-sources/delimiters.adb", "/ada-sources/empty.adb",
+		"/ada-sources/folding-test-data.ads", "/ada-sources/hello-world-mixed-case.adb",
+		"/ada-sources/hello-world.adb", "/ada-sources/keywords.adb", "/ada-sources/literals.adb"
+	};
+	private static final String[] GPR_FIXTURES = {
+		"/project-templates/ada_library_project/@_project_name_@.gpr",
+		"/project-templates/aws_web_server/@_project_name_@.gpr",
+		"/project-templates/gtkada_minimal/@_project_name_@.gpr",
+		"/project-templates/microbit_example/microbit_example.gpr",
+		"/project-templates/simple_c_project/@_project_name_@.gpr"
+	};
+
+	/**
+	 * The number of subprograms/packages in synthetic sources.
+	 */
+	private static final int SYNTHETIC_UNITS = 20_000;
+
+	/**
+	 * The number of restart points, and the number of tokens analysed
+	 * after every restart, in restart benchmarks.
+	 */
+	private static final int RESTART_POINTS = 1024;
+	private static final int RESTART_TOKENS = 16;
+
+	/*
+		Fields
+	*/
+
+	/**
+	 * The kind of source over which to run the benchmarks.
+	 */
+	@Param({ "fixtures", "synthetic" })
+	public String source;
+
+	/**
+	 * The Ada and GPR file sources.
+	 */
+	private String adaText;
+	private String gprText;
+
+	/**
+	 * The start offsets of the tokens at which to restart the Ada lexer,
+	 * and the states of the lexer at those tokens.
+	 */
+	private int[] restartOffsets;
+	private int[] restartStates;
+
+	/**
+	 * The lexers, reused across invocations as IntelliJ does.
+	 */
+	private final AdaLexer     adaLexer = new AdaLexer();
+	private final GPRFileLexer gprLexer = new GPRFileLexer();
+
+	/**
+	 * The token buffer, reused across invocations.
+	 */
+	private final TokenBuffer adaTokenBuffer = TokenBuffer.forAda();
+
+	/**
+	 * Auxiliary counters reported by JMH alongside the primary score.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class TokenCounter {
+
+		/**
+		 * The number of analysed tokens.
+		 */
+		public long tokens;
+
+		/**
+		 * Resets the counter before every iteration.
+		 */
+		@Setup(Level.Iteration)
+		public void reset() { tokens = 0; }
+
+	}
+
+	/*
+		Setup
+	*/
+
+	/**
+	 * Loads or generates the sources, and computes the restart points.
+	 *
+	 * @throws IOException If a fixture could not be read.
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+
+		if (source.equals("fixtures")) {
+			adaText = readFixtures(ADA_FIXTURES);
+			gprText = readFixtures(GPR_FIXTURES);
+		} else {
+			adaText = syntheticAdaText();
+			gprText = syntheticGPRText();
+		}
+
+		// Record the start offset and lexer state of every token, and
+		// pick restart points evenly among them
+
+		int[] offsets = new int[1024];
+		int[] states  = new int[1024];
+		int   count   = 0;
+
+		adaLexer.start(adaText, 0, adaText.length(), 0);
+
+		while (adaLexer.getTokenType() != null) {
+
+			if (count == offsets.length) {
+				offsets = Arrays.copyOf(offsets, count * 2);
+				states  = Arrays.copyOf(states, count * 2);
+			}
+
+			offsets[count] = adaLexer.getTokenStart();
+			states[count]  = adaLexer.getState();
+			count++;
+
+			adaLexer.advance();
+
+		}
+
+		restartOffsets = new int[RESTART_POINTS];
+		restartStates  = new int[RESTART_POINTS];
+
+		for (int i = 0 ; i < RESTART_POINTS ; i++) {
+			int token = count == 0 ? 0 : (int)((long)i * count / RESTART_POINTS);
+			restartOffsets[i] = count == 0 ? 0 : offsets[token];
+			restartStates[i]  = count == 0 ? 0 : states[token];
+		}
+
+	}
+
+	/*
+		Benchmarks
+	*/
+
+	/**
+	 * Analyses the whole Ada source.
+	 */
+	@Benchmark
+	public void adaFullText(TokenCounter counter, Blackhole blackhole) {
+		counter.tokens += lexAll(adaLexer, adaText, blackhole);
+	}
+
+	/**
+	 * Analyses the whole Ada source into a reused token buffer.
+	 */
+	@Benchmark
+	public void adaTokenBuffer(TokenCounter counter, Blackhole blackhole) {
+
+		adaTokenBuffer.lex(adaText);
+
+		blackhole.consume(adaTokenBuffer);
+
+		counter.tokens += adaTokenBuffer.size();
+
+	}
+
+	/**
+	 * Analyses the whole GPR file source.
+	 */
+	@Benchmark
+	public void gprFullText(TokenCounter counter, Blackhole blackhole) {
+		counter.tokens += lexAll(gprLexer, gprText, blackhole);
+	}
+
+	/**
+	 * Restarts the Ada lexer at tokens spread over the source, with the
+	 * states it had at those tokens, and analyses a few tokens after
+	 * each one, as IntelliJ does when relexing after an edit.
+	 */
+	@Benchmark
+	public void adaRestart(TokenCounter counter, Blackhole blackhole) {
+
+		int  length = adaText.length();
+		long tokens = 0;
+
+		for (int i = 0 ; i < RESTART_POINTS ; i++) {
+
+			adaLexer.start(adaText, restartOffsets[i], length, restartStates[i]);
+
+			for (int j = 0 ; j < RESTART_TOKENS && adaLexer.getTokenType() != null ; j++) {
+				blackhole.consume(adaLexer.getTokenType());
+				blackhole.consume(adaLexer.getTokenEnd());
+				adaLexer.advance();
+				tokens++;
+			}
+
+		}
+
+		counter.tokens += tokens;
+
+	}
+
+	/**
+	 * Analyses the first token of the text following every restart
+	 * point using `Lexer.firstToken`, which creates a new lexer for
+	 * every call. The text is wrapped rather than copied, so that only
+	 * the cost of `firstToken` itself is measured.
+	 */
+	@Benchmark
+	public void adaFirstToken(TokenCounter counter, Blackhole blackhole) {
+
+		for (int i = 0 ; i < RESTART_POINTS ; i++) {
+			blackhole.consume(Lexer.firstToken(CharBuffer.wrap(adaText, restartOffsets[i], adaText.length())));
+		}
+
+		counter.tokens += RESTART_POINTS;
+
+	}
+
+	/*
+		Helper Methods
+	*/
+
+	/**
+	 * Analyses the whole given text with the given lexer, and returns
+	 * the number of analysed tokens.
+	 *
+	 * @param lexer The lexer to use.
+	 * @param text The text to analyse.
+	 * @param blackhole The blackhole consuming token data.
+	 * @return The number of tokens.
+	 */
+	private static long lexAll(Lexer lexer, String text, Blackhole blackhole) {
+
+		long tokens = 0;
+
+		lexer.start(text, 0, text.length(), 0);
+
+		while (lexer.getTokenType() != null) {
+			blackhole.consume(lexer.getTokenType());
+			blackhole.consume(lexer.getTokenEnd());
+			lexer.advance();
+			tokens++;
+		}
+
+		return tokens;
+
+	}
+
+	/**
+	 * Returns the concatenated contents of the given resources.
+	 *
+	 * @param fixtures The paths of the resources.
+	 * @return The contents of the fixtures.
+	 * @throws IOException If a fixture could not be read.
+	 */
+	private static String readFixtures(String[] fixtures) throws IOException {
+
+		StringBuilder text = new StringBuilder();
+
+		for (String fixture : fixtures) {
+
+			try (
+				InputStream stream = LexerBenchmark.class.getResourceAsStream(fixture);
+				Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)
+			) {
+
+				char[] buffer = new char[8192];
+
+				for (int read = reader.read(buffer) ; read != -1 ; read = reader.read(buffer)) {
+					text.append(buffer, 0, read);
+				}
+
+			}
+
+			text.append('\n');
+
+		}
+
+		return text.toString();
+
+	}
+
+	/**
+	 * Returns a large synthetic Ada package body.
+	 *
+	 * @return The Ada source.
+	 */
+	private static String syntheticAdaText() {
+
+		StringBuilder text = new StringBuilder("with Ada.Text_IO; use Ada.Text_IO;\n\npackage body Synthetic is\n\n");
+
+		for (int i = 0 ; i < SYNTHETIC_UNITS ; i++) {
+			text.append("   -- Subprogram number ").append(i).append(", générée\n")
+				.append("   procedure Process_").append(i).append(" (Item : in out Record_Type; Count : Natural) is\n")
+				.append("      Buffer : String (1 .. 16#FF#) := (others => ' ');\n")
+				.append("      Ratio  : constant Float := 1.5E-3 * Float (Count) ** 2;\n")
+				.append("   begin\n")
+				.append("      for Index in Item.Values'Range loop\n")
+				.append("         if Item.Values (Index) /= 0 and then Index <= Count then\n")
+				.append("            Put_Line (\"Value: \" & Integer'Image (Item.Values (Index)));\n")
+				.append("         elsif Buffer (1) = 'x' then\n")
+				.append("            Item.Total := Item.Total + 1_000;\n")
+				.append("         end if;\n")
+				.append("      end loop;\n")
+				.append("   end Process_").append(i).append(";\n\n");
+		}
+
+		return text.append("end Synthetic;\n").toString();
+
+	}
+
+	/**
+	 * Returns a large synthetic GPR file.
+	 *
+	 * @return The GPR file source.
+	 */
+	private static String syntheticGPRText() {
+
+		StringBuilder text = new StringBuilder("aggregate library project Synthetic is\n\n");
+
+		for (int i = 0 ; i < SYNTHETIC_UNITS ; i++) {
+			text.append("   -- Package number ").append(i).append('\n')
+				.append("   package Compiler_").append(i).append(" is\n")
+				.append("      for Switches (\"Ada\") use (\"-g\", \"-O2\") & External_As_List (\"FLAGS\", \",\");\n")
+				.append("      case Mode is\n")
+				.append("         when \"debug\" | \"release\" => for Object_Dir use \"obj/\" & Mode;\n")
+				.append("         when others => null;\n")
+				.append("      end case;\n")
+				.append("   end Compiler_").append(i).append(";\n\n");
+		}
+
+		return text.append("end Synthetic;\n").toString();
+
+	}
+
+}
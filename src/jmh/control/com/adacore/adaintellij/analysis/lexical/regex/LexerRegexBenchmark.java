@@ -0,0 +1,173 @@
+package com.adacore.adaintellij.analysis.lexical.regex;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for lexer regexes, comparing the different ways of
+ * matching a word: computing regex derivatives directly, advancing
+ * regexes (using their cached derivatives), and running a compiled
+ * automaton. Every operation matches all the words of `WORDS` against
+ * their regexes, so scores of different benchmarks are comparable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class LexerRegexBenchmark {
+
+	/*
+		Constants
+	*/
+
+	/**
+	 * Regexes similar to the Ada lexer root regexes.
+	 */
+	private static final LexerRegex IDENTIFIER_REGEX =
+		new ConcatenationRegex(
+			new UnionRegex(new GeneralCategoryRegex("Lu"), new GeneralCategoryRegex("Ll")),
+			new ZeroOrMoreRegex(
+				UnionRegex.fromRegexes(
+					new GeneralCategoryRegex("Lu"),
+					new GeneralCategoryRegex("Ll"),
+					new GeneralCategoryRegex("Nd"),
+					new GeneralCategoryRegex("Pc")
+				)
+			)
+		);
+	private static final LexerRegex NUMERAL_REGEX =
+		new ConcatenationRegex(
+			CharacterSetRegex.fromRange('0', '9'),
+			new ZeroOrMoreRegex(
+				new ConcatenationRegex(
+					new ZeroOrOneRegex(new UnitRegex("_")),
+					CharacterSetRegex.fromRange('0', '9')
+				)
+			)
+		);
+	private static final LexerRegex STRING_LITERAL_REGEX =
+		ConcatenationRegex.fromRegexes(
+			new UnitRegex("\""),
+			new ZeroOrMoreRegex(
+				new UnionRegex(
+					new UnitRegex("\"\""),
+					CharacterSetRegex.fromRange(' ', '~')
+						.intersection(CharacterSetRegex.fromCharacters('"').complement())
+				)
+			),
+			new UnitRegex("\"")
+		);
+	private static final LexerRegex COMMENT_REGEX =
+		new ConcatenationRegex(
+			new UnitRegex("--"),
+			new ZeroOrMoreRegex(CharacterSetRegex.fromCharacters('\n', '\r').complement())
+		);
+	private static final LexerRegex PROCEDURE_KEYWORD_REGEX = new UnitRegex("procedure", 1);
+
+	/**
+	 * The words to match, and the regexes matching them.
+	 */
+	private static final String[] WORDS = {
+		"Ada_Text_IO_Put_Line", "1_000_000", "\"Hello, \"\"World\"\"!\"",
+		"-- A comment about something", "procedure"
+	};
+	private static final LexerRegex[] WORD_REGEXES = {
+		IDENTIFIER_REGEX, NUMERAL_REGEX, STRING_LITERAL_REGEX,
+		COMMENT_REGEX, PROCEDURE_KEYWORD_REGEX
+	};
+
+	/**
+	 * The automaton compiled from the regexes.
+	 */
+	private static final LexerAutomaton<String> AUTOMATON;
+
+	/*
+		Static Initializer
+	*/
+
+	static {
+
+		Map<LexerRegex, String> regexTokens = new LinkedHashMap<>();
+
+		regexTokens.put(IDENTIFIER_REGEX       , "identifier");
+		regexTokens.put(NUMERAL_REGEX          , "numeral");
+		regexTokens.put(STRING_LITERAL_REGEX   , "string");
+		regexTokens.put(COMMENT_REGEX          , "comment");
+		regexTokens.put(PROCEDURE_KEYWORD_REGEX, "procedure");
+
+		AUTOMATON = LexerAutomaton.compile(regexTokens);
+
+	}
+
+	/*
+		Benchmarks
+	*/
+
+	/**
+	 * Matches words by computing the derivatives of their regexes,
+	 * which is the cost of advancing a regex by a character the first
+	 * time (afterwards, the derivative is cached).
+	 */
+	@Benchmark
+	public void derivative(Blackhole blackhole) {
+
+		for (int i = 0 ; i < WORDS.length ; i++) {
+
+			LexerRegex regex = WORD_REGEXES[i];
+			String     word  = WORDS[i];
+
+			for (int j = 0 ; j < word.length() && regex != null ; j++) {
+				regex = regex.derivative(word.charAt(j));
+			}
+
+			blackhole.consume(regex);
+
+		}
+
+	}
+
+	/**
+	 * Matches words by advancing their regexes, using cached derivatives.
+	 */
+	@Benchmark
+	public void advanced(Blackhole blackhole) {
+
+		for (int i = 0 ; i < WORDS.length ; i++) {
+
+			LexerRegex regex = WORD_REGEXES[i];
+			String     word  = WORDS[i];
+
+			for (int j = 0 ; j < word.length() && regex != null ; j++) {
+				regex = regex.advanced(word.charAt(j));
+			}
+
+			blackhole.consume(regex);
+
+		}
+
+	}
+
+	/**
+	 * Matches words by running the automaton compiled from all regexes.
+	 */
+	@Benchmark
+	public void automaton(Blackhole blackhole) {
+
+		for (String word : WORDS) {
+
+			int state = AUTOMATON.startState();
+
+			for (int j = 0 ; j < word.length() && state != LexerAutomaton.DEAD_STATE ; j++) {
+				state = AUTOMATON.nextState(state, word.charAt(j));
+			}
+
+			blackhole.consume(state == LexerAutomaton.DEAD_STATE ? null : AUTOMATON.acceptedToken(state));
+
+		}
+
+	}
+
+}
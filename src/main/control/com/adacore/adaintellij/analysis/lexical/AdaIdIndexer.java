@@ -0,0 +1,77 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.adacore.adaintellij.file.GPRFileType;
+import com.intellij.lang.cacheBuilder.WordOccurrence;
+import com.intellij.psi.impl.cache.impl.id.IdDataConsumer;
+import com.intellij.psi.impl.cache.impl.id.IdIndexEntry;
+import com.intellij.psi.impl.cache.impl.id.IdIndexer;
+import com.intellij.psi.search.UsageSearchContext;
+import com.intellij.util.indexing.FileContent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Identifier indexer for Ada and GPR files, filling the word index
+ * with the words reported by the words scanners of these files, so
+ * that identifiers are indexed from the tokens of the Ada and GPR file
+ * lexers. Words are indexed case-insensitively by the ID data consumer.
+ *
+ * @see AdaWordsScanner
+ */
+public final class AdaIdIndexer implements IdIndexer {
+
+	/**
+	 * The version of this indexer, to be incremented whenever the
+	 * indexed words change.
+	 */
+	private static final int VERSION = 2;
+
+	/**
+	 * @see com.intellij.util.indexing.DataIndexer#map(Object)
+	 */
+	@NotNull
+	@Override
+	public Map<IdIndexEntry, Integer> map(@NotNull FileContent inputData) {
+
+		AdaWordsScanner scanner = inputData.getFileType() == GPRFileType.INSTANCE ?
+			AdaWordsScanner.forGPRFile() : AdaWordsScanner.forAda();
+
+		IdDataConsumer consumer = new IdDataConsumer();
+
+		scanner.processWords(inputData.getContentAsText(), occurrence -> {
+			consumer.addOccurrence(occurrence.getBaseText(),
+				occurrence.getStart(), occurrence.getEnd(), getOccurrenceMask(occurrence.getKind()));
+			return true;
+		});
+
+		return consumer.getResult();
+
+	}
+
+	/**
+	 * @see com.intellij.psi.impl.cache.impl.id.IdIndexer#getVersion()
+	 */
+	@Override
+	public int getVersion() { return VERSION; }
+
+	/**
+	 * Returns the search context mask of words of the given kind.
+	 *
+	 * @param kind The kind of words.
+	 * @return The search context mask of words of that kind.
+	 */
+	private static int getOccurrenceMask(@NotNull WordOccurrence.Kind kind) {
+
+		switch (kind) {
+
+			case CODE:     return UsageSearchContext.IN_CODE;
+			case COMMENTS: return UsageSearchContext.IN_COMMENTS;
+			case LITERALS: return UsageSearchContext.IN_STRINGS;
+			default:       return UsageSearchContext.IN_FOREIGN_LANGUAGES;
+
+		}
+
+	}
+
+}
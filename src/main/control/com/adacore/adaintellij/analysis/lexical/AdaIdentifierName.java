@@ -0,0 +1,431 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Case-insensitive Ada identifier name, as stored by the identifier
+ * name table: every distinct name, ignoring case, is stored once in
+ * lowercase along with its precomputed hash and a unique id, so that
+ * names can be compared by identity (or by id) and hashed without
+ * looking at their characters.
+ * Names are looked up directly in the text containing them, and looking
+ * up a name that is already in the table does not allocate.
+ * <p>
+ * The table is safe for concurrent use: lookups do not lock, and only
+ * insertions of new names are synchronized. The table only holds weak
+ * references to its names, so that it does not grow with every name
+ * ever analysed: names that are no longer referenced are collected and
+ * removed from the table on later insertions, and are given a new id if
+ * they are looked up again. Code keeping the ids of names must therefore
+ * also keep the names themselves (see `AdaIdentifierTable`).
+ */
+public final class AdaIdentifierName {
+
+	/**
+	 * The initial number of buckets of the name table.
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * The buckets of the name table, each holding a linked list of the
+	 * entries of names with the same bucket index (the number of buckets
+	 * is always a power of two), replaced by a table twice as large
+	 * whenever the number of names exceeds three quarters of the number
+	 * of buckets.
+	 */
+	private static volatile AtomicReferenceArray<Entry> buckets =
+		new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+	/**
+	 * The queue of the entries whose names have been collected, to be
+	 * removed from the name table.
+	 */
+	private static final ReferenceQueue<AdaIdentifierName> COLLECTED_ENTRIES = new ReferenceQueue<>();
+
+	/**
+	 * The number of entries in the name table.
+	 */
+	private static int size = 0;
+
+	/**
+	 * The id of the next name added to the name table.
+	 */
+	private static int nextId = 0;
+
+	/**
+	 * The name in lowercase.
+	 */
+	public final String NAME;
+
+	/**
+	 * The case-insensitive hash of the name.
+	 */
+	public final int HASH;
+
+	/**
+	 * The unique id of the name, assigned in the order in which names
+	 * are added to the table, starting at zero. Ids are never reused.
+	 */
+	public final int ID;
+
+	/**
+	 * Constructs a new identifier name.
+	 *
+	 * @param name The name in lowercase.
+	 * @param hash The hash of the name.
+	 * @param id The id of the name.
+	 */
+	private AdaIdentifierName(@NotNull String name, int hash, int id) {
+		NAME = name;
+		HASH = hash;
+		ID   = id;
+	}
+
+	/**
+	 * Returns the unique identifier name spelled by the given text,
+	 * ignoring case.
+	 *
+	 * @param text The text of the name.
+	 * @return The identifier name.
+	 */
+	@NotNull
+	public static AdaIdentifierName of(@NotNull CharSequence text) {
+		return of(text, 0, text.length());
+	}
+
+	/**
+	 * Returns the unique identifier name spelled by the given range of
+	 * the given text, ignoring case.
+	 *
+	 * @param text The text containing the name.
+	 * @param start The start offset of the name in the text.
+	 * @param end The end offset of the name in the text.
+	 * @return The identifier name.
+	 */
+	@NotNull
+	public static AdaIdentifierName of(@NotNull CharSequence text, int start, int end) {
+
+		int hash = hash(text, start, end);
+
+		AdaIdentifierName name = find(buckets, text, start, end, hash);
+
+		return name != null ? name : insert(text, start, end, hash);
+
+	}
+
+	/**
+	 * Returns whether or not the given texts spell the same identifier
+	 * name, ignoring case, without interning either of them.
+	 *
+	 * @param first The first text.
+	 * @param second The second text.
+	 * @return Whether or not the texts spell the same name.
+	 */
+	public static boolean areEqual(@NotNull CharSequence first, @NotNull CharSequence second) {
+
+		int length = first.length();
+
+		if (second.length() != length) { return false; }
+
+		for (int i = 0 ; i < length ; i++) {
+			if (Character.toLowerCase(first.charAt(i)) != Character.toLowerCase(second.charAt(i))) {
+				return false;
+			}
+		}
+
+		return true;
+
+	}
+
+	/**
+	 * Returns the given range of the given text converted to lowercase
+	 * character by character, consistently with the names of this table.
+	 *
+	 * @param text The text containing the name.
+	 * @param start The start offset of the name in the text.
+	 * @param end The end offset of the name in the text.
+	 * @return The range of text in lowercase.
+	 */
+	@NotNull
+	public static String lowercase(@NotNull CharSequence text, int start, int end) {
+
+		char[] characters = new char[end - start];
+
+		for (int i = start ; i < end ; i++) {
+			characters[i - start] = Character.toLowerCase(text.charAt(i));
+		}
+
+		return new String(characters);
+
+	}
+
+	/**
+	 * Returns the precomputed hash of this name.
+	 *
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() { return HASH; }
+
+	/**
+	 * Returns this name in lowercase.
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() { return NAME; }
+
+	/*
+		Name Table
+	*/
+
+	/**
+	 * Returns the name spelled by the given range of text in the given
+	 * buckets, or null if there is no such name.
+	 *
+	 * @param table The buckets in which to look for the name.
+	 * @param text The text containing the name.
+	 * @param start The start offset of the name in the text.
+	 * @param end The end offset of the name in the text.
+	 * @param hash The hash of the name.
+	 * @return The name, or null.
+	 */
+	private static AdaIdentifierName find(
+		@NotNull AtomicReferenceArray<Entry> table,
+		@NotNull CharSequence                text,
+		         int                         start,
+		         int                         end,
+		         int                         hash
+	) {
+
+		for (Entry entry = table.get(hash & (table.length() - 1)) ; entry != null ; entry = entry.NEXT) {
+
+			if (entry.HASH != hash) { continue; }
+
+			AdaIdentifierName name = entry.get();
+
+			if (name != null && spells(name.NAME, text, start, end)) { return name; }
+
+		}
+
+		return null;
+
+	}
+
+	/**
+	 * Inserts the name spelled by the given range of text into the
+	 * table, unless another thread inserted it first, and returns it.
+	 *
+	 * @param text The text containing the name.
+	 * @param start The start offset of the name in the text.
+	 * @param end The end offset of the name in the text.
+	 * @param hash The hash of the name.
+	 * @return The inserted or existing name.
+	 */
+	@NotNull
+	private static synchronized AdaIdentifierName insert(
+		@NotNull CharSequence text,
+		         int          start,
+		         int          end,
+		         int          hash
+	) {
+
+		AtomicReferenceArray<Entry> table = buckets;
+
+		AdaIdentifierName existing = find(table, text, start, end, hash);
+
+		if (existing != null) { return existing; }
+
+		removeCollected(table);
+
+		if (size >= table.length() / 4 * 3) {
+			table   = grow(table);
+			buckets = table;
+		}
+
+		int bucket = hash & (table.length() - 1);
+
+		AdaIdentifierName name = new AdaIdentifierName(lowercase(text, start, end), hash, nextId++);
+
+		table.set(bucket, new Entry(name, table.get(bucket)));
+
+		size++;
+
+		return name;
+
+	}
+
+	/**
+	 * Removes the entries of collected names from the given buckets.
+	 * The entries preceding a removed entry in its bucket are copied
+	 * rather than relinked, so that concurrent lookups remain correct.
+	 * Entries of previous buckets, replaced when the table grew, are
+	 * not found in the given buckets and are ignored.
+	 *
+	 * @param table The buckets from which to remove entries.
+	 */
+	private static void removeCollected(@NotNull AtomicReferenceArray<Entry> table) {
+
+		for (Reference<?> collected ; (collected = COLLECTED_ENTRIES.poll()) != null ; ) {
+
+			Entry removed = (Entry)collected;
+			int   bucket  = removed.HASH & (table.length() - 1);
+			Entry first   = table.get(bucket);
+
+			Entry entry = first;
+
+			while (entry != null && entry != removed) { entry = entry.NEXT; }
+
+			if (entry == null) { continue; }
+
+			// Copy the entries preceding the removed entry in front of
+			// the entries following it, leaving out other collected ones
+
+			Entry kept = removed.NEXT;
+
+			size--;
+
+			for (entry = first ; entry != removed ; entry = entry.NEXT) {
+
+				AdaIdentifierName name = entry.get();
+
+				if (name != null) {
+					kept = new Entry(name, kept);
+				} else {
+					size--;
+				}
+
+			}
+
+			table.set(bucket, kept);
+
+		}
+
+	}
+
+	/**
+	 * Returns a copy of the given buckets with twice as many buckets.
+	 * Entries are copied rather than relinked, so that concurrent lookups
+	 * in the given buckets remain correct, and the entries of collected
+	 * names are left out.
+	 *
+	 * @param table The buckets to copy.
+	 * @return The grown buckets.
+	 */
+	@NotNull
+	private static AtomicReferenceArray<Entry> grow(@NotNull AtomicReferenceArray<Entry> table) {
+
+		AtomicReferenceArray<Entry> grown = new AtomicReferenceArray<>(table.length() * 2);
+
+		int mask = grown.length() - 1;
+
+		size = 0;
+
+		for (int i = 0 ; i < table.length() ; i++) {
+			for (Entry entry = table.get(i) ; entry != null ; entry = entry.NEXT) {
+
+				AdaIdentifierName name = entry.get();
+
+				if (name == null) { continue; }
+
+				int bucket = entry.HASH & mask;
+
+				grown.set(bucket, new Entry(name, grown.get(bucket)));
+
+				size++;
+
+			}
+		}
+
+		return grown;
+
+	}
+
+	/**
+	 * Returns the number of entries in the name table, including the
+	 * entries of collected names that are not yet removed.
+	 *
+	 * @return The number of entries in the name table.
+	 */
+	static synchronized int tableSize() { return size; }
+
+	/**
+	 * Returns whether or not the given lowercase name is spelled by the
+	 * given range of text, ignoring case.
+	 *
+	 * @param name The name in lowercase.
+	 * @param text The text containing the name.
+	 * @param start The start offset of the name in the text.
+	 * @param end The end offset of the name in the text.
+	 * @return Whether or not the range of text spells the name.
+	 */
+	private static boolean spells(@NotNull String name, @NotNull CharSequence text, int start, int end) {
+
+		if (name.length() != end - start) { return false; }
+
+		for (int i = start ; i < end ; i++) {
+			if (Character.toLowerCase(text.charAt(i)) != name.charAt(i - start)) { return false; }
+		}
+
+		return true;
+
+	}
+
+	/**
+	 * Returns the case-insensitive hash of the given range of text.
+	 *
+	 * @param text The text containing the name.
+	 * @param start The start offset of the name in the text.
+	 * @param end The end offset of the name in the text.
+	 * @return The hash of the name.
+	 */
+	private static int hash(@NotNull CharSequence text, int start, int end) {
+
+		int hash = 0;
+
+		for (int i = start ; i < end ; i++) {
+			hash = 31 * hash + Character.toLowerCase(text.charAt(i));
+		}
+
+		// Mix the high bits into the low bits, which select the bucket
+
+		return hash ^ (hash >>> 16);
+
+	}
+
+	/**
+	 * Entry of a bucket of the name table, weakly referencing its name.
+	 */
+	private static final class Entry extends WeakReference<AdaIdentifierName> {
+
+		/**
+		 * The hash of the name of this entry, kept to find the bucket of
+		 * this entry once its name is collected.
+		 */
+		final int HASH;
+
+		/**
+		 * The next entry in the bucket of this entry, or null.
+		 */
+		final Entry NEXT;
+
+		/**
+		 * Constructs a new entry.
+		 *
+		 * @param name The name of the entry.
+		 * @param next The next entry in the bucket of the entry.
+		 */
+		Entry(@NotNull AdaIdentifierName name, Entry next) {
+			super(name, COLLECTED_ENTRIES);
+			HASH = name.HASH;
+			NEXT = next;
+		}
+
+	}
+
+}
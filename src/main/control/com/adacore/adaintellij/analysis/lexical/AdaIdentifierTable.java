@@ -0,0 +1,283 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Immutable table of the identifiers of a version of the text of an
+ * Ada document, built from the cached tokens of that document and
+ * stored as sorted arrays of primitive values: the start offsets, end
+ * offsets and name ids (see `AdaIdentifierName#ID`) of the identifiers
+ * in text order, and the indexes of the identifiers sorted by name id.
+ * Both finding the identifier at a given offset and finding all the
+ * identifiers with a given name are binary searches, which do not
+ * require the PSI tree of the document. The table keeps the distinct
+ * names of its identifiers, so that their ids remain valid for as long
+ * as the table is used.
+ */
+public final class AdaIdentifierTable {
+
+	/**
+	 * The text of the identifiers of this table.
+	 */
+	private final CharSequence TEXT;
+
+	/**
+	 * The start offsets, end offsets and name ids of the identifiers,
+	 * in text order.
+	 */
+	private final int[] STARTS;
+	private final int[] ENDS;
+	private final int[] NAME_IDS;
+
+	/**
+	 * The indexes of the identifiers, sorted by name id and then by
+	 * start offset.
+	 */
+	private final int[] BY_NAME;
+
+	/**
+	 * The distinct names of the identifiers, sorted by id, which are only
+	 * referenced to keep them in the identifier name table.
+	 */
+	private final AdaIdentifierName[] NAMES;
+
+	/**
+	 * Constructs a new identifier table.
+	 *
+	 * @param text The text of the identifiers.
+	 * @param starts The start offsets of the identifiers.
+	 * @param ends The end offsets of the identifiers.
+	 * @param names The names of the identifiers.
+	 */
+	private AdaIdentifierTable(
+		@NotNull CharSequence        text,
+		@NotNull int[]               starts,
+		@NotNull int[]               ends,
+		@NotNull AdaIdentifierName[] names
+	) {
+
+		int[] nameIds = new int[names.length];
+
+		for (int i = 0 ; i < names.length ; i++) { nameIds[i] = names[i].ID; }
+
+		TEXT     = text;
+		STARTS   = starts;
+		ENDS     = ends;
+		NAME_IDS = nameIds;
+
+		// Sort identifier indexes by name id, then by index, by sorting
+		// keys combining both in a single long value
+
+		long[] keys = new long[starts.length];
+
+		for (int i = 0 ; i < keys.length ; i++) {
+			keys[i] = ((long)nameIds[i] << 32) | i;
+		}
+
+		Arrays.sort(keys);
+
+		BY_NAME = new int[keys.length];
+
+		for (int i = 0 ; i < keys.length ; i++) { BY_NAME[i] = (int)keys[i]; }
+
+		// Keep the first name of every run of identifiers with the same
+		// name id
+
+		AdaIdentifierName[] distinctNames = new AdaIdentifierName[names.length];
+
+		int distinct = 0;
+
+		for (int i = 0 ; i < BY_NAME.length ; i++) {
+			if (i == 0 || nameIds[BY_NAME[i]] != nameIds[BY_NAME[i - 1]]) {
+				distinctNames[distinct++] = names[BY_NAME[i]];
+			}
+		}
+
+		NAMES = Arrays.copyOf(distinctNames, distinct);
+
+	}
+
+	/**
+	 * Returns the identifier table of the current text of the given
+	 * document, built from (and kept in step with) its cached tokens.
+	 *
+	 * @param document The Ada document.
+	 * @return The identifier table of the document.
+	 */
+	@NotNull
+	public static AdaIdentifierTable forDocument(@NotNull Document document) {
+		return AdaTokenCache.forDocument(document).identifiers(document.getImmutableCharSequence());
+	}
+
+	/**
+	 * Builds the identifier table of the given tokens.
+	 *
+	 * @param text The text of the tokens.
+	 * @param types The token types.
+	 * @param starts The token start offsets.
+	 * @param size The number of tokens, the end offset of a token being
+	 *             the start offset of the next one (or the length of the
+	 *             text for the last one).
+	 * @return The identifier table of the tokens.
+	 */
+	@NotNull
+	static AdaIdentifierTable build(
+		@NotNull CharSequence   text,
+		@NotNull IElementType[] types,
+		@NotNull int[]          starts,
+		         int            size
+	) {
+
+		int count = 0;
+
+		for (int i = 0 ; i < size ; i++) {
+			if (types[i] == AdaTokenTypes.IDENTIFIER) { count++; }
+		}
+
+		int[] identifierStarts = new int[count];
+		int[] identifierEnds   = new int[count];
+
+		AdaIdentifierName[] names = new AdaIdentifierName[count];
+
+		int index = 0;
+
+		for (int i = 0 ; i < size ; i++) {
+
+			if (types[i] != AdaTokenTypes.IDENTIFIER) { continue; }
+
+			int start = starts[i];
+			int end   = i + 1 < size ? starts[i + 1] : text.length();
+
+			identifierStarts[index] = start;
+			identifierEnds[index]   = end;
+			names[index]            = AdaIdentifierName.of(text, start, end);
+
+			index++;
+
+		}
+
+		return new AdaIdentifierTable(text, identifierStarts, identifierEnds, names);
+
+	}
+
+	/**
+	 * Returns the text of the identifiers of this table.
+	 *
+	 * @return The text of this table.
+	 */
+	@NotNull
+	public CharSequence getText() { return TEXT; }
+
+	/**
+	 * Returns the number of identifiers in this table.
+	 *
+	 * @return The number of identifiers.
+	 */
+	public int size() { return STARTS.length; }
+
+	/**
+	 * Returns the start offset of the identifier at the given index.
+	 *
+	 * @param index The index of the identifier.
+	 * @return The start offset of the identifier.
+	 */
+	public int start(int index) { return STARTS[index]; }
+
+	/**
+	 * Returns the end offset of the identifier at the given index.
+	 *
+	 * @param index The index of the identifier.
+	 * @return The end offset of the identifier.
+	 */
+	public int end(int index) { return ENDS[index]; }
+
+	/**
+	 * Returns the name id of the identifier at the given index.
+	 *
+	 * @param index The index of the identifier.
+	 * @return The name id of the identifier.
+	 */
+	public int nameId(int index) { return NAME_IDS[index]; }
+
+	/**
+	 * Returns the name of the identifier at the given index.
+	 *
+	 * @param index The index of the identifier.
+	 * @return The name of the identifier.
+	 */
+	@NotNull
+	public AdaIdentifierName name(int index) {
+		return AdaIdentifierName.of(TEXT, STARTS[index], ENDS[index]);
+	}
+
+	/**
+	 * Returns the index of the identifier containing the given offset,
+	 * or -1 if no identifier contains that offset.
+	 *
+	 * @param offset The offset in the text of this table.
+	 * @return The index of the identifier at the offset, or -1.
+	 */
+	public int indexAt(int offset) {
+
+		int index = Arrays.binarySearch(STARTS, offset);
+
+		if (index >= 0) { return index; }
+
+		index = -index - 2;
+
+		return index >= 0 && offset < ENDS[index] ? index : -1;
+
+	}
+
+	/**
+	 * Returns the indexes of all the identifiers with the given name,
+	 * in text order.
+	 *
+	 * @param name The name of the identifiers to find.
+	 * @return The indexes of the identifiers with that name.
+	 */
+	@NotNull
+	public int[] indexesOf(@NotNull AdaIdentifierName name) {
+
+		int from = firstByName(name.ID);
+		int to   = firstByName(name.ID + 1);
+
+		return Arrays.copyOfRange(BY_NAME, from, to);
+
+	}
+
+	/**
+	 * Returns the position, in the identifier indexes sorted by name,
+	 * of the first identifier whose name id is greater than or equal to
+	 * the given one.
+	 *
+	 * @param nameId The name id.
+	 * @return The position of the first identifier with that name id
+	 *         or a greater one.
+	 */
+	private int firstByName(int nameId) {
+
+		int low  = 0;
+		int high = BY_NAME.length;
+
+		while (low < high) {
+
+			int middle = (low + high) >>> 1;
+
+			if (NAME_IDS[BY_NAME[middle]] < nameId) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+
+		}
+
+		return low;
+
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.adacore.adaintellij.AdaLanguage;
+import com.adacore.adaintellij.file.GPRFileType;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.search.IndexPatternBuilder;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Index pattern builder for Ada and GPR files, through which patterns
+ * such as TODO items are looked for in the comments found by the Ada
+ * and GPR file lexers.
+ */
+public final class AdaIndexPatternBuilder implements IndexPatternBuilder {
+
+	/**
+	 * The length of the comment delimiter (`--`) of Ada and GPR files.
+	 */
+	private static final int COMMENT_START_DELTA = 2;
+
+	/**
+	 * @see com.intellij.psi.impl.search.IndexPatternBuilder#getIndexingLexer(PsiFile)
+	 */
+	@Nullable
+	@Override
+	public com.intellij.lexer.Lexer getIndexingLexer(@NotNull PsiFile file) {
+		return isGPRFile(file) ? new GPRFileLexer() :
+			file.getLanguage() == AdaLanguage.INSTANCE ? new AdaLexer() : null;
+	}
+
+	/**
+	 * @see com.intellij.psi.impl.search.IndexPatternBuilder#getCommentTokenSet(PsiFile)
+	 */
+	@Nullable
+	@Override
+	public TokenSet getCommentTokenSet(@NotNull PsiFile file) {
+		return isGPRFile(file) ? GPRFileTokenTypes.COMMENT_TOKEN_SET :
+			file.getLanguage() == AdaLanguage.INSTANCE ? AdaTokenTypes.COMMENT_TOKEN_SET : null;
+	}
+
+	/**
+	 * @see com.intellij.psi.impl.search.IndexPatternBuilder#getCommentStartDelta(IElementType)
+	 */
+	@Override
+	public int getCommentStartDelta(IElementType tokenType) { return COMMENT_START_DELTA; }
+
+	/**
+	 * @see com.intellij.psi.impl.search.IndexPatternBuilder#getCommentEndDelta(IElementType)
+	 */
+	@Override
+	public int getCommentEndDelta(IElementType tokenType) { return 0; }
+
+	/**
+	 * Returns whether or not the given file is a GPR file.
+	 *
+	 * @param file The file to check.
+	 * @return Whether or not the file is a GPR file.
+	 */
+	private static boolean isGPRFile(@NotNull PsiFile file) {
+		return file.getFileType() == GPRFileType.INSTANCE;
+	}
+
+}
@@ -5,10 +5,8 @@ import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import static com.adacore.adaintellij.analysis.lexical.AdaTokenTypes.*;
 
@@ -21,438 +19,380 @@ public final class AdaLexer extends Lexer {
 		Constants
 	*/
 
-	// Delimiters
-
 	/**
-	 * Unit regexes for matching Ada single delimiters.
+	 * Regexes of the Ada lexer (see `Lexer.Regexes`), from which its
+	 * automaton is compiled when it is not loaded from its resource.
 	 */
-	private static final LexerRegex AMPERSAND_REGEX         = new UnitRegex(AMPERSAND.TOKEN_TEXT);
-	private static final LexerRegex APOSTROPHE_REGEX        = new UnitRegex(APOSTROPHE.TOKEN_TEXT);
-	private static final LexerRegex LEFT_PARENTHESIS_REGEX  = new UnitRegex(LEFT_PARENTHESIS.TOKEN_TEXT);
-	private static final LexerRegex RIGHT_PARENTHESIS_REGEX = new UnitRegex(RIGHT_PARENTHESIS.TOKEN_TEXT);
-	private static final LexerRegex SPEECH_MARK_REGEX 		= new UnitRegex(SPEECH_MARK.TOKEN_TEXT);
-	private static final LexerRegex ASTERISK_REGEX          = new UnitRegex(ASTERISK.TOKEN_TEXT);
-	private static final LexerRegex PLUS_SIGN_REGEX         = new UnitRegex(PLUS_SIGN.TOKEN_TEXT);
-	private static final LexerRegex COMMA_REGEX             = new UnitRegex(COMMA.TOKEN_TEXT);
-	private static final LexerRegex HYPHEN_MINUS_REGEX      = new UnitRegex(HYPHEN_MINUS.TOKEN_TEXT);
-	private static final LexerRegex FULL_STOP_REGEX         = new UnitRegex(FULL_STOP.TOKEN_TEXT);
-	private static final LexerRegex SOLIDUS_REGEX           = new UnitRegex(SOLIDUS.TOKEN_TEXT);
-	private static final LexerRegex COLON_REGEX             = new UnitRegex(COLON.TOKEN_TEXT);
-	private static final LexerRegex SEMICOLON_REGEX         = new UnitRegex(SEMICOLON.TOKEN_TEXT);
-	private static final LexerRegex LESS_THAN_SIGN_REGEX    = new UnitRegex(LESS_THAN_SIGN.TOKEN_TEXT);
-	private static final LexerRegex EQUALS_SIGN_REGEX       = new UnitRegex(EQUALS_SIGN.TOKEN_TEXT);
-	private static final LexerRegex GREATER_THAN_SIGN_REGEX = new UnitRegex(GREATER_THAN_SIGN.TOKEN_TEXT);
-	private static final LexerRegex VERTICAL_LINE_REGEX     = new UnitRegex(VERTICAL_LINE.TOKEN_TEXT);
+	static final class Regexes extends Lexer.Regexes {
+
+		// Delimiters
+
+		/**
+		 * Unit regexes for matching Ada single delimiters.
+		 */
+		private static final LexerRegex AMPERSAND_REGEX         = new UnitRegex(AMPERSAND.TOKEN_TEXT);
+		private static final LexerRegex APOSTROPHE_REGEX        = new UnitRegex(APOSTROPHE.TOKEN_TEXT);
+		private static final LexerRegex LEFT_PARENTHESIS_REGEX  = new UnitRegex(LEFT_PARENTHESIS.TOKEN_TEXT);
+		private static final LexerRegex RIGHT_PARENTHESIS_REGEX = new UnitRegex(RIGHT_PARENTHESIS.TOKEN_TEXT);
+		private static final LexerRegex SPEECH_MARK_REGEX 		= new UnitRegex(SPEECH_MARK.TOKEN_TEXT);
+		private static final LexerRegex ASTERISK_REGEX          = new UnitRegex(ASTERISK.TOKEN_TEXT);
+		private static final LexerRegex PLUS_SIGN_REGEX         = new UnitRegex(PLUS_SIGN.TOKEN_TEXT);
+		private static final LexerRegex COMMA_REGEX             = new UnitRegex(COMMA.TOKEN_TEXT);
+		private static final LexerRegex HYPHEN_MINUS_REGEX      = new UnitRegex(HYPHEN_MINUS.TOKEN_TEXT);
+		private static final LexerRegex FULL_STOP_REGEX         = new UnitRegex(FULL_STOP.TOKEN_TEXT);
+		private static final LexerRegex SOLIDUS_REGEX           = new UnitRegex(SOLIDUS.TOKEN_TEXT);
+		private static final LexerRegex COLON_REGEX             = new UnitRegex(COLON.TOKEN_TEXT);
+		private static final LexerRegex SEMICOLON_REGEX         = new UnitRegex(SEMICOLON.TOKEN_TEXT);
+		private static final LexerRegex LESS_THAN_SIGN_REGEX    = new UnitRegex(LESS_THAN_SIGN.TOKEN_TEXT);
+		private static final LexerRegex EQUALS_SIGN_REGEX       = new UnitRegex(EQUALS_SIGN.TOKEN_TEXT);
+		private static final LexerRegex GREATER_THAN_SIGN_REGEX = new UnitRegex(GREATER_THAN_SIGN.TOKEN_TEXT);
+		private static final LexerRegex VERTICAL_LINE_REGEX     = new UnitRegex(VERTICAL_LINE.TOKEN_TEXT);
+
+		/**
+		 * Unit regexes for matching Ada compound delimiters.
+		 */
+		private static final LexerRegex ARROW_REGEX               = new UnitRegex(ARROW.TOKEN_TEXT);
+		private static final LexerRegex DOUBLE_DOT_REGEX          = new UnitRegex(DOUBLE_DOT.TOKEN_TEXT);
+		private static final LexerRegex DOUBLE_ASTERISK_REGEX     = new UnitRegex(DOUBLE_ASTERISK.TOKEN_TEXT);
+		private static final LexerRegex ASSIGNMENT_REGEX          = new UnitRegex(ASSIGNMENT.TOKEN_TEXT);
+		private static final LexerRegex NOT_EQUAL_SIGN_REGEX      = new UnitRegex(NOT_EQUAL_SIGN.TOKEN_TEXT);
+		private static final LexerRegex GREATER_EQUAL_SIGN_REGEX  = new UnitRegex(GREATER_EQUAL_SIGN.TOKEN_TEXT);
+		private static final LexerRegex LESS_EQUAL_SIGN_REGEX     = new UnitRegex(LESS_EQUAL_SIGN.TOKEN_TEXT);
+		private static final LexerRegex LEFT_LABEL_BRACKET_REGEX  = new UnitRegex(LEFT_LABEL_BRACKET.TOKEN_TEXT);
+		private static final LexerRegex RIGHT_LABEL_BRACKET_REGEX = new UnitRegex(RIGHT_LABEL_BRACKET.TOKEN_TEXT);
+		private static final LexerRegex BOX_SIGN_REGEX            = new UnitRegex(BOX_SIGN.TOKEN_TEXT);
+
+		// Numeric Literals
+
+		/**
+		 * Regex defining a digit.
+		 * <p>
+		 * digit ::= 0 | 1 | 2 | 3 | 4 | 5 | 6 | 7 | 8 | 9
+		 */
+		private static final CharacterSetRegex DIGIT_REGEX = CharacterSetRegex.fromRange('0', '9');
+
+		/**
+		 * Regex defining a numeral (used to define numeric literals).
+		 * <p>
+		 * numeral ::= digit {[underline] digit}
+		 */
+		private static final LexerRegex NUMERAL_REGEX =
+			new ConcatenationRegex(
+				DIGIT_REGEX,
+				new ZeroOrMoreRegex(
+					new ConcatenationRegex(
+						new ZeroOrOneRegex(new UnitRegex("_")),
+						DIGIT_REGEX
+					)
+				)
+			);
+
+		/**
+		 * Regex defining an exponent (used to define numeric literals).
+		 * <p>
+		 * exponent ::= e [+] numeral | e - numeral
+		 */
+		private static final LexerRegex EXPONENT_REGEX =
+			ConcatenationRegex.fromRegexes(
+				new UnitRegex("e"),
+				UnionRegex.fromRegexes(
+					HYPHEN_MINUS_REGEX,
+					new ZeroOrOneRegex(PLUS_SIGN_REGEX)
+				),
+				NUMERAL_REGEX
+			);
+
+		// Decimal Literals
+
+		/**
+		 * Regex defining an Ada decimal literal.
+		 * <p>
+		 * decimal_literal ::= numeral [.numeral] [exponent]
+		 */
+		private static final LexerRegex DECIMAL_LITERAL_REGEX =
+			ConcatenationRegex.fromRegexes(
+				NUMERAL_REGEX,
+				new ZeroOrOneRegex(
+					new ConcatenationRegex(
+						FULL_STOP_REGEX,
+						NUMERAL_REGEX
+					)
+				),
+				new ZeroOrOneRegex(EXPONENT_REGEX)
+			);
+
+		// Based Literals
+
+		/**
+		 * Regex defining a base (used to define based literals).
+		 * <p>
+		 * base ::= numeral
+		 */
+		private static final LexerRegex BASE_REGEX = NUMERAL_REGEX;
+
+		/**
+		 * Regex defining an extended digit (hexadecimal digit).
+		 * <p>
+		 * extended_digit ::= digit | a | b | c | d | e | f
+		 */
+		private static final LexerRegex EXTENDED_DIGIT_REGEX =
+			DIGIT_REGEX.union(CharacterSetRegex.fromRange('a', 'f'));
+
+		/**
+		 * Regex defining a based numeral (used to define based literals).
+		 * <p>
+		 * based_numeral ::=
+		 *     extended_digit {[underline] extended_digit}
+		 */
+		private static final LexerRegex BASED_NUMERAL_REGEX =
+			new ConcatenationRegex(
+				EXTENDED_DIGIT_REGEX,
+				new ZeroOrMoreRegex(
+					new ConcatenationRegex(
+						new ZeroOrOneRegex(new UnitRegex("_")),
+						EXTENDED_DIGIT_REGEX
+					)
+				)
+			);
+
+		/**
+		 * Regex defining an Ada based literal.
+		 * <p>
+		 * based_literal ::=
+		 *     base # based_numeral [.based_numeral] # [exponent]
+		 */
+		private static final LexerRegex BASED_LITERAL_REGEX =
+			ConcatenationRegex.fromRegexes(
+				BASE_REGEX,
+				new UnitRegex("#"),
+				BASED_NUMERAL_REGEX,
+				new ZeroOrOneRegex(
+					new ConcatenationRegex(
+						FULL_STOP_REGEX,
+						BASED_NUMERAL_REGEX
+					)
+				),
+				new UnitRegex("#"),
+				new ZeroOrOneRegex(EXPONENT_REGEX)
+			);
+
+		// Character Literals
+
+		/**
+		 * Regex defining an Ada character literal.
+		 * <p>
+		 * character_literal ::= 'graphic_character'
+		 */
+		private static final LexerRegex CHARACTER_LITERAL_REGEX =
+			ConcatenationRegex.fromRegexes(
+				APOSTROPHE_REGEX,
+				GRAPHIC_CHARACTER_REGEX,
+				APOSTROPHE_REGEX
+			);
+
+		// Root regexes
+
+		/**
+		 * A map associating root regexes with the token types
+		 * they represent.
+		 */
+		private static final Map<LexerRegex, IElementType> REGEX_TOKEN_TYPES;
+
+		/*
+			Static Initializer
+		*/
+
+		static {
+
+			// Populate the regex -> token-type map
+
+			Map<LexerRegex, IElementType> regexTokenTypes = new LinkedHashMap<>();
+
+			regexTokenTypes.put(WHITESPACES_REGEX         , WHITESPACES);
+
+			regexTokenTypes.put(AMPERSAND_REGEX           , AMPERSAND);
+			regexTokenTypes.put(APOSTROPHE_REGEX          , APOSTROPHE);
+			regexTokenTypes.put(SPEECH_MARK_REGEX         , SPEECH_MARK);
+			regexTokenTypes.put(LEFT_PARENTHESIS_REGEX    , LEFT_PARENTHESIS);
+			regexTokenTypes.put(RIGHT_PARENTHESIS_REGEX   , RIGHT_PARENTHESIS);
+			regexTokenTypes.put(ASTERISK_REGEX            , ASTERISK);
+			regexTokenTypes.put(PLUS_SIGN_REGEX           , PLUS_SIGN);
+			regexTokenTypes.put(COMMA_REGEX               , COMMA);
+			regexTokenTypes.put(HYPHEN_MINUS_REGEX        , HYPHEN_MINUS);
+			regexTokenTypes.put(FULL_STOP_REGEX           , FULL_STOP);
+			regexTokenTypes.put(SOLIDUS_REGEX             , SOLIDUS);
+			regexTokenTypes.put(COLON_REGEX               , COLON);
+			regexTokenTypes.put(SEMICOLON_REGEX           , SEMICOLON);
+			regexTokenTypes.put(LESS_THAN_SIGN_REGEX      , LESS_THAN_SIGN);
+			regexTokenTypes.put(EQUALS_SIGN_REGEX         , EQUALS_SIGN);
+			regexTokenTypes.put(GREATER_THAN_SIGN_REGEX   , GREATER_THAN_SIGN);
+			regexTokenTypes.put(VERTICAL_LINE_REGEX       , VERTICAL_LINE);
+
+			regexTokenTypes.put(ARROW_REGEX               , ARROW);
+			regexTokenTypes.put(DOUBLE_DOT_REGEX          , DOUBLE_DOT);
+			regexTokenTypes.put(DOUBLE_ASTERISK_REGEX     , DOUBLE_ASTERISK);
+			regexTokenTypes.put(ASSIGNMENT_REGEX          , ASSIGNMENT);
+			regexTokenTypes.put(NOT_EQUAL_SIGN_REGEX      , NOT_EQUAL_SIGN);
+			regexTokenTypes.put(GREATER_EQUAL_SIGN_REGEX  , GREATER_EQUAL_SIGN);
+			regexTokenTypes.put(LESS_EQUAL_SIGN_REGEX     , LESS_EQUAL_SIGN);
+			regexTokenTypes.put(LEFT_LABEL_BRACKET_REGEX  , LEFT_LABEL_BRACKET);
+			regexTokenTypes.put(RIGHT_LABEL_BRACKET_REGEX , RIGHT_LABEL_BRACKET);
+			regexTokenTypes.put(BOX_SIGN_REGEX            , BOX_SIGN);
+
+			regexTokenTypes.put(IDENTIFIER_REGEX          , IDENTIFIER);
+			regexTokenTypes.put(DECIMAL_LITERAL_REGEX     , DECIMAL_LITERAL);
+			regexTokenTypes.put(BASED_LITERAL_REGEX       , BASED_LITERAL);
+			regexTokenTypes.put(CHARACTER_LITERAL_REGEX   , CHARACTER_LITERAL);
+			regexTokenTypes.put(STRING_LITERAL_REGEX      , STRING_LITERAL);
+
+			regexTokenTypes.put(COMMENT_REGEX             , COMMENT);
+
+			REGEX_TOKEN_TYPES = Collections.unmodifiableMap(regexTokenTypes);
 
-	/**
-	 * Unit regexes for matching Ada compound delimiters.
-	 */
-	private static final LexerRegex ARROW_REGEX               = new UnitRegex(ARROW.TOKEN_TEXT);
-	private static final LexerRegex DOUBLE_DOT_REGEX          = new UnitRegex(DOUBLE_DOT.TOKEN_TEXT);
-	private static final LexerRegex DOUBLE_ASTERISK_REGEX     = new UnitRegex(DOUBLE_ASTERISK.TOKEN_TEXT);
-	private static final LexerRegex ASSIGNMENT_REGEX          = new UnitRegex(ASSIGNMENT.TOKEN_TEXT);
-	private static final LexerRegex NOT_EQUAL_SIGN_REGEX      = new UnitRegex(NOT_EQUAL_SIGN.TOKEN_TEXT);
-	private static final LexerRegex GREATER_EQUAL_SIGN_REGEX  = new UnitRegex(GREATER_EQUAL_SIGN.TOKEN_TEXT);
-	private static final LexerRegex LESS_EQUAL_SIGN_REGEX     = new UnitRegex(LESS_EQUAL_SIGN.TOKEN_TEXT);
-	private static final LexerRegex LEFT_LABEL_BRACKET_REGEX  = new UnitRegex(LEFT_LABEL_BRACKET.TOKEN_TEXT);
-	private static final LexerRegex RIGHT_LABEL_BRACKET_REGEX = new UnitRegex(RIGHT_LABEL_BRACKET.TOKEN_TEXT);
-	private static final LexerRegex BOX_SIGN_REGEX            = new UnitRegex(BOX_SIGN.TOKEN_TEXT);
-
-	// Numeric Literals
+		}
 
-	/**
-	 * Regex defining a digit.
-	 * <p>
-	 * digit ::= 0 | 1 | 2 | 3 | 4 | 5 | 6 | 7 | 8 | 9
-	 */
-	private static final LexerRegex DIGIT_REGEX = UnionRegex.fromRange('0', '9');
+		/**
+		 * Compiles the root regexes into the automaton of the lexer.
+		 *
+		 * @return The compiled automaton.
+		 */
+		@NotNull
+		static LexerAutomaton<IElementType> compileAutomaton() {
+			return LexerAutomaton.compile(REGEX_TOKEN_TYPES, Collections.emptyList(), true);
+		}
+
+	}
+
+	// Lexer data
 
 	/**
-	 * Regex defining a numeral (used to define numeric literals).
-	 * <p>
-	 * numeral ::= digit {[underline] digit}
+	 * The automaton compiled from the root regexes.
 	 */
-	private static final LexerRegex NUMERAL_REGEX =
-		new ConcatenationRegex(
-			DIGIT_REGEX,
-			new ZeroOrMoreRegex(
-				new ConcatenationRegex(
-					new ZeroOrOneRegex(new UnitRegex("_")),
-					DIGIT_REGEX
-				)
-			)
-		);
+	private static final LexerAutomaton<IElementType> AUTOMATON;
 
 	/**
-	 * Regex defining an exponent (used to define numeric literals).
-	 * <p>
-	 * exponent ::= e [+] numeral | e - numeral
+	 * The table of Ada keywords, looked up for every scanned identifier.
 	 */
-	private static final LexerRegex EXPONENT_REGEX =
-		ConcatenationRegex.fromRegexes(
-			new UnitRegex("e"),
-			UnionRegex.fromRegexes(
-				HYPHEN_MINUS_REGEX,
-				new ZeroOrOneRegex(PLUS_SIGN_REGEX)
-			),
-			NUMERAL_REGEX
-		);
-
-	// Decimal Literals
+	private static final KeywordTable KEYWORDS;
 
 	/**
-	 * Regex defining an Ada decimal literal.
-	 * <p>
-	 * decimal_literal ::= numeral [.numeral] [exponent]
+	 * Lexer states encoding the type of the preceding token when it
+	 * affects the analysis of the next token:
+	 * - After an identifier, an apostrophe is always a separate token
+	 *   (e.g. in "Foo'Access" as opposed to the character literal "'A'")
+	 * - After an apostrophe, keywords are not recognized
+	 *   (e.g. in "Foo'Range" or "Foo'Access")
 	 */
-	private static final LexerRegex DECIMAL_LITERAL_REGEX =
-		ConcatenationRegex.fromRegexes(
-			NUMERAL_REGEX,
-			new ZeroOrOneRegex(
-				new ConcatenationRegex(
-					FULL_STOP_REGEX,
-					NUMERAL_REGEX
-				)
-			),
-			new ZeroOrOneRegex(EXPONENT_REGEX)
-		);
+	private static final int AFTER_IDENTIFIER_STATE = 1;
+	private static final int AFTER_APOSTROPHE_STATE = 2;
 
-	// Based Literals
+	/*
+		Static Initializer
+	*/
 
-	/**
-	 * Regex defining a base (used to define based literals).
-	 * <p>
-	 * base ::= numeral
-	 */
-	private static final LexerRegex BASE_REGEX = NUMERAL_REGEX;
+	static {
 
-	/**
-	 * Regex defining an extended digit (hexadecimal digit).
-	 * <p>
-	 * extended_digit ::= digit | a | b | c | d | e | f
-	 */
-	private static final LexerRegex EXTENDED_DIGIT_REGEX =
-		UnionRegex.fromRegexes(
-			DIGIT_REGEX,
-			new UnitRegex("a"),
-			new UnitRegex("b"),
-			new UnitRegex("c"),
-			new UnitRegex("d"),
-			new UnitRegex("e"),
-			new UnitRegex("f")
-		);
+		// Load the automaton, compiling it if it was not generated
 
-	/**
-	 * Regex defining a based numeral (used to define based literals).
-	 * <p>
-	 * based_numeral ::=
-	 *     extended_digit {[underline] extended_digit}
-	 */
-	private static final LexerRegex BASED_NUMERAL_REGEX =
-		new ConcatenationRegex(
-			EXTENDED_DIGIT_REGEX,
-			new ZeroOrMoreRegex(
-				new ConcatenationRegex(
-					new ZeroOrOneRegex(new UnitRegex("_")),
-					EXTENDED_DIGIT_REGEX
-				)
-			)
-		);
+		AUTOMATON = loadAutomaton(AdaLexer.class, ALL_VALID_TOKENS, Regexes::compileAutomaton);
 
-	/**
-	 * Regex defining an Ada based literal.
-	 * <p>
-	 * based_literal ::=
-	 *     base # based_numeral [.based_numeral] # [exponent]
-	 */
-	private static final LexerRegex BASED_LITERAL_REGEX =
-		ConcatenationRegex.fromRegexes(
-			BASE_REGEX,
-			new UnitRegex("#"),
-			BASED_NUMERAL_REGEX,
-			new ZeroOrOneRegex(
-				new ConcatenationRegex(
-					FULL_STOP_REGEX,
-					BASED_NUMERAL_REGEX
-				)
-			),
-			new UnitRegex("#"),
-			new ZeroOrOneRegex(EXPONENT_REGEX)
-		);
+		// Populate the keyword -> token-type map and build the keyword table
 
-	// Character Literals
+		Map<String, IElementType> keywordTokenTypes = new LinkedHashMap<>();
 
-	/**
-	 * Regex defining an Ada character literal.
-	 * <p>
-	 * character_literal ::= 'graphic_character'
-	 */
-	private static final LexerRegex CHARACTER_LITERAL_REGEX =
-		ConcatenationRegex.fromRegexes(
-			APOSTROPHE_REGEX,
-			GRAPHIC_CHARACTER_REGEX,
-			APOSTROPHE_REGEX
-		);
+		keywordTokenTypes.put(ABORT_KEYWORD.TOKEN_TEXT       , ABORT_KEYWORD);
+		keywordTokenTypes.put(ABS_KEYWORD.TOKEN_TEXT         , ABS_KEYWORD);
+		keywordTokenTypes.put(ABSTRACT_KEYWORD.TOKEN_TEXT    , ABSTRACT_KEYWORD);
+		keywordTokenTypes.put(ACCEPT_KEYWORD.TOKEN_TEXT      , ACCEPT_KEYWORD);
+		keywordTokenTypes.put(ACCESS_KEYWORD.TOKEN_TEXT      , ACCESS_KEYWORD);
+		keywordTokenTypes.put(ALIASED_KEYWORD.TOKEN_TEXT     , ALIASED_KEYWORD);
+		keywordTokenTypes.put(ALL_KEYWORD.TOKEN_TEXT         , ALL_KEYWORD);
+		keywordTokenTypes.put(AND_KEYWORD.TOKEN_TEXT         , AND_KEYWORD);
+		keywordTokenTypes.put(ARRAY_KEYWORD.TOKEN_TEXT       , ARRAY_KEYWORD);
+		keywordTokenTypes.put(AT_KEYWORD.TOKEN_TEXT          , AT_KEYWORD);
 
-	// Keywords
+		keywordTokenTypes.put(BEGIN_KEYWORD.TOKEN_TEXT       , BEGIN_KEYWORD);
+		keywordTokenTypes.put(BODY_KEYWORD.TOKEN_TEXT        , BODY_KEYWORD);
 
-	/**
-	 * Unit regexes for matching Ada keywords.
-	 */
-	private static final LexerRegex ABORT_KEYWORD_REGEX        = new UnitRegex(ABORT_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex ABS_KEYWORD_REGEX          = new UnitRegex(ABS_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex ABSTRACT_KEYWORD_REGEX     = new UnitRegex(ABSTRACT_KEYWORD.TOKEN_TEXT    , 1);
-	private static final LexerRegex ACCEPT_KEYWORD_REGEX       = new UnitRegex(ACCEPT_KEYWORD.TOKEN_TEXT      , 1);
-	private static final LexerRegex ACCESS_KEYWORD_REGEX       = new UnitRegex(ACCESS_KEYWORD.TOKEN_TEXT      , 1);
-	private static final LexerRegex ALIASED_KEYWORD_REGEX      = new UnitRegex(ALIASED_KEYWORD.TOKEN_TEXT     , 1);
-	private static final LexerRegex ALL_KEYWORD_REGEX          = new UnitRegex(ALL_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex AND_KEYWORD_REGEX          = new UnitRegex(AND_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex ARRAY_KEYWORD_REGEX        = new UnitRegex(ARRAY_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex AT_KEYWORD_REGEX           = new UnitRegex(AT_KEYWORD.TOKEN_TEXT          , 1);
-
-	private static final LexerRegex BEGIN_KEYWORD_REGEX        = new UnitRegex(BEGIN_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex BODY_KEYWORD_REGEX         = new UnitRegex(BODY_KEYWORD.TOKEN_TEXT        , 1);
-
-	private static final LexerRegex CASE_KEYWORD_REGEX         = new UnitRegex(CASE_KEYWORD.TOKEN_TEXT        , 1);
-	private static final LexerRegex CONSTANT_KEYWORD_REGEX     = new UnitRegex(CONSTANT_KEYWORD.TOKEN_TEXT    , 1);
-
-	private static final LexerRegex DECLARE_KEYWORD_REGEX      = new UnitRegex(DECLARE_KEYWORD.TOKEN_TEXT     , 1);
-	private static final LexerRegex DELAY_KEYWORD_REGEX        = new UnitRegex(DELAY_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex DELTA_KEYWORD_REGEX        = new UnitRegex(DELTA_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex DIGITS_KEYWORD_REGEX       = new UnitRegex(DIGITS_KEYWORD.TOKEN_TEXT      , 1);
-	private static final LexerRegex DO_KEYWORD_REGEX           = new UnitRegex(DO_KEYWORD.TOKEN_TEXT          , 1);
-
-	private static final LexerRegex ELSE_KEYWORD_REGEX         = new UnitRegex(ELSE_KEYWORD.TOKEN_TEXT        , 1);
-	private static final LexerRegex ELSIF_KEYWORD_REGEX        = new UnitRegex(ELSIF_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex END_KEYWORD_REGEX          = new UnitRegex(END_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex ENTRY_KEYWORD_REGEX        = new UnitRegex(ENTRY_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex EXCEPTION_KEYWORD_REGEX    = new UnitRegex(EXCEPTION_KEYWORD.TOKEN_TEXT   , 1);
-	private static final LexerRegex EXIT_KEYWORD_REGEX         = new UnitRegex(EXIT_KEYWORD.TOKEN_TEXT        , 1);
-
-	private static final LexerRegex FOR_KEYWORD_REGEX          = new UnitRegex(FOR_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex FUNCTION_KEYWORD_REGEX     = new UnitRegex(FUNCTION_KEYWORD.TOKEN_TEXT    , 1);
-
-	private static final LexerRegex GENERIC_KEYWORD_REGEX      = new UnitRegex(GENERIC_KEYWORD.TOKEN_TEXT     , 1);
-	private static final LexerRegex GOTO_KEYWORD_REGEX         = new UnitRegex(GOTO_KEYWORD.TOKEN_TEXT        , 1);
-
-	private static final LexerRegex IF_KEYWORD_REGEX           = new UnitRegex(IF_KEYWORD.TOKEN_TEXT          , 1);
-	private static final LexerRegex IN_KEYWORD_REGEX           = new UnitRegex(IN_KEYWORD.TOKEN_TEXT          , 1);
-	private static final LexerRegex INTERFACE_KEYWORD_REGEX    = new UnitRegex(INTERFACE_KEYWORD.TOKEN_TEXT   , 1);
-	private static final LexerRegex IS_KEYWORD_REGEX           = new UnitRegex(IS_KEYWORD.TOKEN_TEXT          , 1);
-
-	private static final LexerRegex LIMITED_KEYWORD_REGEX      = new UnitRegex(LIMITED_KEYWORD.TOKEN_TEXT     , 1);
-	private static final LexerRegex LOOP_KEYWORD_REGEX         = new UnitRegex(LOOP_KEYWORD.TOKEN_TEXT        , 1);
-
-	private static final LexerRegex MOD_KEYWORD_REGEX          = new UnitRegex(MOD_KEYWORD.TOKEN_TEXT         , 1);
-
-	private static final LexerRegex NEW_KEYWORD_REGEX          = new UnitRegex(NEW_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex NOT_KEYWORD_REGEX          = new UnitRegex(NOT_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex NULL_KEYWORD_REGEX         = new UnitRegex(NULL_KEYWORD.TOKEN_TEXT        , 1);
-
-	private static final LexerRegex OF_KEYWORD_REGEX           = new UnitRegex(OF_KEYWORD.TOKEN_TEXT          , 1);
-	private static final LexerRegex OR_KEYWORD_REGEX           = new UnitRegex(OR_KEYWORD.TOKEN_TEXT          , 1);
-	private static final LexerRegex OTHERS_KEYWORD_REGEX       = new UnitRegex(OTHERS_KEYWORD.TOKEN_TEXT      , 1);
-	private static final LexerRegex OUT_KEYWORD_REGEX          = new UnitRegex(OUT_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex OVERRIDING_KEYWORD_REGEX   = new UnitRegex(OVERRIDING_KEYWORD.TOKEN_TEXT  , 1);
-
-	private static final LexerRegex PACKAGE_KEYWORD_REGEX      = new UnitRegex(PACKAGE_KEYWORD.TOKEN_TEXT     , 1);
-	private static final LexerRegex PRAGMA_KEYWORD_REGEX       = new UnitRegex(PRAGMA_KEYWORD.TOKEN_TEXT      , 1);
-	private static final LexerRegex PRIVATE_KEYWORD_REGEX      = new UnitRegex(PRIVATE_KEYWORD.TOKEN_TEXT     , 1);
-	private static final LexerRegex PROCEDURE_KEYWORD_REGEX    = new UnitRegex(PROCEDURE_KEYWORD.TOKEN_TEXT   , 1);
-	private static final LexerRegex PROTECTED_KEYWORD_REGEX    = new UnitRegex(PROTECTED_KEYWORD.TOKEN_TEXT   , 1);
-
-	private static final LexerRegex RAISE_KEYWORD_REGEX        = new UnitRegex(RAISE_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex RANGE_KEYWORD_REGEX        = new UnitRegex(RANGE_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex RECORD_KEYWORD_REGEX       = new UnitRegex(RECORD_KEYWORD.TOKEN_TEXT      , 1);
-	private static final LexerRegex REM_KEYWORD_REGEX          = new UnitRegex(REM_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex RENAMES_KEYWORD_REGEX      = new UnitRegex(RENAMES_KEYWORD.TOKEN_TEXT     , 1);
-	private static final LexerRegex REQUEUE_KEYWORD_REGEX      = new UnitRegex(REQUEUE_KEYWORD.TOKEN_TEXT     , 1);
-	private static final LexerRegex RETURN_KEYWORD_REGEX       = new UnitRegex(RETURN_KEYWORD.TOKEN_TEXT      , 1);
-	private static final LexerRegex REVERSE_KEYWORD_REGEX      = new UnitRegex(REVERSE_KEYWORD.TOKEN_TEXT     , 1);
-
-	private static final LexerRegex SELECT_KEYWORD_REGEX       = new UnitRegex(SELECT_KEYWORD.TOKEN_TEXT      , 1);
-	private static final LexerRegex SEPARATE_KEYWORD_REGEX     = new UnitRegex(SEPARATE_KEYWORD.TOKEN_TEXT    , 1);
-	private static final LexerRegex SOME_KEYWORD_REGEX         = new UnitRegex(SOME_KEYWORD.TOKEN_TEXT        , 1);
-	private static final LexerRegex SUBTYPE_KEYWORD_REGEX      = new UnitRegex(SUBTYPE_KEYWORD.TOKEN_TEXT     , 1);
-	private static final LexerRegex SYNCHRONIZED_KEYWORD_REGEX = new UnitRegex(SYNCHRONIZED_KEYWORD.TOKEN_TEXT, 1);
-
-	private static final LexerRegex TAGGED_KEYWORD_REGEX       = new UnitRegex(TAGGED_KEYWORD.TOKEN_TEXT      , 1);
-	private static final LexerRegex TASK_KEYWORD_REGEX         = new UnitRegex(TASK_KEYWORD.TOKEN_TEXT        , 1);
-	private static final LexerRegex TERMINATE_KEYWORD_REGEX    = new UnitRegex(TERMINATE_KEYWORD.TOKEN_TEXT   , 1);
-	private static final LexerRegex THEN_KEYWORD_REGEX         = new UnitRegex(THEN_KEYWORD.TOKEN_TEXT        , 1);
-	private static final LexerRegex TYPE_KEYWORD_REGEX         = new UnitRegex(TYPE_KEYWORD.TOKEN_TEXT        , 1);
-
-	private static final LexerRegex UNTIL_KEYWORD_REGEX        = new UnitRegex(UNTIL_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex USE_KEYWORD_REGEX          = new UnitRegex(USE_KEYWORD.TOKEN_TEXT         , 1);
-
-	private static final LexerRegex WHEN_KEYWORD_REGEX         = new UnitRegex(WHEN_KEYWORD.TOKEN_TEXT        , 1);
-	private static final LexerRegex WHILE_KEYWORD_REGEX        = new UnitRegex(WHILE_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex WITH_KEYWORD_REGEX         = new UnitRegex(WITH_KEYWORD.TOKEN_TEXT        , 1);
-
-	private static final LexerRegex XOR_KEYWORD_REGEX          = new UnitRegex(XOR_KEYWORD.TOKEN_TEXT         , 1);
+		keywordTokenTypes.put(CASE_KEYWORD.TOKEN_TEXT        , CASE_KEYWORD);
+		keywordTokenTypes.put(CONSTANT_KEYWORD.TOKEN_TEXT    , CONSTANT_KEYWORD);
 
-	// Lexer data
+		keywordTokenTypes.put(DECLARE_KEYWORD.TOKEN_TEXT     , DECLARE_KEYWORD);
+		keywordTokenTypes.put(DELAY_KEYWORD.TOKEN_TEXT       , DELAY_KEYWORD);
+		keywordTokenTypes.put(DELTA_KEYWORD.TOKEN_TEXT       , DELTA_KEYWORD);
+		keywordTokenTypes.put(DIGITS_KEYWORD.TOKEN_TEXT      , DIGITS_KEYWORD);
+		keywordTokenTypes.put(DO_KEYWORD.TOKEN_TEXT          , DO_KEYWORD);
 
-	/**
-	 * A map associating root regexes with the token types
-	 * they represent.
-	 */
-	private static final Map<LexerRegex, IElementType> REGEX_TOKEN_TYPES;
+		keywordTokenTypes.put(ELSE_KEYWORD.TOKEN_TEXT        , ELSE_KEYWORD);
+		keywordTokenTypes.put(ELSIF_KEYWORD.TOKEN_TEXT       , ELSIF_KEYWORD);
+		keywordTokenTypes.put(END_KEYWORD.TOKEN_TEXT         , END_KEYWORD);
+		keywordTokenTypes.put(ENTRY_KEYWORD.TOKEN_TEXT       , ENTRY_KEYWORD);
+		keywordTokenTypes.put(EXCEPTION_KEYWORD.TOKEN_TEXT   , EXCEPTION_KEYWORD);
+		keywordTokenTypes.put(EXIT_KEYWORD.TOKEN_TEXT        , EXIT_KEYWORD);
 
-	/**
-	 * The set of all root regexes except keyword regexes.
-	 */
-	private static final Set<LexerRegex> NON_KEYWORD_ROOT_REGEXES;
+		keywordTokenTypes.put(FOR_KEYWORD.TOKEN_TEXT         , FOR_KEYWORD);
+		keywordTokenTypes.put(FUNCTION_KEYWORD.TOKEN_TEXT    , FUNCTION_KEYWORD);
 
-	/*
-		Static Initializer
-	*/
+		keywordTokenTypes.put(GENERIC_KEYWORD.TOKEN_TEXT     , GENERIC_KEYWORD);
+		keywordTokenTypes.put(GOTO_KEYWORD.TOKEN_TEXT        , GOTO_KEYWORD);
 
-	static {
+		keywordTokenTypes.put(IF_KEYWORD.TOKEN_TEXT          , IF_KEYWORD);
+		keywordTokenTypes.put(IN_KEYWORD.TOKEN_TEXT          , IN_KEYWORD);
+		keywordTokenTypes.put(INTERFACE_KEYWORD.TOKEN_TEXT   , INTERFACE_KEYWORD);
+		keywordTokenTypes.put(IS_KEYWORD.TOKEN_TEXT          , IS_KEYWORD);
+
+		keywordTokenTypes.put(LIMITED_KEYWORD.TOKEN_TEXT     , LIMITED_KEYWORD);
+		keywordTokenTypes.put(LOOP_KEYWORD.TOKEN_TEXT        , LOOP_KEYWORD);
+
+		keywordTokenTypes.put(MOD_KEYWORD.TOKEN_TEXT         , MOD_KEYWORD);
+
+		keywordTokenTypes.put(NEW_KEYWORD.TOKEN_TEXT         , NEW_KEYWORD);
+		keywordTokenTypes.put(NOT_KEYWORD.TOKEN_TEXT         , NOT_KEYWORD);
+		keywordTokenTypes.put(NULL_KEYWORD.TOKEN_TEXT        , NULL_KEYWORD);
+
+		keywordTokenTypes.put(OF_KEYWORD.TOKEN_TEXT          , OF_KEYWORD);
+		keywordTokenTypes.put(OR_KEYWORD.TOKEN_TEXT          , OR_KEYWORD);
+		keywordTokenTypes.put(OTHERS_KEYWORD.TOKEN_TEXT      , OTHERS_KEYWORD);
+		keywordTokenTypes.put(OUT_KEYWORD.TOKEN_TEXT         , OUT_KEYWORD);
+		keywordTokenTypes.put(OVERRIDING_KEYWORD.TOKEN_TEXT  , OVERRIDING_KEYWORD);
+
+		keywordTokenTypes.put(PACKAGE_KEYWORD.TOKEN_TEXT     , PACKAGE_KEYWORD);
+		keywordTokenTypes.put(PRAGMA_KEYWORD.TOKEN_TEXT      , PRAGMA_KEYWORD);
+		keywordTokenTypes.put(PRIVATE_KEYWORD.TOKEN_TEXT     , PRIVATE_KEYWORD);
+		keywordTokenTypes.put(PROCEDURE_KEYWORD.TOKEN_TEXT   , PROCEDURE_KEYWORD);
+		keywordTokenTypes.put(PROTECTED_KEYWORD.TOKEN_TEXT   , PROTECTED_KEYWORD);
+
+		keywordTokenTypes.put(RAISE_KEYWORD.TOKEN_TEXT       , RAISE_KEYWORD);
+		keywordTokenTypes.put(RANGE_KEYWORD.TOKEN_TEXT       , RANGE_KEYWORD);
+		keywordTokenTypes.put(RECORD_KEYWORD.TOKEN_TEXT      , RECORD_KEYWORD);
+		keywordTokenTypes.put(REM_KEYWORD.TOKEN_TEXT         , REM_KEYWORD);
+		keywordTokenTypes.put(RENAMES_KEYWORD.TOKEN_TEXT     , RENAMES_KEYWORD);
+		keywordTokenTypes.put(REQUEUE_KEYWORD.TOKEN_TEXT     , REQUEUE_KEYWORD);
+		keywordTokenTypes.put(RETURN_KEYWORD.TOKEN_TEXT      , RETURN_KEYWORD);
+		keywordTokenTypes.put(REVERSE_KEYWORD.TOKEN_TEXT     , REVERSE_KEYWORD);
 
-		// Populate the regex -> token-type map
-
-		Map<LexerRegex, IElementType> regexTokenTypes = new HashMap<>();
-
-		regexTokenTypes.put(WHITESPACES_REGEX         , WHITESPACES);
-
-		regexTokenTypes.put(AMPERSAND_REGEX           , AMPERSAND);
-		regexTokenTypes.put(APOSTROPHE_REGEX          , APOSTROPHE);
-		regexTokenTypes.put(SPEECH_MARK_REGEX         , SPEECH_MARK);
-		regexTokenTypes.put(LEFT_PARENTHESIS_REGEX    , LEFT_PARENTHESIS);
-		regexTokenTypes.put(RIGHT_PARENTHESIS_REGEX   , RIGHT_PARENTHESIS);
-		regexTokenTypes.put(ASTERISK_REGEX            , ASTERISK);
-		regexTokenTypes.put(PLUS_SIGN_REGEX           , PLUS_SIGN);
-		regexTokenTypes.put(COMMA_REGEX               , COMMA);
-		regexTokenTypes.put(HYPHEN_MINUS_REGEX        , HYPHEN_MINUS);
-		regexTokenTypes.put(FULL_STOP_REGEX           , FULL_STOP);
-		regexTokenTypes.put(SOLIDUS_REGEX             , SOLIDUS);
-		regexTokenTypes.put(COLON_REGEX               , COLON);
-		regexTokenTypes.put(SEMICOLON_REGEX           , SEMICOLON);
-		regexTokenTypes.put(LESS_THAN_SIGN_REGEX      , LESS_THAN_SIGN);
-		regexTokenTypes.put(EQUALS_SIGN_REGEX         , EQUALS_SIGN);
-		regexTokenTypes.put(GREATER_THAN_SIGN_REGEX   , GREATER_THAN_SIGN);
-		regexTokenTypes.put(VERTICAL_LINE_REGEX       , VERTICAL_LINE);
-
-		regexTokenTypes.put(ARROW_REGEX               , ARROW);
-		regexTokenTypes.put(DOUBLE_DOT_REGEX          , DOUBLE_DOT);
-		regexTokenTypes.put(DOUBLE_ASTERISK_REGEX     , DOUBLE_ASTERISK);
-		regexTokenTypes.put(ASSIGNMENT_REGEX          , ASSIGNMENT);
-		regexTokenTypes.put(NOT_EQUAL_SIGN_REGEX      , NOT_EQUAL_SIGN);
-		regexTokenTypes.put(GREATER_EQUAL_SIGN_REGEX  , GREATER_EQUAL_SIGN);
-		regexTokenTypes.put(LESS_EQUAL_SIGN_REGEX     , LESS_EQUAL_SIGN);
-		regexTokenTypes.put(LEFT_LABEL_BRACKET_REGEX  , LEFT_LABEL_BRACKET);
-		regexTokenTypes.put(RIGHT_LABEL_BRACKET_REGEX , RIGHT_LABEL_BRACKET);
-		regexTokenTypes.put(BOX_SIGN_REGEX            , BOX_SIGN);
-
-		regexTokenTypes.put(IDENTIFIER_REGEX          , IDENTIFIER);
-		regexTokenTypes.put(DECIMAL_LITERAL_REGEX     , DECIMAL_LITERAL);
-		regexTokenTypes.put(BASED_LITERAL_REGEX       , BASED_LITERAL);
-		regexTokenTypes.put(CHARACTER_LITERAL_REGEX   , CHARACTER_LITERAL);
-		regexTokenTypes.put(STRING_LITERAL_REGEX      , STRING_LITERAL);
-
-		regexTokenTypes.put(COMMENT_REGEX             , COMMENT);
-
-		regexTokenTypes.put(ABORT_KEYWORD_REGEX       , ABORT_KEYWORD);
-		regexTokenTypes.put(ABS_KEYWORD_REGEX         , ABS_KEYWORD);
-		regexTokenTypes.put(ABSTRACT_KEYWORD_REGEX    , ABSTRACT_KEYWORD);
-		regexTokenTypes.put(ACCEPT_KEYWORD_REGEX      , ACCEPT_KEYWORD);
-		regexTokenTypes.put(ACCESS_KEYWORD_REGEX      , ACCESS_KEYWORD);
-		regexTokenTypes.put(ALIASED_KEYWORD_REGEX     , ALIASED_KEYWORD);
-		regexTokenTypes.put(ALL_KEYWORD_REGEX         , ALL_KEYWORD);
-		regexTokenTypes.put(AND_KEYWORD_REGEX         , AND_KEYWORD);
-		regexTokenTypes.put(ARRAY_KEYWORD_REGEX       , ARRAY_KEYWORD);
-		regexTokenTypes.put(AT_KEYWORD_REGEX          , AT_KEYWORD);
-
-		regexTokenTypes.put(BEGIN_KEYWORD_REGEX       , BEGIN_KEYWORD);
-		regexTokenTypes.put(BODY_KEYWORD_REGEX        , BODY_KEYWORD);
-
-		regexTokenTypes.put(CASE_KEYWORD_REGEX        , CASE_KEYWORD);
-		regexTokenTypes.put(CONSTANT_KEYWORD_REGEX    , CONSTANT_KEYWORD);
-
-		regexTokenTypes.put(DECLARE_KEYWORD_REGEX     , DECLARE_KEYWORD);
-		regexTokenTypes.put(DELAY_KEYWORD_REGEX       , DELAY_KEYWORD);
-		regexTokenTypes.put(DELTA_KEYWORD_REGEX       , DELTA_KEYWORD);
-		regexTokenTypes.put(DIGITS_KEYWORD_REGEX      , DIGITS_KEYWORD);
-		regexTokenTypes.put(DO_KEYWORD_REGEX          , DO_KEYWORD);
-
-		regexTokenTypes.put(ELSE_KEYWORD_REGEX        , ELSE_KEYWORD);
-		regexTokenTypes.put(ELSIF_KEYWORD_REGEX       , ELSIF_KEYWORD);
-		regexTokenTypes.put(END_KEYWORD_REGEX         , END_KEYWORD);
-		regexTokenTypes.put(ENTRY_KEYWORD_REGEX       , ENTRY_KEYWORD);
-		regexTokenTypes.put(EXCEPTION_KEYWORD_REGEX   , EXCEPTION_KEYWORD);
-		regexTokenTypes.put(EXIT_KEYWORD_REGEX        , EXIT_KEYWORD);
-
-		regexTokenTypes.put(FOR_KEYWORD_REGEX         , FOR_KEYWORD);
-		regexTokenTypes.put(FUNCTION_KEYWORD_REGEX    , FUNCTION_KEYWORD);
-
-		regexTokenTypes.put(GENERIC_KEYWORD_REGEX     , GENERIC_KEYWORD);
-		regexTokenTypes.put(GOTO_KEYWORD_REGEX        , GOTO_KEYWORD);
-
-		regexTokenTypes.put(IF_KEYWORD_REGEX          , IF_KEYWORD);
-		regexTokenTypes.put(IN_KEYWORD_REGEX          , IN_KEYWORD);
-		regexTokenTypes.put(INTERFACE_KEYWORD_REGEX   , INTERFACE_KEYWORD);
-		regexTokenTypes.put(IS_KEYWORD_REGEX          , IS_KEYWORD);
-
-		regexTokenTypes.put(LIMITED_KEYWORD_REGEX     , LIMITED_KEYWORD);
-		regexTokenTypes.put(LOOP_KEYWORD_REGEX        , LOOP_KEYWORD);
-
-		regexTokenTypes.put(MOD_KEYWORD_REGEX         , MOD_KEYWORD);
-
-		regexTokenTypes.put(NEW_KEYWORD_REGEX         , NEW_KEYWORD);
-		regexTokenTypes.put(NOT_KEYWORD_REGEX         , NOT_KEYWORD);
-		regexTokenTypes.put(NULL_KEYWORD_REGEX        , NULL_KEYWORD);
-
-		regexTokenTypes.put(OF_KEYWORD_REGEX          , OF_KEYWORD);
-		regexTokenTypes.put(OR_KEYWORD_REGEX          , OR_KEYWORD);
-		regexTokenTypes.put(OTHERS_KEYWORD_REGEX      , OTHERS_KEYWORD);
-		regexTokenTypes.put(OUT_KEYWORD_REGEX         , OUT_KEYWORD);
-		regexTokenTypes.put(OVERRIDING_KEYWORD_REGEX  , OVERRIDING_KEYWORD);
-
-		regexTokenTypes.put(PACKAGE_KEYWORD_REGEX     , PACKAGE_KEYWORD);
-		regexTokenTypes.put(PRAGMA_KEYWORD_REGEX      , PRAGMA_KEYWORD);
-		regexTokenTypes.put(PRIVATE_KEYWORD_REGEX     , PRIVATE_KEYWORD);
-		regexTokenTypes.put(PROCEDURE_KEYWORD_REGEX   , PROCEDURE_KEYWORD);
-		regexTokenTypes.put(PROTECTED_KEYWORD_REGEX   , PROTECTED_KEYWORD);
-
-		regexTokenTypes.put(RAISE_KEYWORD_REGEX       , RAISE_KEYWORD);
-		regexTokenTypes.put(RANGE_KEYWORD_REGEX       , RANGE_KEYWORD);
-		regexTokenTypes.put(RECORD_KEYWORD_REGEX      , RECORD_KEYWORD);
-		regexTokenTypes.put(REM_KEYWORD_REGEX         , REM_KEYWORD);
-		regexTokenTypes.put(RENAMES_KEYWORD_REGEX     , RENAMES_KEYWORD);
-		regexTokenTypes.put(REQUEUE_KEYWORD_REGEX     , REQUEUE_KEYWORD);
-		regexTokenTypes.put(RETURN_KEYWORD_REGEX      , RETURN_KEYWORD);
-		regexTokenTypes.put(REVERSE_KEYWORD_REGEX     , REVERSE_KEYWORD);
-
-		regexTokenTypes.put(SELECT_KEYWORD_REGEX      , SELECT_KEYWORD);
-		regexTokenTypes.put(SEPARATE_KEYWORD_REGEX    , SEPARATE_KEYWORD);
-		regexTokenTypes.put(SOME_KEYWORD_REGEX        , SOME_KEYWORD);
-		regexTokenTypes.put(SUBTYPE_KEYWORD_REGEX     , SUBTYPE_KEYWORD);
-		regexTokenTypes.put(SYNCHRONIZED_KEYWORD_REGEX, SYNCHRONIZED_KEYWORD);
-
-		regexTokenTypes.put(TAGGED_KEYWORD_REGEX      , TAGGED_KEYWORD);
-		regexTokenTypes.put(TASK_KEYWORD_REGEX        , TASK_KEYWORD);
-		regexTokenTypes.put(TERMINATE_KEYWORD_REGEX   , TERMINATE_KEYWORD);
-		regexTokenTypes.put(THEN_KEYWORD_REGEX        , THEN_KEYWORD);
-		regexTokenTypes.put(TYPE_KEYWORD_REGEX        , TYPE_KEYWORD);
-
-		regexTokenTypes.put(UNTIL_KEYWORD_REGEX       , UNTIL_KEYWORD);
-		regexTokenTypes.put(USE_KEYWORD_REGEX         , USE_KEYWORD);
-
-		regexTokenTypes.put(WHEN_KEYWORD_REGEX        , WHEN_KEYWORD);
-		regexTokenTypes.put(WHILE_KEYWORD_REGEX       , WHILE_KEYWORD);
-		regexTokenTypes.put(WITH_KEYWORD_REGEX        , WITH_KEYWORD);
-
-		regexTokenTypes.put(XOR_KEYWORD_REGEX         , XOR_KEYWORD);
-
-		REGEX_TOKEN_TYPES = Collections.unmodifiableMap(regexTokenTypes);
-
-		// Populate the non-keyword root regex set
-
-		NON_KEYWORD_ROOT_REGEXES = REGEX_TOKEN_TYPES.keySet()
-			.stream()
-			.filter(regex -> !KEYWORD_TOKEN_SET.contains(REGEX_TOKEN_TYPES.get(regex)))
-			.collect(Collectors.toSet());
+		keywordTokenTypes.put(SELECT_KEYWORD.TOKEN_TEXT      , SELECT_KEYWORD);
+		keywordTokenTypes.put(SEPARATE_KEYWORD.TOKEN_TEXT    , SEPARATE_KEYWORD);
+		keywordTokenTypes.put(SOME_KEYWORD.TOKEN_TEXT        , SOME_KEYWORD);
+		keywordTokenTypes.put(SUBTYPE_KEYWORD.TOKEN_TEXT     , SUBTYPE_KEYWORD);
+		keywordTokenTypes.put(SYNCHRONIZED_KEYWORD.TOKEN_TEXT, SYNCHRONIZED_KEYWORD);
+
+		keywordTokenTypes.put(TAGGED_KEYWORD.TOKEN_TEXT      , TAGGED_KEYWORD);
+		keywordTokenTypes.put(TASK_KEYWORD.TOKEN_TEXT        , TASK_KEYWORD);
+		keywordTokenTypes.put(TERMINATE_KEYWORD.TOKEN_TEXT   , TERMINATE_KEYWORD);
+		keywordTokenTypes.put(THEN_KEYWORD.TOKEN_TEXT        , THEN_KEYWORD);
+		keywordTokenTypes.put(TYPE_KEYWORD.TOKEN_TEXT        , TYPE_KEYWORD);
+
+		keywordTokenTypes.put(UNTIL_KEYWORD.TOKEN_TEXT       , UNTIL_KEYWORD);
+		keywordTokenTypes.put(USE_KEYWORD.TOKEN_TEXT         , USE_KEYWORD);
+
+		keywordTokenTypes.put(WHEN_KEYWORD.TOKEN_TEXT        , WHEN_KEYWORD);
+		keywordTokenTypes.put(WHILE_KEYWORD.TOKEN_TEXT       , WHILE_KEYWORD);
+		keywordTokenTypes.put(WITH_KEYWORD.TOKEN_TEXT        , WITH_KEYWORD);
+
+		keywordTokenTypes.put(XOR_KEYWORD.TOKEN_TEXT         , XOR_KEYWORD);
+
+		KEYWORDS = new KeywordTable(keywordTokenTypes);
 
 	}
 
@@ -464,46 +404,54 @@ public final class AdaLexer extends Lexer {
 	protected IElementType badCharacterTokenType() { return BAD_CHARACTER; }
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#regexTokenTypeMap()
+	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#automaton()
 	 */
 	@NotNull
 	@Override
-	protected Map<LexerRegex, IElementType> regexTokenTypeMap() { return REGEX_TOKEN_TYPES; }
+	protected LexerAutomaton<IElementType> automaton() { return AUTOMATON; }
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#getLexingStartingRegexes()
+	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#stateAfter(IElementType)
 	 */
-	@NotNull
 	@Override
-	protected Set<LexerRegex> getLexingStartingRegexes() {
-		return getTokenType() == APOSTROPHE ?
-			NON_KEYWORD_ROOT_REGEXES : super.getLexingStartingRegexes();
+	protected int stateAfter(@NotNull IElementType tokenType) {
+		return tokenType == IDENTIFIER ? AFTER_IDENTIFIER_STATE :
+			tokenType == APOSTROPHE ? AFTER_APOSTROPHE_STATE : INITIAL_STATE;
 	}
 
 	/**
-	 * @see com.intellij.lexer.Lexer#advance()
+	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#identifierTokenType()
 	 */
+	@NotNull
 	@Override
-	public void advance() {
+	protected IElementType identifierTokenType() { return IDENTIFIER; }
 
-		// If the end of the text is reached, then call the
-		// original `advance` method to handle it properly
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#keywords()
+	 */
+	@NotNull
+	@Override
+	KeywordTable keywords() { return KEYWORDS; }
 
-		if (reachedEndOfText()) {
-			super.advance();
-			return;
-		}
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#keywordsAllowed()
+	 */
+	@Override
+	protected boolean keywordsAllowed() {
+		return state != AFTER_APOSTROPHE_STATE;
+	}
 
-		// The next character to be analysed
-		Character nextCharacter = nextCharacter();
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#lexToken()
+	 */
+	@Override
+	protected void lexToken() {
 
 		// If the next character is an apostrophe and the last token
 		// was an identifier, then immediately mark this token as an
 		// apostrophe token and return
 
-		if (nextCharacter != null && nextCharacter == '\'' && getTokenType() == IDENTIFIER) {
-
-			tokenStart = tokenEnd;
+		if (state == AFTER_IDENTIFIER_STATE && text.charAt(lexingOffset) == '\'') {
 
 			lexingOffset = tokenEnd = tokenStart + 1;
 
@@ -513,8 +461,345 @@ public final class AdaLexer extends Lexer {
 
 		}
 
-		super.advance();
+		// Try analysing the token on the ASCII fast path, and fall back
+		// to the automaton if that is not possible
+
+		if (!lexAsciiToken()) { super.lexToken(); }
+
+	}
+
+	/*
+		ASCII Fast Path
+	*/
+
+	/**
+	 * Analyses the token starting at `tokenStart` by switching directly
+	 * on its characters, which is much faster than running the automaton
+	 * and covers almost all tokens of typical (7-bit ASCII) Ada sources.
+	 * Tokens are analysed exactly as they would be by the automaton: if
+	 * a non-ASCII character is encountered where it could affect the
+	 * analysis, or if the token is of a rare or invalid kind (based
+	 * literals, unterminated string literals, bad characters...), then
+	 * nothing is analysed and false is returned.
+	 *
+	 * @return Whether the token was analysed.
+	 */
+	private boolean lexAsciiToken() {
+
+		int          offset = tokenStart;
+		char         character = text.charAt(offset++);
+		IElementType type;
+
+		switch (character) {
+
+			// Whitespaces
+
+			case ' ': case '\t': case '\n': case '\u000b': case '\f': case '\r':
+
+				while (isAsciiWhitespace(peek(offset))) { offset++; }
+
+				if (peek(offset) >= 0x80) { return false; }
+
+				type = WHITESPACES;
+
+				break;
+
+			// Identifiers and keywords
+
+			case 'a': case 'b': case 'c': case 'd': case 'e': case 'f': case 'g':
+			case 'h': case 'i': case 'j': case 'k': case 'l': case 'm': case 'n':
+			case 'o': case 'p': case 'q': case 'r': case 's': case 't': case 'u':
+			case 'v': case 'w': case 'x': case 'y': case 'z':
+			case 'A': case 'B': case 'C': case 'D': case 'E': case 'F': case 'G':
+			case 'H': case 'I': case 'J': case 'K': case 'L': case 'M': case 'N':
+			case 'O': case 'P': case 'Q': case 'R': case 'S': case 'T': case 'U':
+			case 'V': case 'W': case 'X': case 'Y': case 'Z':
+
+				while (isAsciiIdentifierCharacter(peek(offset))) { offset++; }
+
+				if (peek(offset) >= 0x80) { return false; }
+
+				type = IDENTIFIER;
+
+				if (keywordsAllowed()) {
+
+					IElementType keywordType = KEYWORDS.get(text, tokenStart, offset);
 
+					if (keywordType != null) { type = keywordType; }
+
+				}
+
+				break;
+
+			// Decimal literals
+
+			case '0': case '1': case '2': case '3': case '4':
+			case '5': case '6': case '7': case '8': case '9':
+
+				offset = numeralEnd(offset - 1);
+
+				// Based literals are rare enough to be left to the automaton
+
+				if (peek(offset) == '#') { return false; }
+
+				if (peek(offset) == '.' && isAsciiDigit(peek(offset + 1))) {
+					offset = numeralEnd(offset + 1);
+				}
+
+				offset = exponentEnd(offset);
+
+				if (peek(offset) >= 0x80) { return false; }
+
+				type = DECIMAL_LITERAL;
+
+				break;
+
+			// Character literals and apostrophes
+
+			case '\'':
+
+				int graphicCharacter = peek(offset);
+
+				if (graphicCharacter >= 0x80) { return false; }
+
+				if (isAsciiGraphicCharacter(graphicCharacter) && peek(offset + 1) == '\'') {
+					offset += 2;
+					type = CHARACTER_LITERAL;
+				} else {
+					type = APOSTROPHE;
+				}
+
+				break;
+
+			// String literals
+
+			case '"':
+
+				while (true) {
+
+					int stringCharacter = peek(offset);
+
+					if (stringCharacter == '"') {
+
+						offset++;
+
+						if (peek(offset) != '"') { break; }
+
+						offset++;
+
+					} else if (isAsciiGraphicCharacter(stringCharacter)) {
+						offset++;
+					} else {
+						return false;
+					}
+
+				}
+
+				type = STRING_LITERAL;
+
+				break;
+
+			// Comments and hyphens
+
+			case '-':
+
+				if (peek(offset) == '-') {
+
+					offset++;
+
+					while (offset < lexingEndOffset && !isEndOfLineCharacter(text.charAt(offset))) {
+						offset++;
+					}
+
+					type = COMMENT;
+
+				} else {
+					type = HYPHEN_MINUS;
+				}
+
+				break;
+
+			// Delimiters
+
+			case '&': type = AMPERSAND;         break;
+			case '(': type = LEFT_PARENTHESIS;  break;
+			case ')': type = RIGHT_PARENTHESIS; break;
+			case '+': type = PLUS_SIGN;         break;
+			case ',': type = COMMA;             break;
+			case ';': type = SEMICOLON;         break;
+			case '|': type = VERTICAL_LINE;     break;
+
+			case '*':
+				if (peek(offset) == '*') { offset++; type = DOUBLE_ASTERISK; }
+				else { type = ASTERISK; }
+				break;
+
+			case '.':
+				if (peek(offset) == '.') { offset++; type = DOUBLE_DOT; }
+				else { type = FULL_STOP; }
+				break;
+
+			case '/':
+				if (peek(offset) == '=') { offset++; type = NOT_EQUAL_SIGN; }
+				else { type = SOLIDUS; }
+				break;
+
+			case ':':
+				if (peek(offset) == '=') { offset++; type = ASSIGNMENT; }
+				else { type = COLON; }
+				break;
+
+			case '=':
+				if (peek(offset) == '>') { offset++; type = ARROW; }
+				else { type = EQUALS_SIGN; }
+				break;
+
+			case '<':
+				switch (peek(offset)) {
+					case '=': offset++; type = LESS_EQUAL_SIGN;    break;
+					case '<': offset++; type = LEFT_LABEL_BRACKET; break;
+					case '>': offset++; type = BOX_SIGN;           break;
+					default : type = LESS_THAN_SIGN;
+				}
+				break;
+
+			case '>':
+				switch (peek(offset)) {
+					case '=': offset++; type = GREATER_EQUAL_SIGN;  break;
+					case '>': offset++; type = RIGHT_LABEL_BRACKET; break;
+					default : type = GREATER_THAN_SIGN;
+				}
+				break;
+
+			// Anything else
+
+			default: return false;
+
+		}
+
+		tokenType    = type;
+		tokenEnd     = offset;
+		lexingOffset = offset;
+
+		return true;
+
+	}
+
+	/**
+	 * Returns the character at the given offset in the text, or -1
+	 * if the offset is at or after the end of the lexing range.
+	 *
+	 * @param offset The offset of the character.
+	 * @return The character at the offset, or -1.
+	 */
+	private int peek(int offset) {
+		return offset < lexingEndOffset ? text.charAt(offset) : -1;
+	}
+
+	/**
+	 * Returns the end offset of the numeral starting with the digit at
+	 * the given offset.
+	 * <p>
+	 * numeral ::= digit {[underline] digit}
+	 *
+	 * @param offset The offset of the first digit of the numeral.
+	 * @return The end offset of the numeral.
+	 */
+	private int numeralEnd(int offset) {
+
+		offset++;
+
+		while (true) {
+
+			int character = peek(offset);
+
+			if (isAsciiDigit(character)) {
+				offset++;
+			} else if (character == '_' && isAsciiDigit(peek(offset + 1))) {
+				offset += 2;
+			} else {
+				return offset;
+			}
+
+		}
+
+	}
+
+	/**
+	 * Returns the end offset of the exponent starting at the given
+	 * offset, or that offset if there is no exponent there.
+	 * <p>
+	 * exponent ::= e [+] numeral | e - numeral
+	 *
+	 * @param offset The offset at which the exponent may start.
+	 * @return The end offset of the exponent, or the given offset.
+	 */
+	private int exponentEnd(int offset) {
+
+		int character = peek(offset);
+
+		if (character != 'e' && character != 'E') { return offset; }
+
+		int numeralStart = offset + 1;
+		int sign         = peek(numeralStart);
+
+		if (sign == '+' || sign == '-') { numeralStart++; }
+
+		return isAsciiDigit(peek(numeralStart)) ? numeralEnd(numeralStart) : offset;
+
+	}
+
+	/**
+	 * Returns whether the given character is an ASCII digit.
+	 *
+	 * @param character The character to test, or -1.
+	 * @return Whether the character is an ASCII digit.
+	 */
+	private static boolean isAsciiDigit(int character) {
+		return character >= '0' && character <= '9';
+	}
+
+	/**
+	 * Returns whether the given character is an ASCII character allowed in identifiers.
+	 *
+	 * @param character The character to test, or -1.
+	 * @return Whether the character is an ASCII character allowed in identifiers.
+	 */
+	private static boolean isAsciiIdentifierCharacter(int character) {
+		return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') ||
+			isAsciiDigit(character) || character == '_';
+	}
+
+	/**
+	 * Returns whether the given character is an ASCII whitespace.
+	 *
+	 * @param character The character to test, or -1.
+	 * @return Whether the character is an ASCII whitespace.
+	 */
+	private static boolean isAsciiWhitespace(int character) {
+		return character == ' ' || (character >= '\t' && character <= '\r');
+	}
+
+	/**
+	 * Returns whether the given character is an ASCII graphic character.
+	 *
+	 * @param character The character to test, or -1.
+	 * @return Whether the character is an ASCII graphic character.
+	 */
+	private static boolean isAsciiGraphicCharacter(int character) {
+		return character >= ' ' && character <= '~';
+	}
+
+	/**
+	 * Returns whether the given character ends comments, which is not
+	 * restricted to ASCII characters as comments are often not.
+	 *
+	 * @param character The character to test.
+	 * @return Whether the character is an end-of-line character.
+	 */
+	private static boolean isEndOfLineCharacter(char character) {
+		return (character >= '\n' && character <= '\r') ||
+			character == '\u0085' || character == '\u2028' || character == '\u2029';
 	}
 
 }
@@ -0,0 +1,659 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+import static com.adacore.adaintellij.analysis.lexical.AdaTokenTypes.*;
+
+/**
+ * Immutable table of the structural pairs of a version of the text of
+ * an Ada document, built in a single pass over the cached tokens of
+ * that document: parentheses and the keywords opening and closing Ada
+ * constructs, such as `begin`/`end`, `if`/`end if`, `loop`/`end loop`,
+ * `case`/`end case`, `record`/`end record` and the `is` of a package,
+ * subprogram, task or protected unit and its `end`.
+ * <p>
+ * Each pair is stored with the ranges of its opener and of its closer
+ * (a closer such as `end if` spanning both keywords) and with the start
+ * offset of the construct it belongs to, such as the start of the `if`
+ * statement, of the loop (including its label and iteration scheme) or
+ * of the subprogram, in sorted arrays of primitive values. Finding the
+ * pair of an opener or a closer is then a binary search, which requires
+ * neither the PSI tree of the document nor the ALS (Ada Language
+ * Server).
+ * <p>
+ * The `begin` of a body or of a block statement with a declarative part
+ * closes no pair of its own: both it and the `is` or `declare` that
+ * precedes it are paired with the same `end`, the `begin` being the
+ * opener found from that `end`.
+ */
+public final class AdaPairTable {
+
+	/**
+	 * Tokens that are not significant for pairing.
+	 */
+	private static final TokenSet IGNORED_TOKENS = TokenSet.orSet(WHITESPACE_TOKEN_SET, COMMENT_TOKEN_SET);
+
+	/**
+	 * Keywords starting declarations whose `is` opens a construct closed
+	 * by an `end`, as opposed to type declarations, instantiations,
+	 * case statements and the like.
+	 */
+	private static final TokenSet UNIT_KEYWORDS = TokenSet.create(
+		PACKAGE_KEYWORD, PROCEDURE_KEYWORD, FUNCTION_KEYWORD,
+		TASK_KEYWORD, PROTECTED_KEYWORD, ENTRY_KEYWORD);
+
+	/**
+	 * Tokens which, following an `is`, show that the `is` does not open
+	 * a construct: instantiations, separate, abstract and null
+	 * subprograms, expression functions and formal subprogram defaults.
+	 */
+	private static final TokenSet IS_TERMINATORS = TokenSet.create(
+		NEW_KEYWORD, SEPARATE_KEYWORD, ABSTRACT_KEYWORD, NULL_KEYWORD,
+		LEFT_PARENTHESIS, BOX_SIGN);
+
+	/**
+	 * Keywords which, following an `end`, are part of the closer.
+	 */
+	private static final TokenSet END_SUFFIXES = TokenSet.create(
+		IF_KEYWORD, LOOP_KEYWORD, CASE_KEYWORD, RECORD_KEYWORD,
+		SELECT_KEYWORD, RETURN_KEYWORD);
+
+	/**
+	 * Tokens after which a new statement or declaration starts, outside
+	 * of parentheses.
+	 * Note: An `=>` only starts a statement when it ends the choices of
+	 *       a `when` alternative, as opposed to the `=>` of an aspect
+	 *       specification, so it is handled separately.
+	 */
+	private static final TokenSet STATEMENT_SEPARATORS = TokenSet.create(
+		SEMICOLON, BEGIN_KEYWORD, DECLARE_KEYWORD, LOOP_KEYWORD,
+		RECORD_KEYWORD, SELECT_KEYWORD, DO_KEYWORD, EXCEPTION_KEYWORD,
+		PRIVATE_KEYWORD, GENERIC_KEYWORD, THEN_KEYWORD, ELSE_KEYWORD);
+
+	/**
+	 * The kinds of the pairs while the table is being built.
+	 */
+	private static final byte PARENTHESIS = 0;
+	private static final byte BLOCK       = 1;
+	private static final byte HEADER      = 2;
+
+	/**
+	 * The start and end offsets of the openers of the pairs, in text
+	 * order.
+	 */
+	private final int[] OPEN_STARTS;
+	private final int[] OPEN_ENDS;
+
+	/**
+	 * The start and end offsets of the closers of the pairs.
+	 */
+	private final int[] CLOSE_STARTS;
+	private final int[] CLOSE_ENDS;
+
+	/**
+	 * The start offsets of the constructs of the pairs.
+	 */
+	private final int[] CONSTRUCT_STARTS;
+
+	/**
+	 * The indexes of the pairs, sorted by closer start offset and then
+	 * by index.
+	 */
+	private final int[] BY_CLOSE;
+
+	/**
+	 * Constructs a new pair table.
+	 *
+	 * @param openStarts The start offsets of the openers.
+	 * @param openEnds The end offsets of the openers.
+	 * @param closeStarts The start offsets of the closers.
+	 * @param closeEnds The end offsets of the closers.
+	 * @param constructStarts The start offsets of the constructs.
+	 */
+	private AdaPairTable(
+		@NotNull int[] openStarts,
+		@NotNull int[] openEnds,
+		@NotNull int[] closeStarts,
+		@NotNull int[] closeEnds,
+		@NotNull int[] constructStarts
+	) {
+
+		OPEN_STARTS      = openStarts;
+		OPEN_ENDS        = openEnds;
+		CLOSE_STARTS     = closeStarts;
+		CLOSE_ENDS       = closeEnds;
+		CONSTRUCT_STARTS = constructStarts;
+
+		// Sort pair indexes by closer start offset, then by index, by
+		// sorting keys combining both in a single long value
+
+		long[] keys = new long[closeStarts.length];
+
+		for (int i = 0 ; i < keys.length ; i++) {
+			keys[i] = ((long)closeStarts[i] << 32) | i;
+		}
+
+		Arrays.sort(keys);
+
+		BY_CLOSE = new int[keys.length];
+
+		for (int i = 0 ; i < keys.length ; i++) { BY_CLOSE[i] = (int)keys[i]; }
+
+	}
+
+	/**
+	 * Returns the pair table of the current text of the given document,
+	 * built from (and kept in step with) its cached tokens.
+	 *
+	 * @param document The Ada document.
+	 * @return The pair table of the document.
+	 */
+	@NotNull
+	public static AdaPairTable forDocument(@NotNull Document document) {
+		return AdaTokenCache.forDocument(document).pairs(document.getImmutableCharSequence());
+	}
+
+	/**
+	 * Builds the pair table of the given tokens. Openers that are never
+	 * closed and closers that close nothing are left out of the table.
+	 *
+	 * @param text The text of the tokens.
+	 * @param types The token types.
+	 * @param starts The token start offsets.
+	 * @param size The number of tokens, the end offset of a token being
+	 *             the start offset of the next one (or the length of the
+	 *             text for the last one).
+	 * @return The pair table of the tokens.
+	 */
+	@NotNull
+	static AdaPairTable build(
+		@NotNull CharSequence   text,
+		@NotNull IElementType[] types,
+		@NotNull int[]          starts,
+		         int            size
+	) {
+
+		Builder builder = new Builder();
+
+		for (int i = 0 ; i < size ; i++) {
+
+			if (IGNORED_TOKENS.contains(types[i])) { continue; }
+
+			builder.next(types[i], starts[i], i + 1 < size ? starts[i + 1] : text.length());
+
+		}
+
+		return builder.build();
+
+	}
+
+	/**
+	 * Returns the number of pairs in this table.
+	 *
+	 * @return The number of pairs.
+	 */
+	public int size() { return OPEN_STARTS.length; }
+
+	/**
+	 * Returns the start offset of the opener of the pair at the given
+	 * index.
+	 *
+	 * @param index The index of the pair.
+	 * @return The start offset of the opener.
+	 */
+	public int openStart(int index) { return OPEN_STARTS[index]; }
+
+	/**
+	 * Returns the end offset of the opener of the pair at the given
+	 * index.
+	 *
+	 * @param index The index of the pair.
+	 * @return The end offset of the opener.
+	 */
+	public int openEnd(int index) { return OPEN_ENDS[index]; }
+
+	/**
+	 * Returns the start offset of the closer of the pair at the given
+	 * index.
+	 *
+	 * @param index The index of the pair.
+	 * @return The start offset of the closer.
+	 */
+	public int closeStart(int index) { return CLOSE_STARTS[index]; }
+
+	/**
+	 * Returns the end offset of the closer of the pair at the given
+	 * index.
+	 *
+	 * @param index The index of the pair.
+	 * @return The end offset of the closer.
+	 */
+	public int closeEnd(int index) { return CLOSE_ENDS[index]; }
+
+	/**
+	 * Returns the start offset of the construct of the pair at the given
+	 * index, namely of the statement, declaration or unit it belongs
+	 * to.
+	 *
+	 * @param index The index of the pair.
+	 * @return The start offset of the construct.
+	 */
+	public int constructStart(int index) { return CONSTRUCT_STARTS[index]; }
+
+	/**
+	 * Returns the index of the pair whose opener contains the given
+	 * offset, or -1 if no opener contains that offset.
+	 *
+	 * @param offset The offset in the text of this table.
+	 * @return The index of the pair opened at the offset, or -1.
+	 */
+	public int openerIndexAt(int offset) {
+
+		int index = Arrays.binarySearch(OPEN_STARTS, offset);
+
+		if (index >= 0) { return index; }
+
+		index = -index - 2;
+
+		return index >= 0 && offset < OPEN_ENDS[index] ? index : -1;
+
+	}
+
+	/**
+	 * Returns the index of the pair whose closer contains the given
+	 * offset, or -1 if no closer contains that offset. If several pairs
+	 * share that closer, as the `is` and the `begin` of a body do, the
+	 * one with the last opener is returned.
+	 *
+	 * @param offset The offset in the text of this table.
+	 * @return The index of the pair closed at the offset, or -1.
+	 */
+	public int closerIndexAt(int offset) {
+
+		// Find the last pair whose closer starts at or before the offset
+
+		int low  = 0;
+		int high = BY_CLOSE.length - 1;
+
+		while (low <= high) {
+
+			int middle = (low + high) >>> 1;
+
+			if (CLOSE_STARTS[BY_CLOSE[middle]] <= offset) { low = middle + 1; }
+			else { high = middle - 1; }
+
+		}
+
+		if (high < 0) { return -1; }
+
+		int index = BY_CLOSE[high];
+
+		return offset < CLOSE_ENDS[index] ? index : -1;
+
+	}
+
+	/**
+	 * Returns the index of the pair whose opener or closer contains the
+	 * given offset, or -1 if there is no such pair.
+	 *
+	 * @param offset The offset in the text of this table.
+	 * @return The index of the pair at the offset, or -1.
+	 */
+	public int indexAt(int offset) {
+
+		int index = openerIndexAt(offset);
+
+		return index >= 0 ? index : closerIndexAt(offset);
+
+	}
+
+	/**
+	 * Single-pass builder of a pair table, fed with the significant
+	 * tokens of a text in order and keeping the pairs opened so far on
+	 * a stack.
+	 */
+	private static final class Builder {
+
+		/**
+		 * The opener ranges, closer ranges, construct start offsets and
+		 * kinds of the pairs opened so far, in text order, and for each
+		 * of them the index of the `is` or `declare` pair that a `begin`
+		 * pair continues, or -1. The closer offsets of pairs that are
+		 * not (yet) closed are -1.
+		 */
+		private int[]  openStarts      = new int[16];
+		private int[]  openEnds        = new int[16];
+		private int[]  closeStarts     = new int[16];
+		private int[]  closeEnds       = new int[16];
+		private int[]  constructStarts = new int[16];
+		private byte[] kinds           = new byte[16];
+		private int[]  headers         = new int[16];
+
+		/**
+		 * The number of pairs opened so far.
+		 */
+		private int size = 0;
+
+		/**
+		 * The stack of the indexes of the pairs that are still open.
+		 */
+		private int[] stack = new int[16];
+		private int   depth = 0;
+
+		/**
+		 * The start offset of the current statement or declaration, and
+		 * its first keyword (not counting `overriding` and `not`), or null
+		 * if it is not known yet.
+		 */
+		private int          statementStart   = 0;
+		private IElementType statementKeyword = null;
+
+		/**
+		 * Whether the next token starts a new statement or declaration.
+		 */
+		private boolean statementStarts = true;
+
+		/**
+		 * The type of the previous token.
+		 */
+		private IElementType previous = null;
+
+		/**
+		 * The index of the pair opened by an `is` whose next token is yet
+		 * to tell whether it really opens a construct, or -1.
+		 */
+		private int pendingHeader = -1;
+
+		/**
+		 * The index of the pair closed by the previous token if it is an
+		 * `end`, or -1.
+		 */
+		private int lastClosed = -1;
+
+		/**
+		 * Whether the choices of a `when` alternative of a case statement,
+		 * selective accept or exception handler may be ongoing, in which
+		 * case the next `=>` ends them.
+		 */
+		private boolean inAlternative = false;
+
+		/**
+		 * Processes the given significant token.
+		 *
+		 * @param type The type of the token.
+		 * @param start The start offset of the token.
+		 * @param end The end offset of the token.
+		 */
+		void next(@NotNull IElementType type, int start, int end) {
+
+			// Settle a pending `is`, the construct of which starts a new
+			// statement or declaration unless it is discarded
+
+			if (pendingHeader >= 0) {
+
+				if (IS_TERMINATORS.contains(type)) {
+					depth--;
+					size--;
+				} else {
+					statementStarts = true;
+				}
+
+				pendingHeader = -1;
+
+			}
+
+			// Extend the closer of the previous `end` to the keyword that
+			// follows it, which opens nothing
+
+			if (lastClosed >= 0) {
+
+				int closed = lastClosed;
+
+				lastClosed = -1;
+
+				if (END_SUFFIXES.contains(type)) {
+
+					for ( ; closed >= 0 ; closed = headers[closed]) { closeEnds[closed] = end; }
+
+					previous = type;
+
+					return;
+
+				}
+
+			}
+
+			// Track the start of the current statement or declaration
+
+			if (statementStarts) {
+				statementStart   = start;
+				statementKeyword = null;
+				statementStarts  = false;
+			}
+
+			if (statementKeyword == null && type != OVERRIDING_KEYWORD && type != NOT_KEYWORD) {
+				statementKeyword = type;
+			}
+
+			boolean inParentheses = depth > 0 && kinds[stack[depth - 1]] == PARENTHESIS;
+
+			if (type == LEFT_PARENTHESIS) {
+				open(start, end, statementStart, PARENTHESIS);
+			} else if (type == RIGHT_PARENTHESIS) {
+
+				if (inParentheses) { close(stack[--depth], start, end); }
+
+				// The unit of a subunit starts after its parent name
+
+				if (depth == 0 && statementKeyword == SEPARATE_KEYWORD) { statementStarts = true; }
+
+			} else if (type == END_KEYWORD) {
+
+				// Drop the parentheses left open in the construct
+
+				while (depth > 0 && kinds[stack[depth - 1]] == PARENTHESIS) { depth--; }
+
+				if (depth > 0) {
+
+					int index = stack[--depth];
+
+					for (int closed = index ; closed >= 0 ; closed = headers[closed]) {
+						close(closed, start, end);
+					}
+
+					lastClosed = index;
+
+				}
+
+			} else if (!inParentheses) {
+				openKeyword(type, start, end);
+			}
+
+			if (!inParentheses) {
+
+				// The `when` of an `exit` statement or of an entry barrier
+				// is followed by no `=>` before the next `;` or `is`
+
+				if (type == WHEN_KEYWORD) {
+					inAlternative = true;
+				} else if (type == ARROW && inAlternative) {
+					inAlternative   = false;
+					statementStarts = true;
+				} else if (type == SEMICOLON || type == IS_KEYWORD) {
+					inAlternative = false;
+				}
+
+				if (STATEMENT_SEPARATORS.contains(type) &&
+					!(type == THEN_KEYWORD && previous == AND_KEYWORD) &&
+					!(type == ELSE_KEYWORD && previous == OR_KEYWORD))
+				{
+					statementStarts = true;
+				}
+
+			}
+
+			previous = type;
+
+		}
+
+		/**
+		 * Opens a pair if the given keyword, which is not within
+		 * parentheses, opens a construct.
+		 *
+		 * @param type The type of the keyword.
+		 * @param start The start offset of the keyword.
+		 * @param end The end offset of the keyword.
+		 */
+		private void openKeyword(@NotNull IElementType type, int start, int end) {
+
+			if (type == IS_KEYWORD) {
+
+				if (UNIT_KEYWORDS.contains(statementKeyword)) {
+					pendingHeader = open(start, end, statementStart, HEADER);
+				}
+
+			} else if (type == DECLARE_KEYWORD) {
+				open(start, end, statementStart, HEADER);
+			} else if (type == BEGIN_KEYWORD) {
+
+				// A `begin` following a declarative part continues the
+				// construct of its `is` or `declare`
+
+				int top = depth > 0 ? stack[depth - 1] : -1;
+
+				if (top >= 0 && kinds[top] == HEADER) {
+
+					depth--;
+
+					int index = open(start, end, constructStarts[top], BLOCK);
+
+					headers[index] = top;
+
+				} else {
+					open(start, end, statementStart, BLOCK);
+				}
+
+			} else if (type == IF_KEYWORD || type == CASE_KEYWORD) {
+
+				// Conditional and case expressions are always within
+				// parentheses, and are not closed by an `end`
+
+				if (previous != LEFT_PARENTHESIS) { open(start, end, statementStart, BLOCK); }
+
+			} else if (type == RECORD_KEYWORD) {
+
+				if (previous != NULL_KEYWORD) { open(start, end, statementStart, BLOCK); }
+
+			} else if (type == LOOP_KEYWORD || type == SELECT_KEYWORD || type == DO_KEYWORD) {
+				open(start, end, statementStart, BLOCK);
+			}
+
+		}
+
+		/**
+		 * Opens a new pair and pushes it on the stack.
+		 *
+		 * @param start The start offset of the opener.
+		 * @param end The end offset of the opener.
+		 * @param constructStart The start offset of the construct.
+		 * @param kind The kind of the pair.
+		 * @return The index of the new pair.
+		 */
+		private int open(int start, int end, int constructStart, byte kind) {
+
+			if (size == openStarts.length) { grow(); }
+
+			if (depth == stack.length) { stack = Arrays.copyOf(stack, depth * 2); }
+
+			openStarts[size]      = start;
+			openEnds[size]        = end;
+			closeStarts[size]     = -1;
+			closeEnds[size]       = -1;
+			constructStarts[size] = constructStart;
+			kinds[size]           = kind;
+			headers[size]         = -1;
+
+			stack[depth++] = size;
+
+			return size++;
+
+		}
+
+		/**
+		 * Closes the given pair.
+		 *
+		 * @param index The index of the pair.
+		 * @param start The start offset of the closer.
+		 * @param end The end offset of the closer.
+		 */
+		private void close(int index, int start, int end) {
+			closeStarts[index] = start;
+			closeEnds[index]   = end;
+		}
+
+		/**
+		 * Doubles the capacity of the pair arrays of this builder.
+		 */
+		private void grow() {
+
+			int capacity = openStarts.length * 2;
+
+			openStarts      = Arrays.copyOf(openStarts, capacity);
+			openEnds        = Arrays.copyOf(openEnds, capacity);
+			closeStarts     = Arrays.copyOf(closeStarts, capacity);
+			closeEnds       = Arrays.copyOf(closeEnds, capacity);
+			constructStarts = Arrays.copyOf(constructStarts, capacity);
+			kinds           = Arrays.copyOf(kinds, capacity);
+			headers         = Arrays.copyOf(headers, capacity);
+
+		}
+
+		/**
+		 * Returns the pair table of the pairs closed so far.
+		 *
+		 * @return The pair table.
+		 */
+		@NotNull
+		AdaPairTable build() {
+
+			int count = 0;
+
+			for (int i = 0 ; i < size ; i++) {
+				if (closeStarts[i] >= 0) { count++; }
+			}
+
+			int[] pairOpenStarts      = new int[count];
+			int[] pairOpenEnds        = new int[count];
+			int[] pairCloseStarts     = new int[count];
+			int[] pairCloseEnds       = new int[count];
+			int[] pairConstructStarts = new int[count];
+
+			int index = 0;
+
+			for (int i = 0 ; i < size ; i++) {
+
+				if (closeStarts[i] < 0) { continue; }
+
+				pairOpenStarts[index]      = openStarts[i];
+				pairOpenEnds[index]        = openEnds[i];
+				pairCloseStarts[index]     = closeStarts[i];
+				pairCloseEnds[index]       = closeEnds[i];
+				pairConstructStarts[index] = constructStarts[i];
+
+				index++;
+
+			}
+
+			return new AdaPairTable(
+				pairOpenStarts, pairOpenEnds, pairCloseStarts, pairCloseEnds, pairConstructStarts);
+
+		}
+
+	}
+
+}
@@ -2,11 +2,15 @@ package com.adacore.adaintellij.analysis.lexical;
 
 import com.intellij.lexer.Lexer;
 import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.HighlighterColors;
 import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.fileTypes.SyntaxHighlighterBase;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static com.intellij.openapi.editor.colors.TextAttributesKey.createTextAttributesKey;
 
@@ -46,11 +50,42 @@ public final class AdaSyntaxHighlighter extends SyntaxHighlighterBase {
 	private static final TextAttributesKey[] EMPTY_KEYS           = new TextAttributesKey[0];
 
 	/**
+	 * The file highlighted by this highlighter, or null if unknown.
+	 */
+	private final VirtualFile FILE;
+
+	/**
+	 * Constructs a new Ada syntax highlighter for an unknown file.
+	 */
+	public AdaSyntaxHighlighter() { this(null); }
+
+	/**
+	 * Constructs a new Ada syntax highlighter given the file to highlight.
+	 *
+	 * @param file The file to highlight, or null if unknown.
+	 */
+	public AdaSyntaxHighlighter(@Nullable VirtualFile file) { FILE = file; }
+
+	/**
+	 * Returns a lexer replaying the cached tokens of the document of the
+	 * highlighted file if that document is loaded, so that the tokens
+	 * are shared with the PSI builder, or a new Ada lexer otherwise.
+	 * The returned lexer only replays cached tokens when it is fed the
+	 * current text of that document, and not the text of another editor
+	 * of the file (such as a diff view of an older version).
+	 *
 	 * @see com.intellij.openapi.fileTypes.SyntaxHighlighter#getHighlightingLexer()
 	 */
 	@NotNull
 	@Override
-	public Lexer getHighlightingLexer() { return new AdaLexer(); }
+	public Lexer getHighlightingLexer() {
+
+		Document document = FILE == null ? null :
+			FileDocumentManager.getInstance().getCachedDocument(FILE);
+
+		return document == null ? new AdaLexer() : AdaTokenCache.forDocument(document).lexer();
+
+	}
 
 	/**
 	 * @see com.intellij.openapi.fileTypes.SyntaxHighlighter#getTokenHighlights(IElementType)
@@ -17,7 +17,7 @@ public final class AdaSyntaxHighlighterFactory extends SyntaxHighlighterFactory
 	@NotNull
 	@Override
 	public SyntaxHighlighter getSyntaxHighlighter(Project project, VirtualFile virtualFile) {
-		return new AdaSyntaxHighlighter();
+		return new AdaSyntaxHighlighter(virtualFile);
 	}
 
 }
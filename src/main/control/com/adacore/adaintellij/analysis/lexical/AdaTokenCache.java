@@ -0,0 +1,818 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.adacore.adaintellij.misc.cache.CacheKey;
+import com.adacore.adaintellij.misc.cache.CacheResult;
+import com.adacore.adaintellij.misc.cache.Cacher;
+import com.intellij.lexer.LexerBase;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Cache of the Ada tokens of a document, shared by the highlighting
+ * lexer of the editor and the PSI builder, so that the text of a
+ * document is not analysed once by each of them.
+ * Tokens are cached along with the modification stamp of the document
+ * they were analysed for, and are reused as they are for as long as the
+ * text of the document does not change. When it does, only the tokens
+ * affected by the changed range of text are analysed again, and the
+ * other ones are kept (and shifted).
+ * <p>
+ * The changed range is accumulated from the events of the document, so
+ * that updating the tokens costs time proportional to the size of the
+ * change rather than to the size of the document. It is only found by
+ * comparing the cached text with the new one when the tokens of a text
+ * other than the current text of the document are requested.
+ */
+public final class AdaTokenCache {
+
+	/**
+	 * Cache key for the token caches of documents.
+	 */
+	private static final CacheKey<AdaTokenCache> TOKEN_CACHE_KEY = CacheKey.getNewKey();
+
+	/**
+	 * The document whose tokens are cached.
+	 */
+	private final Document DOCUMENT;
+
+	/**
+	 * The cached tokens, or null if no tokens were analysed yet.
+	 */
+	private volatile Tokens tokens = null;
+
+	/**
+	 * The range of the text of the document changed since the cached
+	 * tokens were analysed, or null if the cached tokens are not known
+	 * to be the tokens of a version of the text of the document.
+	 */
+	private ChangedRange changedRange = null;
+
+	/**
+	 * Constructs a new empty token cache given a document, and starts
+	 * tracking the changes of that document.
+	 *
+	 * @param document The document whose tokens to cache.
+	 */
+	private AdaTokenCache(@NotNull Document document) {
+
+		DOCUMENT = document;
+
+		document.addDocumentListener(new DocumentListener() {
+
+			/**
+			 * @see com.intellij.openapi.editor.event.DocumentListener#documentChanged(DocumentEvent)
+			 */
+			@Override
+			public void documentChanged(@NotNull DocumentEvent event) {
+
+				synchronized (AdaTokenCache.this) {
+
+					if (changedRange == null) { return; }
+
+					changedRange = changedRange.merged(
+						event.getOffset(), event.getOldLength(), event.getNewLength());
+
+				}
+
+			}
+
+		});
+
+	}
+
+	/**
+	 * Returns the token cache of the given document, creating it if
+	 * necessary.
+	 *
+	 * @param document The document.
+	 * @return The token cache of the document.
+	 */
+	@NotNull
+	public static AdaTokenCache forDocument(@NotNull Document document) {
+
+		synchronized (TOKEN_CACHE_KEY) {
+
+			CacheResult<AdaTokenCache> cacheResult = Cacher.getCachedData(document, TOKEN_CACHE_KEY);
+
+			if (cacheResult.hit && cacheResult.data != null) { return cacheResult.data; }
+
+			AdaTokenCache cache = new AdaTokenCache(document);
+
+			Cacher.cacheData(document, TOKEN_CACHE_KEY, cache);
+
+			return cache;
+
+		}
+
+	}
+
+	/**
+	 * Returns a new lexer replaying the tokens of this cache.
+	 * Lexing the current text of the document with the returned lexer
+	 * brings this cache up to date with that text, after which tokens
+	 * are read from the cache instead of being analysed. Lexing any other
+	 * text (such as an uncommitted, older or foreign version of the
+	 * text, which would otherwise make the cache alternate between two
+	 * texts), lexing a range of text that does not extend to its end,
+	 * or starting at an offset or in a state that does not correspond
+	 * to a cached token, falls back to an Ada lexer.
+	 *
+	 * @return A lexer backed by this cache.
+	 */
+	@NotNull
+	public com.intellij.lexer.Lexer lexer() { return new CachingLexer(); }
+
+	/**
+	 * Returns the tokens of the given text, which is expected to be the
+	 * text of the document or a version of it, updating the cached
+	 * tokens if the text changed since they were last analysed.
+	 *
+	 * @param text The text of the document.
+	 * @return The tokens of the text.
+	 */
+	@NotNull
+	synchronized Tokens tokens(@NotNull CharSequence text) {
+
+		long    stamp   = DOCUMENT.getModificationStamp();
+		boolean current = text == DOCUMENT.getImmutableCharSequence();
+		Tokens  cached  = tokens;
+
+		// The changed range is known if the cached tokens are those of
+		// a version of the text of the document and the given text is
+		// its current text, in which case the texts need no comparison
+
+		ChangedRange changed = current && cached != null &&
+			changedRange != null && changedRange.fits(cached.TEXT, text) ? changedRange : null;
+
+		if (cached != null && cached.STAMP == stamp &&
+			(changed != null ? changed.isEmpty() : contentEquals(cached.TEXT, text)))
+		{
+			return cached;
+		}
+
+		Tokens updated;
+
+		if (cached == null) { updated = Tokens.lex(text, stamp); }
+		else if (changed != null) { updated = cached.relexed(text, stamp, changed); }
+		else { updated = cached.relexed(text, stamp); }
+
+		tokens       = updated;
+		changedRange = current ? ChangedRange.NONE : null;
+
+		return updated;
+
+	}
+
+	/**
+	 * Returns the identifier table of the given text, which is expected
+	 * to be the text of the document or a version of it, updating the
+	 * cached tokens if the text changed since they were last analysed.
+	 *
+	 * @param text The text of the document.
+	 * @return The identifier table of the text.
+	 */
+	@NotNull
+	AdaIdentifierTable identifiers(@NotNull CharSequence text) { return tokens(text).identifiers(); }
+
+	/**
+	 * Returns the pair table of the given text, which is expected to be
+	 * the text of the document or a version of it, updating the cached
+	 * tokens if the text changed since they were last analysed.
+	 *
+	 * @param text The text of the document.
+	 * @return The pair table of the text.
+	 */
+	@NotNull
+	AdaPairTable pairs(@NotNull CharSequence text) { return tokens(text).pairs(); }
+
+	/**
+	 * Returns whether the given character sequences have the same
+	 * contents, which is immediate when they are the same object (as
+	 * is the case of the successive immutable texts of an unchanged
+	 * document).
+	 *
+	 * @param first The first character sequence.
+	 * @param second The second character sequence.
+	 * @return Whether the sequences have the same contents.
+	 */
+	private static boolean contentEquals(@NotNull CharSequence first, @NotNull CharSequence second) {
+
+		if (first == second) { return true; }
+
+		if (first.length() != second.length()) { return false; }
+
+		for (int i = 0 ; i < first.length() ; i++) {
+			if (first.charAt(i) != second.charAt(i)) { return false; }
+		}
+
+		return true;
+
+	}
+
+	/**
+	 * Immutable tokens of a version of the text of a document, stored
+	 * as parallel arrays (token type, start offset and lexer state at
+	 * the start of the token). Tokens are contiguous and cover the whole
+	 * text, so the end offset of a token is the start offset of the
+	 * next one (or the length of the text for the last one).
+	 */
+	static final class Tokens {
+
+		/**
+		 * The analysed text, and the modification stamp of the document
+		 * when it was analysed.
+		 */
+		final CharSequence TEXT;
+		final long         STAMP;
+
+		/**
+		 * The token types, start offsets and lexer states of the tokens,
+		 * the first `SIZE` elements of which are used.
+		 */
+		final IElementType[] TYPES;
+		final int[]          STARTS;
+		final int[]          STATES;
+		final int            SIZE;
+
+		/**
+		 * The identifier table of these tokens, built lazily.
+		 */
+		private volatile AdaIdentifierTable identifiers = null;
+
+		/**
+		 * The pair table of these tokens, built lazily.
+		 */
+		private volatile AdaPairTable pairs = null;
+
+		/**
+		 * Constructs a new set of tokens given its properties.
+		 *
+		 * @param text The analysed text.
+		 * @param stamp The modification stamp of the document.
+		 * @param types The token types.
+		 * @param starts The token start offsets.
+		 * @param states The lexer states of the tokens.
+		 * @param size The number of tokens.
+		 */
+		private Tokens(
+			@NotNull CharSequence   text,
+			         long           stamp,
+			@NotNull IElementType[] types,
+			@NotNull int[]          starts,
+			@NotNull int[]          states,
+			         int            size
+		) {
+			TEXT   = text;
+			STAMP  = stamp;
+			TYPES  = types;
+			STARTS = starts;
+			STATES = states;
+			SIZE   = size;
+		}
+
+		/**
+		 * Analyses the whole given text.
+		 *
+		 * @param text The text to analyse.
+		 * @param stamp The modification stamp of the document.
+		 * @return The tokens of the text.
+		 */
+		@NotNull
+		static Tokens lex(@NotNull CharSequence text, long stamp) {
+
+			Builder builder = new Builder(Math.max(16, text.length() / 4));
+
+			builder.lex(text, 0, AdaLexer.INITIAL_STATE, null, 0);
+
+			return builder.build(text, stamp);
+
+		}
+
+		/**
+		 * Returns the tokens of the given new version of the text of
+		 * these tokens, finding the changed range of text by comparing
+		 * both texts.
+		 *
+		 * @param text The new text.
+		 * @param stamp The modification stamp of the document.
+		 * @return The tokens of the new text.
+		 */
+		@NotNull
+		Tokens relexed(@NotNull CharSequence text, long stamp) {
+
+			// Compute the changed range of text, which starts after the
+			// common prefix of both texts and ends before their common
+			// suffix (which may not overlap the common prefix)
+
+			int oldLength = TEXT.length();
+			int newLength = text.length();
+			int maxCommon = Math.min(oldLength, newLength);
+
+			int prefix = 0;
+
+			while (prefix < maxCommon && TEXT.charAt(prefix) == text.charAt(prefix)) { prefix++; }
+
+			if (prefix == oldLength && prefix == newLength) {
+				return new Tokens(text, stamp, TYPES, STARTS, STATES, SIZE);
+			}
+
+			int suffix = 0;
+
+			while (suffix < maxCommon - prefix &&
+				TEXT.charAt(oldLength - suffix - 1) == text.charAt(newLength - suffix - 1))
+			{
+				suffix++;
+			}
+
+			return relexed(text, stamp, new ChangedRange(prefix, oldLength - suffix, newLength - suffix));
+
+		}
+
+		/**
+		 * Returns the tokens of the given new version of the text of
+		 * these tokens, which differs from the text of these tokens in
+		 * the given range. Only the tokens from the start of the line of
+		 * the changed range of text are analysed again, until the lexer
+		 * reaches, after the changed range, the start of one of these
+		 * tokens in the same state. The following tokens are kept.
+		 * <p>
+		 * Restarting at the start of the line is necessary, as opposed
+		 * to restarting at the changed token, since the lexer may look
+		 * ahead of a token before rolling back to its end (e.g. over an
+		 * unterminated string literal), but never over the end of a line.
+		 *
+		 * @param text The new text.
+		 * @param stamp The modification stamp of the document.
+		 * @param changed The changed range of text.
+		 * @return The tokens of the new text.
+		 */
+		@NotNull
+		Tokens relexed(@NotNull CharSequence text, long stamp, @NotNull ChangedRange changed) {
+
+			if (changed.isEmpty()) { return new Tokens(text, stamp, TYPES, STARTS, STATES, SIZE); }
+
+			// Find the token containing the end of the line preceding
+			// the changed range, from which to restart the lexer
+
+			int lineEnd = changed.START - 1;
+
+			while (lineEnd >= 0 && !isLineTerminator(TEXT.charAt(lineEnd))) { lineEnd--; }
+
+			int restartIndex = lineEnd < 0 ? 0 : tokenIndexAt(lineEnd);
+
+			// Keep the tokens preceding the restart token, analyse the
+			// text from that token, and keep the tokens following the
+			// point at which the lexer resynchronizes
+
+			Builder builder = new Builder(SIZE + 16);
+
+			builder.append(this, 0, restartIndex, 0);
+
+			int restartOffset = restartIndex < SIZE ? STARTS[restartIndex] : 0;
+			int restartState  = restartIndex < SIZE ? STATES[restartIndex] : AdaLexer.INITIAL_STATE;
+
+			builder.lex(text, restartOffset, restartState, this, changed.NEW_END);
+
+			return builder.build(text, stamp);
+
+		}
+
+		/**
+		 * Returns the identifier table of these tokens, building it if
+		 * necessary.
+		 *
+		 * @return The identifier table of these tokens.
+		 */
+		@NotNull
+		AdaIdentifierTable identifiers() {
+
+			AdaIdentifierTable table = identifiers;
+
+			if (table == null) {
+				table       = AdaIdentifierTable.build(TEXT, TYPES, STARTS, SIZE);
+				identifiers = table;
+			}
+
+			return table;
+
+		}
+
+		/**
+		 * Returns the pair table of these tokens, building it if
+		 * necessary.
+		 *
+		 * @return The pair table of these tokens.
+		 */
+		@NotNull
+		AdaPairTable pairs() {
+
+			AdaPairTable table = pairs;
+
+			if (table == null) {
+				table = AdaPairTable.build(TEXT, TYPES, STARTS, SIZE);
+				pairs = table;
+			}
+
+			return table;
+
+		}
+
+		/**
+		 * Returns the index of the token containing the given offset,
+		 * which must be within the bounds of the text.
+		 *
+		 * @param offset The offset.
+		 * @return The index of the token containing the offset.
+		 */
+		int tokenIndexAt(int offset) {
+
+			int index = Arrays.binarySearch(STARTS, 0, SIZE, offset);
+
+			return index >= 0 ? index : -index - 2;
+
+		}
+
+		/**
+		 * Returns the index of the token starting at the given offset,
+		 * or -1 if no token starts at that offset.
+		 *
+		 * @param offset The offset.
+		 * @return The index of the token starting at the offset, or -1.
+		 */
+		int tokenIndexStartingAt(int offset) {
+
+			int index = Arrays.binarySearch(STARTS, 0, SIZE, offset);
+
+			return index >= 0 ? index : -1;
+
+		}
+
+		/**
+		 * Returns the end offset of the token at the given index.
+		 *
+		 * @param index The index of the token.
+		 * @return The end offset of the token.
+		 */
+		int tokenEnd(int index) {
+			return index + 1 < SIZE ? STARTS[index + 1] : TEXT.length();
+		}
+
+		/**
+		 * Returns whether the given character ends lines, and therefore
+		 * comments (see `Lexer.Regexes.COMMENT_REGEX`).
+		 *
+		 * @param character The character to test.
+		 * @return Whether the character is a line terminator.
+		 */
+		private static boolean isLineTerminator(char character) {
+			return (character >= '\n' && character <= '\r') || character == '\u0085' ||
+				character == '\u2028' || character == '\u2029';
+		}
+
+	}
+
+	/**
+	 * Immutable range of a text changed by one or more edits, given by
+	 * its start offset and by its end offsets in the text before and
+	 * after the edits. Outside of that range, both texts are the same.
+	 */
+	static final class ChangedRange {
+
+		/**
+		 * The empty range, of a text that did not change.
+		 */
+		static final ChangedRange NONE = new ChangedRange(Integer.MAX_VALUE, -1, -1);
+
+		/**
+		 * The start offset of the range, and its end offsets in the text
+		 * before and after the edits.
+		 */
+		final int START;
+		final int OLD_END;
+		final int NEW_END;
+
+		/**
+		 * Constructs a new changed range.
+		 *
+		 * @param start The start offset of the range.
+		 * @param oldEnd The end offset of the range in the text before
+		 *               the edits.
+		 * @param newEnd The end offset of the range in the text after
+		 *               the edits.
+		 */
+		ChangedRange(int start, int oldEnd, int newEnd) {
+			START   = start;
+			OLD_END = oldEnd;
+			NEW_END = newEnd;
+		}
+
+		/**
+		 * Returns whether this range is empty.
+		 *
+		 * @return Whether this range is empty.
+		 */
+		boolean isEmpty() { return START > NEW_END; }
+
+		/**
+		 * Returns whether this range may be the changed range between
+		 * the given texts, which is the case if the lengths of the texts
+		 * differ by the change in length of this range.
+		 *
+		 * @param oldText The text before the edits.
+		 * @param newText The text after the edits.
+		 * @return Whether this range fits the texts.
+		 */
+		boolean fits(@NotNull CharSequence oldText, @NotNull CharSequence newText) {
+			return isEmpty() ? oldText.length() == newText.length() :
+				NEW_END - OLD_END == newText.length() - oldText.length() && NEW_END <= newText.length();
+		}
+
+		/**
+		 * Returns the range changed by the edits of this range followed
+		 * by the given edit of the text after them.
+		 *
+		 * @param offset The offset of the edit.
+		 * @param oldLength The length of the replaced text.
+		 * @param newLength The length of the inserted text.
+		 * @return The merged range.
+		 */
+		@NotNull
+		ChangedRange merged(int offset, int oldLength, int newLength) {
+
+			// Text preceding both changes is the same in the original
+			// text, and text following both changes is shifted by the
+			// change in length of this range
+
+			int start = Math.min(START, offset);
+			int end   = Math.max(NEW_END, offset + oldLength);
+
+			return new ChangedRange(start, end - (NEW_END - OLD_END), end + newLength - oldLength);
+
+		}
+
+	}
+
+	/**
+	 * Builder of tokens, growing its arrays as needed.
+	 */
+	private static final class Builder {
+
+		/**
+		 * The token arrays being built, and the number of tokens.
+		 */
+		private IElementType[] types;
+		private int[]          starts;
+		private int[]          states;
+		private int            size = 0;
+
+		/**
+		 * Constructs a new empty builder with the given capacity.
+		 *
+		 * @param capacity The initial capacity.
+		 */
+		Builder(int capacity) {
+			types  = new IElementType[capacity];
+			starts = new int[capacity];
+			states = new int[capacity];
+		}
+
+		/**
+		 * Appends the given range of the given tokens, shifting their
+		 * start offsets by the given delta.
+		 *
+		 * @param tokens The tokens to append.
+		 * @param from The index of the first token to append.
+		 * @param to The index following the last token to append.
+		 * @param delta The shift of start offsets.
+		 */
+		void append(@NotNull Tokens tokens, int from, int to, int delta) {
+
+			int count = to - from;
+
+			ensureCapacity(size + count);
+
+			System.arraycopy(tokens.TYPES, from, types, size, count);
+			System.arraycopy(tokens.STATES, from, states, size, count);
+
+			for (int i = 0 ; i < count ; i++) {
+				starts[size + i] = tokens.STARTS[from + i] + delta;
+			}
+
+			size += count;
+
+		}
+
+		/**
+		 * Analyses the given text from the given offset and state,
+		 * appending the analysed tokens. If previous tokens are given,
+		 * then analysis stops as soon as the lexer reaches, at or after
+		 * the given resynchronization offset, the start of a previous
+		 * token (shifted by the difference in text length) in the same
+		 * state, and that token and the following ones are appended.
+		 *
+		 * @param text The text to analyse.
+		 * @param startOffset The offset from which to analyse the text.
+		 * @param initialState The state of the lexer at that offset.
+		 * @param previousTokens The previous tokens, or null.
+		 * @param resyncOffset The offset from which to resynchronize.
+		 */
+		void lex(
+			@NotNull  CharSequence text,
+			          int          startOffset,
+			          int          initialState,
+			@Nullable Tokens       previousTokens,
+			          int          resyncOffset
+		) {
+
+			int delta = previousTokens == null ? 0 : text.length() - previousTokens.TEXT.length();
+
+			AdaLexer lexer = new AdaLexer();
+
+			for (lexer.start(text, startOffset, text.length(), initialState) ;
+				lexer.getTokenType() != null ; lexer.advance())
+			{
+
+				int tokenStart = lexer.getTokenStart();
+
+				if (previousTokens != null && tokenStart >= resyncOffset) {
+
+					int previousIndex = previousTokens.tokenIndexStartingAt(tokenStart - delta);
+
+					if (previousIndex != -1 && previousTokens.STATES[previousIndex] == lexer.getState()) {
+						append(previousTokens, previousIndex, previousTokens.SIZE, delta);
+						return;
+					}
+
+				}
+
+				ensureCapacity(size + 1);
+
+				types[size]  = lexer.getTokenType();
+				starts[size] = tokenStart;
+				states[size] = lexer.getState();
+
+				size++;
+
+			}
+
+		}
+
+		/**
+		 * Returns the built tokens.
+		 *
+		 * @param text The analysed text.
+		 * @param stamp The modification stamp of the document.
+		 * @return The tokens.
+		 */
+		@NotNull
+		Tokens build(@NotNull CharSequence text, long stamp) {
+			return new Tokens(text, stamp, types, starts, states, size);
+		}
+
+		/**
+		 * Grows the arrays of this builder to hold at least the given
+		 * number of tokens.
+		 *
+		 * @param capacity The required capacity.
+		 */
+		private void ensureCapacity(int capacity) {
+
+			if (capacity <= starts.length) { return; }
+
+			int newCapacity = Math.max(capacity, starts.length * 2);
+
+			types  = Arrays.copyOf(types, newCapacity);
+			starts = Arrays.copyOf(starts, newCapacity);
+			states = Arrays.copyOf(states, newCapacity);
+
+		}
+
+	}
+
+	/**
+	 * Lexer replaying the tokens of this cache, falling back to an Ada
+	 * lexer when the requested range does not correspond to cached
+	 * tokens.
+	 */
+	private final class CachingLexer extends LexerBase {
+
+		/**
+		 * The lexer used when tokens cannot be replayed.
+		 */
+		private final AdaLexer FALLBACK_LEXER = new AdaLexer();
+
+		/**
+		 * The analysed buffer, and the end of the lexing range.
+		 */
+		private CharSequence buffer;
+		private int          bufferEnd;
+
+		/**
+		 * The replayed tokens and the index of the current token, or
+		 * null if the fallback lexer is used.
+		 */
+		private Tokens replayedTokens;
+		private int    tokenIndex;
+
+		/**
+		 * @see com.intellij.lexer.Lexer#start(CharSequence, int, int, int)
+		 */
+		@Override
+		public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+
+			this.buffer    = buffer;
+			this.bufferEnd = endOffset;
+
+			replayedTokens = null;
+
+			// Tokens can only be replayed over the whole rest of the
+			// current text of the document, from the start of a cached
+			// token in the same state
+
+			if (buffer == DOCUMENT.getImmutableCharSequence() &&
+				endOffset == buffer.length() && startOffset < endOffset)
+			{
+
+				Tokens cachedTokens = tokens(buffer);
+				int    index        = cachedTokens.tokenIndexStartingAt(startOffset);
+
+				if (index != -1 && cachedTokens.STATES[index] == initialState) {
+					replayedTokens = cachedTokens;
+					tokenIndex     = index;
+					return;
+				}
+
+			}
+
+			FALLBACK_LEXER.start(buffer, startOffset, endOffset, initialState);
+
+		}
+
+		/**
+		 * @see com.intellij.lexer.Lexer#getState()
+		 */
+		@Override
+		public int getState() {
+			return replayedTokens == null ? FALLBACK_LEXER.getState() :
+				tokenIndex < replayedTokens.SIZE ? replayedTokens.STATES[tokenIndex] : AdaLexer.INITIAL_STATE;
+		}
+
+		/**
+		 * @see com.intellij.lexer.Lexer#getTokenType()
+		 */
+		@Nullable
+		@Override
+		public IElementType getTokenType() {
+			return replayedTokens == null ? FALLBACK_LEXER.getTokenType() :
+				tokenIndex < replayedTokens.SIZE ? replayedTokens.TYPES[tokenIndex] : null;
+		}
+
+		/**
+		 * @see com.intellij.lexer.Lexer#getTokenStart()
+		 */
+		@Override
+		public int getTokenStart() {
+			return replayedTokens == null ? FALLBACK_LEXER.getTokenStart() :
+				tokenIndex < replayedTokens.SIZE ? replayedTokens.STARTS[tokenIndex] : bufferEnd;
+		}
+
+		/**
+		 * @see com.intellij.lexer.Lexer#getTokenEnd()
+		 */
+		@Override
+		public int getTokenEnd() {
+			return replayedTokens == null ? FALLBACK_LEXER.getTokenEnd() :
+				tokenIndex < replayedTokens.SIZE ? replayedTokens.tokenEnd(tokenIndex) : bufferEnd;
+		}
+
+		/**
+		 * @see com.intellij.lexer.Lexer#advance()
+		 */
+		@Override
+		public void advance() {
+			if (replayedTokens == null) { FALLBACK_LEXER.advance(); }
+			else if (tokenIndex < replayedTokens.SIZE) { tokenIndex++; }
+		}
+
+		/**
+		 * @see com.intellij.lexer.Lexer#getBufferSequence()
+		 */
+		@NotNull
+		@Override
+		public CharSequence getBufferSequence() { return buffer; }
+
+		/**
+		 * @see com.intellij.lexer.Lexer#getBufferEnd()
+		 */
+		@Override
+		public int getBufferEnd() { return bufferEnd; }
+
+	}
+
+}
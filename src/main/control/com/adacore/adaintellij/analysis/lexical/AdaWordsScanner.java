@@ -0,0 +1,180 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.intellij.lang.cacheBuilder.WordOccurrence;
+import com.intellij.lang.cacheBuilder.WordsScanner;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Supplier;
+
+/**
+ * Words scanner for Ada and GPR files, reporting the words of a text
+ * from the tokens of a token buffer rather than by driving a lexer
+ * token by token.
+ * Identifiers are reported as code, as written in the text (the word
+ * index being case-insensitive, they can be looked up in any case).
+ * Comments and textual literals are split into words, and keywords,
+ * numeric literals and delimiters are not reported.
+ * Words scanners are thread-safe, every thread scanning with its own
+ * token buffer.
+ */
+public final class AdaWordsScanner implements WordsScanner {
+
+	/**
+	 * Shared words scanners for Ada and GPR files.
+	 */
+	private static final AdaWordsScanner ADA_WORDS_SCANNER = new AdaWordsScanner(
+		TokenBuffer::forAda,
+		AdaTokenTypes.IDENTIFIER_TOKEN_SET,
+		AdaTokenTypes.COMMENT_TOKEN_SET,
+		AdaTokenTypes.TEXTUAl_LITERAL_TOKEN_SET
+	);
+	private static final AdaWordsScanner GPR_FILE_WORDS_SCANNER = new AdaWordsScanner(
+		TokenBuffer::forGPRFile,
+		GPRFileTokenTypes.IDENTIFIER_TOKEN_SET,
+		GPRFileTokenTypes.COMMENT_TOKEN_SET,
+		GPRFileTokenTypes.STRING_LITERAL_TOKEN_SET
+	);
+
+	/**
+	 * The token buffer of every thread scanning with this scanner.
+	 */
+	private final ThreadLocal<TokenBuffer> TOKEN_BUFFERS;
+
+	/**
+	 * The token types reported as code, comments and literals.
+	 */
+	private final TokenSet IDENTIFIER_TOKEN_SET;
+	private final TokenSet COMMENT_TOKEN_SET;
+	private final TokenSet LITERAL_TOKEN_SET;
+
+	/**
+	 * Constructs a new words scanner.
+	 *
+	 * @param bufferFactory The factory of the token buffers of the scanner.
+	 * @param identifiers The token types reported as code.
+	 * @param comments The token types reported as comments.
+	 * @param literals The token types reported as literals.
+	 */
+	private AdaWordsScanner(
+		@NotNull Supplier<TokenBuffer> bufferFactory,
+		@NotNull TokenSet              identifiers,
+		@NotNull TokenSet              comments,
+		@NotNull TokenSet              literals
+	) {
+		TOKEN_BUFFERS        = ThreadLocal.withInitial(bufferFactory);
+		IDENTIFIER_TOKEN_SET = identifiers;
+		COMMENT_TOKEN_SET    = comments;
+		LITERAL_TOKEN_SET    = literals;
+	}
+
+	/**
+	 * Returns the words scanner for Ada sources.
+	 *
+	 * @return The Ada words scanner.
+	 */
+	@NotNull
+	public static AdaWordsScanner forAda() { return ADA_WORDS_SCANNER; }
+
+	/**
+	 * Returns the words scanner for GPR files.
+	 *
+	 * @return The GPR file words scanner.
+	 */
+	@NotNull
+	public static AdaWordsScanner forGPRFile() { return GPR_FILE_WORDS_SCANNER; }
+
+	/**
+	 * @see com.intellij.lang.cacheBuilder.WordsScanner#processWords(CharSequence, Processor)
+	 */
+	@Override
+	public void processWords(@NotNull CharSequence fileText, @NotNull Processor<? super WordOccurrence> processor) {
+
+		TokenBuffer tokens = TOKEN_BUFFERS.get();
+
+		tokens.lex(fileText);
+
+		try {
+
+			WordOccurrence occurrence = new WordOccurrence(fileText, 0, 0, null);
+
+			for (int i = 0 ; i < tokens.size() ; i++) {
+
+				IElementType tokenType = tokens.tokenType(i);
+				int          start     = tokens.tokenStart(i);
+				int          end       = tokens.tokenEnd(i);
+
+				boolean proceed = true;
+
+				if (IDENTIFIER_TOKEN_SET.contains(tokenType)) {
+
+					occurrence.init(fileText, start, end, WordOccurrence.Kind.CODE);
+
+					proceed = processor.process(occurrence);
+
+				} else if (COMMENT_TOKEN_SET.contains(tokenType)) {
+					proceed = processWordsInToken(
+						fileText, start, end, WordOccurrence.Kind.COMMENTS, occurrence, processor);
+				} else if (LITERAL_TOKEN_SET.contains(tokenType)) {
+					proceed = processWordsInToken(
+						fileText, start, end, WordOccurrence.Kind.LITERALS, occurrence, processor);
+				}
+
+				if (!proceed) { return; }
+
+			}
+
+		} finally {
+			tokens.clear();
+		}
+
+	}
+
+	/**
+	 * Reports the words, namely the maximal sequences of identifier
+	 * characters, of the token in the given range of text.
+	 *
+	 * @param text The text of the token.
+	 * @param start The start offset of the token.
+	 * @param end The end offset of the token.
+	 * @param kind The kind of the reported words.
+	 * @param occurrence The occurrence to reuse to report words.
+	 * @param processor The processor to which to report words.
+	 * @return Whether or not scanning should proceed.
+	 */
+	private static boolean processWordsInToken(
+		@NotNull CharSequence                      text,
+		         int                               start,
+		         int                               end,
+		@NotNull WordOccurrence.Kind               kind,
+		@NotNull WordOccurrence                    occurrence,
+		@NotNull Processor<? super WordOccurrence> processor
+	) {
+
+		int index = start;
+
+		while (index < end) {
+
+			while (index < end && !Character.isJavaIdentifierPart(text.charAt(index))) { index++; }
+
+			int wordStart = index;
+
+			while (index < end && Character.isJavaIdentifierPart(text.charAt(index))) { index++; }
+
+			if (index > wordStart) {
+
+				occurrence.init(text, wordStart, index, kind);
+
+				if (!processor.process(occurrence)) { return false; }
+
+			}
+
+		}
+
+		return true;
+
+	}
+
+}
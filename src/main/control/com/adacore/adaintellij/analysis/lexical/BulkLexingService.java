@@ -0,0 +1,308 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Application service analysing many Ada and GPR files at once.
+ * Files are analysed in parallel on a fork-join pool with one worker
+ * thread per available processor, every worker thread reusing the same
+ * token buffers and lexers for all the files it analyses.
+ * The tokens of virtual files are passed to a consumer as soon as every
+ * file is analysed, and the tokens of files at given paths are streamed
+ * to a consumer as they are analysed, on the worker thread analysing
+ * the file.
+ */
+@Service
+public final class BulkLexingService implements Disposable {
+
+	/**
+	 * Consumer of the tokens of analysed files.
+	 *
+	 * @param <S> The type of analysed sources (files or paths).
+	 */
+	@FunctionalInterface
+	public interface TokenConsumer<S> {
+
+		/**
+		 * Consumes the tokens of the given source.
+		 * Note: This method is called concurrently from worker threads,
+		 *       and the given token buffer is reused as soon as it
+		 *       returns, so it must not be retained.
+		 *
+		 * @param source The analysed source.
+		 * @param text The text of the source.
+		 * @param tokens The tokens of the source.
+		 */
+		void consume(@NotNull S source, @NotNull CharSequence text, @NotNull TokenBuffer tokens);
+
+	}
+
+	/**
+	 * Consumer of the tokens of analysed files, one token at a time.
+	 *
+	 * @param <S> The type of analysed sources (files or paths).
+	 */
+	@FunctionalInterface
+	public interface TokenStreamConsumer<S> {
+
+		/**
+		 * Consumes a token of the given source. The tokens of a source
+		 * are consumed in order, on the same thread.
+		 * Note: This method is called concurrently from worker threads
+		 *       for different sources.
+		 *
+		 * @param source The analysed source.
+		 * @param text The text of the source.
+		 * @param tokenType The type of the token.
+		 * @param tokenStart The start offset of the token.
+		 * @param tokenEnd The end offset of the token.
+		 */
+		void consume(
+			@NotNull S            source,
+			@NotNull CharSequence text,
+			@NotNull IElementType tokenType,
+			         int          tokenStart,
+			         int          tokenEnd
+		);
+
+	}
+
+	/**
+	 * The extension of GPR files, which are analysed with the GPR file
+	 * lexer (all other files are analysed with the Ada lexer).
+	 */
+	private static final String GPR_FILE_EXTENSION = "gpr";
+
+	/**
+	 * The token buffers of every worker thread.
+	 */
+	private static final ThreadLocal<TokenBuffer> ADA_TOKEN_BUFFERS =
+		ThreadLocal.withInitial(TokenBuffer::forAda);
+	private static final ThreadLocal<TokenBuffer> GPR_FILE_TOKEN_BUFFERS =
+		ThreadLocal.withInitial(TokenBuffer::forGPRFile);
+
+	/**
+	 * The lexers of every worker thread.
+	 */
+	private static final ThreadLocal<Lexer> ADA_LEXERS      = ThreadLocal.withInitial(AdaLexer::new);
+	private static final ThreadLocal<Lexer> GPR_FILE_LEXERS = ThreadLocal.withInitial(GPRFileLexer::new);
+
+	/**
+	 * The pool on which files are analysed.
+	 */
+	private final ForkJoinPool POOL;
+
+	/**
+	 * Constructs a new bulk lexing service with one worker thread per
+	 * available processor.
+	 */
+	public BulkLexingService() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructs a new bulk lexing service with the given number of
+	 * worker threads.
+	 *
+	 * @param parallelism The number of worker threads.
+	 */
+	BulkLexingService(int parallelism) {
+		POOL = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * Returns the bulk lexing service of the application.
+	 *
+	 * @return The bulk lexing service.
+	 */
+	@NotNull
+	public static BulkLexingService getInstance() {
+		return ApplicationManager.getApplication().getService(BulkLexingService.class);
+	}
+
+	/**
+	 * Analyses the given virtual files in parallel, passing the tokens
+	 * of every file to the given consumer, and returns once all files
+	 * have been analysed.
+	 *
+	 * @param files The files to analyse.
+	 * @param consumer The consumer of the tokens of every file.
+	 */
+	public void lexFiles(
+		@NotNull Collection<VirtualFile> files,
+		@NotNull TokenConsumer<VirtualFile> consumer
+	) {
+		lex(files, LoadTextUtil::loadText, (file, text) -> {
+
+			TokenBuffer tokens = isGPRFile(file.getExtension()) ?
+				GPR_FILE_TOKEN_BUFFERS.get() : ADA_TOKEN_BUFFERS.get();
+
+			tokens.lex(text);
+
+			consumer.consume(file, text, tokens);
+
+		});
+	}
+
+	/**
+	 * Analyses the files at the given paths in parallel, decoding them
+	 * with the given charset and streaming the tokens of every file to
+	 * the given consumer, and returns once all files have been analysed.
+	 * Files in UTF-8, Latin-1 or ASCII are memory-mapped rather than
+	 * loaded in the heap (see `MappedFileText`), in which case the text
+	 * passed to the consumer must not be used once it returns. Tokens
+	 * are not buffered either, so that the heap used to analyse a file
+	 * does not depend on its size.
+	 *
+	 * @param paths The paths of the files to analyse.
+	 * @param charset The charset of the files.
+	 * @param consumer The consumer of the tokens of every file.
+	 * @throws IOException If a file could not be read, in which case
+	 *                     other files may or may not have been analysed.
+	 */
+	public void lexPaths(
+		@NotNull Collection<Path> paths,
+		@NotNull Charset charset,
+		@NotNull TokenStreamConsumer<Path> consumer
+	) throws IOException {
+
+		boolean mapped = MappedFileText.supports(charset);
+
+		try {
+
+			lex(paths, path -> {
+				try {
+					return mapped ? MappedFileText.open(path, charset) :
+						new String(Files.readAllBytes(path), charset);
+				} catch (IOException exception) {
+					throw new UncheckedIOException(exception);
+				}
+			}, (path, text) -> {
+
+				String name           = path.getFileName().toString();
+				int    extensionStart = name.lastIndexOf('.') + 1;
+
+				Lexer lexer = isGPRFile(extensionStart == 0 ? null : name.substring(extensionStart)) ?
+					GPR_FILE_LEXERS.get() : ADA_LEXERS.get();
+
+				for (lexer.start(text, 0, text.length(), 0) ; lexer.getTokenType() != null ; lexer.advance()) {
+					consumer.consume(path, text, lexer.getTokenType(), lexer.getTokenStart(), lexer.getTokenEnd());
+				}
+
+			});
+
+		} catch (UncheckedIOException exception) {
+			throw exception.getCause();
+		}
+
+	}
+
+	/**
+	 * Analyses the given sources in parallel on the pool of this service.
+	 *
+	 * @param sources The sources to analyse.
+	 * @param textLoader The function loading the text of a source.
+	 * @param analyser The function analysing the text of a source and
+	 *                 passing its tokens to a consumer.
+	 * @param <S> The type of sources.
+	 */
+	private <S> void lex(
+		@NotNull Collection<S>               sources,
+		@NotNull Function<S, CharSequence>   textLoader,
+		@NotNull BiConsumer<S, CharSequence> analyser
+	) {
+
+		// Note: Parallel streams started from a task of a fork-join pool
+		//       run on that pool instead of the common pool
+
+		try {
+
+			POOL.submit(() -> sources.parallelStream().forEach(source -> {
+
+				CharSequence text = textLoader.apply(source);
+
+				try {
+					analyser.accept(source, text);
+				} finally {
+					close(text);
+				}
+
+			})).get();
+
+		} catch (InterruptedException exception) {
+
+			Thread.currentThread().interrupt();
+
+			throw new IllegalStateException("Interrupted while analysing files", exception);
+
+		} catch (ExecutionException exception) {
+
+			Throwable cause = exception.getCause();
+
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			} else if (cause instanceof Error) {
+				throw (Error)cause;
+			}
+
+			throw new IllegalStateException(cause);
+
+		}
+
+	}
+
+	/**
+	 * Returns whether a file with the given extension is a GPR file, as
+	 * opposed to an Ada file.
+	 *
+	 * @param extension The extension of the file, or null.
+	 * @return Whether the file is a GPR file.
+	 */
+	private static boolean isGPRFile(@Nullable String extension) {
+		return GPR_FILE_EXTENSION.equalsIgnoreCase(extension);
+	}
+
+	/**
+	 * Closes the given text if it is closeable, such as the text of a
+	 * memory-mapped file.
+	 *
+	 * @param text The text to close.
+	 */
+	private static void close(@NotNull CharSequence text) {
+
+		if (!(text instanceof Closeable)) { return; }
+
+		try {
+			((Closeable)text).close();
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+
+	}
+
+	/**
+	 * @see com.intellij.openapi.Disposable#dispose()
+	 */
+	@Override
+	public void dispose() { POOL.shutdownNow(); }
+
+}
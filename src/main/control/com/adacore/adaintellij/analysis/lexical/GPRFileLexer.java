@@ -1,12 +1,13 @@
 package com.adacore.adaintellij.analysis.lexical;
 
+import com.adacore.adaintellij.analysis.lexical.regex.LexerAutomaton;
 import com.adacore.adaintellij.analysis.lexical.regex.LexerRegex;
 import com.adacore.adaintellij.analysis.lexical.regex.UnitRegex;
 import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static com.adacore.adaintellij.analysis.lexical.GPRFileTokenTypes.*;
@@ -16,78 +17,99 @@ import static com.adacore.adaintellij.analysis.lexical.GPRFileTokenTypes.*;
  */
 public final class GPRFileLexer extends Lexer {
 
-	// Delimiters
-
 	/**
-	 * Unit regexes for matching GPR file single delimiters.
+	 * Regexes of the GPR file lexer (see `Lexer.Regexes`), from which
+	 * its automaton is compiled when it is not loaded from its resource.
 	 */
-	private static final LexerRegex AMPERSAND_REGEX         = new UnitRegex(AMPERSAND.TOKEN_TEXT);
-	private static final LexerRegex APOSTROPHE_REGEX        = new UnitRegex(APOSTROPHE.TOKEN_TEXT);
-	private static final LexerRegex LEFT_PARENTHESIS_REGEX  = new UnitRegex(LEFT_PARENTHESIS.TOKEN_TEXT);
-	private static final LexerRegex RIGHT_PARENTHESIS_REGEX = new UnitRegex(RIGHT_PARENTHESIS.TOKEN_TEXT);
-	private static final LexerRegex COMMA_REGEX             = new UnitRegex(COMMA.TOKEN_TEXT);
-	private static final LexerRegex FULL_STOP_REGEX         = new UnitRegex(FULL_STOP.TOKEN_TEXT);
-	private static final LexerRegex COLON_REGEX             = new UnitRegex(COLON.TOKEN_TEXT);
-	private static final LexerRegex SEMICOLON_REGEX         = new UnitRegex(SEMICOLON.TOKEN_TEXT);
-	private static final LexerRegex VERTICAL_LINE_REGEX     = new UnitRegex(VERTICAL_LINE.TOKEN_TEXT);
+	static final class Regexes extends Lexer.Regexes {
 
-	/**
-	 * Unit regexes for matching GPR file compound delimiters.
-	 */
-	private static final LexerRegex ARROW_REGEX             = new UnitRegex(ARROW.TOKEN_TEXT);
-	private static final LexerRegex ASSIGNMENT_REGEX        = new UnitRegex(ASSIGNMENT.TOKEN_TEXT);
+		// Delimiters
 
-	// Keywords
+		/**
+		 * Unit regexes for matching GPR file single delimiters.
+		 */
+		private static final LexerRegex AMPERSAND_REGEX         = new UnitRegex(AMPERSAND.TOKEN_TEXT);
+		private static final LexerRegex APOSTROPHE_REGEX        = new UnitRegex(APOSTROPHE.TOKEN_TEXT);
+		private static final LexerRegex LEFT_PARENTHESIS_REGEX  = new UnitRegex(LEFT_PARENTHESIS.TOKEN_TEXT);
+		private static final LexerRegex RIGHT_PARENTHESIS_REGEX = new UnitRegex(RIGHT_PARENTHESIS.TOKEN_TEXT);
+		private static final LexerRegex COMMA_REGEX             = new UnitRegex(COMMA.TOKEN_TEXT);
+		private static final LexerRegex FULL_STOP_REGEX         = new UnitRegex(FULL_STOP.TOKEN_TEXT);
+		private static final LexerRegex COLON_REGEX             = new UnitRegex(COLON.TOKEN_TEXT);
+		private static final LexerRegex SEMICOLON_REGEX         = new UnitRegex(SEMICOLON.TOKEN_TEXT);
+		private static final LexerRegex VERTICAL_LINE_REGEX     = new UnitRegex(VERTICAL_LINE.TOKEN_TEXT);
 
-	/**
-	 * Unit regexes for matching GPR file keywords.
-	 */
-	private static final LexerRegex ABSTRACT_KEYWORD_REGEX         = new UnitRegex(ABSTRACT_KEYWORD.TOKEN_TEXT        , 1);
-	private static final LexerRegex ALL_KEYWORD_REGEX              = new UnitRegex(ALL_KEYWORD.TOKEN_TEXT             , 1);
-	private static final LexerRegex AT_KEYWORD_REGEX               = new UnitRegex(AT_KEYWORD.TOKEN_TEXT              , 1);
+		/**
+		 * Unit regexes for matching GPR file compound delimiters.
+		 */
+		private static final LexerRegex ARROW_REGEX             = new UnitRegex(ARROW.TOKEN_TEXT);
+		private static final LexerRegex ASSIGNMENT_REGEX        = new UnitRegex(ASSIGNMENT.TOKEN_TEXT);
 
-	private static final LexerRegex CASE_KEYWORD_REGEX             = new UnitRegex(CASE_KEYWORD.TOKEN_TEXT            , 1);
+		// Root regexes
 
-	private static final LexerRegex END_KEYWORD_REGEX              = new UnitRegex(END_KEYWORD.TOKEN_TEXT             , 1);
-	private static final LexerRegex EXTENDS_KEYWORD_REGEX          = new UnitRegex(EXTENDS_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex EXTERNAL_KEYWORD_REGEX         = new UnitRegex(EXTERNAL_KEYWORD.TOKEN_TEXT        , 1);
-	private static final LexerRegex EXTERNAL_AS_LIST_KEYWORD_REGEX = new UnitRegex(EXTERNAL_AS_LIST_KEYWORD.TOKEN_TEXT, 1);
+		/**
+		 * A map associating root regexes with the token types
+		 * they represent.
+		 */
+		private static final Map<LexerRegex, IElementType> REGEX_TOKEN_TYPES;
 
-	private static final LexerRegex FOR_KEYWORD_REGEX              = new UnitRegex(FOR_KEYWORD.TOKEN_TEXT             , 1);
+		/*
+			Static Initializer
+		*/
 
-	private static final LexerRegex IS_KEYWORD_REGEX               = new UnitRegex(IS_KEYWORD.TOKEN_TEXT              , 1);
+		static {
 
-	private static final LexerRegex LIMITED_KEYWORD_REGEX          = new UnitRegex(LIMITED_KEYWORD.TOKEN_TEXT         , 1);
+			// Populate the regex -> token-type map
 
-	private static final LexerRegex NULL_KEYWORD_REGEX             = new UnitRegex(NULL_KEYWORD.TOKEN_TEXT            , 1);
+			Map<LexerRegex, IElementType> regexTokenTypes = new LinkedHashMap<>();
 
-	private static final LexerRegex OTHERS_KEYWORD_REGEX           = new UnitRegex(OTHERS_KEYWORD.TOKEN_TEXT          , 1);
+			regexTokenTypes.put(WHITESPACES_REGEX             , WHITESPACES);
 
-	private static final LexerRegex PACKAGE_KEYWORD_REGEX          = new UnitRegex(PACKAGE_KEYWORD.TOKEN_TEXT         , 1);
-	private static final LexerRegex PROJECT_KEYWORD_REGEX          = new UnitRegex(PROJECT_KEYWORD.TOKEN_TEXT         , 1);
+			regexTokenTypes.put(AMPERSAND_REGEX               , AMPERSAND);
+			regexTokenTypes.put(APOSTROPHE_REGEX              , APOSTROPHE);
+			regexTokenTypes.put(LEFT_PARENTHESIS_REGEX        , LEFT_PARENTHESIS);
+			regexTokenTypes.put(RIGHT_PARENTHESIS_REGEX       , RIGHT_PARENTHESIS);
+			regexTokenTypes.put(COMMA_REGEX                   , COMMA);
+			regexTokenTypes.put(FULL_STOP_REGEX               , FULL_STOP);
+			regexTokenTypes.put(COLON_REGEX                   , COLON);
+			regexTokenTypes.put(SEMICOLON_REGEX               , SEMICOLON);
+			regexTokenTypes.put(VERTICAL_LINE_REGEX           , VERTICAL_LINE);
 
-	private static final LexerRegex RENAMES_KEYWORD_REGEX          = new UnitRegex(RENAMES_KEYWORD.TOKEN_TEXT         , 1);
+			regexTokenTypes.put(ARROW_REGEX                   , ARROW);
+			regexTokenTypes.put(ASSIGNMENT_REGEX              , ASSIGNMENT);
 
-	private static final LexerRegex TYPE_KEYWORD_REGEX             = new UnitRegex(TYPE_KEYWORD.TOKEN_TEXT            , 1);
+			regexTokenTypes.put(IDENTIFIER_REGEX              , IDENTIFIER);
+			regexTokenTypes.put(STRING_LITERAL_REGEX          , STRING_LITERAL);
 
-	private static final LexerRegex USE_KEYWORD_REGEX              = new UnitRegex(USE_KEYWORD.TOKEN_TEXT             , 1);
+			regexTokenTypes.put(COMMENT_REGEX                 , COMMENT);
 
-	private static final LexerRegex WHEN_KEYWORD_REGEX             = new UnitRegex(WHEN_KEYWORD.TOKEN_TEXT            , 1);
-	private static final LexerRegex WITH_KEYWORD_REGEX             = new UnitRegex(WITH_KEYWORD.TOKEN_TEXT            , 1);
+			REGEX_TOKEN_TYPES = Collections.unmodifiableMap(regexTokenTypes);
 
-	/**
-	 * Unit regexes for matching GPR file qualifiers.
-	 */
-	private static final LexerRegex AGGREGATE_KEYWORD_REGEX        = new UnitRegex(AGGREGATE_KEYWORD.TOKEN_TEXT       , 1);
-	private static final LexerRegex LIBRARY_KEYWORD_REGEX          = new UnitRegex(LIBRARY_KEYWORD.TOKEN_TEXT         , 1);
+		}
+
+		/**
+		 * Compiles the root regexes into the automaton of the lexer.
+		 *
+		 * @return The compiled automaton.
+		 */
+		@NotNull
+		static LexerAutomaton<IElementType> compileAutomaton() {
+			return LexerAutomaton.compile(REGEX_TOKEN_TYPES, Collections.emptyList(), true);
+		}
+
+	}
 
 	// Lexer data
 
 	/**
-	 * A map associating root regexes with the token types
-	 * they represent.
+	 * The automaton compiled from the root regexes.
+	 */
+	private static final LexerAutomaton<IElementType> AUTOMATON;
+
+	/**
+	 * The table of GPR file keywords and qualifiers, looked up for
+	 * every scanned identifier.
 	 */
-	private static final Map<LexerRegex, IElementType> REGEX_TOKEN_TYPES;
+	private static final KeywordTable KEYWORDS;
 
 	/*
 		Static Initializer
@@ -95,67 +117,51 @@ public final class GPRFileLexer extends Lexer {
 
 	static {
 
-		// Populate the regex -> token-type map
+		// Load the automaton, compiling it if it was not generated
 
-		Map<LexerRegex, IElementType> regexTokenTypes = new HashMap<>();
+		AUTOMATON = loadAutomaton(GPRFileLexer.class, ALL_VALID_TOKENS, Regexes::compileAutomaton);
 
-		regexTokenTypes.put(WHITESPACES_REGEX             , WHITESPACES);
+		// Populate the keyword -> token-type map and build the keyword table
 
-		regexTokenTypes.put(AMPERSAND_REGEX               , AMPERSAND);
-		regexTokenTypes.put(APOSTROPHE_REGEX              , APOSTROPHE);
-		regexTokenTypes.put(LEFT_PARENTHESIS_REGEX        , LEFT_PARENTHESIS);
-		regexTokenTypes.put(RIGHT_PARENTHESIS_REGEX       , RIGHT_PARENTHESIS);
-		regexTokenTypes.put(COMMA_REGEX                   , COMMA);
-		regexTokenTypes.put(FULL_STOP_REGEX               , FULL_STOP);
-		regexTokenTypes.put(COLON_REGEX                   , COLON);
-		regexTokenTypes.put(SEMICOLON_REGEX               , SEMICOLON);
-		regexTokenTypes.put(VERTICAL_LINE_REGEX           , VERTICAL_LINE);
+		Map<String, IElementType> keywordTokenTypes = new LinkedHashMap<>();
 
-		regexTokenTypes.put(ARROW_REGEX                   , ARROW);
-		regexTokenTypes.put(ASSIGNMENT_REGEX              , ASSIGNMENT);
+		keywordTokenTypes.put(ABSTRACT_KEYWORD.TOKEN_TEXT        , ABSTRACT_KEYWORD);
+		keywordTokenTypes.put(ALL_KEYWORD.TOKEN_TEXT             , ALL_KEYWORD);
+		keywordTokenTypes.put(AT_KEYWORD.TOKEN_TEXT              , AT_KEYWORD);
 
-		regexTokenTypes.put(IDENTIFIER_REGEX              , IDENTIFIER);
-		regexTokenTypes.put(STRING_LITERAL_REGEX          , STRING_LITERAL);
+		keywordTokenTypes.put(CASE_KEYWORD.TOKEN_TEXT            , CASE_KEYWORD);
 
-		regexTokenTypes.put(COMMENT_REGEX                 , COMMENT);
+		keywordTokenTypes.put(END_KEYWORD.TOKEN_TEXT             , END_KEYWORD);
+		keywordTokenTypes.put(EXTENDS_KEYWORD.TOKEN_TEXT         , EXTENDS_KEYWORD);
+		keywordTokenTypes.put(EXTERNAL_KEYWORD.TOKEN_TEXT        , EXTERNAL_KEYWORD);
+		keywordTokenTypes.put(EXTERNAL_AS_LIST_KEYWORD.TOKEN_TEXT, EXTERNAL_AS_LIST_KEYWORD);
 
-		regexTokenTypes.put(ABSTRACT_KEYWORD_REGEX        , ABSTRACT_KEYWORD);
-		regexTokenTypes.put(ALL_KEYWORD_REGEX             , ALL_KEYWORD);
-		regexTokenTypes.put(AT_KEYWORD_REGEX              , AT_KEYWORD);
+		keywordTokenTypes.put(FOR_KEYWORD.TOKEN_TEXT             , FOR_KEYWORD);
 
-		regexTokenTypes.put(CASE_KEYWORD_REGEX            , CASE_KEYWORD);
+		keywordTokenTypes.put(IS_KEYWORD.TOKEN_TEXT              , IS_KEYWORD);
 
-		regexTokenTypes.put(END_KEYWORD_REGEX             , END_KEYWORD);
-		regexTokenTypes.put(EXTENDS_KEYWORD_REGEX         , EXTENDS_KEYWORD);
-		regexTokenTypes.put(EXTERNAL_KEYWORD_REGEX        , EXTERNAL_KEYWORD);
-		regexTokenTypes.put(EXTERNAL_AS_LIST_KEYWORD_REGEX, EXTERNAL_AS_LIST_KEYWORD);
+		keywordTokenTypes.put(LIMITED_KEYWORD.TOKEN_TEXT         , LIMITED_KEYWORD);
 
-		regexTokenTypes.put(FOR_KEYWORD_REGEX             , FOR_KEYWORD);
+		keywordTokenTypes.put(NULL_KEYWORD.TOKEN_TEXT            , NULL_KEYWORD);
 
-		regexTokenTypes.put(IS_KEYWORD_REGEX              , IS_KEYWORD);
+		keywordTokenTypes.put(OTHERS_KEYWORD.TOKEN_TEXT          , OTHERS_KEYWORD);
 
-		regexTokenTypes.put(LIMITED_KEYWORD_REGEX         , LIMITED_KEYWORD);
+		keywordTokenTypes.put(PACKAGE_KEYWORD.TOKEN_TEXT         , PACKAGE_KEYWORD);
+		keywordTokenTypes.put(PROJECT_KEYWORD.TOKEN_TEXT         , PROJECT_KEYWORD);
 
-		regexTokenTypes.put(NULL_KEYWORD_REGEX            , NULL_KEYWORD);
+		keywordTokenTypes.put(RENAMES_KEYWORD.TOKEN_TEXT         , RENAMES_KEYWORD);
 
-		regexTokenTypes.put(OTHERS_KEYWORD_REGEX          , OTHERS_KEYWORD);
+		keywordTokenTypes.put(TYPE_KEYWORD.TOKEN_TEXT            , TYPE_KEYWORD);
 
-		regexTokenTypes.put(PACKAGE_KEYWORD_REGEX         , PACKAGE_KEYWORD);
-		regexTokenTypes.put(PROJECT_KEYWORD_REGEX         , PROJECT_KEYWORD);
+		keywordTokenTypes.put(USE_KEYWORD.TOKEN_TEXT             , USE_KEYWORD);
 
-		regexTokenTypes.put(RENAMES_KEYWORD_REGEX         , RENAMES_KEYWORD);
+		keywordTokenTypes.put(WHEN_KEYWORD.TOKEN_TEXT            , WHEN_KEYWORD);
+		keywordTokenTypes.put(WITH_KEYWORD.TOKEN_TEXT            , WITH_KEYWORD);
 
-		regexTokenTypes.put(TYPE_KEYWORD_REGEX            , TYPE_KEYWORD);
+		keywordTokenTypes.put(AGGREGATE_KEYWORD.TOKEN_TEXT       , AGGREGATE_KEYWORD);
+		keywordTokenTypes.put(LIBRARY_KEYWORD.TOKEN_TEXT         , LIBRARY_KEYWORD);
 
-		regexTokenTypes.put(USE_KEYWORD_REGEX             , USE_KEYWORD);
-
-		regexTokenTypes.put(WHEN_KEYWORD_REGEX            , WHEN_KEYWORD);
-		regexTokenTypes.put(WITH_KEYWORD_REGEX            , WITH_KEYWORD);
-
-		regexTokenTypes.put(AGGREGATE_KEYWORD_REGEX       , AGGREGATE_KEYWORD);
-		regexTokenTypes.put(LIBRARY_KEYWORD_REGEX         , LIBRARY_KEYWORD);
-
-		REGEX_TOKEN_TYPES = Collections.unmodifiableMap(regexTokenTypes);
+		KEYWORDS = new KeywordTable(keywordTokenTypes);
 
 	}
 
@@ -167,10 +173,24 @@ public final class GPRFileLexer extends Lexer {
 	protected IElementType badCharacterTokenType() { return BAD_CHARACTER; }
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#regexTokenTypeMap()
+	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#automaton()
+	 */
+	@NotNull
+	@Override
+	protected LexerAutomaton<IElementType> automaton() { return AUTOMATON; }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#identifierTokenType()
+	 */
+	@NotNull
+	@Override
+	protected IElementType identifierTokenType() { return IDENTIFIER; }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.Lexer#keywords()
 	 */
 	@NotNull
 	@Override
-	protected Map<LexerRegex, IElementType> regexTokenTypeMap() { return REGEX_TOKEN_TYPES; }
+	KeywordTable keywords() { return KEYWORDS; }
 
 }
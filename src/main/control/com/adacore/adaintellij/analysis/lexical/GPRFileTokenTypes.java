@@ -137,6 +137,21 @@ public final class GPRFileTokenTypes {
 	 */
 	public static final TokenSet QUALIFIER_TOKEN_SET = TokenSet.create(AGGREGATE_KEYWORD, LIBRARY_KEYWORD);
 
+	/**
+	 * Token set representing all valid GPR file tokens.
+	 */
+	public static final TokenSet ALL_VALID_TOKENS = TokenSet.orSet(
+
+		WHITESPACE_TOKEN_SET, COMMENT_TOKEN_SET,
+
+		DELIMITER_TOKEN_SET,
+
+		IDENTIFIER_TOKEN_SET, STRING_LITERAL_TOKEN_SET,
+
+		KEYWORD_TOKEN_SET, QUALIFIER_TOKEN_SET
+
+	);
+
 	/**
 	 * Private default constructor to prevent instantiation.
 	 */
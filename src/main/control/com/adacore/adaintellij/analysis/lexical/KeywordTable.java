@@ -0,0 +1,217 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Perfect hash table mapping the keywords of a language to their token
+ * types, used by lexers to recognize keywords among scanned identifiers.
+ * Keywords are looked up case-insensitively, directly in the text being
+ * analysed, and lookups do not allocate: the hash of a candidate word is
+ * computed over its characters converted to lowercase (in the same way
+ * lexer automata convert them, see `LexerAutomaton`), and the seed of the
+ * hash function is chosen when the table is built so that no two keywords
+ * share a slot, which means that a lookup probes at most one slot.
+ */
+final class KeywordTable {
+
+	/**
+	 * The maximum number of seeds to try for a given table size before
+	 * doubling that size.
+	 */
+	private static final int MAX_SEED_ATTEMPTS = 4096;
+
+	/**
+	 * The keywords of this table in lowercase, and their token types,
+	 * at the slots given by their hashes (null for empty slots).
+	 */
+	private final String[]       KEYWORDS;
+	private final IElementType[] TOKEN_TYPES;
+
+	/**
+	 * The seed of the hash function, for which keywords do not collide.
+	 */
+	private final int SEED;
+
+	/**
+	 * The mask mapping hashes to slots (the table size minus one).
+	 */
+	private final int MASK;
+
+	/**
+	 * The lengths of the shortest and longest keywords, allowing words
+	 * that cannot be keywords to be rejected without being hashed.
+	 */
+	private final int MIN_LENGTH;
+	private final int MAX_LENGTH;
+
+	/**
+	 * Constructs a new keyword table given a map associating keywords
+	 * with their token types.
+	 *
+	 * @param keywordTokenTypes The keyword -> token-type map.
+	 * @throws IllegalArgumentException If the map is empty or contains
+	 *                                  keywords that are equal when
+	 *                                  converted to lowercase.
+	 */
+	KeywordTable(@NotNull Map<String, IElementType> keywordTokenTypes) {
+
+		if (keywordTokenTypes.isEmpty()) {
+			throw new IllegalArgumentException("Keyword table cannot be empty");
+		}
+
+		// Convert keywords to lowercase and compute their length bounds
+
+		String[]       keywords   = new String[keywordTokenTypes.size()];
+		IElementType[] tokenTypes = new IElementType[keywords.length];
+
+		int minLength = Integer.MAX_VALUE;
+		int maxLength = 0;
+		int index     = 0;
+
+		for (Map.Entry<String, IElementType> entry : keywordTokenTypes.entrySet()) {
+
+			String keyword = entry.getKey();
+
+			keywords[index]   = lowercase(keyword);
+			tokenTypes[index] = entry.getValue();
+
+			minLength = Math.min(minLength, keyword.length());
+			maxLength = Math.max(maxLength, keyword.length());
+
+			index++;
+
+		}
+
+		// Find the smallest table size, and a seed for that size, such
+		// that every keyword is assigned a different slot, starting with
+		// a load factor of at most one half
+
+		int size = Integer.highestOneBit(keywords.length * 2 - 1) << 1;
+
+		String[]       slotKeywords   = null;
+		IElementType[] slotTokenTypes = null;
+		int            slotSeed       = 0;
+
+		search:
+		while (true) {
+
+			for (int seed = 1 ; seed <= MAX_SEED_ATTEMPTS ; seed++) {
+
+				slotKeywords   = new String[size];
+				slotTokenTypes = new IElementType[size];
+				slotSeed       = seed;
+
+				boolean collisionFree = true;
+
+				for (int i = 0 ; i < keywords.length && collisionFree ; i++) {
+
+					String keyword = keywords[i];
+					int    slot    = hash(keyword, 0, keyword.length(), seed) & (size - 1);
+
+					if (slotKeywords[slot] == null) {
+						slotKeywords[slot]   = keyword;
+						slotTokenTypes[slot] = tokenTypes[i];
+					} else if (slotKeywords[slot].equals(keyword)) {
+						throw new IllegalArgumentException("Duplicate keyword: " + keyword);
+					} else {
+						collisionFree = false;
+					}
+
+				}
+
+				if (collisionFree) { break search; }
+
+			}
+
+			size <<= 1;
+
+		}
+
+		KEYWORDS    = slotKeywords;
+		TOKEN_TYPES = slotTokenTypes;
+		SEED        = slotSeed;
+		MASK        = size - 1;
+		MIN_LENGTH  = minLength;
+		MAX_LENGTH  = maxLength;
+
+	}
+
+	/**
+	 * Returns the token type of the keyword spelled by the given range
+	 * of the given text, ignoring case, or null if that range does not
+	 * spell a keyword.
+	 *
+	 * @param text The text containing the word to look up.
+	 * @param start The start offset of the word in the text.
+	 * @param end The end offset of the word in the text.
+	 * @return The token type of the keyword, or null.
+	 */
+	@Nullable
+	IElementType get(@NotNull CharSequence text, int start, int end) {
+
+		int length = end - start;
+
+		if (length < MIN_LENGTH || length > MAX_LENGTH) { return null; }
+
+		int    slot    = hash(text, start, end, SEED) & MASK;
+		String keyword = KEYWORDS[slot];
+
+		if (keyword == null || keyword.length() != length) { return null; }
+
+		for (int i = 0 ; i < length ; i++) {
+			if (Character.toLowerCase(text.charAt(start + i)) != keyword.charAt(i)) { return null; }
+		}
+
+		return TOKEN_TYPES[slot];
+
+	}
+
+	/**
+	 * Returns the hash of the given range of the given text converted
+	 * to lowercase, for the given seed.
+	 *
+	 * @param text The text containing the word to hash.
+	 * @param start The start offset of the word in the text.
+	 * @param end The end offset of the word in the text.
+	 * @param seed The seed of the hash function.
+	 * @return The hash of the word.
+	 */
+	private static int hash(@NotNull CharSequence text, int start, int end, int seed) {
+
+		int hash = end - start;
+
+		for (int i = start ; i < end ; i++) {
+			hash = hash * seed + Character.toLowerCase(text.charAt(i));
+		}
+
+		// Mix the high bits into the low bits, which select the slot
+
+		return hash ^ (hash >>> 16) ^ (hash >>> 7);
+
+	}
+
+	/**
+	 * Returns the given string converted to lowercase character by
+	 * character, consistently with `hash`.
+	 *
+	 * @param string The string to convert.
+	 * @return The string in lowercase.
+	 */
+	@NotNull
+	private static String lowercase(@NotNull String string) {
+
+		char[] characters = string.toCharArray();
+
+		for (int i = 0 ; i < characters.length ; i++) {
+			characters[i] = Character.toLowerCase(characters[i]);
+		}
+
+		return new String(characters);
+
+	}
+
+}
@@ -3,10 +3,14 @@ package com.adacore.adaintellij.analysis.lexical;
 import com.adacore.adaintellij.analysis.lexical.regex.*;
 import com.intellij.lexer.LexerBase;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Base lexical analyser for Ada and related languages.
@@ -17,225 +21,214 @@ abstract class Lexer extends LexerBase {
 		Constants
 	*/
 
-	// Whitespaces
-
-	/**
-	 * Regexes matching characters based on their "General Category"
-	 * as defined by the Unicode standard.
-	 */
-	protected static final LexerRegex LETTER_UPPERCASE_REGEX       = new GeneralCategoryRegex("Lu");
-	protected static final LexerRegex LETTER_LOWERCASE_REGEX       = new GeneralCategoryRegex("Ll");
-	protected static final LexerRegex LETTER_TITLECASE_REGEX       = new GeneralCategoryRegex("Lt");
-	protected static final LexerRegex LETTER_MODIFIER_REGEX        = new GeneralCategoryRegex("Lm");
-	protected static final LexerRegex LETTER_OTHER_REGEX           = new GeneralCategoryRegex("Lo");
-	protected static final LexerRegex MARK_NON_SPACING_REGEX       = new GeneralCategoryRegex("Mn");
-	protected static final LexerRegex MARK_SPACING_COMBINING_REGEX = new GeneralCategoryRegex("Mc");
-	protected static final LexerRegex NUMBER_DECIMAL_REGEX         = new GeneralCategoryRegex("Nd");
-	protected static final LexerRegex NUMBER_LETTER_REGEX          = new GeneralCategoryRegex("Nl");
-
-	// Character Categories
-	protected static final LexerRegex PUNCTUATION_CONNECTOR_REGEX  = new GeneralCategoryRegex("Pc");
-	protected static final LexerRegex OTHER_FORMAT_REGEX           = new GeneralCategoryRegex("Cf"); // Currently not used
-	protected static final LexerRegex SEPARATOR_SPACE_REGEX        = new GeneralCategoryRegex("Zs"); // Currently not used
-	protected static final LexerRegex SEPARATOR_LINE_REGEX         = new GeneralCategoryRegex("Zl");
-	protected static final LexerRegex SEPARATOR_PARAGRAPH_REGEX    = new GeneralCategoryRegex("Zp");
-	protected static final LexerRegex OTHER_PRIVATE_USE_REGEX      = new GeneralCategoryRegex("Co");
-	protected static final LexerRegex OTHER_SURROGATE_REGEX        = new GeneralCategoryRegex("Cs");
-	/**
-	 * Regexes matching different whitespace characters.
-	 */
-	private static final LexerRegex HORIZONTAL_TABULATION_REGEX = new UnitRegex("\t");
-	private static final LexerRegex LINE_FEED_REGEX             = new UnitRegex("\n");
-	private static final LexerRegex VERTICAL_TABULATION_REGEX   = new UnitRegex("\u000b");
-	private static final LexerRegex FORM_FEED_REGEX             = new UnitRegex("\f");
-	private static final LexerRegex CARRIAGE_RETURN_REGEX       = new UnitRegex("\r");
-	private static final LexerRegex SPACE_REGEX                 = new UnitRegex("\u0020");
-	private static final LexerRegex NEXT_LINE_REGEX             = new UnitRegex("\u0085");
-	/**
-	 * Regexes matching various character classes defined by
-	 * the Ada 2012 specification.
-	 */
-	protected static final LexerRegex FORMAT_EFFECTOR_REGEX =
-		UnionRegex.fromRegexes(
-			HORIZONTAL_TABULATION_REGEX,
-			LINE_FEED_REGEX,
-			VERTICAL_TABULATION_REGEX,
-			FORM_FEED_REGEX,
-			CARRIAGE_RETURN_REGEX,
-			NEXT_LINE_REGEX,
-			SEPARATOR_LINE_REGEX,
-			SEPARATOR_PARAGRAPH_REGEX
-		);
-	protected static final LexerRegex OTHER_CONTROL_REGEX =
-		new IntersectionRegex(
-			new GeneralCategoryRegex("Cc"),
-			new NotRegex(FORMAT_EFFECTOR_REGEX)
-		);
-	protected static final LexerRegex GRAPHIC_CHARACTER_REGEX =
-		new NotRegex(
-			UnionRegex.fromRegexes(
-				OTHER_CONTROL_REGEX,
-				OTHER_PRIVATE_USE_REGEX,
-				OTHER_SURROGATE_REGEX,
-				FORMAT_EFFECTOR_REGEX,
-				new UnitRegex("\ufffe"),
-				new UnitRegex("\uffff")
-			)
-		);
-	/**
-	 * Regex defining a non-quotation-mark graphic character (used
-	 * to define string literals).
-	 * <p>
-	 * A non-quotation-mark graphic character is defined as any
-	 * graphic_character other than the quotation mark character '"'
-	 */
-	private static final LexerRegex NON_QUOTATION_MARK_GRAPHIC_CHARACTER_REGEX =
-		new IntersectionRegex(
-			GRAPHIC_CHARACTER_REGEX,
-			new NotRegex(new UnitRegex("\""))
-		);
 	/**
-	 * Regex defining a string element (used to define string literals).
-	 * <p>
-	 * string_element ::= "" | non_quotation_mark_graphic_character
+	 * Regexes shared by the lexers of Ada and related languages, which
+	 * lexers extend with their own regexes.
+	 * Regexes are held by nested classes rather than by lexers, so that
+	 * they are only built when an automaton is compiled from them (see
+	 * `loadAutomaton`), as opposed to whenever a lexer class is loaded.
 	 */
-	private static final LexerRegex STRING_ELEMENT_REGEX =
-		new UnionRegex(
-			new UnitRegex("\"\""),
-			NON_QUOTATION_MARK_GRAPHIC_CHARACTER_REGEX
-		);
+	static class Regexes {
 
-	// Identifiers
-	/**
-	 * Regex defining an Ada string literal.
-	 * <p>
-	 * string_literal ::= "{string_element}"
-	 */
-	protected static final LexerRegex STRING_LITERAL_REGEX =
-		ConcatenationRegex.fromRegexes(
-			new UnitRegex("\""),
-			new ZeroOrMoreRegex(STRING_ELEMENT_REGEX),
-			new UnitRegex("\"")
-		);
-	private static final LexerRegex NO_BREAK_SPACE_REGEX        = new UnitRegex("\u00a0");
-	/**
-	 * Regex defining a sequence of whitespaces in Ada.
-	 */
-	protected static final LexerRegex WHITESPACES_REGEX =
-		new OneOrMoreRegex(
+		// Whitespaces
+
+		/**
+		 * Regexes matching characters based on their "General Category"
+		 * as defined by the Unicode standard.
+		 */
+		protected static final LexerRegex LETTER_UPPERCASE_REGEX       = new GeneralCategoryRegex("Lu");
+		protected static final LexerRegex LETTER_LOWERCASE_REGEX       = new GeneralCategoryRegex("Ll");
+		protected static final LexerRegex LETTER_TITLECASE_REGEX       = new GeneralCategoryRegex("Lt");
+		protected static final LexerRegex LETTER_MODIFIER_REGEX        = new GeneralCategoryRegex("Lm");
+		protected static final LexerRegex LETTER_OTHER_REGEX           = new GeneralCategoryRegex("Lo");
+		protected static final LexerRegex MARK_NON_SPACING_REGEX       = new GeneralCategoryRegex("Mn");
+		protected static final LexerRegex MARK_SPACING_COMBINING_REGEX = new GeneralCategoryRegex("Mc");
+		protected static final LexerRegex NUMBER_DECIMAL_REGEX         = new GeneralCategoryRegex("Nd");
+		protected static final LexerRegex NUMBER_LETTER_REGEX          = new GeneralCategoryRegex("Nl");
+
+		// Character Categories
+		protected static final LexerRegex PUNCTUATION_CONNECTOR_REGEX  = new GeneralCategoryRegex("Pc");
+		protected static final LexerRegex OTHER_FORMAT_REGEX           = new GeneralCategoryRegex("Cf"); // Currently not used
+		protected static final LexerRegex SEPARATOR_SPACE_REGEX        = new GeneralCategoryRegex("Zs"); // Currently not used
+		protected static final CharacterSetRegex SEPARATOR_LINE_REGEX      = CharacterSetRegex.fromGeneralCategory("Zl");
+		protected static final CharacterSetRegex SEPARATOR_PARAGRAPH_REGEX = CharacterSetRegex.fromGeneralCategory("Zp");
+		protected static final CharacterSetRegex OTHER_PRIVATE_USE_REGEX   = CharacterSetRegex.fromGeneralCategory("Co");
+		protected static final CharacterSetRegex OTHER_SURROGATE_REGEX     = CharacterSetRegex.fromGeneralCategory("Cs");
+		/**
+		 * Regexes matching different whitespace characters.
+		 */
+		private static final CharacterSetRegex HORIZONTAL_TABULATION_REGEX = CharacterSetRegex.fromCharacters('\t');
+		private static final CharacterSetRegex LINE_FEED_REGEX             = CharacterSetRegex.fromCharacters('\n');
+		private static final CharacterSetRegex VERTICAL_TABULATION_REGEX   = CharacterSetRegex.fromCharacters('\u000b');
+		private static final CharacterSetRegex FORM_FEED_REGEX             = CharacterSetRegex.fromCharacters('\f');
+		private static final CharacterSetRegex CARRIAGE_RETURN_REGEX       = CharacterSetRegex.fromCharacters('\r');
+		private static final CharacterSetRegex SPACE_REGEX                 = CharacterSetRegex.fromCharacters('\u0020');
+		private static final CharacterSetRegex NEXT_LINE_REGEX             = CharacterSetRegex.fromCharacters('\u0085');
+		/**
+		 * Regexes matching various character classes defined by
+		 * the Ada 2012 specification.
+		 */
+		protected static final CharacterSetRegex FORMAT_EFFECTOR_REGEX =
+			HORIZONTAL_TABULATION_REGEX
+				.union(LINE_FEED_REGEX)
+				.union(VERTICAL_TABULATION_REGEX)
+				.union(FORM_FEED_REGEX)
+				.union(CARRIAGE_RETURN_REGEX)
+				.union(NEXT_LINE_REGEX)
+				.union(SEPARATOR_LINE_REGEX)
+				.union(SEPARATOR_PARAGRAPH_REGEX);
+		protected static final CharacterSetRegex OTHER_CONTROL_REGEX =
+			CharacterSetRegex.fromGeneralCategory("Cc")
+				.intersection(FORMAT_EFFECTOR_REGEX.complement());
+		protected static final CharacterSetRegex GRAPHIC_CHARACTER_REGEX =
+			OTHER_CONTROL_REGEX
+				.union(OTHER_PRIVATE_USE_REGEX)
+				.union(OTHER_SURROGATE_REGEX)
+				.union(FORMAT_EFFECTOR_REGEX)
+				.union(CharacterSetRegex.fromCharacters('\ufffe', '\uffff'))
+				.complement();
+		/**
+		 * Regex defining a non-quotation-mark graphic character (used
+		 * to define string literals).
+		 * <p>
+		 * A non-quotation-mark graphic character is defined as any
+		 * graphic_character other than the quotation mark character '"'
+		 */
+		private static final CharacterSetRegex NON_QUOTATION_MARK_GRAPHIC_CHARACTER_REGEX =
+			GRAPHIC_CHARACTER_REGEX.intersection(CharacterSetRegex.fromCharacters('"').complement());
+		/**
+		 * Regex defining a string element (used to define string literals).
+		 * <p>
+		 * string_element ::= "" | non_quotation_mark_graphic_character
+		 */
+		private static final LexerRegex STRING_ELEMENT_REGEX =
+			new UnionRegex(
+				new UnitRegex("\"\""),
+				NON_QUOTATION_MARK_GRAPHIC_CHARACTER_REGEX
+			);
+
+		// Identifiers
+		/**
+		 * Regex defining an Ada string literal.
+		 * <p>
+		 * string_literal ::= "{string_element}"
+		 */
+		protected static final LexerRegex STRING_LITERAL_REGEX =
+			ConcatenationRegex.fromRegexes(
+				new UnitRegex("\""),
+				new ZeroOrMoreRegex(STRING_ELEMENT_REGEX),
+				new UnitRegex("\"")
+			);
+		private static final CharacterSetRegex NO_BREAK_SPACE_REGEX = CharacterSetRegex.fromCharacters('\u00a0');
+		/**
+		 * Regex defining a sequence of whitespaces in Ada.
+		 */
+		protected static final LexerRegex WHITESPACES_REGEX =
+			new OneOrMoreRegex(
+				HORIZONTAL_TABULATION_REGEX
+					.union(LINE_FEED_REGEX)
+					.union(VERTICAL_TABULATION_REGEX)
+					.union(FORM_FEED_REGEX)
+					.union(CARRIAGE_RETURN_REGEX)
+					.union(SPACE_REGEX)
+					.union(NEXT_LINE_REGEX)
+					.union(NO_BREAK_SPACE_REGEX)
+			);
+
+		// Comments
+		/**
+		 * Regex defining the first character of an Ada identifier.
+		 * <p>
+		 * identifier_start ::=
+		 *     letter_uppercase
+		 *   | letter_lowercase
+		 *   | letter_titlecase
+		 *   | letter_modifier
+		 *   | letter_other
+		 *   | number_letter
+		 */
+		private static final LexerRegex IDENTIFIER_START_REGEX =
 			UnionRegex.fromRegexes(
-				HORIZONTAL_TABULATION_REGEX,
-				LINE_FEED_REGEX,
-				VERTICAL_TABULATION_REGEX,
-				FORM_FEED_REGEX,
-				CARRIAGE_RETURN_REGEX,
-				SPACE_REGEX,
-				NEXT_LINE_REGEX,
-				NO_BREAK_SPACE_REGEX
-			)
-		);
-
-	// Comments
-	/**
-	 * Regex defining the first character of an Ada identifier.
-	 * <p>
-	 * identifier_start ::=
-	 *     letter_uppercase
-	 *   | letter_lowercase
-	 *   | letter_titlecase
-	 *   | letter_modifier
-	 *   | letter_other
-	 *   | number_letter
-	 */
-	private static final LexerRegex IDENTIFIER_START_REGEX =
-		UnionRegex.fromRegexes(
-			LETTER_UPPERCASE_REGEX,
-			LETTER_LOWERCASE_REGEX,
-			LETTER_TITLECASE_REGEX,
-			LETTER_MODIFIER_REGEX,
-			LETTER_OTHER_REGEX,
-			NUMBER_LETTER_REGEX
-		);
-	/**
-	 * Regex defining the additional character categories allowed
-	 * for non-first characters in an Ada identifier.
-	 * <p>
-	 * identifier_extend ::=
-	 *     mark_non_spacing
-	 *   | mark_spacing_combining
-	 *   | number_decimal
-	 *   | punctuation_connector
-	 */
-	private static final LexerRegex IDENTIFIER_EXTEND_REGEX =
-		UnionRegex.fromRegexes(
-			MARK_NON_SPACING_REGEX,
-			MARK_SPACING_COMBINING_REGEX,
-			NUMBER_DECIMAL_REGEX,
-			PUNCTUATION_CONNECTOR_REGEX
-		);
-
-	// String Literals
-	/**
-	 * Regex defining an Ada identifier.
-	 * <p>
-	 * identifier ::=
-	 *     identifier_start {identifier_start | identifier_extend}
-	 */
-	protected static final LexerRegex IDENTIFIER_REGEX =
-		new ConcatenationRegex(
-			IDENTIFIER_START_REGEX,
-			new ZeroOrMoreRegex(
-				new UnionRegex(
-					IDENTIFIER_START_REGEX,
-					IDENTIFIER_EXTEND_REGEX
-				)
-			)
-		);
-	/**
-	 * Regex defining a non-end-of-line character (used to define comments).
-	 */
-	private static final LexerRegex NON_END_OF_LINE_CHARACTER_REGEX =
-		new NotRegex(
+				LETTER_UPPERCASE_REGEX,
+				LETTER_LOWERCASE_REGEX,
+				LETTER_TITLECASE_REGEX,
+				LETTER_MODIFIER_REGEX,
+				LETTER_OTHER_REGEX,
+				NUMBER_LETTER_REGEX
+			);
+		/**
+		 * Regex defining the additional character categories allowed
+		 * for non-first characters in an Ada identifier.
+		 * <p>
+		 * identifier_extend ::=
+		 *     mark_non_spacing
+		 *   | mark_spacing_combining
+		 *   | number_decimal
+		 *   | punctuation_connector
+		 */
+		private static final LexerRegex IDENTIFIER_EXTEND_REGEX =
 			UnionRegex.fromRegexes(
-				LINE_FEED_REGEX,
-				VERTICAL_TABULATION_REGEX,
-				FORM_FEED_REGEX,
-				CARRIAGE_RETURN_REGEX,
-				NEXT_LINE_REGEX,
-				SEPARATOR_LINE_REGEX,
-				SEPARATOR_PARAGRAPH_REGEX
-			)
-		);
-	/**
-	 * Regex defining an Ada comment.
-	 * <p>
-	 * comment ::= --{non_end_of_line_character}
-	 */
-	protected static final LexerRegex COMMENT_REGEX =
-		ConcatenationRegex.fromRegexes(
-			new UnitRegex(AdaTokenTypes.COMMENT_PREFIX),
-			new ZeroOrMoreRegex(NON_END_OF_LINE_CHARACTER_REGEX)
-		);
+				MARK_NON_SPACING_REGEX,
+				MARK_SPACING_COMBINING_REGEX,
+				NUMBER_DECIMAL_REGEX,
+				PUNCTUATION_CONNECTOR_REGEX
+			);
 
-	// Lexer data
-	/**
-	 * A map associating root regexes with the token types
-	 * they represent.
-	 */
-	private final Map<LexerRegex, IElementType> REGEX_TOKEN_TYPES;
+		// String Literals
+		/**
+		 * Regex defining an Ada identifier.
+		 * <p>
+		 * identifier ::=
+		 *     identifier_start {identifier_start | identifier_extend}
+		 */
+		protected static final LexerRegex IDENTIFIER_REGEX =
+			new ConcatenationRegex(
+				IDENTIFIER_START_REGEX,
+				new ZeroOrMoreRegex(
+					new UnionRegex(
+						IDENTIFIER_START_REGEX,
+						IDENTIFIER_EXTEND_REGEX
+					)
+				)
+			);
+		/**
+		 * Regex defining a non-end-of-line character (used to define comments).
+		 */
+		private static final CharacterSetRegex NON_END_OF_LINE_CHARACTER_REGEX =
+			LINE_FEED_REGEX
+				.union(VERTICAL_TABULATION_REGEX)
+				.union(FORM_FEED_REGEX)
+				.union(CARRIAGE_RETURN_REGEX)
+				.union(NEXT_LINE_REGEX)
+				.union(SEPARATOR_LINE_REGEX)
+				.union(SEPARATOR_PARAGRAPH_REGEX)
+				.complement();
+		/**
+		 * Regex defining an Ada comment.
+		 * <p>
+		 * comment ::= --{non_end_of_line_character}
+		 */
+		protected static final LexerRegex COMMENT_REGEX =
+			ConcatenationRegex.fromRegexes(
+				new UnitRegex(AdaTokenTypes.COMMENT_PREFIX),
+				new ZeroOrMoreRegex(NON_END_OF_LINE_CHARACTER_REGEX)
+			);
+
+	}
 
 	/**
-	 * The set of all root regexes (defined above).
+	 * The text to be analysed.
+	 * Note: This is the buffer given to `start`, which is never copied.
+	 *       Since Ada is case-insensitive, lexer automata are compiled
+	 *       to convert characters to lowercase as they are matched.
 	 */
-	private final Set<LexerRegex> ROOT_REGEXES;
+	protected CharSequence text;
 
-	/*
-		Instance Initializer
-	*/
 	/**
-	 * The lowercase version of the text to be analysed.
+	 * The initial lexer state, in which no context from preceding
+	 * tokens is needed to analyse the next token.
 	 */
-	protected CharSequence text;
+	protected static final int INITIAL_STATE = 0;
 
 	/*
 		Fields
@@ -249,7 +242,9 @@ abstract class Lexer extends LexerBase {
 	 */
 	protected int lexingOffset;
 	/**
-	 * The current state of the Lexer.
+	 * The state of the Lexer at the start of the last analysed token,
+	 * which encodes the context needed to analyse that token (see
+	 * `stateAfter`), so that lexing can be restarted at that token.
 	 */
 	protected int state;
 	/**
@@ -265,18 +260,6 @@ abstract class Lexer extends LexerBase {
 	 */
 	protected int tokenEnd;
 
-	{
-
-		// Set the regex -> token-type map
-
-		REGEX_TOKEN_TYPES = Collections.unmodifiableMap(regexTokenTypeMap());
-
-		// Set the root regexes set from the regex -> token-type map's keyset
-
-		ROOT_REGEXES = Collections.unmodifiableSet(REGEX_TOKEN_TYPES.keySet());
-
-	}
-
 	/*
 		Methods
 	*/
@@ -302,6 +285,8 @@ abstract class Lexer extends LexerBase {
 	/**
 	 * Returns a token iterator that can be used to perform lazy lexical
 	 * analysis over the entire given text.
+	 * Note: This method allocates one token object per token. Bulk
+	 *       consumers should use a `TokenBuffer` instead.
 	 *
 	 * @param text The text over which to perform analysis.
 	 * @return A lazy iterator over the tokens in the given text.
@@ -340,6 +325,60 @@ abstract class Lexer extends LexerBase {
 
 	}
 
+	/**
+	 * Returns the name of the resource holding the automaton of the
+	 * given lexer class, relative to that class, as generated at build
+	 * time by `LexerAutomataGenerator`.
+	 *
+	 * @param lexerClass The lexer class.
+	 * @return The name of the automaton resource.
+	 */
+	@NotNull
+	static String automatonResourceName(@NotNull Class<? extends Lexer> lexerClass) {
+		return lexerClass.getSimpleName() + ".automaton";
+	}
+
+	/**
+	 * Loads the automaton of the given lexer class from its resource,
+	 * which avoids building the regexes of the lexer and compiling them.
+	 * Accepted token types are resolved by name among the given token
+	 * types. If the resource does not exist (e.g. when running from
+	 * sources that were not built with Gradle), then the automaton is
+	 * compiled using the given compiler instead.
+	 *
+	 * @param lexerClass The lexer class.
+	 * @param tokenTypes The token types that the automaton may accept.
+	 * @param compiler The compiler of the automaton.
+	 * @return The automaton of the lexer.
+	 * @throws IllegalStateException If the resource is malformed.
+	 */
+	@NotNull
+	static LexerAutomaton<IElementType> loadAutomaton(
+		@NotNull Class<? extends Lexer>                 lexerClass,
+		@NotNull TokenSet                               tokenTypes,
+		@NotNull Supplier<LexerAutomaton<IElementType>> compiler
+	) {
+
+		String resourceName = automatonResourceName(lexerClass);
+
+		try (InputStream input = lexerClass.getResourceAsStream(resourceName)) {
+
+			if (input == null) { return compiler.get(); }
+
+			Map<String, IElementType> tokenTypesByName = new HashMap<>();
+
+			for (IElementType tokenType : tokenTypes.getTypes()) {
+				tokenTypesByName.put(tokenType.toString(), tokenType);
+			}
+
+			return LexerAutomaton.read(input, tokenTypesByName::get);
+
+		} catch (IOException exception) {
+			throw new IllegalStateException("Could not load lexer automaton " + resourceName, exception);
+		}
+
+	}
+
 	/**
 	 * Returns the token type to use for lexically invalid characters.
 	 *
@@ -349,46 +388,82 @@ abstract class Lexer extends LexerBase {
 	protected abstract IElementType badCharacterTokenType();
 
 	/**
-	 * Returns the mapping from root-regexes to token-types to be used
-	 * for this lexer.
+	 * Returns the automaton compiled from the root regexes of this
+	 * lexer, mapping them to the token types they represent.
+	 * The automaton is expected to ignore case (see `text`).
 	 *
-	 * @return The regex -> token-type mapping of this lexer.
+	 * @return The automaton of this lexer.
 	 */
 	@NotNull
-	protected abstract Map<LexerRegex, IElementType> regexTokenTypeMap();
+	protected abstract LexerAutomaton<IElementType> automaton();
 
 	/**
-	 * Returns the set of root regexes to use at the start of a token
-	 * lexing round. This method may be overridden by subclasses to
-	 * limit the set of regexes that may match in a lexing round based
-	 * on the state of the lexer.
+	 * Returns the token type of identifiers, which are looked up in the
+	 * keyword table of this lexer once fully matched.
 	 *
-	 * @return The set of root regexes to use when lexing a token.
+	 * @return The identifier token type.
 	 */
 	@NotNull
-	protected Set<LexerRegex> getLexingStartingRegexes() {
-		return ROOT_REGEXES;
+	protected abstract IElementType identifierTokenType();
+
+	/**
+	 * Returns the table of keywords of this lexer. Keywords are not
+	 * matched by the automaton: an identifier that spells a keyword
+	 * is assigned the token type of that keyword instead.
+	 *
+	 * @return The keyword table of this lexer.
+	 */
+	@NotNull
+	abstract KeywordTable keywords();
+
+	/**
+	 * Returns whether keywords can be recognized at the start of the
+	 * next token. This method may be overridden by subclasses to have
+	 * keywords analysed as identifiers based on the state of the lexer.
+	 *
+	 * @return Whether the next token may be a keyword.
+	 */
+	protected boolean keywordsAllowed() {
+		return true;
 	}
 
 	/**
-	 * Returns whether this lexer has reached the end of
-	 * the text being analysed.
+	 * Returns the automaton state to use at the start of a token
+	 * lexing round. This method may be overridden by subclasses to
+	 * limit the set of root regexes that may match in a lexing round
+	 * based on the state of the lexer, by returning one of the
+	 * additional start states of their automaton.
 	 *
-	 * @return Whether the end of the text was reached.
+	 * @return The automaton state to use when lexing a token.
 	 */
-	protected boolean reachedEndOfText() {
-		return lexingOffset == lexingEndOffset;
+	protected int getLexingStartState() {
+		return automaton().startState();
 	}
 
 	/**
-	 * Returns the next character to be analysed.
+	 * Returns the state of this lexer at the start of the token
+	 * following a token of the given type. Lexing can be restarted
+	 * safely at any token by calling `start` with the state that the
+	 * lexer had at the start of that token.
+	 * This method may be overridden by subclasses that analyse tokens
+	 * differently depending on the preceding token. Any such context
+	 * must be fully encoded in the returned state.
 	 *
-	 * @return The next character to be analysed.
+	 * @param tokenType The type of the preceding token.
+	 * @return The state of the lexer after that token.
 	 */
-	@Nullable
-	protected Character nextCharacter() {
-		return lexingOffset < 0 || lexingOffset >= lexingEndOffset ?
-			null : text.charAt(lexingOffset);
+	protected int stateAfter(@NotNull IElementType tokenType) {
+		return INITIAL_STATE;
+	}
+
+	/**
+	 * Returns whether this lexer has reached the end of
+	 * the text being analysed.
+	 *
+	 * @return Whether the end of the text was reached.
+	 */
+	protected boolean reachedEndOfText() {
+		return lexingOffset == lexingEndOffset;
 	}
 
 	/**
@@ -415,7 +490,7 @@ abstract class Lexer extends LexerBase {
 
 		// Initialize lexer fields
 
-		text            = buffer.toString().toLowerCase(Locale.ROOT);
+		text            = buffer;
 
 		lexingEndOffset = endOffset;
 		lexingOffset    = startOffset;
@@ -476,203 +551,117 @@ abstract class Lexer extends LexerBase {
 			return;
 		}
 
-		// Set the start of the next token to the end of the previous one
-
-		tokenStart = tokenEnd;
-
-		// The offset by which the lexer needs to be rolled back before
-		// marking the end of the matched token. This happens for example
-		// when lexing the sequence "'Access" where:
-		// 1. After the "'" character, only the following regexes advance:
-		//    * APOSTROPHE_REGEX and it is nullable at this point
-		//    * CHARACTER_LITERAL_REGEX and it is not nullable at this point
-		// 2. After the "A" character, only the following regex advances:
-		//    * CHARACTER_LITERAL_REGEX and it is not nullable at this point
-		// 3. After the first "c" character, no regexes advance
-		// At this point, the matching regex is the nullable APOSTROPHE_REGEX
-		// obtained at step 1, so the lexer needs to "mark" the sequence "'"
-		// as the apostrophe token and roll back to the "A" character in
-		// order to start from there during the next call to `advance`
-		int rollBackOffset = 0;
+		// Set the state of the lexer at the start of the next token
+		// from the type of the previous one, unless this is the first
+		// token, in which case the state given to `start` is kept
 
-		// The set of regexes that successfully advanced so far
-		Set<LexerRegex> regexes = new HashSet<>(getLexingStartingRegexes());
-
-		// The last set of regexes, resulting from an iteration of
-		// characterLoop, that contained at least one nullable regex
-		// (see rollBackOffset description for an example)
-		Set<LexerRegex> matchingRegexes = new HashSet<>();
-
-		// A map specifying the root regex from which every regex originates
-		// by a series of calls to regex.advanced(char)
-		final Map<LexerRegex, LexerRegex> regexLineages = new HashMap<>();
-
-		// The next character to be analysed
-		Character nextCharacter = nextCharacter();
-
-		// While the next token has not been determined...
-
-		// label only used for reference in comments
-		while (tokenEnd == tokenStart) {
+		if (tokenType != null) {
+			state = stateAfter(tokenType);
+		}
 
-			final Character character = nextCharacter;
+		// Set the start of the next token to the end of the previous one
 
-			// The set of regexes that will have advanced successfully
-			// at the end of this iteration of characterLoop
-			final Set<LexerRegex> advancedRegexes = new HashSet<>();
+		tokenStart = tokenEnd;
 
-			// For each regex that successfully advanced by all
-			// characters so far...
+		// Analyse the next token
 
-			if (character != null) {
+		lexToken();
 
-				regexes.forEach(regex -> {
+	}
 
-					// Try to advance the regex
+	/**
+	 * Analyses the token starting at `tokenStart`, setting `tokenType`
+	 * and `tokenEnd` accordingly, as well as the lexing offset to the
+	 * end of that token. This method may be overridden by subclasses to
+	 * handle special cases based on `state`.
+	 * The end of the text is guaranteed not to have been reached when
+	 * this method is called.
+	 */
+	protected void lexToken() {
 
-					LexerRegex advancedRegex = regex.advanced(character);
+		// Run the automaton of this lexer from the start state for as
+		// long as some regex advances, remembering the last accepting
+		// state reached. For example, when lexing the sequence "'Access":
+		// 1. After the "'" character, the reached state accepts the
+		//    apostrophe token, but the character literal regex is still
+		//    live (and not nullable)
+		// 2. After the "A" character, only the character literal regex
+		//    is live, so the state is not accepting
+		// 3. After the first "c" character, no regex advances
+		// At this point, the last accepting state was reached at step 1,
+		// so the lexer needs to "mark" the sequence "'" as the apostrophe
+		// token and roll back to the "A" character in order to start from
+		// there during the next call to `advance`
 
-					// If the regex advanced successfully, store it for the next
-					// iteration of characterLoop, and keep track of the root
-					// regex that is the ancestor of the advanced regex
+		LexerAutomaton<IElementType> automaton = automaton();
 
-					if (advancedRegex != null) {
+		int          automatonState = getLexingStartState();
+		IElementType matchedType    = null;
+		int          matchedEnd     = tokenStart;
 
-						advancedRegexes.add(advancedRegex);
+		while (lexingOffset < lexingEndOffset) {
 
-						LexerRegex ancestor = regexLineages.get(regex);
+			automatonState = automaton.nextState(automatonState, text.charAt(lexingOffset));
 
-						if (advancedRegex.nullable() || !regex.nullable()) {
-							regexLineages.remove(regex);
-						}
+			if (automatonState == LexerAutomaton.DEAD_STATE) { break; }
 
-						regexLineages.put(advancedRegex, ancestor == null ? regex : ancestor);
+			lexingOffset++;
 
-					}
+			// If the reached state is accepting, then the token type it
+			// accepts is the one of the nullable regex with the highest
+			// priority
 
-				});
+			IElementType acceptedType = automaton.acceptedToken(automatonState);
 
+			if (acceptedType != null) {
+				matchedType = acceptedType;
+				matchedEnd  = lexingOffset;
 			}
 
-			// Set the regex set to be the advanced regex set
-
-			regexes = advancedRegexes;
-
-			// If no remaining matching regexes exist, then choose a regex
-			// from those that last matched and had at least one nullable
-			// regex (or the empty set if either that was never the case, or
-			// this is the first iteration of characterLoop)
-
-			if (regexes.size() == 0) {
-
-				// Find the matching regex with the highest priority
-				// The chosen regex still has to be nullable, which prevents for
-				// example the word "proc" at the end of an Ada file from being
-				// assigned the token of the procedure keyword, as its regex for
-				// that has a higher priority than the identifier regex, and it
-				// does match the sequence "proc" (but it should not be chosen
-				// as its advanced regex at that point is not nullable, in other
-				// words it still requires the sequence "endure" to "fully match")
-
-				LexerRegex highestPriorityRegex = null;
-
-				for (LexerRegex regex : matchingRegexes) {
-
-					if (
-							regex.nullable() &&
-									(
-											highestPriorityRegex == null ||
-													regex.PRIORITY > highestPriorityRegex.PRIORITY
-									)
-					) {
-						highestPriorityRegex = regex;
-					}
-
-				}
-
-				// If a non-nullable regex (with the highest priority) was found,
-				// then get the root regex from which this regex originates,
-				// get the token type corresponding to that root regex and set
-				// the lexer token type to that type
-
-				if (highestPriorityRegex != null) {
-
-					LexerRegex rootRegex =
-							regexLineages.getOrDefault(highestPriorityRegex, highestPriorityRegex);
-
-					tokenType =
-							REGEX_TOKEN_TYPES.get(rootRegex);
-
-				}
-
-				// Otherwise, set the token type to BAD_CHARACTER
-
-				else {
-
-					tokenType = badCharacterTokenType();
-
-					// If this is a single-character, then the lexing offset
-					// needs to be advanced manually to avoid infinite calls
-					// to `advance`
-
-					if (lexingOffset == tokenStart) {
-						lexingOffset++;
-					}
-
-					// Reset the rollback offset
+		}
 
-					rollBackOffset = 0;
+		// If a token was matched, roll the lexer back to the end of
+		// that token
 
-				}
+		if (matchedType != null) {
 
-				// Roll the lexer back by the necessary offset
+			// If the matched token is an identifier, then look it up in
+			// the keyword table, which only matches whole identifiers
+			// and therefore prevents for example the word "proc" at the
+			// end of an Ada file from being assigned the token of the
+			// procedure keyword
 
-				lexingOffset -= rollBackOffset;
+			if (matchedType == identifierTokenType() && keywordsAllowed()) {
 
-				// Set the token end offset to the lexing offset
-				// This will also break the execution of characterLoop
+				IElementType keywordType = keywords().get(text, tokenStart, matchedEnd);
 
-				tokenEnd = lexingOffset;
+				if (keywordType != null) { matchedType = keywordType; }
 
 			}
 
-			// Otherwise, there are still matching regexes and the last character
-			// in the text was not yet reached, so get the next character and
-			// execute the next iteration of characterLoop
-
-			else {
-
-				// If at least one of the regexes that advanced successfully in
-				// this iteration of characterLoop is nullable, then store that
-				// set of regexes to be potentially used in the next iteration
-				// to find matching regexes, and reset the rollback offset
-
-				if (regexes.stream().anyMatch(LexerRegex::nullable)) {
+			tokenType    = matchedType;
+			lexingOffset = matchedEnd;
 
-					matchingRegexes = new HashSet<>(regexes);
-
-					rollBackOffset = 0;
+		}
 
-				}
+		// Otherwise, set the token type to BAD_CHARACTER
 
-				// Otherwise, do not overwrite the last set of regexes with at
-				// least one nullable regex and increase the rollback offset
+		else {
 
-				else {
-					rollBackOffset++;
-				}
+			tokenType = badCharacterTokenType();
 
-				// Advance the lexer to the next character
+			// If this is a single-character, then the lexing offset
+			// needs to be advanced manually to avoid infinite calls
+			// to `advance`
 
+			if (lexingOffset == tokenStart) {
 				lexingOffset++;
-
-				nextCharacter = lexingOffset == lexingEndOffset ?
-						null : text.charAt(lexingOffset);
-
 			}
 
 		}
 
+		tokenEnd = lexingOffset;
+
 	}
 
 	/*
@@ -0,0 +1,80 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.adacore.adaintellij.analysis.lexical.regex.LexerAutomaton;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Build-time generator of the automata of the Ada and GPR file lexers.
+ * The automata are compiled from the regexes of the lexers and written
+ * as resources next to the lexer classes, from which the lexers load
+ * them instead of compiling them (see `Lexer.loadAutomaton`).
+ * This class is run by the `generateLexerAutomata` Gradle task, with
+ * the root of the generated resource directory as only argument.
+ */
+final class LexerAutomataGenerator {
+
+	/**
+	 * Private default constructor to prevent instantiation.
+	 */
+	private LexerAutomataGenerator() {}
+
+	/**
+	 * Generates the automaton resources of all lexers.
+	 *
+	 * @param args The root of the generated resource directory.
+	 * @throws IOException If a resource could not be written.
+	 */
+	public static void main(String[] args) throws IOException {
+
+		if (args.length != 1) {
+			throw new IllegalArgumentException("Usage: LexerAutomataGenerator <resource directory>");
+		}
+
+		Path directory = Paths.get(args[0])
+			.resolve(LexerAutomataGenerator.class.getPackage().getName().replace('.', '/'));
+
+		Files.createDirectories(directory);
+
+		// Note: Automata are compiled from the regex classes directly,
+		//       rather than obtained from the lexer classes, which would
+		//       load any previously generated resource on the classpath
+
+		generate(directory, AdaLexer.class, AdaLexer.Regexes.compileAutomaton());
+		generate(directory, GPRFileLexer.class, GPRFileLexer.Regexes.compileAutomaton());
+
+	}
+
+	/**
+	 * Writes the given automaton of the given lexer class to its
+	 * resource in the given directory.
+	 *
+	 * @param directory The directory of the lexer resources.
+	 * @param lexerClass The lexer class.
+	 * @param automaton The automaton of the lexer.
+	 * @throws IOException If the resource could not be written.
+	 */
+	private static void generate(
+		@NotNull Path                         directory,
+		@NotNull Class<? extends Lexer>       lexerClass,
+		@NotNull LexerAutomaton<IElementType> automaton
+	) throws IOException {
+
+		Path resource = directory.resolve(Lexer.automatonResourceName(lexerClass));
+
+		try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(resource))) {
+			automaton.write(output, IElementType::toString);
+		}
+
+		System.out.println("Generated " + resource + " (" + automaton.stateCount() + " states)");
+
+	}
+
+}
@@ -0,0 +1,387 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Character sequence over the contents of a memory-mapped file, which
+ * can be analysed by lexers without the file being loaded in the heap.
+ * Files are decoded lazily: Latin-1 and ASCII files are decoded one
+ * character at a time, and UTF-8 files are decoded one window of
+ * characters at a time, using checkpoints recorded when the file is
+ * opened to find the start of any window. The heap footprint of a
+ * mapped file text is therefore a single window plus one checkpoint per
+ * window, regardless of the access pattern. Sequential access, as
+ * performed by lexers, decodes every window once.
+ * Malformed UTF-8 sequences are decoded as one replacement character
+ * (U+FFFD) per invalid byte, as are bytes outside of the ASCII range
+ * in ASCII files, and a leading UTF-8 byte order mark is skipped.
+ * Mapped file texts are not thread-safe, and the mapped file must not
+ * be modified while it is being read.
+ */
+public final class MappedFileText implements CharSequence, Closeable {
+
+	/**
+	 * The number of characters decoded at once in UTF-8 files.
+	 */
+	private static final int WINDOW_SIZE = 8192;
+
+	/**
+	 * The replacement character for malformed UTF-8 sequences and
+	 * non-ASCII bytes of ASCII files.
+	 */
+	private static final char REPLACEMENT_CHARACTER = '\ufffd';
+
+	/**
+	 * The channel of the mapped file, and the mapped contents.
+	 */
+	private final FileChannel      CHANNEL;
+	private final MappedByteBuffer BYTES;
+
+	/**
+	 * Whether the file is decoded as UTF-8 or as ASCII (as opposed to
+	 * Latin-1).
+	 */
+	private final boolean UTF_8;
+	private final boolean ASCII;
+
+	/**
+	 * The number of characters in the file.
+	 */
+	private final int LENGTH;
+
+	/**
+	 * For every window of a UTF-8 file, the byte offset of the sequence
+	 * encoding the first character of the window, and whether that
+	 * character is the second (low surrogate) character of the sequence.
+	 */
+	private final int[]     WINDOW_OFFSETS;
+	private final boolean[] WINDOW_SPLITS;
+
+	/**
+	 * The decoded window, and its index (-1 if no window is decoded).
+	 */
+	private char[] window;
+	private int    windowIndex = -1;
+
+	/**
+	 * Constructs a new mapped file text given an open channel and a
+	 * charset.
+	 *
+	 * @param channel The channel of the file to map.
+	 * @param charset The charset of the file, which must be supported.
+	 * @throws IOException If the file could not be mapped.
+	 */
+	private MappedFileText(@NotNull FileChannel channel, @NotNull Charset charset) throws IOException {
+
+		long size = channel.size();
+
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("File too large to be mapped: " + size + " bytes");
+		}
+
+		CHANNEL = channel;
+		BYTES   = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		UTF_8   = charset.equals(StandardCharsets.UTF_8);
+		ASCII   = charset.equals(StandardCharsets.US_ASCII);
+
+		if (!UTF_8) {
+
+			LENGTH         = (int)size;
+			WINDOW_OFFSETS = null;
+			WINDOW_SPLITS  = null;
+			window         = null;
+
+			return;
+
+		}
+
+		// Scan the file once to compute its length and the start of every
+		// window, skipping the byte order mark if any
+
+		int byteLength = (int)size;
+		int offset     = byteLength >= 3 &&
+			(BYTES.get(0) & 0xff) == 0xef && (BYTES.get(1) & 0xff) == 0xbb && (BYTES.get(2) & 0xff) == 0xbf ?
+			3 : 0;
+
+		int[]     windowOffsets = new int[16];
+		boolean[] windowSplits  = new boolean[16];
+		int       length        = 0;
+
+		while (offset < byteLength) {
+
+			int sequenceLength = sequenceLength(offset);
+			int characters     = sequenceLength == 4 ? 2 : 1;
+
+			// Record a checkpoint for every window starting with one
+			// of the characters of this sequence
+
+			for (int character = length ; character < length + characters ; character++) {
+
+				if (character % WINDOW_SIZE != 0) { continue; }
+
+				int checkpoint = character / WINDOW_SIZE;
+
+				if (checkpoint == windowOffsets.length) {
+					windowOffsets = Arrays.copyOf(windowOffsets, checkpoint * 2);
+					windowSplits  = Arrays.copyOf(windowSplits, checkpoint * 2);
+				}
+
+				windowOffsets[checkpoint] = offset;
+				windowSplits[checkpoint]  = character != length;
+
+			}
+
+			if ((long)length + characters > Integer.MAX_VALUE) {
+				throw new IOException("File has too many characters to be mapped");
+			}
+
+			length += characters;
+			offset += sequenceLength;
+
+		}
+
+		LENGTH         = length;
+		WINDOW_OFFSETS = windowOffsets;
+		WINDOW_SPLITS  = windowSplits;
+		window         = new char[WINDOW_SIZE];
+
+	}
+
+	/**
+	 * Maps the file at the given path and returns a character sequence
+	 * over its contents, decoded using the given charset.
+	 *
+	 * @param path The path of the file.
+	 * @param charset The charset of the file, which must be UTF-8,
+	 *                ISO-8859-1 (Latin-1) or US-ASCII.
+	 * @return The contents of the file.
+	 * @throws IOException If the file could not be opened or mapped.
+	 * @throws IllegalArgumentException If the charset is not supported.
+	 */
+	@NotNull
+	public static MappedFileText open(@NotNull Path path, @NotNull Charset charset) throws IOException {
+
+		if (!supports(charset)) {
+			throw new IllegalArgumentException("Unsupported charset: " + charset);
+		}
+
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		try {
+			return new MappedFileText(channel, charset);
+		} catch (IOException | RuntimeException exception) {
+			channel.close();
+			throw exception;
+		}
+
+	}
+
+	/**
+	 * Returns whether files in the given charset can be mapped, namely
+	 * whether it is UTF-8, ISO-8859-1 (Latin-1) or US-ASCII.
+	 *
+	 * @param charset The charset.
+	 * @return Whether files in the charset can be mapped.
+	 */
+	public static boolean supports(@NotNull Charset charset) {
+		return charset.equals(StandardCharsets.UTF_8) ||
+			charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * @see java.lang.CharSequence#length()
+	 */
+	@Override
+	public int length() { return LENGTH; }
+
+	/**
+	 * @see java.lang.CharSequence#charAt(int)
+	 */
+	@Override
+	public char charAt(int index) {
+
+		if (index < 0 || index >= LENGTH) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + LENGTH);
+		}
+
+		if (!UTF_8) {
+
+			int value = BYTES.get(index) & 0xff;
+
+			return ASCII && value >= 0x80 ? REPLACEMENT_CHARACTER : (char)value;
+
+		}
+
+		int characterWindow = index / WINDOW_SIZE;
+
+		if (characterWindow != windowIndex) { decodeWindow(characterWindow); }
+
+		return window[index % WINDOW_SIZE];
+
+	}
+
+	/**
+	 * Returns a string holding the given range of characters.
+	 *
+	 * @see java.lang.CharSequence#subSequence(int, int)
+	 */
+	@NotNull
+	@Override
+	public CharSequence subSequence(int start, int end) {
+
+		if (start < 0 || end > LENGTH || start > end) {
+			throw new IndexOutOfBoundsException("Illegal range " + start + " to " + end + " for length " + LENGTH);
+		}
+
+		StringBuilder builder = new StringBuilder(end - start);
+
+		for (int i = start ; i < end ; i++) { builder.append(charAt(i)); }
+
+		return builder.toString();
+
+	}
+
+	/**
+	 * Returns the whole contents of the file as a string, which loads
+	 * it entirely in the heap.
+	 *
+	 * @see java.lang.CharSequence#toString()
+	 */
+	@NotNull
+	@Override
+	public String toString() { return subSequence(0, LENGTH).toString(); }
+
+	/**
+	 * Closes the channel of the mapped file. The mapping itself is
+	 * released when this object is garbage-collected.
+	 *
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException { CHANNEL.close(); }
+
+	/**
+	 * Decodes the window with the given index of a UTF-8 file.
+	 *
+	 * @param index The index of the window.
+	 */
+	private void decodeWindow(int index) {
+
+		int offset    = WINDOW_OFFSETS[index];
+		int character = 0;
+		int end       = Math.min(WINDOW_SIZE, LENGTH - index * WINDOW_SIZE);
+
+		// If the window starts with the low surrogate of a sequence,
+		// then only decode the second character of that sequence
+
+		if (WINDOW_SPLITS[index]) {
+			window[character++] = Character.lowSurrogate(codePoint(offset, 4));
+			offset += 4;
+		}
+
+		while (character < end) {
+
+			int sequenceLength = sequenceLength(offset);
+			int codePoint      = codePoint(offset, sequenceLength);
+
+			if (sequenceLength == 4) {
+
+				window[character++] = Character.highSurrogate(codePoint);
+
+				if (character < end) { window[character++] = Character.lowSurrogate(codePoint); }
+
+			} else {
+				window[character++] = (char)codePoint;
+			}
+
+			offset += sequenceLength;
+
+		}
+
+		windowIndex = index;
+
+	}
+
+	/**
+	 * Returns the length of the UTF-8 sequence starting at the given
+	 * byte offset, which is 1 if the sequence is malformed (in which
+	 * case the byte is decoded as a replacement character).
+	 *
+	 * @param offset The byte offset of the sequence.
+	 * @return The length of the sequence in bytes.
+	 */
+	private int sequenceLength(int offset) {
+
+		int first = BYTES.get(offset) & 0xff;
+
+		int length;
+		int minimum;
+
+		if (first < 0x80) { return 1; }
+		else if (first >= 0xc2 && first <= 0xdf) { length = 2; minimum = 0x80; }
+		else if (first >= 0xe0 && first <= 0xef) { length = 3; minimum = 0x800; }
+		else if (first >= 0xf0 && first <= 0xf4) { length = 4; minimum = 0x10000; }
+		else { return 1; }
+
+		if (offset + length > BYTES.limit()) { return 1; }
+
+		int codePoint = first & (0xff >>> (length + 1));
+
+		for (int i = 1 ; i < length ; i++) {
+
+			int next = BYTES.get(offset + i) & 0xff;
+
+			if ((next & 0xc0) != 0x80) { return 1; }
+
+			codePoint = (codePoint << 6) | (next & 0x3f);
+
+		}
+
+		// Reject overlong encodings, surrogates and out-of-range code points
+
+		if (codePoint < minimum || codePoint > Character.MAX_CODE_POINT ||
+			(codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE))
+		{
+			return 1;
+		}
+
+		return length;
+
+	}
+
+	/**
+	 * Returns the code point encoded by the UTF-8 sequence of the given
+	 * length starting at the given byte offset, as validated by
+	 * `sequenceLength`.
+	 *
+	 * @param offset The byte offset of the sequence.
+	 * @param length The length of the sequence in bytes.
+	 * @return The code point of the sequence.
+	 */
+	private int codePoint(int offset, int length) {
+
+		int first = BYTES.get(offset) & 0xff;
+
+		if (length == 1) { return first < 0x80 ? first : REPLACEMENT_CHARACTER; }
+
+		int codePoint = first & (0xff >>> (length + 1));
+
+		for (int i = 1 ; i < length ; i++) {
+			codePoint = (codePoint << 6) | (BYTES.get(offset + i) & 0x3f);
+		}
+
+		return codePoint;
+
+	}
+
+}
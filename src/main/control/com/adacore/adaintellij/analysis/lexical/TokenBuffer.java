@@ -0,0 +1,239 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Buffer holding the tokens of a text as parallel arrays of primitive
+ * values (token-type index, start offset and end offset), as opposed to
+ * one `Lexer.Token` object per token.
+ * A token buffer owns a lexer and can be reused to analyse any number
+ * of texts: analysing a text replaces the tokens of the previous one,
+ * and the arrays only grow when a text has more tokens than any
+ * previously analysed text, so that bulk passes over many files
+ * generate almost no garbage.
+ * Token buffers are not thread-safe.
+ */
+public final class TokenBuffer {
+
+	/**
+	 * The default initial capacity of token buffers.
+	 */
+	private static final int DEFAULT_CAPACITY = 256;
+
+	/**
+	 * The lexer used to analyse texts.
+	 */
+	private final Lexer LEXER;
+
+	/**
+	 * The token-type indexes (see `IElementType#getIndex`), start offsets
+	 * and end offsets of the tokens in this buffer, the first `size`
+	 * elements of which are used.
+	 */
+	private int[] tokenTypes;
+	private int[] tokenStarts;
+	private int[] tokenEnds;
+
+	/**
+	 * The number of tokens in this buffer.
+	 */
+	private int size = 0;
+
+	/**
+	 * Constructs a new empty token buffer given a lexer and an initial
+	 * capacity.
+	 *
+	 * @param lexer The lexer to use to analyse texts.
+	 * @param initialCapacity The initial number of tokens that the
+	 *                        buffer can hold without growing.
+	 */
+	private TokenBuffer(@NotNull Lexer lexer, int initialCapacity) {
+
+		LEXER = lexer;
+
+		int capacity = Math.max(initialCapacity, 1);
+
+		tokenTypes  = new int[capacity];
+		tokenStarts = new int[capacity];
+		tokenEnds   = new int[capacity];
+
+	}
+
+	/**
+	 * Returns a new empty token buffer for Ada sources.
+	 *
+	 * @return A new Ada token buffer.
+	 */
+	@NotNull
+	public static TokenBuffer forAda() { return forAda(DEFAULT_CAPACITY); }
+
+	/**
+	 * Returns a new empty token buffer for Ada sources with the given
+	 * initial capacity.
+	 *
+	 * @param initialCapacity The initial capacity of the buffer.
+	 * @return A new Ada token buffer.
+	 */
+	@NotNull
+	public static TokenBuffer forAda(int initialCapacity) {
+		return new TokenBuffer(new AdaLexer(), initialCapacity);
+	}
+
+	/**
+	 * Returns a new empty token buffer for GPR files.
+	 *
+	 * @return A new GPR file token buffer.
+	 */
+	@NotNull
+	public static TokenBuffer forGPRFile() {
+		return new TokenBuffer(new GPRFileLexer(), DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Analyses the given text, replacing the tokens in this buffer
+	 * with the tokens of that text.
+	 *
+	 * @param text The text to analyse.
+	 */
+	public void lex(@NotNull CharSequence text) {
+
+		size = 0;
+
+		for (LEXER.start(text, 0, text.length(), 0) ; LEXER.getTokenType() != null ; LEXER.advance()) {
+
+			if (size == tokenTypes.length) {
+
+				int capacity = size * 2;
+
+				tokenTypes  = Arrays.copyOf(tokenTypes, capacity);
+				tokenStarts = Arrays.copyOf(tokenStarts, capacity);
+				tokenEnds   = Arrays.copyOf(tokenEnds, capacity);
+
+			}
+
+			tokenTypes[size]  = LEXER.getTokenType().getIndex();
+			tokenStarts[size] = LEXER.getTokenStart();
+			tokenEnds[size]   = LEXER.getTokenEnd();
+
+			size++;
+
+		}
+
+	}
+
+	/**
+	 * Removes all tokens from this buffer, keeping its capacity.
+	 */
+	public void clear() { size = 0; }
+
+	/**
+	 * Returns the number of tokens in this buffer.
+	 *
+	 * @return The number of tokens.
+	 */
+	public int size() { return size; }
+
+	/**
+	 * Returns the number of tokens this buffer can hold without growing.
+	 *
+	 * @return The capacity of this buffer.
+	 */
+	public int capacity() { return tokenTypes.length; }
+
+	/**
+	 * Returns the type of the token at the given index.
+	 *
+	 * @param index The index of the token.
+	 * @return The type of the token.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	@NotNull
+	public IElementType tokenType(int index) {
+		return IElementType.find((short)tokenTypeIndex(index));
+	}
+
+	/**
+	 * Returns the token-type index (see `IElementType#getIndex`) of the
+	 * token at the given index, which can be compared to the index of a
+	 * given token type without looking up the token type itself.
+	 *
+	 * @param index The index of the token.
+	 * @return The token-type index of the token.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	public int tokenTypeIndex(int index) {
+		checkIndex(index);
+		return tokenTypes[index];
+	}
+
+	/**
+	 * Returns the start offset of the token at the given index.
+	 *
+	 * @param index The index of the token.
+	 * @return The start offset of the token.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	public int tokenStart(int index) {
+		checkIndex(index);
+		return tokenStarts[index];
+	}
+
+	/**
+	 * Returns the end offset of the token at the given index.
+	 *
+	 * @param index The index of the token.
+	 * @return The end offset of the token.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	public int tokenEnd(int index) {
+		checkIndex(index);
+		return tokenEnds[index];
+	}
+
+	/**
+	 * Returns the index of the token containing the given offset, found
+	 * by binary search, or -1 if no token contains that offset.
+	 *
+	 * @param offset The offset in the analysed text.
+	 * @return The index of the token containing the offset, or -1.
+	 */
+	public int tokenIndexAt(int offset) {
+
+		int low  = 0;
+		int high = size - 1;
+
+		while (low <= high) {
+
+			int middle = (low + high) >>> 1;
+
+			if (offset < tokenStarts[middle]) {
+				high = middle - 1;
+			} else if (offset >= tokenEnds[middle]) {
+				low = middle + 1;
+			} else {
+				return middle;
+			}
+
+		}
+
+		return -1;
+
+	}
+
+	/**
+	 * Checks that the given token index is within the bounds of this
+	 * buffer.
+	 *
+	 * @param index The index to check.
+	 * @throws IndexOutOfBoundsException If the index is out of bounds.
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Token index " + index + " out of bounds for " + size + " tokens");
+		}
+	}
+
+}
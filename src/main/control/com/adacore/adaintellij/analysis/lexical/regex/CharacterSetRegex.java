@@ -0,0 +1,355 @@
+package com.adacore.adaintellij.analysis.lexical.regex;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Regex matching a single character from an arbitrary set of characters.
+ * Sets are built from character ranges, individual characters and
+ * general categories, and can be combined using set algebra (union,
+ * intersection and complement), so that character classes that would
+ * otherwise be expressed as hierarchies of union, intersection and
+ * not regexes are represented by a single regex.
+ * Internally, a regex of this class stores its set as sorted ranges,
+ * used for structural comparison, and as a two-level bitmap, so that
+ * testing whether a character belongs to the set takes constant time.
+ */
+public final class CharacterSetRegex extends LexerRegex {
+
+	/**
+	 * The number of characters covered by a block of the bitmap,
+	 * and the number of 64-bit words in a block.
+	 */
+	private static final int BLOCK_SIZE  = 256;
+	private static final int BLOCK_WORDS = BLOCK_SIZE / Long.SIZE;
+
+	/**
+	 * The sorted, disjoint and non-adjacent ranges of characters in this
+	 * set, stored as pairs of inclusive bounds: [start_1, end_1, ...].
+	 */
+	final char[] RANGES;
+
+	/**
+	 * The offset in `BLOCKS` of the block of every high byte.
+	 */
+	private final char[] BLOCK_OFFSETS;
+
+	/**
+	 * The bitmap blocks of this set, where identical blocks are shared.
+	 */
+	private final long[] BLOCKS;
+
+	/**
+	 * Constructs a new character set regex given a set of characters
+	 * and a priority.
+	 *
+	 * @param characters The set of characters, as a bit set indexed
+	 *                   by character.
+	 * @param priority The priority to assign to the constructed regex.
+	 */
+	private CharacterSetRegex(@NotNull BitSet characters, int priority) {
+
+		super(priority);
+
+		// Compute the ranges of the set
+
+		char[] ranges = new char[0];
+		int    length = 0;
+
+		for (
+			int start = characters.nextSetBit(0) ;
+			start != -1 && start <= Character.MAX_VALUE ;
+			start = characters.nextSetBit(start)
+		) {
+
+			int end = Math.min(characters.nextClearBit(start), Character.MAX_VALUE + 1);
+
+			if (length == ranges.length) {
+				ranges = Arrays.copyOf(ranges, Math.max(4, ranges.length * 2));
+			}
+
+			ranges[length++] = (char)start;
+			ranges[length++] = (char)(end - 1);
+
+			start = end;
+
+		}
+
+		RANGES = Arrays.copyOf(ranges, length);
+
+		// Compute the bitmap of the set, sharing identical blocks
+
+		long[] words = Arrays.copyOf(characters.toLongArray(), (Character.MAX_VALUE + 1) / Long.SIZE);
+
+		char[] blockOffsets = new char[(Character.MAX_VALUE + 1) / BLOCK_SIZE];
+		long[] blocks       = new long[0];
+
+		for (int block = 0 ; block < blockOffsets.length ; block++) {
+
+			long[] blockWords = Arrays.copyOfRange(words, block * BLOCK_WORDS, (block + 1) * BLOCK_WORDS);
+
+			int offset = 0;
+
+			while (offset < blocks.length &&
+				!Arrays.equals(blockWords, Arrays.copyOfRange(blocks, offset, offset + BLOCK_WORDS)))
+			{
+				offset += BLOCK_WORDS;
+			}
+
+			if (offset == blocks.length) {
+				blocks = Arrays.copyOf(blocks, blocks.length + BLOCK_WORDS);
+				System.arraycopy(blockWords, 0, blocks, offset, BLOCK_WORDS);
+			}
+
+			blockOffsets[block] = (char)offset;
+
+		}
+
+		BLOCK_OFFSETS = blockOffsets;
+		BLOCKS        = blocks;
+
+	}
+
+	/**
+	 * Returns a new character set regex matching a range of characters
+	 * specified by the given character bounds, with the priority set to 0.
+	 *
+	 * @param fromChar The lower bound character of the range.
+	 * @param toChar The upper bound character of the range.
+	 * @return A character set regex matching the range.
+	 * @throws IllegalArgumentException If fromChar is greater than toChar.
+	 */
+	@NotNull
+	public static CharacterSetRegex fromRange(char fromChar, char toChar) {
+
+		if (fromChar > toChar) {
+			throw new IllegalArgumentException("Invalid bounds: " +
+				"fromChar must be smaller or equal to toChar");
+		}
+
+		BitSet characters = new BitSet(Character.MAX_VALUE + 1);
+
+		characters.set(fromChar, toChar + 1);
+
+		return new CharacterSetRegex(characters, 0);
+
+	}
+
+	/**
+	 * Returns a new character set regex matching any of the given
+	 * characters, with the priority set to 0.
+	 *
+	 * @param characters The characters to match.
+	 * @return A character set regex matching the characters.
+	 */
+	@NotNull
+	public static CharacterSetRegex fromCharacters(@NotNull char... characters) {
+
+		BitSet characterSet = new BitSet(Character.MAX_VALUE + 1);
+
+		for (char character : characters) {
+			characterSet.set(character);
+		}
+
+		return new CharacterSetRegex(characterSet, 0);
+
+	}
+
+	/**
+	 * Returns a new character set regex matching the characters of the
+	 * given general category (see GeneralCategoryRegex), with the
+	 * priority set to 0.
+	 *
+	 * @param generalCategory The general category identifier string.
+	 * @return A character set regex matching the general category.
+	 * @throws IllegalArgumentException If the given general category
+	 *                                  identifier string is unknown.
+	 */
+	@NotNull
+	public static CharacterSetRegex fromGeneralCategory(@NotNull String generalCategory) {
+
+		GeneralCategoryRegex categoryRegex = new GeneralCategoryRegex(generalCategory);
+
+		BitSet characters = new BitSet(Character.MAX_VALUE + 1);
+
+		for (int character = 0 ; character <= Character.MAX_VALUE ; character++) {
+			if (categoryRegex.matches((char)character)) { characters.set(character); }
+		}
+
+		return new CharacterSetRegex(characters, 0);
+
+	}
+
+	/**
+	 * Returns a new character set regex matching the characters matched
+	 * by this regex or by the given regex, with the priority of this regex.
+	 *
+	 * @param regex The regex to unite with this regex.
+	 * @return The union of the character sets.
+	 */
+	@NotNull
+	public CharacterSetRegex union(@NotNull CharacterSetRegex regex) {
+
+		BitSet characters = toBitSet();
+
+		characters.or(regex.toBitSet());
+
+		return new CharacterSetRegex(characters, PRIORITY);
+
+	}
+
+	/**
+	 * Returns a new character set regex matching the characters matched
+	 * by both this regex and the given regex, with the priority of this
+	 * regex.
+	 *
+	 * @param regex The regex to intersect with this regex.
+	 * @return The intersection of the character sets.
+	 */
+	@NotNull
+	public CharacterSetRegex intersection(@NotNull CharacterSetRegex regex) {
+
+		BitSet characters = toBitSet();
+
+		characters.and(regex.toBitSet());
+
+		return new CharacterSetRegex(characters, PRIORITY);
+
+	}
+
+	/**
+	 * Returns a new character set regex matching the characters not
+	 * matched by this regex, with the priority of this regex. This is
+	 * equivalent to constructing a NotRegex from this regex.
+	 *
+	 * @return The complement of the character set.
+	 */
+	@NotNull
+	public CharacterSetRegex complement() {
+
+		BitSet characters = toBitSet();
+
+		characters.flip(0, Character.MAX_VALUE + 1);
+
+		return new CharacterSetRegex(characters, PRIORITY);
+
+	}
+
+	/**
+	 * Returns whether the given character belongs to the set of
+	 * characters matched by this regex.
+	 *
+	 * @param character The character to test.
+	 * @return Whether the character is matched by this regex.
+	 */
+	public boolean contains(char character) {
+		return ((BLOCKS[BLOCK_OFFSETS[character >>> 8] + ((character & 0xff) >>> 6)] >>> character) & 1) != 0;
+	}
+
+	/**
+	 * Returns the set of characters matched by this regex as a bit set.
+	 *
+	 * @return The set of characters of this regex.
+	 */
+	@NotNull
+	private BitSet toBitSet() {
+
+		BitSet characters = new BitSet(Character.MAX_VALUE + 1);
+
+		for (int i = 0 ; i < RANGES.length ; i += 2) {
+			characters.set(RANGES[i], RANGES[i + 1] + 1);
+		}
+
+		return characters;
+
+	}
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#nullable()
+	 */
+	@Override
+	public boolean nullable() { return false; }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#charactersMatched()
+	 */
+	@Override
+	public int charactersMatched() { return 1; }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#derivative(char)
+	 */
+	@Nullable
+	@Override
+	LexerRegex derivative(char character) {
+		return contains(character) ? UnitRegex.of("", PRIORITY) : null;
+	}
+
+	/**
+	 * Returns the characters to be treated as literals of this regex:
+	 * for every general category that is only partially contained in
+	 * this set, either the characters of that category that are in the
+	 * set or those that are not, whichever are fewer. All the remaining
+	 * characters of a given category are then either all matched or all
+	 * not matched by this regex.
+	 *
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#computeLiterals()
+	 */
+	@NotNull
+	@Override
+	char[] computeLiterals() {
+
+		int categoryCount = Character.FINAL_QUOTE_PUNCTUATION + 1;
+
+		int[] categorySizes   = new int[categoryCount];
+		int[] categoryMembers = new int[categoryCount];
+
+		for (int character = 0 ; character <= Character.MAX_VALUE ; character++) {
+
+			int category = GeneralCategoryRegex.generalCategory((char)character);
+
+			categorySizes[category]++;
+
+			if (contains((char)character)) { categoryMembers[category]++; }
+
+		}
+
+		StringBuilder literals = new StringBuilder();
+
+		for (int character = 0 ; character <= Character.MAX_VALUE ; character++) {
+
+			int category = GeneralCategoryRegex.generalCategory((char)character);
+
+			int members    = categoryMembers[category];
+			int nonMembers = categorySizes[category] - members;
+
+			if (members == 0 || nonMembers == 0) { continue; }
+
+			if (contains((char)character) == members <= nonMembers) {
+				literals.append((char)character);
+			}
+
+		}
+
+		return literals.toString().toCharArray();
+
+	}
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structuralHashCode()
+	 */
+	@Override
+	int structuralHashCode() { return Arrays.hashCode(RANGES); }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structurallyEquals(LexerRegex)
+	 */
+	@Override
+	boolean structurallyEquals(@NotNull LexerRegex regex) {
+		return Arrays.equals(RANGES, ((CharacterSetRegex)regex).RANGES);
+	}
+
+}
@@ -47,6 +47,39 @@ public final class ConcatenationRegex extends LexerRegex {
 		SECOND_REGEX = secondRegex;
 	}
 
+	/**
+	 * Returns the interned concatenation regex of the given subregexes
+	 * with the given priority, or null if either subregex is null.
+	 * A concatenation whose first subregex only matches the empty
+	 * sequence is simplified to its second subregex, provided that both
+	 * have the same priority.
+	 *
+	 * @param firstRegex The first subregex.
+	 * @param secondRegex The second subregex.
+	 * @param priority The priority of the regex.
+	 * @return The interned concatenation regex.
+	 */
+	@Nullable
+	public static LexerRegex of(
+		@Nullable LexerRegex firstRegex,
+		@Nullable LexerRegex secondRegex,
+		          int        priority
+	) {
+
+		if (firstRegex == null || secondRegex == null) { return null; }
+
+		if (
+			firstRegex instanceof UnitRegex &&
+			((UnitRegex)firstRegex).SEQUENCE.isEmpty() &&
+			secondRegex.PRIORITY == priority
+		) {
+			return intern(secondRegex);
+		}
+
+		return intern(new ConcatenationRegex(firstRegex, secondRegex, priority));
+
+	}
+
 	/**
 	 * Returns a new hierarchy of concatenation regexes representing
 	 * the concatenation of a list of regexes, in the same order as they
@@ -135,46 +168,47 @@ public final class ConcatenationRegex extends LexerRegex {
 	}
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#advanced(char)
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#derivative(char)
 	 */
 	@Nullable
 	@Override
-	public LexerRegex advanced(char character) {
-
-		LexerRegex firstRegexAdvanced = FIRST_REGEX.advanced(character);
-
-		if (FIRST_REGEX.nullable()) {
-
-			LexerRegex secondRegexAdvanced = SECOND_REGEX.advanced(character);
-
-			if (firstRegexAdvanced == null && secondRegexAdvanced == null) {
+	LexerRegex derivative(char character) {
 
-				return null;
+		LexerRegex firstRegexAdvanced = of(FIRST_REGEX.advanced(character), SECOND_REGEX, PRIORITY);
 
-			} else if (firstRegexAdvanced == null) {
+		return FIRST_REGEX.nullable() ?
+			UnionRegex.of(firstRegexAdvanced, SECOND_REGEX.advanced(character), PRIORITY) :
+			firstRegexAdvanced;
 
-				return secondRegexAdvanced;
-
-			} else if (secondRegexAdvanced == null) {
-
-				return new ConcatenationRegex(firstRegexAdvanced, SECOND_REGEX, PRIORITY);
-
-			} else {
+	}
 
-				return new UnionRegex(
-					new ConcatenationRegex(firstRegexAdvanced, SECOND_REGEX, PRIORITY),
-					secondRegexAdvanced,
-					PRIORITY
-				);
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#computeLiterals()
+	 */
+	@NotNull
+	@Override
+	char[] computeLiterals() {
+		return mergedLiterals(FIRST_REGEX.literals(), SECOND_REGEX.literals());
+	}
 
-			}
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structuralHashCode()
+	 */
+	@Override
+	int structuralHashCode() {
+		return 31 * FIRST_REGEX.hashCode() + SECOND_REGEX.hashCode();
+	}
 
-		} else {
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structurallyEquals(LexerRegex)
+	 */
+	@Override
+	boolean structurallyEquals(@NotNull LexerRegex regex) {
 
-			return firstRegexAdvanced == null ? null :
-				new ConcatenationRegex(firstRegexAdvanced, SECOND_REGEX, PRIORITY);
+		ConcatenationRegex otherRegex = (ConcatenationRegex)regex;
 
-		}
+		return FIRST_REGEX.equals(otherRegex.FIRST_REGEX) &&
+			SECOND_REGEX.equals(otherRegex.SECOND_REGEX);
 
 	}
 
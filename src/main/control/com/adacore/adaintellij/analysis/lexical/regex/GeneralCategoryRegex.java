@@ -3,21 +3,135 @@ package com.adacore.adaintellij.analysis.lexical.regex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Pattern;
+import java.util.*;
 
 /**
  * Regex matching a single character from a specific "General Category",
  * as defined by the Unicode standard.
- * Internally, a regex of this class stores a Java pattern compiled to
- * match only characters from a specific general category.
+ * Internally, a regex of this class stores the set of general categories
+ * it matches as a bit mask indexed by the category values returned by
+ * Character#getType, and general categories of characters in the Basic
+ * Multilingual Plane are looked up in a table built once at class load,
+ * so that matching a character is a branch-free array probe.
  */
 public final class GeneralCategoryRegex extends LexerRegex {
 
 	/**
-	 * The internal pattern used to match a character
-	 * based on its general category.
+	 * The general category values of all characters in the Basic
+	 * Multilingual Plane, stored in a two-level table: the high byte of
+	 * a character selects a block of 256 entries in `CATEGORY_BLOCKS`,
+	 * and its low byte selects the entry in that block. Identical blocks
+	 * are shared, which keeps the table small.
 	 */
-	private final Pattern PATTERN;
+	private static final char[] CATEGORY_BLOCK_OFFSETS = new char[256];
+	private static final byte[] CATEGORY_BLOCKS;
+
+	/**
+	 * Masks of the general category values matched by every supported
+	 * general category identifier string.
+	 */
+	private static final Map<String, Integer> CATEGORY_MASKS = new HashMap<>();
+
+	/*
+		Static Initializer
+	*/
+
+	static {
+
+		// Build the two-level category table
+
+		Map<String, Character> blockOffsets = new HashMap<>();
+		StringBuilder          blocks       = new StringBuilder();
+
+		for (int block = 0 ; block < 256 ; block++) {
+
+			StringBuilder blockCategories = new StringBuilder(256);
+
+			for (int character = block << 8 ; character < (block + 1) << 8 ; character++) {
+				blockCategories.append((char)Character.getType((char)character));
+			}
+
+			String blockKey = blockCategories.toString();
+
+			Character offset = blockOffsets.get(blockKey);
+
+			if (offset == null) {
+				offset = (char)blocks.length();
+				blockOffsets.put(blockKey, offset);
+				blocks.append(blockKey);
+			}
+
+			CATEGORY_BLOCK_OFFSETS[block] = offset;
+
+		}
+
+		CATEGORY_BLOCKS = new byte[blocks.length()];
+
+		for (int i = 0 ; i < CATEGORY_BLOCKS.length ; i++) {
+			CATEGORY_BLOCKS[i] = (byte)blocks.charAt(i);
+		}
+
+		// Populate the category masks
+
+		putCategoryMask("Cn", Character.UNASSIGNED);
+		putCategoryMask("Lu", Character.UPPERCASE_LETTER);
+		putCategoryMask("Ll", Character.LOWERCASE_LETTER);
+		putCategoryMask("Lt", Character.TITLECASE_LETTER);
+		putCategoryMask("Lm", Character.MODIFIER_LETTER);
+		putCategoryMask("Lo", Character.OTHER_LETTER);
+		putCategoryMask("Mn", Character.NON_SPACING_MARK);
+		putCategoryMask("Me", Character.ENCLOSING_MARK);
+		putCategoryMask("Mc", Character.COMBINING_SPACING_MARK);
+		putCategoryMask("Nd", Character.DECIMAL_DIGIT_NUMBER);
+		putCategoryMask("Nl", Character.LETTER_NUMBER);
+		putCategoryMask("No", Character.OTHER_NUMBER);
+		putCategoryMask("Zs", Character.SPACE_SEPARATOR);
+		putCategoryMask("Zl", Character.LINE_SEPARATOR);
+		putCategoryMask("Zp", Character.PARAGRAPH_SEPARATOR);
+		putCategoryMask("Cc", Character.CONTROL);
+		putCategoryMask("Cf", Character.FORMAT);
+		putCategoryMask("Co", Character.PRIVATE_USE);
+		putCategoryMask("Cs", Character.SURROGATE);
+		putCategoryMask("Pd", Character.DASH_PUNCTUATION);
+		putCategoryMask("Ps", Character.START_PUNCTUATION);
+		putCategoryMask("Pe", Character.END_PUNCTUATION);
+		putCategoryMask("Pc", Character.CONNECTOR_PUNCTUATION);
+		putCategoryMask("Po", Character.OTHER_PUNCTUATION);
+		putCategoryMask("Sm", Character.MATH_SYMBOL);
+		putCategoryMask("Sc", Character.CURRENCY_SYMBOL);
+		putCategoryMask("Sk", Character.MODIFIER_SYMBOL);
+		putCategoryMask("So", Character.OTHER_SYMBOL);
+		putCategoryMask("Pi", Character.INITIAL_QUOTE_PUNCTUATION);
+		putCategoryMask("Pf", Character.FINAL_QUOTE_PUNCTUATION);
+
+		putCategoryMask("LC", Character.UPPERCASE_LETTER, Character.LOWERCASE_LETTER,
+			Character.TITLECASE_LETTER);
+
+		// Single-letter identifiers match all the categories they prefix
+
+		for (String category : new ArrayList<>(CATEGORY_MASKS.keySet())) {
+
+			if (category.equals("LC")) { continue; }
+
+			String majorCategory = category.substring(0, 1);
+
+			CATEGORY_MASKS.put(majorCategory,
+				CATEGORY_MASKS.getOrDefault(majorCategory, 0) | CATEGORY_MASKS.get(category));
+
+		}
+
+	}
+
+	/**
+	 * The general category identifier string of this regex
+	 * (e.g. "Lu" for category "Letter, uppercase").
+	 */
+	final String GENERAL_CATEGORY;
+
+	/**
+	 * The mask of the general category values matched by this regex.
+	 */
+	private final int CATEGORY_MASK;
 
 	/**
 	 * Constructs a new general category regex given a general category
@@ -36,10 +150,80 @@ public final class GeneralCategoryRegex extends LexerRegex {
 	 *
 	 * @param generalCategory The general category identifier string.
 	 * @param priority The priority to assign to the constructed regex.
+	 * @throws IllegalArgumentException If the given general category
+	 *                                  identifier string is unknown.
 	 */
 	public GeneralCategoryRegex(@NotNull String generalCategory, int priority) {
+
 		super(priority);
-		PATTERN  = Pattern.compile(String.format("\\p{%s}", generalCategory));
+
+		Integer categoryMask = CATEGORY_MASKS.get(generalCategory);
+
+		if (categoryMask == null) {
+			throw new IllegalArgumentException("Unknown general category: " + generalCategory);
+		}
+
+		GENERAL_CATEGORY = generalCategory;
+		CATEGORY_MASK    = categoryMask;
+
+	}
+
+	/**
+	 * Adds the mask of the given general category values to the
+	 * category masks, associated with the given identifier string.
+	 *
+	 * @param category The general category identifier string.
+	 * @param categoryValues The general category values.
+	 */
+	private static void putCategoryMask(@NotNull String category, int... categoryValues) {
+
+		int categoryMask = 0;
+
+		for (int categoryValue : categoryValues) {
+			categoryMask |= 1 << categoryValue;
+		}
+
+		CATEGORY_MASKS.put(category, categoryMask);
+
+	}
+
+	/**
+	 * Returns the general category value of the given character, as
+	 * returned by Character#getType(char), using the category table.
+	 *
+	 * @param character The character.
+	 * @return The general category value of the character.
+	 */
+	static int generalCategory(char character) {
+		return CATEGORY_BLOCKS[CATEGORY_BLOCK_OFFSETS[character >>> 8] + (character & 0xff)];
+	}
+
+	/**
+	 * Returns whether the given character belongs to one of the general
+	 * categories matched by this regex.
+	 *
+	 * @param character The character to test.
+	 * @return Whether the character is matched by this regex.
+	 */
+	public boolean matches(char character) {
+		return ((CATEGORY_MASK >>> generalCategory(character)) & 1) != 0;
+	}
+
+	/**
+	 * Returns whether the given Unicode code point belongs to one of the
+	 * general categories matched by this regex. Code points outside of
+	 * the Basic Multilingual Plane are classified by Character#getType(int).
+	 *
+	 * @param codePoint The code point to test.
+	 * @return Whether the code point is matched by this regex.
+	 */
+	public boolean matches(int codePoint) {
+
+		int category = Character.isBmpCodePoint(codePoint) ?
+			generalCategory((char)codePoint) : Character.getType(codePoint);
+
+		return ((CATEGORY_MASK >>> category) & 1) != 0;
+
 	}
 
 	/**
@@ -55,13 +239,33 @@ public final class GeneralCategoryRegex extends LexerRegex {
 	public int charactersMatched() { return 1; }
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#advanced(char)
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#derivative(char)
 	 */
 	@Nullable
 	@Override
-	public LexerRegex advanced(char character) {
-		return PATTERN.matcher(String.valueOf(character)).find() ?
-			new UnitRegex("") : null;
+	LexerRegex derivative(char character) {
+		return matches(character) ? UnitRegex.of("", 0) : null;
+	}
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#computeLiterals()
+	 */
+	@NotNull
+	@Override
+	char[] computeLiterals() { return new char[0]; }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structuralHashCode()
+	 */
+	@Override
+	int structuralHashCode() { return GENERAL_CATEGORY.hashCode(); }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structurallyEquals(LexerRegex)
+	 */
+	@Override
+	boolean structurallyEquals(@NotNull LexerRegex regex) {
+		return GENERAL_CATEGORY.equals(((GeneralCategoryRegex)regex).GENERAL_CATEGORY);
 	}
 
 }
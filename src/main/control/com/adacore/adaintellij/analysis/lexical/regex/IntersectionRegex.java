@@ -46,6 +46,25 @@ public final class IntersectionRegex extends LexerRegex {
 		SECOND_REGEX = secondRegex;
 	}
 
+	/**
+	 * Returns the interned intersection regex of the given subregexes
+	 * with the given priority, or null if either subregex is null.
+	 *
+	 * @param firstRegex The first subregex.
+	 * @param secondRegex The second subregex.
+	 * @param priority The priority of the regex.
+	 * @return The interned intersection regex.
+	 */
+	@Nullable
+	public static LexerRegex of(
+		@Nullable LexerRegex firstRegex,
+		@Nullable LexerRegex secondRegex,
+		          int        priority
+	) {
+		return firstRegex == null || secondRegex == null ? null :
+			intern(new IntersectionRegex(firstRegex, secondRegex, priority));
+	}
+
 	/**
 	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#nullable()
 	 */
@@ -68,17 +87,41 @@ public final class IntersectionRegex extends LexerRegex {
 	}
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#advanced(char)
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#derivative(char)
 	 */
 	@Nullable
 	@Override
-	public LexerRegex advanced(char character) {
+	LexerRegex derivative(char character) {
+		return of(FIRST_REGEX.advanced(character), SECOND_REGEX.advanced(character), PRIORITY);
+	}
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#computeLiterals()
+	 */
+	@NotNull
+	@Override
+	char[] computeLiterals() {
+		return mergedLiterals(FIRST_REGEX.literals(), SECOND_REGEX.literals());
+	}
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structuralHashCode()
+	 */
+	@Override
+	int structuralHashCode() {
+		return 31 * FIRST_REGEX.hashCode() + SECOND_REGEX.hashCode();
+	}
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structurallyEquals(LexerRegex)
+	 */
+	@Override
+	boolean structurallyEquals(@NotNull LexerRegex regex) {
 
-		LexerRegex firstRegexAdvanced  = FIRST_REGEX.advanced(character);
-		LexerRegex secondRegexAdvanced = SECOND_REGEX.advanced(character);
+		IntersectionRegex otherRegex = (IntersectionRegex)regex;
 
-		return firstRegexAdvanced != null && secondRegexAdvanced != null ?
-			new IntersectionRegex(firstRegexAdvanced, secondRegexAdvanced, PRIORITY) : null;
+		return FIRST_REGEX.equals(otherRegex.FIRST_REGEX) &&
+			SECOND_REGEX.equals(otherRegex.SECOND_REGEX);
 
 	}
 
@@ -0,0 +1,971 @@
+package com.adacore.adaintellij.analysis.lexical.regex;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Minimized deterministic finite automaton compiled from a set of root
+ * regexes, each associated with a token.
+ * <p>
+ * Lexing a token with root regexes normally involves advancing every
+ * live regex by every character, which allocates new regexes at each
+ * step. An automaton instead precomputes, once and for all, every set
+ * of live regexes that can be reached from a set of starting regexes as
+ * a state, and the transitions between those states as a table indexed
+ * by character class. Lexing then boils down to array lookups.
+ * <p>
+ * Each state of the automaton is labelled with the token that it
+ * accepts, if any. Just like when matching regexes directly, the token
+ * of a state is the one associated with the root regex of the nullable
+ * regex with the highest priority among the live regexes of that state.
+ * Ties between regexes of equal priority are broken in favor of the root
+ * regex that comes first in the iteration order of the given map.
+ * <p>
+ * Only the empty set of live regexes is represented as a dead state
+ * (`DEAD_STATE`). States with live regexes that cannot match anymore are
+ * kept as they are, since a lexer must keep consuming characters for as
+ * long as some regex advances.
+ *
+ * @param <T> The type of tokens accepted by the automaton.
+ */
+public final class LexerAutomaton<T> {
+
+	/**
+	 * State returned by `nextState` when no regex can advance.
+	 */
+	public static final int DEAD_STATE = -1;
+
+	/**
+	 * Character classes are stored in a two-level table: the high byte
+	 * of a character selects a block of 256 entries, and its low byte
+	 * selects the entry in that block. Identical blocks are shared.
+	 */
+	private static final int BLOCK_SIZE  = 256;
+	private static final int BLOCK_SHIFT = 8;
+	private static final int BLOCK_MASK  = BLOCK_SIZE - 1;
+
+	/**
+	 * The magic number and format version of serialized automata
+	 * (see `write`).
+	 */
+	private static final int SERIALIZATION_MAGIC   = 0x4164614c; // "AdaL"
+	private static final int SERIALIZATION_VERSION = 1;
+
+	/**
+	 * The offset of the block of each high byte in `CLASS_BLOCKS`.
+	 */
+	private final int[] BLOCK_OFFSETS;
+
+	/**
+	 * The character class of every character, stored in blocks.
+	 */
+	private final char[] CLASS_BLOCKS;
+
+	/**
+	 * The number of character classes.
+	 */
+	private final int CLASS_COUNT;
+
+	/**
+	 * The transition table, where the next state of state `s` on a
+	 * character of class `c` is stored at index `s * CLASS_COUNT + c`.
+	 */
+	private final int[] TRANSITIONS;
+
+	/**
+	 * The token accepted by each state, or null for non-accepting states.
+	 */
+	private final Object[] ACCEPTED_TOKENS;
+
+	/**
+	 * The start state of each set of starting regexes.
+	 */
+	private final int[] START_STATES;
+
+	/**
+	 * Constructs a new automaton given its tables.
+	 *
+	 * @param blockOffsets The offset of each character class block.
+	 * @param classBlocks The character class blocks.
+	 * @param classCount The number of character classes.
+	 * @param transitions The transition table.
+	 * @param acceptedTokens The token accepted by each state.
+	 * @param startStates The start states.
+	 */
+	private LexerAutomaton(
+		@NotNull int[]    blockOffsets,
+		@NotNull char[]   classBlocks,
+		         int      classCount,
+		@NotNull int[]    transitions,
+		@NotNull Object[] acceptedTokens,
+		@NotNull int[]    startStates
+	) {
+		BLOCK_OFFSETS   = blockOffsets;
+		CLASS_BLOCKS    = classBlocks;
+		CLASS_COUNT     = classCount;
+		TRANSITIONS     = transitions;
+		ACCEPTED_TOKENS = acceptedTokens;
+		START_STATES    = startStates;
+	}
+
+	/**
+	 * Compiles the given root regexes into a minimized automaton whose
+	 * default start state represents all the given root regexes, using
+	 * compile(Map<LexerRegex, T>, List<Set<LexerRegex>>) with no
+	 * additional sets of starting regexes.
+	 *
+	 * @param regexTokens The root regexes and their tokens.
+	 * @param <T> The type of tokens accepted by the automaton.
+	 * @return The compiled automaton.
+	 */
+	@NotNull
+	public static <T> LexerAutomaton<T> compile(@NotNull Map<LexerRegex, T> regexTokens) {
+		return compile(regexTokens, Collections.emptyList());
+	}
+
+	/**
+	 * Compiles the given root regexes into a minimized automaton.
+	 * The default start state of the automaton represents all the given
+	 * root regexes, and an additional start state is compiled for every
+	 * given set of starting regexes, which must all be root regexes.
+	 *
+	 * @param regexTokens The root regexes and their tokens.
+	 * @param startingRegexSets Additional sets of starting regexes.
+	 * @param <T> The type of tokens accepted by the automaton.
+	 * @return The compiled automaton.
+	 * @throws IllegalArgumentException If a starting regex is not a root
+	 *                                  regex.
+	 */
+	@NotNull
+	public static <T> LexerAutomaton<T> compile(
+		@NotNull Map<LexerRegex, T>     regexTokens,
+		@NotNull List<Set<LexerRegex>> startingRegexSets
+	) { return compile(regexTokens, startingRegexSets, false); }
+
+	/**
+	 * Compiles the given root regexes into a minimized automaton, as
+	 * described in compile(Map<LexerRegex, T>, List<Set<LexerRegex>>).
+	 * If `ignoreCase` is true, then every character is converted to
+	 * lowercase before being matched. The conversion is built into the
+	 * character class table, so it has no cost when running the automaton.
+	 *
+	 * @param regexTokens The root regexes and their tokens.
+	 * @param startingRegexSets Additional sets of starting regexes.
+	 * @param ignoreCase Whether characters should be matched in lowercase.
+	 * @param <T> The type of tokens accepted by the automaton.
+	 * @return The compiled automaton.
+	 * @throws IllegalArgumentException If a starting regex is not a root
+	 *                                  regex.
+	 */
+	@NotNull
+	public static <T> LexerAutomaton<T> compile(
+		@NotNull Map<LexerRegex, T>     regexTokens,
+		@NotNull List<Set<LexerRegex>> startingRegexSets,
+		         boolean               ignoreCase
+	) {
+
+		// Index the root regexes in the iteration order of the map
+
+		List<LexerRegex>         rootRegexes = new ArrayList<>(regexTokens.keySet());
+		Map<LexerRegex, Integer> rootIndices = new IdentityHashMap<>();
+
+		for (int i = 0 ; i < rootRegexes.size() ; i++) {
+			rootIndices.put(rootRegexes.get(i), i);
+		}
+
+		// Compute the character classes
+
+		CharacterClasses classes = CharacterClasses.of(rootRegexes, ignoreCase);
+
+		// Explore all the states reachable from the start states
+
+		Map<State, Integer>  stateIndices = new HashMap<>();
+		List<State>          states       = new ArrayList<>();
+		int[]                startStates  = new int[startingRegexSets.size() + 1];
+
+		startStates[0] = stateIndex(
+			new State(rootRegexes, rootRegexes, rootIndices),
+			stateIndices, states);
+
+		for (int i = 0 ; i < startingRegexSets.size() ; i++) {
+
+			Set<LexerRegex> startingRegexes = startingRegexSets.get(i);
+
+			if (!rootIndices.keySet().containsAll(startingRegexes)) {
+				throw new IllegalArgumentException("Starting regexes must be root regexes");
+			}
+
+			startStates[i + 1] = stateIndex(
+				new State(new ArrayList<>(startingRegexes), rootRegexes, rootIndices),
+				stateIndices, states);
+
+		}
+
+		int   classCount  = classes.CLASS_COUNT;
+		int[] transitions = new int[0];
+
+		for (int stateIndex = 0 ; stateIndex < states.size() ; stateIndex++) {
+
+			State state = states.get(stateIndex);
+
+			if (transitions.length < states.size() * classCount) {
+				transitions = Arrays.copyOf(transitions, Math.max(
+					transitions.length * 2, states.size() * classCount));
+			}
+
+			for (int characterClass = 0 ; characterClass < classCount ; characterClass++) {
+
+				State nextState = state.advanced(
+					classes.REPRESENTATIVES[characterClass]);
+
+				// Note: `stateIndex` may add states, in which case the
+				//       transition table is grown at the next iteration
+				//       of the outer loop
+
+				transitions[stateIndex * classCount + characterClass] =
+					nextState == null ? DEAD_STATE : stateIndex(nextState, stateIndices, states);
+
+			}
+
+		}
+
+		// Compute the token accepted by each state
+
+		Object[] acceptedTokens = new Object[states.size()];
+
+		for (int i = 0 ; i < states.size() ; i++) {
+
+			int acceptedRoot = states.get(i).acceptedRoot();
+
+			acceptedTokens[i] = acceptedRoot == -1 ?
+				null : regexTokens.get(rootRegexes.get(acceptedRoot));
+
+		}
+
+		// Minimize the automaton and return it
+
+		return minimized(
+			classes, Arrays.copyOf(transitions, states.size() * classCount),
+			acceptedTokens, startStates);
+
+	}
+
+	/**
+	 * Returns the index of the given state, adding it to the given
+	 * states if an equivalent state was not already encountered.
+	 *
+	 * @param state The state for which to get an index.
+	 * @param stateIndices The indices of known states.
+	 * @param states The known states.
+	 * @return The index of the state.
+	 */
+	private static int stateIndex(
+		@NotNull State                state,
+		@NotNull Map<State, Integer>  stateIndices,
+		@NotNull List<State>          states
+	) {
+
+		Integer index = stateIndices.get(state);
+
+		if (index == null) {
+			index = states.size();
+			stateIndices.put(state, index);
+			states.add(state);
+		}
+
+		return index;
+
+	}
+
+	/**
+	 * Returns a minimized automaton equivalent to the given tables,
+	 * obtained by iteratively refining a partition of the states by
+	 * accepted token until no two states of the same block transition
+	 * to different blocks on the same character class.
+	 *
+	 * @param classes The character classes.
+	 * @param transitions The transition table.
+	 * @param acceptedTokens The token accepted by each state.
+	 * @param startStates The start states.
+	 * @param <T> The type of tokens accepted by the automaton.
+	 * @return The minimized automaton.
+	 */
+	@NotNull
+	private static <T> LexerAutomaton<T> minimized(
+		@NotNull CharacterClasses classes,
+		@NotNull int[]            transitions,
+		@NotNull Object[]         acceptedTokens,
+		@NotNull int[]            startStates
+	) {
+
+		int classCount = classes.CLASS_COUNT;
+		int stateCount = acceptedTokens.length;
+
+		// Initially partition the states by accepted token
+
+		int[] blocks     = new int[stateCount];
+		int   blockCount = 0;
+
+		Map<Object, Integer> tokenBlocks = new HashMap<>();
+
+		for (int state = 0 ; state < stateCount ; state++) {
+
+			Object token = acceptedTokens[state];
+
+			Integer block = tokenBlocks.get(token);
+
+			if (block == null) {
+				block = blockCount++;
+				tokenBlocks.put(token, block);
+			}
+
+			blocks[state] = block;
+
+		}
+
+		// Refine the partition until it is stable
+
+		while (true) {
+
+			Map<Signature, Integer> signatureBlocks = new HashMap<>();
+
+			int[] refinedBlocks = new int[stateCount];
+
+			for (int state = 0 ; state < stateCount ; state++) {
+
+				int[] signature = new int[classCount + 1];
+
+				signature[0] = blocks[state];
+
+				for (int characterClass = 0 ; characterClass < classCount ; characterClass++) {
+
+					int nextState = transitions[state * classCount + characterClass];
+
+					signature[characterClass + 1] =
+						nextState == DEAD_STATE ? DEAD_STATE : blocks[nextState];
+
+				}
+
+				Signature key   = new Signature(signature);
+				Integer   block = signatureBlocks.get(key);
+
+				if (block == null) {
+					block = signatureBlocks.size();
+					signatureBlocks.put(key, block);
+				}
+
+				refinedBlocks[state] = block;
+
+			}
+
+			boolean stable = signatureBlocks.size() == blockCount;
+
+			blocks     = refinedBlocks;
+			blockCount = signatureBlocks.size();
+
+			if (stable) { break; }
+
+		}
+
+		// Build the tables of the minimized automaton
+
+		int[]    minimizedTransitions    = new int[blockCount * classCount];
+		Object[] minimizedAcceptedTokens = new Object[blockCount];
+		int[]    minimizedStartStates    = new int[startStates.length];
+
+		for (int state = 0 ; state < stateCount ; state++) {
+
+			int block = blocks[state];
+
+			minimizedAcceptedTokens[block] = acceptedTokens[state];
+
+			for (int characterClass = 0 ; characterClass < classCount ; characterClass++) {
+
+				int nextState = transitions[state * classCount + characterClass];
+
+				minimizedTransitions[block * classCount + characterClass] =
+					nextState == DEAD_STATE ? DEAD_STATE : blocks[nextState];
+
+			}
+
+		}
+
+		for (int i = 0 ; i < startStates.length ; i++) {
+			minimizedStartStates[i] = blocks[startStates[i]];
+		}
+
+		return new LexerAutomaton<>(
+			classes.BLOCK_OFFSETS, classes.CLASS_BLOCKS, classCount,
+			minimizedTransitions, minimizedAcceptedTokens, minimizedStartStates);
+
+	}
+
+	/**
+	 * Returns the default start state, representing all root regexes.
+	 *
+	 * @return The default start state.
+	 */
+	@Contract(pure = true)
+	public int startState() { return START_STATES[0]; }
+
+	/**
+	 * Returns the start state representing the set of starting regexes
+	 * at the given index in the list passed to `compile`.
+	 *
+	 * @param startingRegexSetIndex The index of the set of starting regexes.
+	 * @return The corresponding start state.
+	 */
+	@Contract(pure = true)
+	public int startState(int startingRegexSetIndex) {
+		return START_STATES[startingRegexSetIndex + 1];
+	}
+
+	/**
+	 * Returns the state reached from the given state by the given
+	 * character, or `DEAD_STATE` if no regex advances by that character.
+	 *
+	 * @param state The state to advance.
+	 * @param character The character by which to advance the state.
+	 * @return The next state.
+	 */
+	@Contract(pure = true)
+	public int nextState(int state, char character) {
+		return TRANSITIONS[state * CLASS_COUNT +
+			CLASS_BLOCKS[BLOCK_OFFSETS[character >>> BLOCK_SHIFT] + (character & BLOCK_MASK)]];
+	}
+
+	/**
+	 * Returns the token accepted by the given state, or null if the
+	 * given state is not accepting.
+	 *
+	 * @param state The state.
+	 * @return The token accepted by the state.
+	 */
+	@SuppressWarnings("unchecked")
+	@Contract(pure = true)
+	@Nullable
+	public T acceptedToken(int state) { return (T)ACCEPTED_TOKENS[state]; }
+
+	/**
+	 * Returns the number of states of this automaton.
+	 *
+	 * @return The number of states.
+	 */
+	@Contract(pure = true)
+	public int stateCount() { return ACCEPTED_TOKENS.length; }
+
+	/**
+	 * Writes this automaton to the given stream, so that it can be read
+	 * back with `read` without compiling any regex. Tokens are written
+	 * as names, which must uniquely identify them.
+	 * <p>
+	 * The serialized form consists of a header (magic number, format
+	 * version and payload size), followed by a payload holding the array
+	 * lengths, the token names, and the tables of the automaton, in
+	 * which non-accepting states are assigned the token index -1.
+	 *
+	 * @param output The stream to which to write the automaton.
+	 * @param tokenNames The function returning the name of a token.
+	 * @throws IOException If the automaton could not be written.
+	 */
+	@SuppressWarnings("unchecked")
+	public void write(
+		@NotNull OutputStream        output,
+		@NotNull Function<T, String> tokenNames
+	) throws IOException {
+
+		// Index the accepted tokens by name
+
+		List<String>         names        = new ArrayList<>();
+		Map<String, Integer> nameIndices  = new HashMap<>();
+		int[]                tokenIndices = new int[ACCEPTED_TOKENS.length];
+
+		for (int state = 0 ; state < ACCEPTED_TOKENS.length ; state++) {
+
+			if (ACCEPTED_TOKENS[state] == null) {
+				tokenIndices[state] = -1;
+				continue;
+			}
+
+			String  name  = tokenNames.apply((T)ACCEPTED_TOKENS[state]);
+			Integer index = nameIndices.get(name);
+
+			if (index == null) {
+				index = names.size();
+				nameIndices.put(name, index);
+				names.add(name);
+			}
+
+			tokenIndices[state] = index;
+
+		}
+
+		// Write the payload to a buffer first, in order to write its
+		// size in the header
+
+		ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+		DataOutputStream      payload      = new DataOutputStream(payloadBytes);
+
+		payload.writeInt(CLASS_COUNT);
+		payload.writeInt(BLOCK_OFFSETS.length);
+		payload.writeInt(CLASS_BLOCKS.length);
+		payload.writeInt(ACCEPTED_TOKENS.length);
+		payload.writeInt(START_STATES.length);
+		payload.writeInt(names.size());
+
+		for (String name : names) {
+			payload.writeShort(name.length());
+			payload.writeChars(name);
+		}
+
+		for (int blockOffset : BLOCK_OFFSETS) { payload.writeInt(blockOffset); }
+		for (char classBlock : CLASS_BLOCKS) { payload.writeChar(classBlock); }
+		for (int transition : TRANSITIONS) { payload.writeInt(transition); }
+		for (int tokenIndex : tokenIndices) { payload.writeInt(tokenIndex); }
+		for (int startState : START_STATES) { payload.writeInt(startState); }
+
+		payload.flush();
+
+		DataOutputStream data = new DataOutputStream(output);
+
+		data.writeInt(SERIALIZATION_MAGIC);
+		data.writeInt(SERIALIZATION_VERSION);
+		data.writeInt(payloadBytes.size());
+
+		payloadBytes.writeTo(data);
+
+		data.flush();
+
+	}
+
+	/**
+	 * Reads an automaton written by `write` from the given stream. The
+	 * payload is read with a single bulk read, and the tables are then
+	 * copied from it into primitive arrays.
+	 *
+	 * @param input The stream from which to read the automaton.
+	 * @param tokens The function returning the token with a given name,
+	 *               or null if there is no such token.
+	 * @param <T> The type of tokens accepted by the automaton.
+	 * @return The automaton.
+	 * @throws IOException If the automaton could not be read, is
+	 *                     malformed, or accepts an unknown token.
+	 */
+	@NotNull
+	public static <T> LexerAutomaton<T> read(
+		@NotNull InputStream         input,
+		@NotNull Function<String, T> tokens
+	) throws IOException {
+
+		DataInputStream data = new DataInputStream(input);
+
+		if (data.readInt() != SERIALIZATION_MAGIC) {
+			throw new IOException("Not a serialized lexer automaton");
+		} else if (data.readInt() != SERIALIZATION_VERSION) {
+			throw new IOException("Unsupported serialized lexer automaton version");
+		}
+
+		int payloadSize = data.readInt();
+
+		if (payloadSize < 0) {
+			throw new IOException("Malformed serialized lexer automaton");
+		}
+
+		byte[] payloadBytes = new byte[payloadSize];
+
+		data.readFully(payloadBytes);
+
+		try {
+
+			ByteBuffer payload = ByteBuffer.wrap(payloadBytes);
+
+			int classCount       = payload.getInt();
+			int blockOffsetCount = payload.getInt();
+			int classBlockCount  = payload.getInt();
+			int stateCount       = payload.getInt();
+			int startStateCount  = payload.getInt();
+			int tokenCount       = payload.getInt();
+
+			// Resolve the accepted tokens
+
+			Object[] namedTokens = new Object[tokenCount];
+
+			for (int i = 0 ; i < tokenCount ; i++) {
+
+				char[] name = new char[payload.getShort() & 0xffff];
+
+				payload.asCharBuffer().get(name);
+				payload.position(payload.position() + name.length * Character.BYTES);
+
+				namedTokens[i] = tokens.apply(new String(name));
+
+				if (namedTokens[i] == null) {
+					throw new IOException("Unknown token in serialized lexer automaton: " + new String(name));
+				}
+
+			}
+
+			// Read the tables
+
+			int[]  blockOffsets = new int[blockOffsetCount];
+			char[] classBlocks  = new char[classBlockCount];
+			int[]  transitions  = new int[Math.multiplyExact(stateCount, classCount)];
+			int[]  tokenIndices = new int[stateCount];
+			int[]  startStates  = new int[startStateCount];
+
+			payload.asIntBuffer().get(blockOffsets);
+			payload.position(payload.position() + blockOffsets.length * Integer.BYTES);
+			payload.asCharBuffer().get(classBlocks);
+			payload.position(payload.position() + classBlocks.length * Character.BYTES);
+			payload.asIntBuffer().get(transitions);
+			payload.position(payload.position() + transitions.length * Integer.BYTES);
+			payload.asIntBuffer().get(tokenIndices);
+			payload.position(payload.position() + tokenIndices.length * Integer.BYTES);
+			payload.asIntBuffer().get(startStates);
+
+			Object[] acceptedTokens = new Object[stateCount];
+
+			for (int state = 0 ; state < stateCount ; state++) {
+				acceptedTokens[state] = tokenIndices[state] == -1 ?
+					null : namedTokens[tokenIndices[state]];
+			}
+
+			return new LexerAutomaton<>(
+				blockOffsets, classBlocks, classCount, transitions, acceptedTokens, startStates);
+
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException |
+			NegativeArraySizeException | ArithmeticException exception)
+		{
+			throw new IOException("Malformed serialized lexer automaton", exception);
+		}
+
+	}
+
+	/**
+	 * Partition of all characters into classes of characters by which
+	 * any of a given set of regexes advance identically.
+	 * Two characters are in the same class if they are both the same
+	 * character appearing in a unit regex, or if neither appears in any
+	 * unit regex and both belong to the same Unicode general category.
+	 */
+	private static final class CharacterClasses {
+
+		/**
+		 * The class tables, see `LexerAutomaton`.
+		 */
+		final int[]  BLOCK_OFFSETS;
+		final char[] CLASS_BLOCKS;
+		final int    CLASS_COUNT;
+
+		/**
+		 * A representative character of every class.
+		 */
+		final char[] REPRESENTATIVES;
+
+		/**
+		 * Constructs a new set of character classes given its tables.
+		 *
+		 * @param blockOffsets The offset of each block.
+		 * @param classBlocks The class blocks.
+		 * @param representatives The representative of each class.
+		 */
+		private CharacterClasses(
+			@NotNull int[]  blockOffsets,
+			@NotNull char[] classBlocks,
+			@NotNull char[] representatives
+		) {
+			BLOCK_OFFSETS   = blockOffsets;
+			CLASS_BLOCKS    = classBlocks;
+			CLASS_COUNT     = representatives.length;
+			REPRESENTATIVES = representatives;
+		}
+
+		/**
+		 * Computes the character classes of the given regexes. If
+		 * `ignoreCase` is true, then every character is assigned the
+		 * class of its lowercase counterpart, which is also used as the
+		 * representative of that class.
+		 *
+		 * @param regexes The regexes.
+		 * @param ignoreCase Whether characters should be matched in lowercase.
+		 * @return The character classes.
+		 */
+		@NotNull
+		static CharacterClasses of(@NotNull List<LexerRegex> regexes, boolean ignoreCase) {
+
+			// Collect the characters appearing in unit regexes
+
+			char[] literals = new char[0];
+
+			for (LexerRegex regex : regexes) {
+				literals = LexerRegex.mergedLiterals(literals, regex.literals());
+			}
+
+			// Assign a class to every character, where the literal
+			// characters come first, followed by the general categories
+
+			Map<Integer, Integer> signatureClasses = new HashMap<>();
+			StringBuilder         representatives  = new StringBuilder();
+
+			char[] classes = new char[Character.MAX_VALUE + 1];
+
+			for (int character = 0 ; character <= Character.MAX_VALUE ; character++) {
+
+				char matchedCharacter = ignoreCase ?
+					Character.toLowerCase((char)character) : (char)character;
+
+				int signature = Arrays.binarySearch(literals, matchedCharacter) >= 0 ?
+					-1 - matchedCharacter : GeneralCategoryRegex.generalCategory(matchedCharacter);
+
+				Integer characterClass = signatureClasses.get(signature);
+
+				if (characterClass == null) {
+					characterClass = representatives.length();
+					signatureClasses.put(signature, characterClass);
+					representatives.append(matchedCharacter);
+				}
+
+				classes[character] = (char)(int)characterClass;
+
+			}
+
+			// Split the classes into blocks, sharing identical blocks
+
+			int[]                blockOffsets    = new int[(Character.MAX_VALUE + 1) / BLOCK_SIZE];
+			Map<String, Integer> blockOffsetsMap = new HashMap<>();
+			StringBuilder        classBlocks     = new StringBuilder();
+
+			for (int block = 0 ; block < blockOffsets.length ; block++) {
+
+				String blockClasses = new String(classes, block * BLOCK_SIZE, BLOCK_SIZE);
+
+				Integer offset = blockOffsetsMap.get(blockClasses);
+
+				if (offset == null) {
+					offset = classBlocks.length();
+					blockOffsetsMap.put(blockClasses, offset);
+					classBlocks.append(blockClasses);
+				}
+
+				blockOffsets[block] = offset;
+
+			}
+
+			return new CharacterClasses(blockOffsets,
+				classBlocks.toString().toCharArray(), representatives.toString().toCharArray());
+
+		}
+
+	}
+
+	/**
+	 * Set of live regexes, along with the index of the root regex from
+	 * which each of them originates, representing a state of the
+	 * automaton during its construction.
+	 */
+	private static final class State {
+
+		/**
+		 * The live regexes, ordered by root index, and their root indices.
+		 */
+		final List<LexerRegex> REGEXES;
+		final int[]            ROOTS;
+
+		/**
+		 * The hash code of this state.
+		 */
+		private final int HASH_CODE;
+
+		/**
+		 * Constructs a new state from the given root regexes.
+		 *
+		 * @param startingRegexes The root regexes of the state.
+		 * @param rootRegexes All root regexes.
+		 * @param rootIndices The index of every root regex.
+		 */
+		State(
+			@NotNull List<LexerRegex>         startingRegexes,
+			@NotNull List<LexerRegex>         rootRegexes,
+			@NotNull Map<LexerRegex, Integer> rootIndices
+		) {
+			this(sortedRoots(startingRegexes, rootIndices), rootRegexes);
+		}
+
+		/**
+		 * Constructs a new state consisting of the given root regexes.
+		 *
+		 * @param roots The sorted indices of the root regexes.
+		 * @param rootRegexes All root regexes.
+		 */
+		private State(@NotNull int[] roots, @NotNull List<LexerRegex> rootRegexes) {
+			this(rootRegexesAt(roots, rootRegexes), roots);
+		}
+
+		/**
+		 * Constructs a new state given its live regexes.
+		 *
+		 * @param regexes The live regexes.
+		 * @param roots The root index of each live regex.
+		 */
+		private State(@NotNull List<LexerRegex> regexes, @NotNull int[] roots) {
+			REGEXES   = regexes;
+			ROOTS     = roots;
+			HASH_CODE = 31 * Arrays.hashCode(roots) + regexes.hashCode();
+		}
+
+		/**
+		 * Returns the sorted indices of the given root regexes.
+		 *
+		 * @param regexes The root regexes.
+		 * @param rootIndices The index of every root regex.
+		 * @return The sorted root indices.
+		 */
+		@NotNull
+		private static int[] sortedRoots(
+			@NotNull List<LexerRegex>         regexes,
+			@NotNull Map<LexerRegex, Integer> rootIndices
+		) {
+			return regexes.stream().mapToInt(rootIndices::get).sorted().toArray();
+		}
+
+		/**
+		 * Returns the root regexes at the given indices.
+		 *
+		 * @param roots The root indices.
+		 * @param rootRegexes All root regexes.
+		 * @return The root regexes.
+		 */
+		@NotNull
+		private static List<LexerRegex> rootRegexesAt(
+			@NotNull int[]            roots,
+			@NotNull List<LexerRegex> rootRegexes
+		) {
+
+			List<LexerRegex> regexes = new ArrayList<>(roots.length);
+
+			for (int root : roots) { regexes.add(rootRegexes.get(root)); }
+
+			return regexes;
+
+		}
+
+		/**
+		 * Returns the state obtained by advancing all live regexes of
+		 * this state by the given character, or null if none of them
+		 * advances.
+		 *
+		 * @param character The character by which to advance.
+		 * @return The advanced state, or null.
+		 */
+		@Nullable
+		State advanced(char character) {
+
+			List<LexerRegex> advancedRegexes = new ArrayList<>();
+			int[]            advancedRoots   = new int[ROOTS.length];
+
+			for (int i = 0 ; i < ROOTS.length ; i++) {
+
+				LexerRegex advancedRegex = REGEXES.get(i).advanced(character);
+
+				if (advancedRegex != null) {
+					advancedRoots[advancedRegexes.size()] = ROOTS[i];
+					advancedRegexes.add(advancedRegex);
+				}
+
+			}
+
+			return advancedRegexes.isEmpty() ? null :
+				new State(advancedRegexes, Arrays.copyOf(advancedRoots, advancedRegexes.size()));
+
+		}
+
+		/**
+		 * Returns the root index of the nullable live regex with the
+		 * highest priority, or -1 if no live regex is nullable.
+		 *
+		 * @return The accepted root index, or -1.
+		 */
+		int acceptedRoot() {
+
+			int acceptedRoot     = -1;
+			int acceptedPriority = 0;
+
+			for (int i = 0 ; i < ROOTS.length ; i++) {
+
+				LexerRegex regex = REGEXES.get(i);
+
+				if (regex.nullable() && (acceptedRoot == -1 || regex.PRIORITY > acceptedPriority)) {
+					acceptedRoot     = ROOTS[i];
+					acceptedPriority = regex.PRIORITY;
+				}
+
+			}
+
+			return acceptedRoot;
+
+		}
+
+		/**
+		 * @see java.lang.Object#equals(Object)
+		 */
+		@Override
+		public boolean equals(Object object) {
+
+			if (!(object instanceof State)) { return false; }
+
+			State state = (State)object;
+
+			return HASH_CODE == state.HASH_CODE &&
+				Arrays.equals(ROOTS, state.ROOTS) && REGEXES.equals(state.REGEXES);
+
+		}
+
+		/**
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() { return HASH_CODE; }
+
+	}
+
+	/**
+	 * Wrapper around an array of integers, used as a hash key.
+	 */
+	private static final class Signature {
+
+		/**
+		 * The wrapped array.
+		 */
+		private final int[] VALUES;
+
+		/**
+		 * Constructs a new signature wrapping the given array.
+		 *
+		 * @param values The array to wrap.
+		 */
+		Signature(@NotNull int[] values) { VALUES = values; }
+
+		/**
+		 * @see java.lang.Object#equals(Object)
+		 */
+		@Override
+		public boolean equals(Object object) {
+			return object instanceof Signature && Arrays.equals(VALUES, ((Signature)object).VALUES);
+		}
+
+		/**
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() { return Arrays.hashCode(VALUES); }
+
+	}
+
+}
@@ -1,7 +1,12 @@
 package com.adacore.adaintellij.analysis.lexical.regex;
 
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Object-Based Regular Expression specifically designed to be used
  * by a Lexical Analyser.
@@ -10,9 +15,35 @@ import org.jetbrains.annotations.Nullable;
  * incrementally, filtering out non-matching regexes along the way.
  * Any implementing class must be immutable by design. This allows
  * regexes to be reused when defining complex regexes.
+ * <p>
+ * Regexes are compared structurally, so that regexes built
+ * independently but matching in the same way (with the same priority)
+ * are equal. Smart constructors (such as `UnionRegex.of`) additionally
+ * canonicalize and intern the regexes they return, and are used to
+ * build derivatives. Combined with the derivative cache of every
+ * regex, which is keyed by character class, repeatedly advancing a
+ * regex only explores a bounded set of interned regexes, effectively
+ * building a deterministic automaton lazily.
  */
 public abstract class LexerRegex {
 
+	/**
+	 * The number of Unicode general categories, as returned
+	 * by Character#getType(char).
+	 */
+	private static final int GENERAL_CATEGORY_COUNT = Character.FINAL_QUOTE_PUNCTUATION + 1;
+
+	/**
+	 * Marker stored in derivative caches for character classes by which
+	 * a regex does not advance.
+	 */
+	private static final Object NO_DERIVATIVE = new Object();
+
+	/**
+	 * The table of interned regexes.
+	 */
+	private static final Map<LexerRegex, LexerRegex> INTERNED_REGEXES = new ConcurrentHashMap<>();
+
 	/**
 	 * The priority of this regex. This may be used to choose a regex
 	 * when multiple regexes match a string. Greater numbers represent
@@ -20,6 +51,27 @@ public abstract class LexerRegex {
 	 */
 	public final int PRIORITY;
 
+	/**
+	 * The sorted characters appearing in the unit regexes of this regex
+	 * hierarchy, computed on demand.
+	 * Note: Like the other cached fields below, this field is computed
+	 *       lazily without synchronization, which is harmless since
+	 *       computing it multiple times always yields equal values.
+	 */
+	private char[] literals;
+
+	/**
+	 * The structural hash code of this regex, or 0 if not yet computed.
+	 */
+	private int hashCode;
+
+	/**
+	 * The derivatives of this regex by character class (see
+	 * `characterClass`), or null for classes by which this regex
+	 * has not been advanced yet.
+	 */
+	private Object[] derivatives;
+
 	/**
 	 * Constructs a new LexerRegex.
 	 */
@@ -34,6 +86,25 @@ public abstract class LexerRegex {
 		PRIORITY = priority;
 	}
 
+	/**
+	 * Returns the canonical instance of the given regex: the first
+	 * interned regex that is equal to it, or the given regex itself
+	 * if no such regex was interned yet.
+	 *
+	 * @param regex The regex to intern.
+	 * @param <T> The type of the regex.
+	 * @return The interned regex.
+	 */
+	@SuppressWarnings("unchecked")
+	@NotNull
+	public static <T extends LexerRegex> T intern(@NotNull T regex) {
+
+		LexerRegex internedRegex = INTERNED_REGEXES.putIfAbsent(regex, regex);
+
+		return internedRegex == null ? regex : (T)internedRegex;
+
+	}
+
 	/**
 	 * Returns whether this regex is nullable, i.e. whether it accepts the empty string.
 	 * Not to be confused with the possibility of a variable being null,
@@ -55,7 +126,7 @@ public abstract class LexerRegex {
 	public abstract int charactersMatched();
 
 	/**
-	 * Returns a new regex that is "advanced" by the given character.
+	 * Returns a regex that is "advanced" by the given character.
 	 * If a regex `r` matches a sequence of characters `(c_1, ... c_n)`,
 	 * then the following expression is guaranteed to run without any
 	 * of the calls to advanced returning a null regex:
@@ -73,11 +144,202 @@ public abstract class LexerRegex {
 	 * expression is guaranteed to return null:
 	 * <p>
 	 *                        r.advanced(c)
+	 * <p>
+	 * Derivatives are computed once per character class and cached.
 	 *
 	 * @param character The character by which to advance this regex.
 	 * @return The advanced regex.
 	 */
 	@Nullable
-	public abstract LexerRegex advanced(char character);
+	public final LexerRegex advanced(char character) {
+
+		Object[] derivatives = this.derivatives;
+
+		if (derivatives == null) {
+			derivatives      = new Object[literals().length + GENERAL_CATEGORY_COUNT];
+			this.derivatives = derivatives;
+		}
+
+		int characterClass = characterClass(character);
+
+		Object derivative = derivatives[characterClass];
+
+		if (derivative == null) {
+
+			LexerRegex advancedRegex = derivative(character);
+
+			derivative = advancedRegex == null ? NO_DERIVATIVE : advancedRegex;
+
+			derivatives[characterClass] = derivative;
+
+		}
+
+		return derivative == NO_DERIVATIVE ? null : (LexerRegex)derivative;
+
+	}
+
+	/**
+	 * Computes the derivative of this regex by the given character,
+	 * as returned by `advanced`. Implementations should build the
+	 * derivative using smart constructors and should advance subregexes
+	 * using `advanced`, in order to benefit from derivative caches.
+	 *
+	 * @param character The character by which to advance this regex.
+	 * @return The advanced regex.
+	 */
+	@Nullable
+	abstract LexerRegex derivative(char character);
+
+	/**
+	 * Returns the character class of the given character with respect
+	 * to this regex, such that this regex advances identically by all
+	 * characters of the same class. Characters appearing in unit regexes
+	 * of this regex hierarchy each have their own class, and other
+	 * characters are classified by Unicode general category.
+	 *
+	 * @param character The character to classify.
+	 * @return The character class of the character.
+	 */
+	int characterClass(char character) {
+
+		char[] literals = literals();
+
+		int literalIndex = Arrays.binarySearch(literals, character);
+
+		return literalIndex >= 0 ? literalIndex :
+			literals.length + GeneralCategoryRegex.generalCategory(character);
+
+	}
+
+	/**
+	 * Returns the sorted characters appearing in the unit regexes
+	 * of this regex hierarchy.
+	 *
+	 * @return The characters appearing in unit regexes.
+	 */
+	@NotNull
+	final char[] literals() {
+
+		char[] literals = this.literals;
+
+		if (literals == null) {
+			literals      = computeLiterals();
+			this.literals = literals;
+		}
+
+		return literals;
+
+	}
+
+	/**
+	 * Computes the sorted characters appearing in the unit regexes
+	 * of this regex hierarchy, as returned by `literals`.
+	 *
+	 * @return The characters appearing in unit regexes.
+	 */
+	@NotNull
+	abstract char[] computeLiterals();
+
+	/**
+	 * Returns the sorted union of the given sorted character arrays.
+	 *
+	 * @param firstLiterals The first character array.
+	 * @param secondLiterals The second character array.
+	 * @return The union of the character arrays.
+	 */
+	@NotNull
+	static char[] mergedLiterals(@NotNull char[] firstLiterals, @NotNull char[] secondLiterals) {
+
+		char[] literals = new char[firstLiterals.length + secondLiterals.length];
+
+		int firstIndex  = 0;
+		int secondIndex = 0;
+		int length      = 0;
+
+		while (firstIndex < firstLiterals.length || secondIndex < secondLiterals.length) {
+
+			char literal;
+
+			if (secondIndex == secondLiterals.length ||
+				(firstIndex < firstLiterals.length && firstLiterals[firstIndex] <= secondLiterals[secondIndex]))
+			{
+				literal = firstLiterals[firstIndex++];
+			} else {
+				literal = secondLiterals[secondIndex++];
+			}
+
+			if (length == 0 || literals[length - 1] != literal) {
+				literals[length++] = literal;
+			}
+
+		}
+
+		return length == literals.length ? literals : Arrays.copyOf(literals, length);
+
+	}
+
+	/**
+	 * Returns the structural hash code of this regex, excluding its
+	 * class and priority.
+	 *
+	 * @return The structural hash code of this regex.
+	 */
+	abstract int structuralHashCode();
+
+	/**
+	 * Returns whether this regex is structurally equal to the given
+	 * regex, which is guaranteed to be of the same class and to have
+	 * the same priority.
+	 *
+	 * @param regex The regex to compare to this regex.
+	 * @return The result of the comparison.
+	 */
+	abstract boolean structurallyEquals(@NotNull LexerRegex regex);
+
+	/**
+	 * Returns whether this regex is structurally equal to the given
+	 * object, i.e. whether they are regexes of the same class, have the
+	 * same priority and have structurally equal subregexes.
+	 *
+	 * @param object The object to compare to this regex.
+	 * @return The result of the comparison.
+	 */
+	@Override
+	public final boolean equals(Object object) {
+
+		if (this == object) { return true; }
+
+		if (object == null || object.getClass() != getClass()) { return false; }
+
+		LexerRegex regex = (LexerRegex)object;
+
+		return PRIORITY == regex.PRIORITY && hashCode() == regex.hashCode() &&
+			structurallyEquals(regex);
+
+	}
+
+	/**
+	 * Returns the structural hash code of this regex, computed once.
+	 *
+	 * @return The hash code of this regex.
+	 */
+	@Override
+	public final int hashCode() {
+
+		int hashCode = this.hashCode;
+
+		if (hashCode == 0) {
+
+			hashCode = 31 * (31 * getClass().getName().hashCode() + PRIORITY) + structuralHashCode();
+
+			if (hashCode == 0) { hashCode = 1; }
+
+			this.hashCode = hashCode;
+
+		}
+
+		return hashCode;
+
+	}
 
 }
@@ -62,17 +62,38 @@ public final class NotRegex extends LexerRegex {
 	public int charactersMatched() { return 1; }
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#advanced(char)
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#derivative(char)
 	 */
 	@Nullable
 	@Override
-	public LexerRegex advanced(char character) {
+	LexerRegex derivative(char character) {
 
 		LexerRegex advancedRegex = REGEX.advanced(character);
 
 		return advancedRegex == null ?
-			new UnitRegex("", PRIORITY) : null;
+			UnitRegex.of("", PRIORITY) : null;
 
 	}
 
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#computeLiterals()
+	 */
+	@NotNull
+	@Override
+	char[] computeLiterals() { return REGEX.literals(); }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structuralHashCode()
+	 */
+	@Override
+	int structuralHashCode() { return REGEX.hashCode(); }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structurallyEquals(LexerRegex)
+	 */
+	@Override
+	boolean structurallyEquals(@NotNull LexerRegex regex) {
+		return REGEX.equals(((NotRegex)regex).REGEX);
+	}
+
 }
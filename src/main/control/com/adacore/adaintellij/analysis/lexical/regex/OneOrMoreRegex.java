@@ -46,21 +46,42 @@ public final class OneOrMoreRegex extends LexerRegex {
 	public int charactersMatched() { return -1; }
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#advanced(char)
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#derivative(char)
 	 */
 	@Nullable
 	@Override
-	public LexerRegex advanced(char character) {
+	LexerRegex derivative(char character) {
 
 		LexerRegex advancedRegex = REGEX.advanced(character);
 
 		return advancedRegex == null ? null :
-			new ConcatenationRegex(
+			ConcatenationRegex.of(
 				advancedRegex,
-				new ZeroOrMoreRegex(REGEX, PRIORITY),
+				intern(new ZeroOrMoreRegex(REGEX, PRIORITY)),
 				PRIORITY
 			);
 
 	}
 
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#computeLiterals()
+	 */
+	@NotNull
+	@Override
+	char[] computeLiterals() { return REGEX.literals(); }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structuralHashCode()
+	 */
+	@Override
+	int structuralHashCode() { return REGEX.hashCode(); }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structurallyEquals(LexerRegex)
+	 */
+	@Override
+	boolean structurallyEquals(@NotNull LexerRegex regex) {
+		return REGEX.equals(((OneOrMoreRegex)regex).REGEX);
+	}
+
 }
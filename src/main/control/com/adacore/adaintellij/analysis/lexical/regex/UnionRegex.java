@@ -3,9 +3,7 @@ package com.adacore.adaintellij.analysis.lexical.regex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.ListIterator;
+import java.util.*;
 
 /**
  * Regex matching the union of two subregexes.
@@ -47,6 +45,97 @@ public final class UnionRegex extends LexerRegex {
 		SECOND_REGEX = secondRegex;
 	}
 
+	/**
+	 * Returns the interned, canonical union regex of the given
+	 * subregexes with the given priority:
+	 * <p>
+	 * - Null (empty) subregexes are dropped, and null is returned if
+	 *   both subregexes are null
+	 * - Nested union regexes with the given priority are flattened
+	 * - Equal operands are deduplicated
+	 * - Operands are sorted by hash code and the union is rebuilt as
+	 *   a hierarchy in the format returned by fromList
+	 * <p>
+	 * If a single operand remains and it has a different priority than
+	 * the given one, the operand is united with itself so that the
+	 * priority of the returned regex is preserved.
+	 *
+	 * @param firstRegex The first subregex.
+	 * @param secondRegex The second subregex.
+	 * @param priority The priority of the regex.
+	 * @return The interned union regex.
+	 */
+	@Nullable
+	public static LexerRegex of(
+		@Nullable LexerRegex firstRegex,
+		@Nullable LexerRegex secondRegex,
+		          int        priority
+	) {
+
+		if (firstRegex == null) { return secondRegex == null ? null : intern(secondRegex); }
+		else if (secondRegex == null) { return intern(firstRegex); }
+
+		// Flatten and deduplicate the operands
+
+		Set<LexerRegex> operandSet = new LinkedHashSet<>();
+
+		addOperands(firstRegex, priority, operandSet);
+		addOperands(secondRegex, priority, operandSet);
+
+		List<LexerRegex> operands = new ArrayList<>(operandSet);
+
+		if (operands.size() == 1) {
+
+			LexerRegex operand = operands.get(0);
+
+			return operand.PRIORITY == priority ? operand :
+				intern(new UnionRegex(operand, operand, priority));
+
+		}
+
+		// Sort the operands and rebuild the union
+
+		operands.sort(Comparator.comparingInt(LexerRegex::hashCode));
+
+		ListIterator<LexerRegex> operandIterator = operands.listIterator(operands.size());
+
+		LexerRegex regex = operandIterator.previous();
+
+		while (operandIterator.hasPrevious()) {
+			regex = intern(new UnionRegex(operandIterator.previous(), regex, priority));
+		}
+
+		return regex;
+
+	}
+
+	/**
+	 * Adds the interned operands of the given regex to the given set,
+	 * flattening union regexes with the given priority.
+	 *
+	 * @param regex The regex of which to add operands.
+	 * @param priority The priority of unions to flatten.
+	 * @param operands The set of operands.
+	 */
+	private static void addOperands(
+		@NotNull LexerRegex      regex,
+		         int             priority,
+		@NotNull Set<LexerRegex> operands
+	) {
+
+		if (regex instanceof UnionRegex && regex.PRIORITY == priority) {
+
+			UnionRegex unionRegex = (UnionRegex)regex;
+
+			addOperands(unionRegex.FIRST_REGEX, priority, operands);
+			addOperands(unionRegex.SECOND_REGEX, priority, operands);
+
+		} else {
+			operands.add(intern(regex));
+		}
+
+	}
+
 	/**
 	 * Returns a new hierarchy of union regexes representing the union
 	 * of a list of regexes:
@@ -183,32 +272,41 @@ public final class UnionRegex extends LexerRegex {
 	}
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#advanced(char)
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#derivative(char)
 	 */
 	@Nullable
 	@Override
-	public LexerRegex advanced(char character) {
-
-		LexerRegex firstRegexAdvanced  = FIRST_REGEX.advanced(character);
-		LexerRegex secondRegexAdvanced = SECOND_REGEX.advanced(character);
-
-		if (firstRegexAdvanced == null && secondRegexAdvanced == null) {
-
-			return null;
-
-		} else if (firstRegexAdvanced == null) {
-
-			return secondRegexAdvanced;
+	LexerRegex derivative(char character) {
+		return of(FIRST_REGEX.advanced(character), SECOND_REGEX.advanced(character), PRIORITY);
+	}
 
-		} else if (secondRegexAdvanced == null) {
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#computeLiterals()
+	 */
+	@NotNull
+	@Override
+	char[] computeLiterals() {
+		return mergedLiterals(FIRST_REGEX.literals(), SECOND_REGEX.literals());
+	}
 
-			return firstRegexAdvanced;
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structuralHashCode()
+	 */
+	@Override
+	int structuralHashCode() {
+		return 31 * FIRST_REGEX.hashCode() + SECOND_REGEX.hashCode();
+	}
 
-		} else {
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structurallyEquals(LexerRegex)
+	 */
+	@Override
+	boolean structurallyEquals(@NotNull LexerRegex regex) {
 
-			return new UnionRegex(firstRegexAdvanced, secondRegexAdvanced, PRIORITY);
+		UnionRegex otherRegex = (UnionRegex)regex;
 
-		}
+		return FIRST_REGEX.equals(otherRegex.FIRST_REGEX) &&
+			SECOND_REGEX.equals(otherRegex.SECOND_REGEX);
 
 	}
 
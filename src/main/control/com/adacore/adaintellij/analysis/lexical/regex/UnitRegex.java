@@ -3,6 +3,8 @@ package com.adacore.adaintellij.analysis.lexical.regex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+
 /**
  * Unit regex matching a specific sequence of characters,
  * unlike other types of regexes that are defined recursively
@@ -34,6 +36,19 @@ public final class UnitRegex extends LexerRegex {
 		SEQUENCE = sequence;
 	}
 
+	/**
+	 * Returns the interned unit regex matching the given sequence of
+	 * characters with the given priority.
+	 *
+	 * @param sequence The sequence of characters to match.
+	 * @param priority The priority of the regex.
+	 * @return The interned unit regex.
+	 */
+	@NotNull
+	public static UnitRegex of(@NotNull String sequence, int priority) {
+		return intern(new UnitRegex(sequence, priority));
+	}
+
 	/**
 	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#nullable()
 	 */
@@ -47,13 +62,42 @@ public final class UnitRegex extends LexerRegex {
 	public int charactersMatched() { return SEQUENCE.length(); }
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#advanced(char)
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#derivative(char)
 	 */
 	@Nullable
 	@Override
-	public LexerRegex advanced(char character) {
+	LexerRegex derivative(char character) {
 		return SEQUENCE.length() == 0 || SEQUENCE.charAt(0) != character ?
-			null : new UnitRegex(SEQUENCE.substring(1), PRIORITY);
+			null : of(SEQUENCE.substring(1), PRIORITY);
+	}
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#computeLiterals()
+	 */
+	@NotNull
+	@Override
+	char[] computeLiterals() {
+
+		char[] literals = SEQUENCE.toCharArray();
+
+		Arrays.sort(literals);
+
+		return mergedLiterals(literals, new char[0]);
+
+	}
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structuralHashCode()
+	 */
+	@Override
+	int structuralHashCode() { return SEQUENCE.hashCode(); }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structurallyEquals(LexerRegex)
+	 */
+	@Override
+	boolean structurallyEquals(@NotNull LexerRegex regex) {
+		return SEQUENCE.equals(((UnitRegex)regex).SEQUENCE);
 	}
 
 }
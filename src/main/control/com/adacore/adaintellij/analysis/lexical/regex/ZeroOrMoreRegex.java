@@ -46,17 +46,38 @@ public final class ZeroOrMoreRegex extends LexerRegex {
 	public int charactersMatched() { return -1; }
 
 	/**
-	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#advanced(char)
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#derivative(char)
 	 */
 	@Nullable
 	@Override
-	public LexerRegex advanced(char character) {
+	LexerRegex derivative(char character) {
 
 		LexerRegex advancedRegex = REGEX.advanced(character);
 
 		return advancedRegex == null ? null :
-			new ConcatenationRegex(advancedRegex, this, PRIORITY);
+			ConcatenationRegex.of(advancedRegex, this, PRIORITY);
 
 	}
 
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#computeLiterals()
+	 */
+	@NotNull
+	@Override
+	char[] computeLiterals() { return REGEX.literals(); }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structuralHashCode()
+	 */
+	@Override
+	int structuralHashCode() { return REGEX.hashCode(); }
+
+	/**
+	 * @see com.adacore.adaintellij.analysis.lexical.regex.LexerRegex#structurallyEquals(LexerRegex)
+	 */
+	@Override
+	boolean structurallyEquals(@NotNull LexerRegex regex) {
+		return REGEX.equals(((ZeroOrMoreRegex)regex).REGEX);
+	}
+
 }
@@ -0,0 +1,48 @@
+package com.adacore.adaintellij.analysis.semantic.navigation;
+
+import com.adacore.adaintellij.analysis.syntactic.stubs.AdaShortNameIndex;
+import com.intellij.navigation.ChooseByNameContributor;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.util.ArrayUtil;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Go-to-symbol contributor for Ada, listing the library-level
+ * declarations of the declaration indices, so that symbols can be
+ * found without the Ada Language Server (ALS).
+ */
+public final class AdaGotoSymbolContributor implements ChooseByNameContributor {
+
+	/**
+	 * @see com.intellij.navigation.ChooseByNameContributor#getNames(Project, boolean)
+	 */
+	@NotNull
+	@Override
+	public String[] getNames(Project project, boolean includeNonProjectItems) {
+		return ArrayUtil.toStringArray(StubIndex.getInstance().getAllKeys(AdaShortNameIndex.KEY, project));
+	}
+
+	/**
+	 * @see com.intellij.navigation.ChooseByNameContributor#getItemsByName(String, String, Project, boolean)
+	 */
+	@NotNull
+	@Override
+	public NavigationItem[] getItemsByName(
+		String  name,
+		String  pattern,
+		Project project,
+		boolean includeNonProjectItems
+	) {
+
+		GlobalSearchScope scope = includeNonProjectItems ?
+			GlobalSearchScope.allScope(project) : GlobalSearchScope.projectScope(project);
+
+		return AdaShortNameIndex.getDeclarations(name, project, scope)
+			.toArray(NavigationItem.EMPTY_NAVIGATION_ITEM_ARRAY);
+
+	}
+
+}
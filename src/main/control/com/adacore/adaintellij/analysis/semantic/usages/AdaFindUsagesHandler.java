@@ -1,5 +1,9 @@
 package com.adacore.adaintellij.analysis.semantic.usages;
 
+import com.adacore.adaintellij.analysis.lexical.AdaIdentifierName;
+import com.adacore.adaintellij.analysis.lexical.AdaIdentifierTable;
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiElement;
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiReference;
 import com.adacore.adaintellij.lsp.AdaLSPDriverService;
 import com.adacore.adaintellij.lsp.AdaLSPServer;
 import com.intellij.find.findUsages.FindUsagesHandler;
@@ -127,8 +131,14 @@ public final class AdaFindUsagesHandler extends FindUsagesHandler {
 		List<Location> referenceLocations = lspServer.references(
 			documentUri, offsetToPosition(document, target.getTextOffset()), includeDefinition);
 
-		// Map the returned locations to PSI references and
-		// return them as a stream
+		AdaPsiElement     adaTarget  = AdaPsiElement.getFrom(target);
+		AdaIdentifierName targetName = adaTarget instanceof AdaPsiReference ?
+			((AdaPsiReference)adaTarget).getIdentifierName() : null;
+
+		// Map the returned locations to PSI references, skipping those
+		// that are not identifiers with the name of the target (such as
+		// stale locations in files changed since they were analysed),
+		// and return them as a stream
 
 		return referenceLocations
 			.stream()
@@ -143,9 +153,17 @@ public final class AdaFindUsagesHandler extends FindUsagesHandler {
 
 				if (locationDocument == null || locationPsiFile == null) { return null; }
 
-				return locationPsiFile.findReferenceAt(
+				AdaIdentifierTable identifiers = AdaIdentifierTable.forDocument(locationDocument);
+
+				int index = identifiers.indexAt(
 					positionToOffset(locationDocument, location.getRange().getStart()));
 
+				if (index < 0 || (targetName != null && identifiers.nameId(index) != targetName.ID)) {
+					return null;
+				}
+
+				return locationPsiFile.findReferenceAt(identifiers.start(index));
+
 			})
 			.filter(Objects::nonNull);
 
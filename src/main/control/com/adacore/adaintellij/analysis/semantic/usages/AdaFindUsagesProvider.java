@@ -1,10 +1,8 @@
 package com.adacore.adaintellij.analysis.semantic.usages;
 
-import com.adacore.adaintellij.analysis.lexical.AdaLexer;
-import com.adacore.adaintellij.analysis.lexical.AdaTokenTypes;
+import com.adacore.adaintellij.analysis.lexical.AdaWordsScanner;
 import com.adacore.adaintellij.analysis.syntactic.AdaPsiElement;
 import com.adacore.adaintellij.analysis.syntactic.AdaPsiReference;
-import com.intellij.lang.cacheBuilder.DefaultWordsScanner;
 import com.intellij.lang.cacheBuilder.WordsScanner;
 import com.intellij.lang.findUsages.FindUsagesProvider;
 import com.intellij.psi.PsiElement;
@@ -21,14 +19,7 @@ public final class AdaFindUsagesProvider implements FindUsagesProvider {
 	 */
 	@NotNull
 	@Override
-	public WordsScanner getWordsScanner() {
-		return new DefaultWordsScanner(
-			new AdaLexer(),
-			AdaTokenTypes.IDENTIFIER_TOKEN_SET,
-			AdaTokenTypes.COMMENT_TOKEN_SET,
-			AdaTokenTypes.LITERAL_TOKEN_SET
-		);
-	}
+	public WordsScanner getWordsScanner() { return AdaWordsScanner.forAda(); }
 
 	/**
 	 * @see com.intellij.lang.findUsages.FindUsagesProvider#canFindUsagesFor(PsiElement)
@@ -0,0 +1,46 @@
+package com.adacore.adaintellij.analysis.syntactic;
+
+import com.adacore.adaintellij.analysis.lexical.AdaTokenTypes;
+import com.intellij.lang.ASTFactory;
+import com.intellij.psi.impl.source.tree.LeafElement;
+import com.intellij.psi.impl.source.tree.LeafPsiElement;
+import com.intellij.psi.impl.source.tree.PsiCommentImpl;
+import com.intellij.psi.impl.source.tree.PsiWhiteSpaceImpl;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * AST factory for Ada, creating the leaves of the trees built by the
+ * Ada parser.
+ * Tokens are mapped to leaves that are their own PSI elements, namely
+ * `AdaPsiReference`s for identifiers and `AdaPsiElement`s for other
+ * tokens, so that no composite node is needed per token.
+ * <p>
+ * For detailed information about the structure of ASTs built by the
+ * Ada-IntelliJ Ada parser:
+ * @see AdaParser
+ */
+public final class AdaASTFactory extends ASTFactory {
+
+	/**
+	 * @see com.intellij.lang.ASTFactory#createLeaf(IElementType, CharSequence)
+	 */
+	@NotNull
+	@Override
+	public LeafElement createLeaf(@NotNull IElementType type, @NotNull CharSequence text) {
+
+		if (AdaTokenTypes.COMMENT_TOKEN_SET.contains(type)) {
+			return new PsiCommentImpl(type, text);
+		} else if (AdaTokenTypes.WHITESPACE_TOKEN_SET.contains(type)) {
+			return new PsiWhiteSpaceImpl(text);
+		} else if (AdaTokenTypes.IDENTIFIER_TOKEN_SET.contains(type)) {
+			return new AdaPsiReference(type, text);
+		} else if (AdaTokenTypes.ALL_VALID_TOKENS.contains(type)) {
+			return new AdaPsiElement(type, text);
+		}
+
+		return new LeafPsiElement(type, text);
+
+	}
+
+}
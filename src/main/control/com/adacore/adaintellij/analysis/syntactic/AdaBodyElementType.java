@@ -0,0 +1,106 @@
+package com.adacore.adaintellij.analysis.syntactic;
+
+import com.adacore.adaintellij.AdaLanguage;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lang.LanguageParserDefinitions;
+import com.intellij.lang.ParserDefinition;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.tree.IReparseableElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Type of the contents of Ada bodies that are parsed lazily, namely
+ * the rest of a body after its `is` (or the rest of a block after
+ * its `declare`), up to and including its end.
+ * <p>
+ * Elements of this type are only parsed when their children are
+ * needed, and when the text of such an element is modified, only
+ * that element is reparsed, as long as its new text still forms
+ * exactly one body, instead of the whole file.
+ *
+ * @see AdaParser
+ */
+public final class AdaBodyElementType extends IReparseableElementType {
+
+	/**
+	 * Whether bodies of this type must have statements.
+	 */
+	final boolean STATEMENTS_REQUIRED;
+
+	/**
+	 * Constructs a new Ada body element type.
+	 *
+	 * @param debugName The name of the element type, used for debugging purposes.
+	 * @param statementsRequired Whether bodies of this type must have statements.
+	 */
+	AdaBodyElementType(@NotNull @NonNls String debugName, boolean statementsRequired) {
+		super(debugName, AdaLanguage.INSTANCE);
+		STATEMENTS_REQUIRED = statementsRequired;
+	}
+
+	/**
+	 * @see com.intellij.psi.tree.ILazyParseableElementType#doParseContents(ASTNode, PsiElement)
+	 */
+	@Override
+	protected ASTNode doParseContents(@NotNull ASTNode chameleon, @NotNull PsiElement psi) {
+
+		PsiBuilder builder = PsiBuilderFactory.getInstance()
+			.createBuilder(psi.getProject(), chameleon, null, getLanguage(), chameleon.getChars());
+
+		// Note: The root marker needs to be set before any call to
+		//       `builder.getTokenType` (see `AdaParser#parse`)
+
+		PsiBuilder.Marker rootMarker = builder.mark();
+
+		AdaParser.parseBodyContents(builder, this);
+
+		rootMarker.done(this);
+
+		return builder.getTreeBuilt().getFirstChildNode();
+
+	}
+
+	/**
+	 * Returns whether the given text forms exactly one body of this
+	 * type, in which case it can be reparsed on its own.
+	 *
+	 * @see com.intellij.psi.tree.IReparseableElementType#isParsable(ASTNode, CharSequence, Language, Project)
+	 */
+	@Override
+	public boolean isParsable(
+		@Nullable ASTNode      parent,
+		@NotNull  CharSequence buffer,
+		@NotNull  Language     fileLanguage,
+		@NotNull  Project      project
+	) {
+
+		ParserDefinition parserDefinition = LanguageParserDefinitions.INSTANCE.forLanguage(getLanguage());
+
+		PsiBuilder builder = PsiBuilderFactory.getInstance()
+			.createBuilder(parserDefinition, parserDefinition.createLexer(project), buffer);
+
+		PsiBuilder.Marker rootMarker = builder.mark();
+
+		boolean parsable = AdaParser.parseBodyContents(builder, this);
+
+		rootMarker.drop();
+
+		return parsable;
+
+	}
+
+	/**
+	 * Returns a string representation of this element type.
+	 *
+	 * @return A string representation of this element type.
+	 */
+	@Override
+	public String toString() { return "AdaBodyElementType." + super.toString(); }
+
+}
@@ -0,0 +1,468 @@
+package com.adacore.adaintellij.analysis.syntactic;
+
+import com.adacore.adaintellij.analysis.lexical.AdaIdentifierName;
+import com.adacore.adaintellij.analysis.syntactic.stubs.AdaDeclarationStub;
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.ide.projectView.PresentationData;
+import com.intellij.lang.ASTNode;
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.adacore.adaintellij.analysis.lexical.AdaTokenTypes.*;
+import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
+import static com.adacore.adaintellij.analysis.syntactic.AdaSyntaxElementTypes.*;
+
+/**
+ * Ada AST node representing a declaration of a package, subprogram,
+ * type or object.
+ * Library-level declarations, namely those of library units and those
+ * in the declarative parts of library-level packages, have stubs,
+ * through which they can be found in the declaration indices and read
+ * without parsing their file.
+ * <p>
+ * For detailed information about the structure of ASTs built by the
+ * Ada-IntelliJ Ada parser:
+ * @see AdaParser
+ * @see com.adacore.adaintellij.analysis.syntactic.stubs.AdaDeclarationElementType
+ */
+public final class AdaDeclarationPsiElement extends StubBasedPsiElementBase<AdaDeclarationStub> {
+
+	/**
+	 * Element set representing the tokens that do not take part in the
+	 * header of a declaration.
+	 */
+	private static final TokenSet IGNORED_TOKEN_SET = TokenSet.orSet(WHITESPACE_TOKEN_SET, COMMENT_TOKEN_SET);
+
+	/**
+	 * Element set representing the tokens that may precede the keyword
+	 * of a declaration.
+	 */
+	private static final TokenSet INDICATOR_TOKEN_SET =
+		TokenSet.create(PRIVATE_KEYWORD, NOT_KEYWORD, OVERRIDING_KEYWORD);
+
+	/**
+	 * Element set representing the tokens that can be (parts of)
+	 * declared names, including operator symbols.
+	 */
+	private static final TokenSet NAME_TOKEN_SET = TokenSet.create(IDENTIFIER, STRING_LITERAL);
+
+	/**
+	 * Constructs a new AdaDeclarationPsiElement given a stub.
+	 *
+	 * @param stub The stub to back the constructed PSI element.
+	 * @param elementType The type of the declaration.
+	 */
+	public AdaDeclarationPsiElement(@NotNull AdaDeclarationStub stub, @NotNull IStubElementType elementType) {
+		super(stub, elementType);
+	}
+
+	/**
+	 * Constructs a new AdaDeclarationPsiElement given a tree node.
+	 *
+	 * @param node The tree node to back the constructed PSI element.
+	 */
+	public AdaDeclarationPsiElement(@NotNull ASTNode node) { super(node); }
+
+	/**
+	 * Returns the kind of this declaration, as the Ada element type of
+	 * its declared names, or `OTHER` if it is not a declaration of a
+	 * package, subprogram, type or object.
+	 *
+	 * @return The kind of this declaration.
+	 */
+	@NotNull
+	public AdaElementType getKind() {
+
+		AdaDeclarationStub stub = getGreenStub();
+
+		return stub == null ? getHeader().KIND : stub.KIND;
+
+	}
+
+	/**
+	 * Returns the names declared by this declaration, without their
+	 * qualifiers. Object declarations may declare several names, and
+	 * other declarations declare at most one.
+	 *
+	 * @return The names declared by this declaration.
+	 */
+	@NotNull
+	public String[] getNames() {
+
+		AdaDeclarationStub stub = getGreenStub();
+
+		return stub == null ? getHeader().NAMES : stub.NAMES;
+
+	}
+
+	/**
+	 * @see com.intellij.navigation.NavigationItem#getName()
+	 */
+	@Nullable
+	@Override
+	public String getName() {
+
+		String[] names = getNames();
+
+		return names.length == 0 ? null : names[0];
+
+	}
+
+	/**
+	 * Returns the qualifier of the names declared by this declaration,
+	 * namely the fully qualified name of the enclosing declaration, or
+	 * the parent unit of a child or separate library unit, or null if
+	 * there is no such qualifier.
+	 *
+	 * @return The qualifier of this declaration's names, or null.
+	 */
+	@Nullable
+	public String getQualifier() {
+
+		AdaDeclarationStub stub = getGreenStub();
+
+		return stub == null ? readQualifier() : stub.QUALIFIER;
+
+	}
+
+	/**
+	 * Returns the fully qualified name of the first name declared by
+	 * this declaration, or null if it declares no names.
+	 *
+	 * @return The fully qualified name of this declaration, or null.
+	 */
+	@Nullable
+	public String getQualifiedName() {
+
+		String name = getName();
+
+		return name == null ? null : qualify(getQualifier(), name);
+
+	}
+
+	/**
+	 * Returns the element of the token declaring the given name in this
+	 * declaration, ignoring case, or null if there is no such token.
+	 *
+	 * @param name The declared name to look for.
+	 * @return The element of the token declaring the name, or null.
+	 */
+	@Nullable
+	public AdaPsiElement getNameIdentifier(@NotNull String name) {
+
+		for (PsiElement child = getFirstChild() ; child != null ; child = child.getNextSibling()) {
+			if (child instanceof AdaPsiElement &&
+				AdaIdentifierName.areEqual(name, ((AdaPsiElement)child).getChars()))
+			{
+				return (AdaPsiElement)child;
+			}
+		}
+
+		return null;
+
+	}
+
+	/**
+	 * Returns the given name qualified by the given qualifier.
+	 *
+	 * @param qualifier The qualifier, or null.
+	 * @param name The name to qualify.
+	 * @return The qualified name.
+	 */
+	@NotNull
+	public static String qualify(@Nullable String qualifier, @NotNull String name) {
+		return qualifier == null ? name : qualifier + "." + name;
+	}
+
+	/**
+	 * @see com.intellij.navigation.NavigationItem#getPresentation()
+	 */
+	@NotNull
+	@Override
+	public ItemPresentation getPresentation() {
+		return new PresentationData(
+			String.join(", ", getNames()), getQualifier(), getIcon(0), null);
+	}
+
+	/**
+	 * @see com.intellij.psi.PsiElement#getIcon(int)
+	 */
+	@Nullable
+	@Override
+	public Icon getIcon(int flags) { return AdaPsiElement.getElementTypeIcon(getKind()); }
+
+	/**
+	 * Returns a string representation of this PSI element.
+	 *
+	 * @return A string representation of this PSI element.
+	 */
+	@Override
+	public String toString() {
+		return "AdaDeclarationPsiElement(" + getElementType() + ")";
+	}
+
+	/*
+		Header Reading
+	*/
+
+	/**
+	 * Returns the header of this declaration, read from its tokens once
+	 * and cached until the PSI changes.
+	 *
+	 * @return The header of this declaration.
+	 */
+	@NotNull
+	private Header getHeader() {
+		return CachedValuesManager.getCachedValue(this, () ->
+			CachedValueProvider.Result.create(readHeader(), PsiModificationTracker.MODIFICATION_COUNT));
+	}
+
+	/**
+	 * Reads the header of this declaration from its tokens, namely its
+	 * optional indicators (`private`, `overriding`, etc.), its keyword,
+	 * and its names.
+	 *
+	 * @return The header of this declaration.
+	 */
+	@NotNull
+	private Header readHeader() {
+
+		ASTNode token = skipIgnored(getNode().getFirstChildNode());
+
+		while (token != null && INDICATOR_TOKEN_SET.contains(token.getElementType())) {
+			token = skipIgnored(token.getTreeNext());
+		}
+
+		if (token == null) { return Header.NONE; }
+
+		IElementType elementType = getNode().getElementType();
+		IElementType tokenType   = token.getElementType();
+
+		if (elementType == OBJECT_DECLARATION) { return readObjectHeader(token); }
+
+		AdaElementType kind;
+
+		if (tokenType == TYPE_KEYWORD || tokenType == SUBTYPE_KEYWORD) {
+			kind = AdaElementType.TYPE_IDENTIFIER;
+		} else if (tokenType == PACKAGE_KEYWORD) {
+			kind = elementType == PACKAGE_BODY ?
+				AdaElementType.PACKAGE_BODY_IDENTIFIER : AdaElementType.PACKAGE_SPEC_IDENTIFIER;
+		} else if (tokenType == PROCEDURE_KEYWORD) {
+			kind = AdaElementType.PROCEDURE_IDENTIFIER;
+		} else if (tokenType == FUNCTION_KEYWORD) {
+			kind = AdaElementType.FUNCTION_IDENTIFIER;
+		} else {
+			return Header.NONE;
+		}
+
+		token = skipIgnored(token.getTreeNext());
+
+		if (token != null && token.getElementType() == BODY_KEYWORD) {
+			token = skipIgnored(token.getTreeNext());
+		}
+
+		// Read the possibly expanded name, in which case all segments
+		// but the last form a qualifier
+
+		List<String> segments = new ArrayList<>();
+
+		while (token != null && NAME_TOKEN_SET.contains(token.getElementType())) {
+
+			segments.add(token.getText());
+
+			token = skipIgnored(token.getTreeNext());
+
+			if (token == null || token.getElementType() != FULL_STOP) { break; }
+
+			token = skipIgnored(token.getTreeNext());
+
+		}
+
+		if (segments.isEmpty()) { return Header.NONE; }
+
+		String name = segments.remove(segments.size() - 1);
+
+		return new Header(kind, segments.isEmpty() ? null : String.join(".", segments), new String[] { name });
+
+	}
+
+	/**
+	 * Reads the header of an object declaration, starting at its first
+	 * name. Exception declarations are read with the kind `OTHER`.
+	 *
+	 * @param token The first token of the object declaration.
+	 * @return The header of the object declaration.
+	 */
+	@NotNull
+	private static Header readObjectHeader(@NotNull ASTNode token) {
+
+		List<String> names = new ArrayList<>();
+
+		while (token != null && token.getElementType() == IDENTIFIER) {
+
+			names.add(token.getText());
+
+			token = skipIgnored(token.getTreeNext());
+
+			if (token == null || token.getElementType() != COMMA) { break; }
+
+			token = skipIgnored(token.getTreeNext());
+
+		}
+
+		if (names.isEmpty() || token == null || token.getElementType() != COLON) {
+			return Header.NONE;
+		}
+
+		token = skipIgnored(token.getTreeNext());
+
+		if (token != null && token.getElementType() == ALIASED_KEYWORD) {
+			token = skipIgnored(token.getTreeNext());
+		}
+
+		IElementType tokenType = token == null ? null : token.getElementType();
+
+		AdaElementType kind =
+			tokenType == CONSTANT_KEYWORD  ? AdaElementType.CONSTANT_IDENTIFIER :
+			tokenType == EXCEPTION_KEYWORD ? AdaElementType.OTHER :
+			                                 AdaElementType.VARIABLE_IDENTIFIER;
+
+		return new Header(kind, null, names.toArray(new String[0]));
+
+	}
+
+	/**
+	 * Reads the qualifier of this declaration from the tree, by looking
+	 * for the closest enclosing declaration or subunit.
+	 *
+	 * @return The qualifier of this declaration, or null.
+	 */
+	@Nullable
+	private String readQualifier() {
+
+		String prefix = getHeader().PREFIX;
+		String outer  = null;
+
+		for (ASTNode parent = getNode().getTreeParent() ; parent != null ; parent = parent.getTreeParent()) {
+
+			if (parent.getElementType() == SUBUNIT) {
+				outer = readSubunitParentName(parent);
+				break;
+			}
+
+			PsiElement psi = parent.getPsi();
+
+			if (psi instanceof AdaDeclarationPsiElement) {
+				outer = ((AdaDeclarationPsiElement)psi).getQualifiedName();
+				break;
+			}
+
+		}
+
+		return outer == null ? prefix : prefix == null ? outer : qualify(outer, prefix);
+
+	}
+
+	/**
+	 * Reads the name of the parent unit of the given subunit, namely
+	 * the name in parentheses after `separate`.
+	 *
+	 * @param subunit The subunit node.
+	 * @return The name of the parent unit of the subunit, or null.
+	 */
+	@Nullable
+	private static String readSubunitParentName(@NotNull ASTNode subunit) {
+
+		StringBuilder name    = new StringBuilder();
+		boolean       inParen = false;
+
+		for (ASTNode token = subunit.getFirstChildNode() ; token != null ; token = token.getTreeNext()) {
+
+			IElementType tokenType = token.getElementType();
+
+			if (tokenType == LEFT_PARENTHESIS) {
+				inParen = true;
+			} else if (tokenType == RIGHT_PARENTHESIS) {
+				break;
+			} else if (inParen && (tokenType == IDENTIFIER || tokenType == FULL_STOP)) {
+				name.append(token.getText());
+			}
+
+		}
+
+		return name.length() == 0 ? null : name.toString();
+
+	}
+
+	/**
+	 * Returns the first node, starting at the given one, that is not a
+	 * whitespace or comment.
+	 *
+	 * @param node The node to start at, or null.
+	 * @return The first significant node, or null.
+	 */
+	@Nullable
+	private static ASTNode skipIgnored(@Nullable ASTNode node) {
+
+		while (node != null && IGNORED_TOKEN_SET.contains(node.getElementType())) {
+			node = node.getTreeNext();
+		}
+
+		return node;
+
+	}
+
+	/**
+	 * The header of a declaration, namely its kind and its names.
+	 */
+	private static final class Header {
+
+		/**
+		 * Header of constructs that do not declare any names.
+		 */
+		static final Header NONE = new Header(AdaElementType.OTHER, null, new String[0]);
+
+		/**
+		 * The kind of the declaration.
+		 */
+		final AdaElementType KIND;
+
+		/**
+		 * The prefix of the expanded name of the declaration (e.g. `Ada`
+		 * for `Ada.Text_IO`), or null.
+		 */
+		final String PREFIX;
+
+		/**
+		 * The declared names.
+		 */
+		final String[] NAMES;
+
+		/**
+		 * Constructs a new declaration header.
+		 *
+		 * @param kind The kind of the declaration.
+		 * @param prefix The prefix of the expanded name of the declaration.
+		 * @param names The declared names.
+		 */
+		Header(@NotNull AdaElementType kind, @Nullable String prefix, @NotNull String[] names) {
+			KIND   = kind;
+			PREFIX = prefix;
+			NAMES  = names;
+		}
+
+	}
+
+}
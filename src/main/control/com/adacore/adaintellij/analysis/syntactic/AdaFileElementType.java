@@ -1,12 +1,37 @@
 package com.adacore.adaintellij.analysis.syntactic;
 
 import com.adacore.adaintellij.AdaLanguage;
-import com.intellij.psi.tree.IFileElementType;
+import com.adacore.adaintellij.analysis.lexical.AdaTokenCache;
+import com.adacore.adaintellij.analysis.syntactic.stubs.AdaStubBuilder;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.LanguageParserDefinitions;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.lang.PsiParser;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBuilder;
+import com.intellij.psi.stubs.PsiFileStub;
+import com.intellij.psi.tree.IStubFileElementType;
+import org.jetbrains.annotations.NotNull;
 
 /**
- * Element type representing an Ada file.
+ * Element type representing an Ada file, the stub tree of which holds
+ * the library-level declarations of the file.
+ *
+ * @see com.adacore.adaintellij.analysis.syntactic.stubs.AdaDeclarationElementType
  */
-public final class AdaFileElementType extends IFileElementType {
+public final class AdaFileElementType extends IStubFileElementType<PsiFileStub<AdaPsiFile>> {
+
+	/**
+	 * The version of the stubs of Ada files, to be incremented whenever
+	 * the contents or the serialized format of the stubs change.
+	 */
+	private static final int STUB_VERSION = 2;
 
 	/**
 	 * Unique instance representing the Ada file element type.
@@ -20,4 +45,56 @@ public final class AdaFileElementType extends IFileElementType {
 		super("Ada.FILE", AdaLanguage.INSTANCE);
 	}
 
+	/**
+	 * @see com.intellij.psi.tree.IStubFileElementType#getStubVersion()
+	 */
+	@Override
+	public int getStubVersion() { return STUB_VERSION; }
+
+	/**
+	 * @see com.intellij.psi.tree.IStubFileElementType#getExternalId()
+	 */
+	@NotNull
+	@Override
+	public String getExternalId() { return "ada.FILE"; }
+
+	/**
+	 * @see com.intellij.psi.tree.IStubFileElementType#getBuilder()
+	 */
+	@Override
+	public StubBuilder getBuilder() { return new AdaStubBuilder(); }
+
+	/**
+	 * Parses the contents of the given file node with a lexer replaying
+	 * the cached tokens of the document of the file if the text of the
+	 * node is the current text of that document, so that the tokens are
+	 * shared with the highlighting lexer of the editor, or with the lexer
+	 * of the parser definition otherwise (e.g. for the committed text of
+	 * a document that changed since, or for copies of the file).
+	 *
+	 * @see com.intellij.psi.tree.ILazyParseableElementType#doParseContents(ASTNode, PsiElement)
+	 */
+	@Override
+	protected ASTNode doParseContents(@NotNull ASTNode chameleon, @NotNull PsiElement psi) {
+
+		Project      project  = psi.getProject();
+		VirtualFile  file     = psi.getContainingFile().getViewProvider().getVirtualFile();
+		Document     document = FileDocumentManager.getInstance().getCachedDocument(file);
+		CharSequence text     = chameleon.getChars();
+
+		// Note: Feeding any other text to the token cache would make it
+		//       alternate between that text and the document text
+
+		Lexer lexer = document == null || text != document.getImmutableCharSequence() ?
+			null : AdaTokenCache.forDocument(document).lexer();
+
+		PsiBuilder builder = PsiBuilderFactory.getInstance()
+			.createBuilder(project, chameleon, lexer, getLanguage(), text);
+
+		PsiParser parser = LanguageParserDefinitions.INSTANCE.forLanguage(getLanguage()).createParser(project);
+
+		return parser.parse(this, builder).getFirstChildNode();
+
+	}
+
 }
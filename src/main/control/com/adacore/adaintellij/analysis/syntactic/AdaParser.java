@@ -1,66 +1,69 @@
 package com.adacore.adaintellij.analysis.syntactic;
 
+import com.adacore.adaintellij.analysis.lexical.AdaFixedTokenType;
 import com.intellij.lang.ASTNode;
 import com.intellij.lang.PsiBuilder;
 import com.intellij.lang.PsiParser;
+import com.intellij.lang.WhitespacesAndCommentsBinder;
+import com.intellij.lang.impl.PsiBuilderAdapter;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.adacore.adaintellij.analysis.lexical.AdaTokenTypes.*;
+import static com.adacore.adaintellij.analysis.syntactic.AdaSyntaxElementTypes.*;
 
 /**
  * Parser for the Ada language.
  * <p>
- * The Ada-IntelliJ plugin does not implement a full-fledged Ada parser, and
- * instead relies on the Ada Language Server (ALS) to provide all sorts of
- * semantic features such as error reporting/highlighting, reference search,
- * code completion, code navigation, etc.
- * <p>
- * However, these operations still need to go through an AST in the format
- * defined by the IntelliJ platform, which consists of the various classes
- * from the the PSI family.
+ * The Ada-IntelliJ plugin relies on the Ada Language Server (ALS) to
+ * provide semantic features such as error reporting/highlighting,
+ * reference search, code completion, code navigation, etc. However,
+ * the structure of Ada programs (which declarations and statements
+ * they are made of, and how those are nested) is needed by many editor
+ * features that must answer quickly, so this parser is a recursive
+ * descent parser of the structure of Ada programs.
  * <p>
- * To address this, the Ada-IntelliJ plugin provides some sort of dummy parser
- * for Ada files, that simply outputs an AST in the form of a flat tree of nodes
- * that directly map to the tokens produced by the Ada lexer.
+ * Declarations (compilation units, packages, subprograms, tasks,
+ * protected units, types, objects, etc.) and statements (blocks, `if`,
+ * `case`, loops, etc.) are parsed into syntax elements (see
+ * `AdaSyntaxElementTypes`) nested as in the source code. Expressions,
+ * names, parameter lists and the like are not parsed, and are instead
+ * kept as flat sequences of tokens in the element they appear in.
  * <p>
  * Consider the following example:
  * <p>
- *       Code            Lexer Tokens                   Parsed PSI Tree
- *  ===========================================================================
- *  ...                      ...       -------             ...---|
- *  declare            DECLARE_KEYWORD -------   AdaPsiElement---|
- *     X : Integer;      WHITE_SPACE   -------   AdaPsiElement---|
- *  begin                IDENTIFIER    ------- AdaPsiReference---|
- *     X := A + 1;       WHITE_SPACE   -------   AdaPsiElement---|
- *  end;                    COLON      -------   AdaPsiElement---|
- *  ...                  WHITE_SPACE   -------   AdaPsiElement---|
- *                       IDENTIFIER    ------- AdaPsiReference---|
- *                        SEMICOLON    -------   AdaPsiElement---|
- *                       WHITE_SPACE   -------   AdaPsiElement---|
- *                      BEGIN_KEYWORD  -------   AdaPsiElement---|
- *                       WHITE_SPACE   -------   AdaPsiElement---|
- *                       IDENTIFIER    ------- AdaPsiReference---|---AdaPsiFile
- *                       WHITE_SPACE   -------   AdaPsiElement---|
- *                       ASSIGNMENT    -------   AdaPsiElement---|
- *                       WHITE_SPACE   -------   AdaPsiElement---|
- *                       IDENTIFIER    ------- AdaPsiReference---|
- *                       WHITE_SPACE   -------   AdaPsiElement---|
- *                        PLUS_SIGN    -------   AdaPsiElement---|
- *                       WHITE_SPACE   -------   AdaPsiElement---|
- *                     DECIMAL_LITERAL -------   AdaPsiElement---|
- *                        SEMICOLON    -------   AdaPsiElement---|
- *                       WHITE_SPACE   -------   AdaPsiElement---|
- *                       END_KEYWORD   -------   AdaPsiElement---|
- *                        SEMICOLON    -------   AdaPsiElement---|
- *                           ...       -------             ...---|
+ *       Code            Parsed PSI Tree
+ *  ==============================================================================
+ *  procedure P is       SUBPROGRAM_BODY-------------------------------------|
+ *     X : Integer;        AdaPsiElement       (procedure)                  |
+ *  begin                  AdaPsiReference     (P)                          |
+ *     if X > 0 then       AdaPsiElement       (is)                         |
+ *        X := 0;          SUBPROGRAM_BODY_CONTENTS-----------------|       |
+ *     end if;               OBJECT_DECLARATION--------------|      |       |
+ *  end P;                     AdaPsiReference (X)           |      |       |
+ *                             ...                    -------|      |       |
+ *                           AdaPsiElement     (begin)              |       |
+ *                           IF_STATEMENT--------------------|      |       |
+ *                             AdaPsiElement   (if)          |      |       |
+ *                             ...                           |      |       |
+ *                             SIMPLE_STATEMENT---------|    |      |       |
+ *                               AdaPsiReference (X)    |    |      |       |
+ *                               ...              ------|    |      |       |
+ *                             AdaPsiElement   (end)         |      |       |
+ *                             AdaPsiElement   (if)          |      |       |
+ *                             AdaPsiElement   (;)    -------|      |       |
+ *                           AdaPsiElement     (end)                |       |
+ *                           AdaPsiReference   (P)                  |       |
+ *                           AdaPsiElement     (;)    --------------|-------|---AdaPsiFile
  * <p>
- * As this example demonstrates, the final abstract trees returned by this
- * parser are not ASTs in the proper, traditional sense of the word, namely:
- *  - They maintain ALL elements of the source code, including whitespaces,
- *    comments, delimiters, etc.
- *  - They have absolutely no semantic dimension to them
- * Their only purpose is to act as placeholders that enable the Ada-IntelliJ
- * plugin to override operations defined on their nodes and "outsource" the
- * actual work required for those operations to the ALS.
+ * Every token produced by the Ada lexer (except for whitespaces and
+ * comments) is mapped to its own element, an `AdaPsiElement` or an
+ * `AdaPsiReference` (for identifiers), and syntax elements are mapped
+ * to `AdaSyntaxPsiElement`s, except for declarations of packages,
+ * subprograms, types and objects, which are mapped to stub-based
+ * `AdaDeclarationPsiElement`s.
  * <p>
  * Note that, as an intermediate step, before building the final AST consisting
  * of PSI elements, the PSI builder builds a tree consisting of instances of the
@@ -71,39 +74,107 @@ import org.jetbrains.annotations.NotNull;
  * See this diagram from the Int<a href="elliJ">platform SDK tutorial:
  * https://www.jetbrains.org/intellij/sdk/docs/reference_guide/custom_lan</a>guage_support/img/PsiBuilder.gif
  * <p>
- * The intermediate tree does not necessarily have a one-to-one mapping to the
- * final PSI tree. In fact, for every "leaf" marker (except for whitespace and
- * comments), the PSI builder seems to add to the intermediate tree a
- * `CompositeElement` containing a single child `LeafElement`. In the final PSI
- * tree, the `CompositeElement` is mapped to an `AdaPsiElement` or an
- * `AdaPsiReference` and the `LeafElement` is mapped to some other instance of a
- * class implementing `PsiElement`. This means that, unlike what is shown in the
- * example above, the actual final parsed PSI tree has a depth of 2. Here is an
- * example diagram with arrows illustrating references:
+ * Tokens are not wrapped in markers of their own: the PSI builder creates
+ * a leaf node for every token, through `AdaASTFactory`, and those leaves are
+ * `AdaPsiElement`s and `AdaPsiReference`s, which are at the same time tree
+ * nodes and PSI elements. Only syntax elements are composite nodes, so a
+ * token costs a single node, and the text of a token is only held by its
+ * leaf. Any `PsiElement` found at an offset (e.g. through `findElementAt`)
+ * can be passed to the static method `AdaPsiElement.getFrom` to get the
+ * Ada PSI element it represents, if any.
  * <p>
- *                                  AdaPsiFile
- *                                   ^ ^  ^ ^
- *                                   | |  | |
- *             ----------------------- |  | ----------------------
- *             |                --------  --------               |
- *             |                |                |               |
- *             v                v                v               v
- *       AdaPsiElement   AdaPsiReference   AdaPsiElement   AdaPsiElement
- *             ^                ^                ^               ^
- *             |                |                |               |
- *         PsiElement      PsiElement      PsiElement      PsiElement
+ * The rest of subprogram bodies, package bodies and block statements,
+ * after their `is` or `declare`, is parsed lazily (see
+ * `AdaBodyElementType`), so that an edit in a body only causes the
+ * innermost enclosing body to be reparsed, instead of the whole file.
  * <p>
- * As you can see, Ada PSI elements do not hold references to their "child"
- * nodes since they are implemented as leaf nodes.
- * It is important to keep this structure in mind as the IntelliJ platform API
- * deals with instances of `PsiElement`, and in some cases those instances
- * happen to be the the "hidden" leaves of the PSI tree when the Ada-IntelliJ
- * plugin actually needs to work with the first-level `AdaPsiElement` leaves. In
- * those cases, you should use the static method `AdaPsiElement.getFrom` to
- * ensure that the element you are working with is an Ada PSI element.
+ * Syntax errors are recovered from by skipping tokens up to the end of
+ * the current declaration or statement, or up to a token that can only
+ * start or end a declaration or statement, so that an error only affects
+ * the structure of the program around it. Error elements are added to
+ * the tree where errors are found. They are hidden from the user while
+ * the ALS is initialized, as it reports errors itself, and are shown
+ * otherwise (see `AdaHighlightErrorFilter`).
  */
 public final class AdaParser implements PsiParser {
 
+	/*
+		Token Sets
+	*/
+
+	/**
+	 * Token set representing the semicolon ending most constructs.
+	 */
+	private static final TokenSet SEMICOLON_TOKEN_SET = TokenSet.create(SEMICOLON);
+
+	/**
+	 * Tokens that cannot appear in a declaration or statement that is
+	 * skipped up to its semicolon (outside of parentheses), and at which
+	 * skipping therefore stops if the semicolon is missing.
+	 */
+	private static final TokenSet RECOVERY_TOKEN_SET = TokenSet.create(
+		BEGIN_KEYWORD, END_KEYWORD, ELSIF_KEYWORD, PACKAGE_KEYWORD, GENERIC_KEYWORD,
+		SUBTYPE_KEYWORD, PRAGMA_KEYWORD, IF_KEYWORD, CASE_KEYWORD, LOOP_KEYWORD,
+		WHILE_KEYWORD, DECLARE_KEYWORD, SELECT_KEYWORD, ACCEPT_KEYWORD
+	);
+
+	/**
+	 * Tokens that cannot appear inside parentheses, and at which skipping
+	 * therefore stops if a closing parenthesis is missing.
+	 */
+	private static final TokenSet PARENTHESIZED_RECOVERY_TOKEN_SET = TokenSet.create(
+		END_KEYWORD, ELSIF_KEYWORD, PACKAGE_KEYWORD, GENERIC_KEYWORD, SUBTYPE_KEYWORD,
+		PRAGMA_KEYWORD, LOOP_KEYWORD, EXCEPTION_KEYWORD
+	);
+
+	/**
+	 * Tokens that cannot start a statement, and that are therefore
+	 * reported as errors when found in a sequence of statements that
+	 * they do not end.
+	 */
+	private static final TokenSet NON_STATEMENT_TOKEN_SET = TokenSet.create(
+		ELSE_KEYWORD, ELSIF_KEYWORD, WHEN_KEYWORD, OR_KEYWORD, THEN_KEYWORD,
+		EXCEPTION_KEYWORD, IS_KEYWORD, PRIVATE_KEYWORD, SEMICOLON, RIGHT_PARENTHESIS
+	);
+
+	/**
+	 * Keywords that can follow `end` to close a construct.
+	 */
+	private static final TokenSet CLOSING_KEYWORD_TOKEN_SET = TokenSet.create(
+		IF_KEYWORD, CASE_KEYWORD, LOOP_KEYWORD, RECORD_KEYWORD, SELECT_KEYWORD, RETURN_KEYWORD
+	);
+
+	/**
+	 * Tokens that can appear in the name following `end` at the end of
+	 * a construct.
+	 */
+	private static final TokenSet END_NAME_TOKEN_SET = TokenSet.create(IDENTIFIER, FULL_STOP, STRING_LITERAL);
+
+	/**
+	 * Tokens ending the header of various constructs.
+	 */
+	private static final TokenSet UNIT_HEADER_END_TOKEN_SET    = TokenSet.create(IS_KEYWORD, RENAMES_KEYWORD, SEMICOLON);
+	private static final TokenSet BODY_HEADER_END_TOKEN_SET    = TokenSet.create(IS_KEYWORD, SEMICOLON);
+	private static final TokenSet ACCEPT_HEADER_END_TOKEN_SET  = TokenSet.create(DO_KEYWORD, SEMICOLON);
+	private static final TokenSet INTERFACE_LIST_END_TOKEN_SET = TokenSet.create(WITH_KEYWORD, SEMICOLON);
+
+	/**
+	 * Tokens ending declarative parts and sequences of statements, in
+	 * addition to `end`.
+	 */
+	private static final TokenSet NO_TOKENS                 = TokenSet.EMPTY;
+	private static final TokenSet BEGIN_TOKEN_SET           = TokenSet.create(BEGIN_KEYWORD);
+	private static final TokenSet PRIVATE_TOKEN_SET         = TokenSet.create(PRIVATE_KEYWORD);
+	private static final TokenSet EXCEPTION_TOKEN_SET       = TokenSet.create(EXCEPTION_KEYWORD);
+	private static final TokenSet WHEN_TOKEN_SET            = TokenSet.create(WHEN_KEYWORD);
+	private static final TokenSet IF_BRANCH_END_TOKEN_SET   = TokenSet.create(ELSIF_KEYWORD, ELSE_KEYWORD);
+	private static final TokenSet SELECT_BRANCH_END_TOKEN_SET =
+		TokenSet.create(OR_KEYWORD, ELSE_KEYWORD, THEN_KEYWORD);
+
+	/*
+		Parsing
+	*/
+
 	/**
 	 * @see com.intellij.lang.PsiParser#parse(IElementType, PsiBuilder)
 	 */
@@ -123,56 +194,1272 @@ public final class AdaParser implements PsiParser {
 
 		PsiBuilder.Marker rootMarker = builder.mark();
 
-		// Get the first token
+		parseCompilation(builder);
+
+		// Mark the root marker as done
+
+		rootMarker.done(root);
+
+		// Build the tree and return it
+
+		return builder.getTreeBuilt();
+
+	}
+
+	/**
+	 * Parses a compilation, namely a sequence of context clauses and
+	 * compilation units, up to the end of the source text.
+	 *
+	 * @param builder The builder to parse from.
+	 */
+	private static void parseCompilation(@NotNull PsiBuilder builder) {
+
+		while (!builder.eof()) {
+
+			IElementType tokenType = builder.getTokenType();
+
+			// With clauses, optionally preceded by `limited` and/or `private`
+
+			if (tokenType == WITH_KEYWORD || (
+				(tokenType == LIMITED_KEYWORD || tokenType == PRIVATE_KEYWORD) &&
+				(builder.lookAhead(1) == WITH_KEYWORD || builder.lookAhead(2) == WITH_KEYWORD)
+			)) {
+
+				PsiBuilder.Marker marker = builder.mark();
+
+				parseSimpleConstruct(builder);
+
+				marker.done(WITH_CLAUSE);
+
+			}
+
+			// Subunits
+
+			else if (tokenType == SEPARATE_KEYWORD) {
+
+				PsiBuilder.Marker marker = builder.mark();
+
+				consumeToken(builder);
+
+				if (expect(builder, LEFT_PARENTHESIS, "'(' expected")) {
+					skipUntil(builder, TokenSet.create(RIGHT_PARENTHESIS));
+					expect(builder, RIGHT_PARENTHESIS, "')' expected");
+				}
+
+				if (!parseDeclaration(builder, false)) {
+					builder.error("Body expected");
+				}
+
+				marker.done(SUBUNIT);
+
+			}
+
+			// Library units
+
+			else if (!parseDeclaration(builder, true)) {
+				parseErroneousConstruct(builder, "Compilation unit expected");
+			}
+
+		}
+
+	}
+
+	/**
+	 * Parses a declaration, or a pragma or clause that can appear among
+	 * declarations, if the current token starts one.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param libraryUnit Whether the declaration is a library unit, which
+	 *                    may be preceded by `private`.
+	 * @return Whether a declaration was parsed.
+	 */
+	static boolean parseDeclaration(@NotNull PsiBuilder builder, boolean libraryUnit) {
+
+		PsiBuilder.Marker marker    = builder.mark();
+		IElementType      tokenType = builder.getTokenType();
+		boolean           prefixed  = false;
+
+		// Consume the private library unit and overriding indicators
+
+		if (libraryUnit && tokenType == PRIVATE_KEYWORD) {
+			consumeToken(builder);
+			prefixed = true;
+		}
+
+		if (builder.getTokenType() == NOT_KEYWORD && builder.lookAhead(1) == OVERRIDING_KEYWORD) {
+			consumeToken(builder);
+		}
+
+		if (builder.getTokenType() == OVERRIDING_KEYWORD) {
+			consumeToken(builder);
+			prefixed = true;
+		}
+
+		tokenType = builder.getTokenType();
+
+		IElementType elementType;
+
+		if (tokenType == PACKAGE_KEYWORD) {
+			elementType = parsePackage(builder);
+		} else if (tokenType == PROCEDURE_KEYWORD || tokenType == FUNCTION_KEYWORD) {
+			elementType = parseSubprogram(builder);
+		} else if (tokenType == GENERIC_KEYWORD) {
+			elementType = parseGeneric(builder);
+		} else if (tokenType == TASK_KEYWORD || tokenType == PROTECTED_KEYWORD) {
+			elementType = parseTaskOrProtectedUnit(builder);
+		} else if (tokenType == ENTRY_KEYWORD) {
+			elementType = parseEntry(builder);
+		} else if (tokenType == TYPE_KEYWORD) {
+			elementType = parseSimpleConstruct(builder, TYPE_DECLARATION);
+		} else if (tokenType == SUBTYPE_KEYWORD) {
+			elementType = parseSimpleConstruct(builder, SUBTYPE_DECLARATION);
+		} else if (tokenType == IDENTIFIER) {
+			elementType = parseSimpleConstruct(builder, OBJECT_DECLARATION);
+		} else if (tokenType == FOR_KEYWORD) {
+			elementType = parseSimpleConstruct(builder, REPRESENTATION_CLAUSE);
+		} else if (tokenType == USE_KEYWORD) {
+			elementType = parseSimpleConstruct(builder, USE_CLAUSE);
+		} else if (tokenType == PRAGMA_KEYWORD) {
+			elementType = parseSimpleConstruct(builder, PRAGMA);
+		} else {
+			elementType = null;
+		}
+
+		// If no declaration was found, then report an error if
+		// indicators were consumed, or leave the current token
+		// to the caller
+
+		if (elementType == null) {
+
+			if (prefixed) {
+				marker.error("Declaration expected");
+				return true;
+			}
+
+			marker.drop();
+
+			return false;
+
+		}
+
+		marker.done(elementType);
+
+		return true;
+
+	}
+
+	/**
+	 * Parses a package declaration, body, renaming or instantiation,
+	 * starting at `package`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parsePackage(@NotNull PsiBuilder builder) {
+
+		consumeToken(builder);
+
+		boolean body = consumeIf(builder, BODY_KEYWORD);
+
+		// Skip the name and aspects of the package
+
+		skipUntil(builder, UNIT_HEADER_END_TOKEN_SET);
+
+		if (builder.getTokenType() == RENAMES_KEYWORD) {
+			parseRest(builder);
+			return RENAMING_DECLARATION;
+		}
+
+		IElementType elementType = body ? PACKAGE_BODY : PACKAGE_DECLARATION;
+
+		if (!consumeIf(builder, IS_KEYWORD)) {
+			expect(builder, SEMICOLON, "'is' expected");
+			return elementType;
+		}
 
 		IElementType tokenType = builder.getTokenType();
 
-		// Set the leaf node marker
+		if (tokenType == NEW_KEYWORD) {
+			parseRest(builder);
+			return GENERIC_INSTANTIATION;
+		} else if (tokenType == SEPARATE_KEYWORD) {
+			parseRest(builder);
+			return BODY_STUB;
+		}
+
+		if (body) {
+			parseLazyBody(builder, PACKAGE_BODY_CONTENTS);
+		} else {
+			parseSpecificationRest(builder);
+		}
+
+		return elementType;
+
+	}
+
+	/**
+	 * Parses a subprogram declaration, body, renaming or instantiation,
+	 * starting at `procedure` or `function`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseSubprogram(@NotNull PsiBuilder builder) {
+
+		consumeToken(builder);
+
+		// Skip the name, parameters, result type and aspects of the
+		// subprogram
+
+		skipUntil(builder, UNIT_HEADER_END_TOKEN_SET);
+
+		IElementType tokenType = builder.getTokenType();
+
+		if (tokenType == RENAMES_KEYWORD) {
+			parseRest(builder);
+			return RENAMING_DECLARATION;
+		} else if (tokenType != IS_KEYWORD) {
+			expect(builder, SEMICOLON, "';' or 'is' expected");
+			return SUBPROGRAM_DECLARATION;
+		}
+
+		consumeToken(builder);
+
+		tokenType = builder.getTokenType();
+
+		// Instantiations, stubs, abstract and null subprograms, and
+		// expression functions
+
+		if (tokenType == NEW_KEYWORD) {
+			parseRest(builder);
+			return GENERIC_INSTANTIATION;
+		} else if (tokenType == SEPARATE_KEYWORD) {
+			parseRest(builder);
+			return BODY_STUB;
+		} else if (tokenType == ABSTRACT_KEYWORD || tokenType == NULL_KEYWORD ||
+			tokenType == LEFT_PARENTHESIS || tokenType == BOX_SIGN)
+		{
+			parseRest(builder);
+			return SUBPROGRAM_DECLARATION;
+		}
+
+		parseLazyBody(builder, SUBPROGRAM_BODY_CONTENTS);
+
+		return SUBPROGRAM_BODY;
+
+	}
+
+	/**
+	 * Parses a generic declaration, starting at `generic`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseGeneric(@NotNull PsiBuilder builder) {
+
+		consumeToken(builder);
+
+		// Parse the generic formal part
+
+		while (!builder.eof()) {
+
+			IElementType tokenType = builder.getTokenType();
+
+			if (tokenType == PACKAGE_KEYWORD || tokenType == PROCEDURE_KEYWORD ||
+				tokenType == FUNCTION_KEYWORD)
+			{
+				break;
+			}
+
+			// Formal subprograms and packages
+
+			if (tokenType == WITH_KEYWORD) {
+
+				PsiBuilder.Marker marker = builder.mark();
+
+				consumeToken(builder);
+
+				IElementType formalType = builder.getTokenType();
+
+				if (formalType == PACKAGE_KEYWORD || formalType == PROCEDURE_KEYWORD ||
+					formalType == FUNCTION_KEYWORD)
+				{
+					consumeToken(builder);
+				}
+
+				parseRest(builder);
+
+				marker.done(GENERIC_FORMAL_DECLARATION);
+
+			}
+
+			// Formal types and objects
+
+			else if (!parseDeclaration(builder, false)) {
+
+				if (tokenType == BEGIN_KEYWORD || tokenType == END_KEYWORD) { break; }
+
+				parseErroneousConstruct(builder, "Generic formal declaration expected");
+
+			}
+
+		}
+
+		// Parse the generic unit
+
+		if (!parseDeclaration(builder, false)) {
+			builder.error("Generic unit expected");
+		}
+
+		return GENERIC_DECLARATION;
+
+	}
+
+	/**
+	 * Parses a task or protected unit declaration or body, starting at
+	 * `task` or `protected`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseTaskOrProtectedUnit(@NotNull PsiBuilder builder) {
+
+		boolean task = builder.getTokenType() == TASK_KEYWORD;
+
+		consumeToken(builder);
+
+		boolean body = consumeIf(builder, BODY_KEYWORD);
+
+		consumeIf(builder, TYPE_KEYWORD);
+
+		// Skip the name, discriminants and aspects of the unit
+
+		skipUntil(builder, BODY_HEADER_END_TOKEN_SET);
+
+		IElementType elementType = task ?
+			(body ? TASK_BODY : TASK_DECLARATION) :
+			(body ? PROTECTED_BODY : PROTECTED_DECLARATION);
+
+		if (!consumeIf(builder, IS_KEYWORD)) {
+			expect(builder, SEMICOLON, "';' or 'is' expected");
+			return elementType;
+		}
+
+		if (builder.getTokenType() == SEPARATE_KEYWORD) {
+			parseRest(builder);
+			return BODY_STUB;
+		}
+
+		if (body) {
+
+			parseBodyRest(builder, task);
+
+		} else {
+
+			// Skip the interface list of the unit, if any
+
+			if (consumeIf(builder, NEW_KEYWORD)) {
+				skipUntil(builder, INTERFACE_LIST_END_TOKEN_SET);
+				expect(builder, WITH_KEYWORD, "'with' expected");
+			}
+
+			parseSpecificationRest(builder);
+
+		}
+
+		return elementType;
+
+	}
+
+	/**
+	 * Parses an entry declaration or body, starting at `entry`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseEntry(@NotNull PsiBuilder builder) {
+
+		consumeToken(builder);
+
+		// Skip the name, family index, parameters and barrier of the entry
+
+		skipUntil(builder, BODY_HEADER_END_TOKEN_SET);
+
+		if (!consumeIf(builder, IS_KEYWORD)) {
+			expect(builder, SEMICOLON, "';' or 'is' expected");
+			return ENTRY_DECLARATION;
+		}
+
+		parseBodyRest(builder, true);
+
+		return ENTRY_BODY;
+
+	}
+
+	/**
+	 * Parses the rest of a package, task or protected specification
+	 * after `is`, namely its visible and private parts and its end.
+	 *
+	 * @param builder The builder to parse from.
+	 */
+	private static void parseSpecificationRest(@NotNull PsiBuilder builder) {
+
+		parseDeclarativePart(builder, PRIVATE_TOKEN_SET);
+
+		if (consumeIf(builder, PRIVATE_KEYWORD)) {
+			parseDeclarativePart(builder, NO_TOKENS);
+		}
+
+		parseEnd(builder, null);
+
+	}
+
+	/**
+	 * Parses the rest of a body after `is`, namely its declarative part,
+	 * its handled sequence of statements if any, and its end.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param statementsRequired Whether the body must have statements
+	 *                           (as opposed to package and protected
+	 *                           bodies, which may not).
+	 * @return Whether the end of the body was complete.
+	 */
+	static boolean parseBodyRest(@NotNull PsiBuilder builder, boolean statementsRequired) {
+
+		parseDeclarativePart(builder, BEGIN_TOKEN_SET);
+
+		if (consumeIf(builder, BEGIN_KEYWORD)) {
+			parseHandledStatements(builder, null);
+		} else if (statementsRequired) {
+			builder.error("'begin' expected");
+		}
+
+		return parseEnd(builder, null);
+
+	}
+
+	/**
+	 * Parses the contents of a lazily parsed body, namely the rest of a
+	 * body (see `parseBodyRest`) followed by any remaining tokens, which
+	 * are reported as erroneous.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param elementType The type of the body contents.
+	 * @return Whether the contents consisted of exactly the rest of a
+	 *         body, ending with a complete end.
+	 */
+	static boolean parseBodyContents(@NotNull PsiBuilder builder, @NotNull AdaBodyElementType elementType) {
+
+		boolean complete = parseBodyRest(builder, elementType.STATEMENTS_REQUIRED);
+
+		if (builder.eof()) { return complete; }
 
 		PsiBuilder.Marker marker = builder.mark();
 
-		// While the lexer still produces tokens...
+		while (!builder.eof()) {
+			consumeToken(builder);
+		}
 
-		// `tokenType != null` should be guaranteed to be false
-		// by the preceding check `!builder.eof()`, but we check
-		// nullability anyway just to be safe
-		while (!builder.eof() && tokenType != null) {
+		marker.error("Unexpected tokens after end of body");
 
-			// Advance to the next token
+		return false;
 
-			builder.advanceLexer();
+	}
 
-			// Set the next leaf node marker and mark the previous
-			// marker as done right before the newly created marker
-			// This is a neat little facility provided by the
-			// `PsiBuilder.Marker` interface
+	/**
+	 * Parses the rest of a body as a lazily parsed element of the given
+	 * type, which is parsed only when its contents are needed, and can
+	 * be reparsed on its own when it is modified.
+	 * The tokens of the body are consumed by parsing it through a
+	 * `BoundaryBuilder`, so as to find the end of the body without
+	 * building its tree.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param elementType The type of the body contents.
+	 */
+	private static void parseLazyBody(@NotNull PsiBuilder builder, @NotNull AdaBodyElementType elementType) {
 
-			PsiBuilder.Marker nextMarker = builder.mark();
-			marker.doneBefore(tokenType, nextMarker);
+		// Bodies nested in a body that is being skipped are
+		// skipped along with it
 
-			// Store the newly created marker for the next iteration
+		if (builder instanceof BoundaryBuilder) {
+			parseBodyRest(builder, elementType.STATEMENTS_REQUIRED);
+			return;
+		}
 
-			marker = nextMarker;
+		PsiBuilder.Marker marker = builder.mark();
+		int               start  = builder.getCurrentOffset();
 
-			// Get the next token
+		parseBodyRest(new BoundaryBuilder(builder), elementType.STATEMENTS_REQUIRED);
 
-			tokenType = builder.getTokenType();
+		// If no tokens were consumed, then parse the body again
+		// in place to report its errors, instead of creating an
+		// empty lazy element
 
+		if (builder.getCurrentOffset() == start) {
+			marker.rollbackTo();
+			parseBodyRest(builder, elementType.STATEMENTS_REQUIRED);
+			return;
 		}
 
-		// The end of the source file was reached, but we still
-		// have a set marker that does not correspond to any token,
-		// so drop it
+		marker.collapse(elementType);
 
-		marker.drop();
+	}
 
-		// Mark the root marker as done
+	/**
+	 * Parses a sequence of declarations up to `end` or any of the given
+	 * tokens.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param endTokens The tokens ending the declarative part, in
+	 *                  addition to `end`.
+	 */
+	private static void parseDeclarativePart(@NotNull PsiBuilder builder, @NotNull TokenSet endTokens) {
 
-		rootMarker.done(root);
+		while (!builder.eof()) {
 
-		// Build the tree and return it
+			IElementType tokenType = builder.getTokenType();
 
-		return builder.getTreeBuilt();
+			if (tokenType == END_KEYWORD || endTokens.contains(tokenType)) { return; }
+
+			if (!parseDeclaration(builder, false)) {
+				parseErroneousConstruct(builder, "Declaration expected");
+			}
+
+		}
+
+	}
+
+	/**
+	 * Parses a handled sequence of statements, namely a sequence of
+	 * statements optionally followed by exception handlers.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param closingKeyword The keyword expected after the `end` of the
+	 *                       enclosing construct, or null.
+	 */
+	private static void parseHandledStatements(
+		@NotNull  PsiBuilder        builder,
+		@Nullable AdaFixedTokenType closingKeyword
+	) {
+
+		parseStatements(builder, EXCEPTION_TOKEN_SET, closingKeyword);
+
+		if (!consumeIf(builder, EXCEPTION_KEYWORD)) { return; }
+
+		while (builder.getTokenType() == WHEN_KEYWORD) {
+
+			PsiBuilder.Marker marker = builder.mark();
+
+			consumeToken(builder);
+
+			// Skip the choice parameter and exception choices
+
+			skipUntil(builder, TokenSet.create(ARROW));
+			expect(builder, ARROW, "'=>' expected");
+
+			parseStatements(builder, WHEN_TOKEN_SET, closingKeyword);
+
+			marker.done(EXCEPTION_HANDLER);
+
+		}
+
+	}
+
+	/**
+	 * Parses a sequence of statements up to `end` or any of the given
+	 * tokens.
+	 * If the enclosing construct ends with `end` and a name (as opposed
+	 * to a closing keyword), then an `end` followed by a closing keyword
+	 * cannot end it, and is reported as an error instead, as it is most
+	 * likely the extra end of an already ended statement.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param endTokens The tokens ending the sequence of statements, in
+	 *                  addition to `end`.
+	 * @param closingKeyword The keyword expected after the `end` of the
+	 *                       enclosing construct, or null.
+	 */
+	private static void parseStatements(
+		@NotNull  PsiBuilder        builder,
+		@NotNull  TokenSet          endTokens,
+		@Nullable AdaFixedTokenType closingKeyword
+	) {
+
+		while (!builder.eof()) {
+
+			IElementType tokenType = builder.getTokenType();
+
+			if (tokenType == END_KEYWORD && closingKeyword == null &&
+				CLOSING_KEYWORD_TOKEN_SET.contains(builder.lookAhead(1)))
+			{
+				PsiBuilder.Marker marker = builder.mark();
+
+				parseEnd(builder, (AdaFixedTokenType)builder.lookAhead(1));
+
+				marker.error("Unexpected end of statement");
+
+				continue;
+			}
+
+			if (tokenType == END_KEYWORD || endTokens.contains(tokenType)) { return; }
+
+			if (NON_STATEMENT_TOKEN_SET.contains(tokenType)) {
+				parseErroneousConstruct(builder, "Statement expected");
+			} else {
+				parseStatement(builder);
+			}
+
+		}
+
+	}
+
+	/**
+	 * Parses a statement, starting at the current token, which must not
+	 * be the end of a sequence of statements.
+	 *
+	 * @param builder The builder to parse from.
+	 */
+	static void parseStatement(@NotNull PsiBuilder builder) {
+
+		PsiBuilder.Marker marker    = builder.mark();
+		IElementType      tokenType = builder.getTokenType();
+
+		// Statement labels
+
+		if (tokenType == LEFT_LABEL_BRACKET) {
+
+			consumeToken(builder);
+			expect(builder, IDENTIFIER, "Label expected");
+			expect(builder, RIGHT_LABEL_BRACKET, "'>>' expected");
+
+			marker.done(LABEL);
+
+			return;
+
+		}
+
+		// Names of loop and block statements
+
+		if (tokenType == IDENTIFIER && builder.lookAhead(1) == COLON) {
+
+			IElementType statementType = builder.lookAhead(2);
+
+			if (statementType == LOOP_KEYWORD || statementType == WHILE_KEYWORD ||
+				statementType == FOR_KEYWORD || statementType == DECLARE_KEYWORD ||
+				statementType == BEGIN_KEYWORD)
+			{
+				consumeToken(builder);
+				consumeToken(builder);
+				tokenType = statementType;
+			}
+
+		}
+
+		IElementType elementType;
+
+		if (tokenType == IF_KEYWORD) {
+			elementType = parseIf(builder);
+		} else if (tokenType == CASE_KEYWORD) {
+			elementType = parseCase(builder);
+		} else if (tokenType == LOOP_KEYWORD || tokenType == WHILE_KEYWORD || tokenType == FOR_KEYWORD) {
+			elementType = parseLoop(builder);
+		} else if (tokenType == DECLARE_KEYWORD || tokenType == BEGIN_KEYWORD) {
+			elementType = parseBlock(builder);
+		} else if (tokenType == ACCEPT_KEYWORD) {
+			elementType = parseAccept(builder);
+		} else if (tokenType == SELECT_KEYWORD) {
+			elementType = parseSelect(builder);
+		} else if (tokenType == RETURN_KEYWORD &&
+			builder.lookAhead(1) == IDENTIFIER && builder.lookAhead(2) == COLON)
+		{
+			elementType = parseExtendedReturn(builder);
+		} else if (tokenType == PRAGMA_KEYWORD) {
+			elementType = parseSimpleConstruct(builder, PRAGMA);
+		} else {
+			elementType = parseSimpleConstruct(builder, SIMPLE_STATEMENT);
+		}
+
+		marker.done(elementType);
+
+	}
+
+	/**
+	 * Parses an `if` statement, starting at `if`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseIf(@NotNull PsiBuilder builder) {
+
+		do {
+
+			// Consume `if` or `elsif` and skip the condition
+
+			consumeToken(builder);
+
+			skipUntil(builder, TokenSet.create(THEN_KEYWORD));
+			expect(builder, THEN_KEYWORD, "'then' expected");
+
+			parseStatements(builder, IF_BRANCH_END_TOKEN_SET, IF_KEYWORD);
+
+		} while (builder.getTokenType() == ELSIF_KEYWORD);
+
+		if (consumeIf(builder, ELSE_KEYWORD)) {
+			parseStatements(builder, NO_TOKENS, IF_KEYWORD);
+		}
+
+		parseEnd(builder, IF_KEYWORD);
+
+		return IF_STATEMENT;
+
+	}
+
+	/**
+	 * Parses a `case` statement, starting at `case`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseCase(@NotNull PsiBuilder builder) {
+
+		consumeToken(builder);
+
+		skipUntil(builder, TokenSet.create(IS_KEYWORD));
+		expect(builder, IS_KEYWORD, "'is' expected");
+
+		while (builder.getTokenType() == WHEN_KEYWORD) {
+
+			PsiBuilder.Marker marker = builder.mark();
+
+			consumeToken(builder);
+
+			// Skip the discrete choices
+
+			skipUntil(builder, TokenSet.create(ARROW));
+			expect(builder, ARROW, "'=>' expected");
+
+			parseStatements(builder, WHEN_TOKEN_SET, CASE_KEYWORD);
+
+			marker.done(CASE_ALTERNATIVE);
+
+		}
+
+		parseEnd(builder, CASE_KEYWORD);
+
+		return CASE_STATEMENT;
+
+	}
+
+	/**
+	 * Parses a loop statement, starting at `loop`, `while` or `for`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseLoop(@NotNull PsiBuilder builder) {
+
+		// Skip the iteration scheme
+
+		if (builder.getTokenType() != LOOP_KEYWORD) {
+			consumeToken(builder);
+			skipUntil(builder, TokenSet.create(LOOP_KEYWORD));
+		}
+
+		expect(builder, LOOP_KEYWORD, "'loop' expected");
+
+		parseStatements(builder, NO_TOKENS, LOOP_KEYWORD);
+
+		parseEnd(builder, LOOP_KEYWORD);
+
+		return LOOP_STATEMENT;
+
+	}
+
+	/**
+	 * Parses a block statement, starting at `declare` or `begin`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseBlock(@NotNull PsiBuilder builder) {
+
+		// The rest of a block is parsed as the rest of a body, in
+		// which the declarative part is empty if there is no `declare`
+
+		consumeIf(builder, DECLARE_KEYWORD);
+
+		parseLazyBody(builder, BLOCK_CONTENTS);
+
+		return BLOCK_STATEMENT;
+
+	}
+
+	/**
+	 * Parses an `accept` statement, starting at `accept`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseAccept(@NotNull PsiBuilder builder) {
+
+		consumeToken(builder);
+
+		// Skip the entry name, index and parameters
+
+		skipUntil(builder, ACCEPT_HEADER_END_TOKEN_SET);
+
+		if (consumeIf(builder, DO_KEYWORD)) {
+			parseHandledStatements(builder, null);
+			parseEnd(builder, null);
+		} else {
+			expect(builder, SEMICOLON, "';' or 'do' expected");
+		}
+
+		return ACCEPT_STATEMENT;
+
+	}
+
+	/**
+	 * Parses an extended `return` statement, starting at `return`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseExtendedReturn(@NotNull PsiBuilder builder) {
+
+		consumeToken(builder);
+
+		// Skip the return object declaration
+
+		skipUntil(builder, ACCEPT_HEADER_END_TOKEN_SET);
+
+		if (consumeIf(builder, DO_KEYWORD)) {
+			parseHandledStatements(builder, RETURN_KEYWORD);
+			parseEnd(builder, RETURN_KEYWORD);
+		} else {
+			expect(builder, SEMICOLON, "';' or 'do' expected");
+		}
+
+		return EXTENDED_RETURN_STATEMENT;
+
+	}
+
+	/**
+	 * Parses a `select` statement, starting at `select`.
+	 *
+	 * @param builder The builder to parse from.
+	 * @return The type of the parsed element.
+	 */
+	@NotNull
+	private static IElementType parseSelect(@NotNull PsiBuilder builder) {
+
+		do {
+
+			// Consume `select` or `or` and skip the guard, if any
+
+			consumeToken(builder);
+
+			if (consumeIf(builder, WHEN_KEYWORD)) {
+				skipUntil(builder, TokenSet.create(ARROW));
+				expect(builder, ARROW, "'=>' expected");
+			}
+
+			parseStatements(builder, SELECT_BRANCH_END_TOKEN_SET, SELECT_KEYWORD);
+
+		} while (builder.getTokenType() == OR_KEYWORD);
+
+		if (consumeIf(builder, ELSE_KEYWORD)) {
+			parseStatements(builder, NO_TOKENS, SELECT_KEYWORD);
+		} else if (consumeIf(builder, THEN_KEYWORD)) {
+			expect(builder, ABORT_KEYWORD, "'abort' expected");
+			parseStatements(builder, NO_TOKENS, SELECT_KEYWORD);
+		}
+
+		parseEnd(builder, SELECT_KEYWORD);
+
+		return SELECT_STATEMENT;
+
+	}
+
+	/**
+	 * Parses the end of a construct, namely `end`, followed by the given
+	 * closing keyword if any, by an optional name, and by a semicolon.
+	 * If the current token is not `end`, or if it is not followed by the
+	 * closing keyword, then an error is reported and nothing is consumed,
+	 * leaving the `end` to an enclosing construct.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param closingKeyword The keyword expected after `end`, or null.
+	 * @return Whether the end was complete, up to and including the
+	 *         semicolon.
+	 */
+	private static boolean parseEnd(@NotNull PsiBuilder builder, @Nullable AdaFixedTokenType closingKeyword) {
+
+		if (builder.getTokenType() != END_KEYWORD ||
+			(closingKeyword != null && builder.lookAhead(1) != closingKeyword))
+		{
+			builder.error(closingKeyword == null ?
+				"'end' expected" : "'end " + closingKeyword.TOKEN_TEXT + "' expected");
+			return false;
+		}
+
+		consumeToken(builder);
+
+		if (closingKeyword != null) {
+			consumeToken(builder);
+		} else if (CLOSING_KEYWORD_TOKEN_SET.contains(builder.getTokenType())) {
+
+			// Report a stray closing keyword, e.g. the `if` of an
+			// `end if` whose `if` statement has already ended
+
+			PsiBuilder.Marker marker = builder.mark();
+
+			consumeToken(builder);
+
+			marker.error("Unexpected closing keyword");
+
+		}
+
+		while (END_NAME_TOKEN_SET.contains(builder.getTokenType())) {
+			consumeToken(builder);
+		}
+
+		return expect(builder, SEMICOLON, "';' expected");
+
+	}
+
+	/**
+	 * Parses a construct that is a flat sequence of tokens up to a
+	 * semicolon, namely the current token, any tokens up to the next
+	 * semicolon, and that semicolon.
+	 *
+	 * @param builder The builder to parse from.
+	 */
+	private static void parseSimpleConstruct(@NotNull PsiBuilder builder) {
+		consumeToken(builder);
+		parseRest(builder);
+	}
+
+	/**
+	 * Parses a construct that is a flat sequence of tokens up to a
+	 * semicolon, and returns the given element type.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param elementType The type of the construct.
+	 * @return The given element type.
+	 */
+	@NotNull
+	private static IElementType parseSimpleConstruct(
+		@NotNull PsiBuilder   builder,
+		@NotNull IElementType elementType
+	) {
+		parseSimpleConstruct(builder);
+		return elementType;
+	}
+
+	/**
+	 * Parses the rest of a construct up to and including the next
+	 * semicolon.
+	 *
+	 * @param builder The builder to parse from.
+	 */
+	private static void parseRest(@NotNull PsiBuilder builder) {
+		skipUntil(builder, SEMICOLON_TOKEN_SET);
+		expect(builder, SEMICOLON, "';' expected");
+	}
+
+	/**
+	 * Parses an erroneous construct starting at the current token, up
+	 * to and including the next semicolon, and reports the given error
+	 * on it.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param message The error message.
+	 */
+	private static void parseErroneousConstruct(@NotNull PsiBuilder builder, @NotNull String message) {
+
+		PsiBuilder.Marker marker = builder.mark();
+
+		// Note: A stray semicolon is an erroneous construct of its own
+
+		if (!consumeIf(builder, SEMICOLON)) {
+			consumeToken(builder);
+			skipUntil(builder, SEMICOLON_TOKEN_SET);
+			consumeIf(builder, SEMICOLON);
+		}
+
+		marker.error(message);
+
+	}
+
+	/**
+	 * Skips tokens up to the first of the given tokens found outside of
+	 * parentheses, excluding that token. Record definitions, which may
+	 * contain any tokens, are skipped entirely. Skipping also stops at
+	 * any token that cannot appear in the skipped construct, so that an
+	 * unexpected token does not cause the rest of the source text to be
+	 * skipped.
+	 * Note: The `then` of the short-circuit control form `and then`
+	 *       does not stop skipping.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param stopTokens The tokens at which to stop.
+	 */
+	private static void skipUntil(@NotNull PsiBuilder builder, @NotNull TokenSet stopTokens) {
+
+		int          depth    = 0;
+		IElementType previous = null;
+
+		while (!builder.eof()) {
+
+			IElementType tokenType = builder.getTokenType();
+
+			if (depth == 0) {
+
+				if (stopTokens.contains(tokenType) &&
+					!(tokenType == THEN_KEYWORD && previous == AND_KEYWORD))
+				{
+					return;
+				}
+
+				if (RECOVERY_TOKEN_SET.contains(tokenType)) { return; }
+
+				if (tokenType == RECORD_KEYWORD && previous != NULL_KEYWORD) {
+					skipRecordDefinition(builder);
+					previous = RECORD_KEYWORD;
+					continue;
+				}
+
+			} else if (PARENTHESIZED_RECOVERY_TOKEN_SET.contains(tokenType)) {
+				return;
+			}
+
+			if (tokenType == LEFT_PARENTHESIS) {
+				depth++;
+			} else if (tokenType == RIGHT_PARENTHESIS && depth > 0) {
+				depth--;
+			}
+
+			consumeToken(builder);
+
+			previous = tokenType;
+
+		}
+
+	}
+
+	/**
+	 * Skips a record definition, starting at `record`, up to and
+	 * including the `end record` ending it.
+	 *
+	 * @param builder The builder to parse from.
+	 */
+	private static void skipRecordDefinition(@NotNull PsiBuilder builder) {
+
+		consumeToken(builder);
+
+		while (!builder.eof()) {
+
+			if (builder.getTokenType() == END_KEYWORD && builder.lookAhead(1) == RECORD_KEYWORD) {
+				consumeToken(builder);
+				consumeToken(builder);
+				return;
+			}
+
+			consumeToken(builder);
+
+		}
+
+		builder.error("'end record' expected");
+
+	}
+
+	/*
+		Tokens
+	*/
+
+	/**
+	 * Consumes the current token, which becomes a leaf of the enclosing
+	 * element (see `AdaASTFactory`).
+	 *
+	 * @param builder The builder to parse from.
+	 */
+	private static void consumeToken(@NotNull PsiBuilder builder) { builder.advanceLexer(); }
+
+	/**
+	 * Consumes the current token if it is of the given type.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param tokenType The type of token to consume.
+	 * @return Whether the token was consumed.
+	 */
+	private static boolean consumeIf(@NotNull PsiBuilder builder, @NotNull IElementType tokenType) {
+
+		if (builder.getTokenType() != tokenType) { return false; }
+
+		consumeToken(builder);
+
+		return true;
+
+	}
+
+	/**
+	 * Consumes the current token if it is of the given type, or reports
+	 * the given error otherwise.
+	 *
+	 * @param builder The builder to parse from.
+	 * @param tokenType The type of token to consume.
+	 * @param message The error message.
+	 * @return Whether the token was consumed.
+	 */
+	private static boolean expect(
+		@NotNull PsiBuilder   builder,
+		@NotNull IElementType tokenType,
+		@NotNull String       message
+	) {
+
+		if (consumeIf(builder, tokenType)) { return true; }
+
+		builder.error(message);
+
+		return false;
+
+	}
+
+	/*
+		Boundary Builder
+	*/
+
+	/**
+	 * PSI builder consuming the tokens of the builder it wraps without
+	 * building any tree or reporting any error, used to find the end of
+	 * a construct parsed lazily.
+	 */
+	private static final class BoundaryBuilder extends PsiBuilderAdapter {
+
+		/**
+		 * Constructs a new BoundaryBuilder wrapping the given builder.
+		 *
+		 * @param delegate The builder to wrap.
+		 */
+		BoundaryBuilder(@NotNull PsiBuilder delegate) { super(delegate); }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder#mark()
+		 */
+		@NotNull
+		@Override
+		public PsiBuilder.Marker mark() { return new BoundaryMarker(super.mark()); }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder#error(String)
+		 */
+		@Override
+		public void error(@NotNull String messageText) {}
+
+	}
+
+	/**
+	 * Marker of a boundary builder, wrapping a marker of the builder it
+	 * wraps. Completing the marker drops the wrapped marker instead,
+	 * so that no tree is built, while rolling it back rolls back the
+	 * wrapped marker, so that lookahead still works.
+	 */
+	private static final class BoundaryMarker implements PsiBuilder.Marker {
+
+		/**
+		 * The wrapped marker.
+		 */
+		private final PsiBuilder.Marker DELEGATE;
+
+		/**
+		 * Constructs a new BoundaryMarker wrapping the given marker.
+		 *
+		 * @param delegate The marker to wrap.
+		 */
+		BoundaryMarker(@NotNull PsiBuilder.Marker delegate) { DELEGATE = delegate; }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder.Marker#precede()
+		 */
+		@NotNull
+		@Override
+		public PsiBuilder.Marker precede() { return new BoundaryMarker(DELEGATE.precede()); }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder.Marker#drop()
+		 */
+		@Override
+		public void drop() { DELEGATE.drop(); }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder.Marker#rollbackTo()
+		 */
+		@Override
+		public void rollbackTo() { DELEGATE.rollbackTo(); }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder.Marker#done(IElementType)
+		 */
+		@Override
+		public void done(@NotNull IElementType type) { DELEGATE.drop(); }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder.Marker#collapse(IElementType)
+		 */
+		@Override
+		public void collapse(@NotNull IElementType type) { DELEGATE.drop(); }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder.Marker#doneBefore(IElementType, PsiBuilder.Marker)
+		 */
+		@Override
+		public void doneBefore(@NotNull IElementType type, @NotNull PsiBuilder.Marker before) { DELEGATE.drop(); }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder.Marker#doneBefore(IElementType, PsiBuilder.Marker, String)
+		 */
+		@Override
+		public void doneBefore(
+			@NotNull IElementType      type,
+			@NotNull PsiBuilder.Marker before,
+			         String            errorMessage
+		) {
+			DELEGATE.drop();
+		}
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder.Marker#error(String)
+		 */
+		@Override
+		public void error(String message) { DELEGATE.drop(); }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder.Marker#errorBefore(String, PsiBuilder.Marker)
+		 */
+		@Override
+		public void errorBefore(String message, @NotNull PsiBuilder.Marker before) { DELEGATE.drop(); }
+
+		/**
+		 * @see com.intellij.lang.PsiBuilder.Marker#setCustomEdgeTokenBinders(WhitespacesAndCommentsBinder, WhitespacesAndCommentsBinder)
+		 */
+		@Override
+		public void setCustomEdgeTokenBinders(
+			@Nullable WhitespacesAndCommentsBinder left,
+			@Nullable WhitespacesAndCommentsBinder right
+		) {}
 
 	}
 
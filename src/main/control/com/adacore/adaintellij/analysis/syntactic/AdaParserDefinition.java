@@ -2,6 +2,7 @@ package com.adacore.adaintellij.analysis.syntactic;
 
 import com.adacore.adaintellij.analysis.lexical.AdaLexer;
 import com.adacore.adaintellij.analysis.lexical.AdaTokenTypes;
+import com.adacore.adaintellij.analysis.syntactic.stubs.AdaDeclarationElementType;
 import com.intellij.lang.ASTNode;
 import com.intellij.lang.ParserDefinition;
 import com.intellij.lang.PsiParser;
@@ -53,12 +54,17 @@ public final class AdaParserDefinition implements ParserDefinition {
 
 	/**
 	 * @see com.intellij.lang.ParserDefinition#createElement(ASTNode)
+	 *
+	 * Note: Tokens are leaves that are their own PSI elements (see
+	 *       `AdaASTFactory`), so the only nodes for which PSI elements
+	 *       are created here are syntax elements, among which those of
+	 *       declarations are stub-based elements
 	 */
 	@NotNull
 	@Override
 	public PsiElement createElement(ASTNode node) {
-		return AdaTokenTypes.IDENTIFIER_TOKEN_SET.contains(node.getElementType()) ?
-			new AdaPsiReference(node) : new AdaPsiElement(node);
+		return node.getElementType() instanceof AdaDeclarationElementType ?
+			new AdaDeclarationPsiElement(node) : new AdaSyntaxPsiElement(node);
 	}
 
 	/**
@@ -2,12 +2,12 @@ package com.adacore.adaintellij.analysis.syntactic;
 
 import com.adacore.adaintellij.Icons;
 import com.adacore.adaintellij.Utils;
-import com.intellij.lang.ASTNode;
 import com.intellij.psi.NavigatablePsiElement;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.impl.source.tree.LeafPsiElement;
+import com.intellij.psi.tree.IElementType;
 import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -16,12 +16,14 @@ import org.jetbrains.annotations.Nullable;
 import javax.swing.*;
 
 /**
- * Ada AST node that is not a root node.
+ * Ada AST node representing a token.
  * Due to the way the Ada-IntelliJ plugin constructs ASTs, all tokens
- * produced by the Ada lexer are directly mapped to instances of this
- * class, or its subclass `AdaPsiReference` in some cases (e.g.
- * identifiers). All elements of this class are therefore leaves in
- * their respective trees.
+ * produced by the Ada lexer (except for whitespaces and comments) are
+ * directly mapped to instances of this class, or its subclass
+ * `AdaPsiReference` in some cases (e.g. identifiers), which are then
+ * grouped in `AdaSyntaxPsiElement`s. All elements of this class are
+ * therefore leaves in their respective trees, and are their own tree
+ * nodes (see `AdaASTFactory`).
  * <p>
  * For detailed information about the structure of ASTs built by the
  * Ada-IntelliJ Ada parser:
@@ -30,23 +32,14 @@ import javax.swing.*;
 public class AdaPsiElement extends LeafPsiElement implements NavigatablePsiElement {
 
 	/**
-	 * The underlying tree node.
-	 */
-	private final ASTNode node;
-	/**
-	 * The type of this Ada element. Set to `OTHER` by default.
-	 */
-	private AdaElementType adaElementType = AdaElementType.OTHER;
-
-	/**
-	 * Constructs a new AdaPsiElement given a tree node.
+	 * Constructs a new AdaPsiElement given a token type and the text
+	 * of the token.
 	 *
-	 * @param node The tree node to back the constructed
-	 *             PSI element.
+	 * @param type The type of the token.
+	 * @param text The text of the token.
 	 */
-	AdaPsiElement(@NotNull ASTNode node) {
-		super(node.getElementType(), node.getChars());
-		this.node = node;
+	AdaPsiElement(@NotNull IElementType type, @NotNull CharSequence text) {
+		super(type, text);
 	}
 
 	/**
@@ -63,37 +56,20 @@ public class AdaPsiElement extends LeafPsiElement implements NavigatablePsiEleme
 	@Nullable
 	public static AdaPsiElement getFrom(@NotNull PsiElement element) {
 
-		// If the given PSI element is an Ada PSI element,
-		// then cast it and return it
+		// Tokens are mapped to Ada PSI elements themselves, so any
+		// other element (whitespace, comment, syntax element, etc.)
+		// has no corresponding Ada PSI element
 
-		if (element instanceof AdaPsiElement) {
-			return (AdaPsiElement)element;
-		}
-
-		// Else it is probably a leaf PSI element whose parent
-		// is an Ada PSI element (see explanation in `AdaParser`),
-		// so check if its parent is an Ada PSI element and if it
-		// is, cast it and return it
-
-		PsiElement parent = element.getParent();
-
-		if (parent instanceof AdaPsiElement) {
-			return (AdaPsiElement)parent;
-		}
-
-		// Otherwise, the element has no corresponding Ada PSI
-		// element, so return null
-
-		return null;
+		return element instanceof AdaPsiElement ? (AdaPsiElement)element : null;
 
 	}
 
 	/**
 	 * Compares two PSI elements and returns true if they represent the
-	 * same element in the same file. Due to the flat nature of the ASTs
-	 * built by the Ada parser, this comparison can be accomplished by
-	 * simply checking that the two elements are in the same file and that
-	 * their offsets within that file are equal.
+	 * same element in the same file. Since elements of this class are
+	 * leaves in the ASTs built by the Ada parser, this comparison can be
+	 * accomplished by simply checking that the two elements are in the
+	 * same file and that their offsets within that file are equal.
 	 *
 	 * @param element1 The first element to compare.
 	 * @param element2 The second element to compare.
@@ -128,48 +104,6 @@ public class AdaPsiElement extends LeafPsiElement implements NavigatablePsiEleme
 
 	}
 
-	/**
-	 * @see com.intellij.psi.PsiElement#getParent()
-	 */
-	@Override
-	public PsiElement getParent() {
-
-		ASTNode parentNode = node.getTreeParent();
-
-		return parentNode == null ? null : parentNode.getPsi();
-
-	}
-
-	/**
-	 * @see com.intellij.psi.PsiElement#getNextSibling()
-	 */
-	@Override
-	public PsiElement getNextSibling() {
-
-		ASTNode nextNode = node.getTreeNext();
-
-		return nextNode == null ? null : nextNode.getPsi();
-
-	}
-
-	/**
-	 * @see com.intellij.psi.PsiElement#getPrevSibling()
-	 */
-	@Override
-	public PsiElement getPrevSibling() {
-
-		ASTNode previousNode = node.getTreePrev();
-
-		return previousNode == null ? null : previousNode.getPsi();
-
-	}
-
-	/**
-	 * @see com.intellij.psi.PsiElement#getContainingFile()
-	 */
-	@Override
-	public PsiFile getContainingFile() { return (PsiFile)getParent(); }
-
 	/**
 	 * @see com.intellij.psi.PsiElement#findReferenceAt(int)
 	 *
@@ -181,24 +115,6 @@ public class AdaPsiElement extends LeafPsiElement implements NavigatablePsiEleme
 			(AdaPsiReference)this : null;
 	}
 
-	/**
-	 * @see com.intellij.psi.PsiElement#isValid()
-	 */
-	@Override
-	public boolean isValid() {
-
-		PsiFile containingFile = getContainingFile();
-
-		return containingFile != null && containingFile.isValid();
-
-	}
-
-	/**
-	 * @see com.intellij.psi.PsiElement#isWritable()
-	 */
-	@Override
-	public boolean isWritable() { return getContainingFile().isWritable(); }
-
 	/**
 	 * @see com.intellij.psi.PsiElement#getReference()
 	 */
@@ -226,12 +142,6 @@ public class AdaPsiElement extends LeafPsiElement implements NavigatablePsiEleme
 		throw new IncorrectOperationException("Not yet supported");
 	}
 
-	/**
-	 * @see com.intellij.lang.ASTNode#getStartOffset()
-	 */
-	@Override
-	public int getStartOffset() { return node.getStartOffset(); }
-
 	/**
 	 * Returns an icon representing this `AdaPsiElement` given
 	 * some flags packed in an integer. This implementation
@@ -244,9 +154,19 @@ public class AdaPsiElement extends LeafPsiElement implements NavigatablePsiEleme
 	 */
 	@Nullable
 	@Override
-	public Icon getIcon(int flags) {
+	public Icon getIcon(int flags) { return getElementTypeIcon(getAdaElementType()); }
+
+	/**
+	 * Returns the icon representing Ada elements of the given type.
+	 *
+	 * @param elementType The Ada element type for which to get the icon.
+	 * @return The icon representing elements of the given type, or null
+	 *         if there is no such icon.
+	 */
+	@Nullable
+	public static Icon getElementTypeIcon(@NotNull AdaElementType elementType) {
 
-		switch (adaElementType) {
+		switch (elementType) {
 
 			case PACKAGE_SPEC_IDENTIFIER: return Icons.ADA_SPEC_SOURCE_FILE;
 			case PACKAGE_BODY_IDENTIFIER: return Icons.ADA_BODY_SOURCE_FILE;
@@ -274,21 +194,15 @@ public class AdaPsiElement extends LeafPsiElement implements NavigatablePsiEleme
 	public Icon getIcon() { return getIcon(ICON_FLAG_VISIBILITY); }
 
 	/**
-	 * Returns the Ada element type of this element.
+	 * Returns the Ada element type of this element, as known from the
+	 * symbols of its document, or `OTHER` if it is not the name of a
+	 * known symbol.
+	 * @see AdaPsiStructureManager#getElementType(AdaPsiElement)
 	 *
 	 * @return The Ada element type of this element.
 	 */
 	@NotNull
-	public AdaElementType getAdaElementType() { return adaElementType; }
-
-	/**
-	 * Sets the type of this Ada element to the given element type.
-	 *
-	 * @param elementType The element type to set.
-	 */
-	void setAdaElementType(@NotNull AdaElementType elementType) {
-		adaElementType = elementType;
-	}
+	public AdaElementType getAdaElementType() { return AdaPsiStructureManager.getElementType(this); }
 
 	/**
 	 * Returns a string representation of this PSI element.
@@ -5,10 +5,9 @@ import com.adacore.adaintellij.analysis.lexical.AdaTokenTypes;
 import com.adacore.adaintellij.misc.cache.Markable;
 import com.intellij.extapi.psi.PsiFileBase;
 import com.intellij.openapi.fileTypes.FileType;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.FileViewProvider;
 import com.intellij.psi.PsiElement;
-import com.intellij.util.FileContentUtilCore;
+import com.intellij.psi.tree.TokenSet;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -21,6 +20,14 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class AdaPsiFile extends PsiFileBase implements Markable {
 
+	/**
+	 * Element set representing the elements that can be children of
+	 * an Ada file, namely syntax elements and any tokens that the
+	 * parser could not group in syntax elements.
+	 */
+	private static final TokenSet CHILD_ELEMENT_SET =
+		TokenSet.orSet(AdaTokenTypes.ALL_VALID_TOKENS, AdaSyntaxElementTypes.ALL_SYNTAX_ELEMENTS);
+
 	/**
 	 * The file view provider corresponding to this Ada file.
 	 */
@@ -44,24 +51,6 @@ public final class AdaPsiFile extends PsiFileBase implements Markable {
 	@Override
 	public FileType getFileType() { return viewProvider.getFileType(); }
 
-	/**
-	 * @see com.intellij.psi.PsiFile#subtreeChanged()
-	 */
-	@Override
-	public void subtreeChanged() {
-
-		super.subtreeChanged();
-
-		// Reparse the file
-
-		VirtualFile file = getVirtualFile();
-
-		if (file != null) {
-			FileContentUtilCore.reparseFiles(file);
-		}
-
-	}
-
 	/**
 	 * @see com.intellij.psi.PsiElement#getChildren()
 	 */
@@ -69,7 +58,7 @@ public final class AdaPsiFile extends PsiFileBase implements Markable {
 	@Override
 	public PsiElement[] getChildren() {
 		return calcTreeElement().getChildrenAsPsiElements(
-			AdaTokenTypes.ALL_VALID_TOKENS, PsiElement.ARRAY_FACTORY);
+			CHILD_ELEMENT_SET, PsiElement.ARRAY_FACTORY);
 	}
 
 }
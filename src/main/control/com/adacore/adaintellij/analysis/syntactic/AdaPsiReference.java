@@ -1,21 +1,32 @@
 package com.adacore.adaintellij.analysis.syntactic;
 
+import com.adacore.adaintellij.analysis.lexical.AdaIdentifierName;
+import com.adacore.adaintellij.analysis.lexical.AdaIdentifierTable;
+import com.adacore.adaintellij.analysis.syntactic.stubs.AdaShortNameIndex;
 import com.adacore.adaintellij.lsp.AdaLSPDriverService;
 import com.adacore.adaintellij.lsp.AdaLSPServer;
 import com.adacore.adaintellij.lsp.LSPUtils;
 import com.adacore.adaintellij.misc.cache.CacheKey;
 import com.adacore.adaintellij.misc.cache.CacheResult;
 import com.adacore.adaintellij.misc.cache.Cacher;
-import com.intellij.lang.ASTNode;
 import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.util.IncorrectOperationException;
 import org.eclipse.lsp4j.Location;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+
 import static com.adacore.adaintellij.Utils.*;
 
 /**
@@ -40,19 +51,41 @@ public final class AdaPsiReference extends AdaPsiElement
 		RESOLVED_ELEMENT_CACHE_KEY = CacheKey.getNewKey();
 
 	/**
-	 * The underlying tree node.
+	 * The identifier name of this reference, computed lazily.
+	 * Note: The text of a leaf never changes (changed leaves are replaced
+	 *       by new ones), so this name never needs to be invalidated.
+	 */
+	private volatile AdaIdentifierName identifierName = null;
+
+	/**
+	 * Constructs a new AdaPsiReference given a token type and the
+	 * text of the token.
+	 *
+	 * @param type The type of the token.
+	 * @param text The text of the token.
 	 */
-	private final ASTNode node;
+	AdaPsiReference(@NotNull IElementType type, @NotNull CharSequence text) {
+		super(type, text);
+	}
 
 	/**
-	 * Constructs a new AdaPsiReference given a tree node.
+	 * Returns the case-insensitive identifier name of this reference,
+	 * which can be compared to other identifier names by identity.
 	 *
-	 * @param node The tree node to back the constructed
-	 *             PSI reference.
+	 * @return The identifier name of this reference.
 	 */
-	AdaPsiReference(@NotNull ASTNode node) {
-		super(node);
-		this.node = node;
+	@NotNull
+	public AdaIdentifierName getIdentifierName() {
+
+		AdaIdentifierName name = identifierName;
+
+		if (name == null) {
+			name           = AdaIdentifierName.of(getChars());
+			identifierName = name;
+		}
+
+		return name;
+
 	}
 
 	/**
@@ -60,7 +93,7 @@ public final class AdaPsiReference extends AdaPsiElement
 	 */
 	@NotNull
 	@Override
-	public String getName() { return node.getText(); }
+	public String getName() { return getText(); }
 
 	/**
 	 * @see com.intellij.psi.PsiNamedElement#setName(String)
@@ -121,7 +154,7 @@ public final class AdaPsiReference extends AdaPsiElement
 	 */
 	@NotNull
 	@Override
-	public TextRange getRangeInElement() { return new TextRange(0, node.getTextLength()); }
+	public TextRange getRangeInElement() { return new TextRange(0, getTextLength()); }
 
 	/**
 	 * @see com.intellij.psi.PsiReference#resolve()
@@ -147,6 +180,8 @@ public final class AdaPsiReference extends AdaPsiElement
 	 * makes a `textDocument/definition` request to the ALS to get the
 	 * element referenced by this element and returns it, or null if no
 	 * such element was found or if something went wrong.
+	 * If the ALS is not available (e.g. while it is restarting), the
+	 * reference is resolved through the declaration indices instead.
 	 *
 	 * @return The element to which this reference resolves, or null
 	 *         if no such element is found.
@@ -180,7 +215,7 @@ public final class AdaPsiReference extends AdaPsiElement
 
 		AdaLSPServer lspServer = AdaLSPDriverService.getServer(getProject());
 
-		if (lspServer == null) { return null; }
+		if (lspServer == null) { return resolveFromDeclarationIndex(); }
 
 		Location definitionLocation = lspServer.definition(
 			documentUri, LSPUtils.offsetToPosition(document, getStartOffset()));
@@ -205,17 +240,23 @@ public final class AdaPsiReference extends AdaPsiElement
 
 		if (definitionPsiFile == null || definitionDocument == null) { return null; }
 
-		// Find the element at the given position in the file
+		// Find the element at the given position in the file, looking
+		// it up in the identifier table of the file first, as most
+		// definitions are identifiers (others, such as operator symbols,
+		// are looked up in the tree)
 
-		PsiElement definition = definitionPsiFile.findElementAt(
-			LSPUtils.positionToOffset(
-				definitionDocument,
-				definitionLocation.getRange().getStart()
-			)
-		);
+		int definitionOffset = LSPUtils.positionToOffset(
+			definitionDocument, definitionLocation.getRange().getStart());
 
-		AdaPsiElement adaDefinition = definition == null ?
-			null : AdaPsiElement.getFrom(definition);
+		AdaPsiElement adaDefinition = findAt(definitionPsiFile, definitionDocument, definitionOffset);
+
+		if (adaDefinition == null) {
+
+			PsiElement definition = definitionPsiFile.findElementAt(definitionOffset);
+
+			adaDefinition = definition == null ? null : AdaPsiElement.getFrom(definition);
+
+		}
 
 		// If the element was found, then cash it
 
@@ -230,14 +271,75 @@ public final class AdaPsiReference extends AdaPsiElement
 	}
 
 	/**
+	 * Returns the reference of the identifier containing the given offset
+	 * in the given file, or null if there is no identifier at that offset.
+	 * The identifier is looked up in the identifier table of the given
+	 * document of the file, so that only the leaf of an actual identifier
+	 * is looked up in the tree of the file.
+	 *
+	 * @param file The file in which to look for the reference.
+	 * @param document The document of the file.
+	 * @param offset The offset of the reference in the document.
+	 * @return The reference at the offset, or null.
+	 */
+	@Nullable
+	public static AdaPsiReference findAt(@NotNull PsiFile file, @NotNull Document document, int offset) {
+
+		AdaIdentifierTable identifiers = AdaIdentifierTable.forDocument(document);
+
+		int index = identifiers.indexAt(offset);
+
+		if (index < 0) { return null; }
+
+		PsiElement element = file.findElementAt(identifiers.start(index));
+
+		return element instanceof AdaPsiReference ? (AdaPsiReference)element : null;
+
+	}
+
+	/**
+	 * Returns the element declaring the name of this reference, if that
+	 * name has a unique library-level declaration, or null otherwise or
+	 * if indexes are being updated.
+	 * The result is cached until the next change of any PSI tree, but
+	 * separately from the elements resolved by the ALS, so that the ALS
+	 * takes over as soon as it is available again.
+	 *
+	 * @return The element declaring the name of this reference, or null.
+	 */
+	@Nullable
+	private AdaPsiElement resolveFromDeclarationIndex() {
+
+		Project project = getProject();
+
+		if (DumbService.isDumb(project)) { return null; }
+
+		return CachedValuesManager.getCachedValue(this, () -> {
+
+			String name = getIdentifierName().NAME;
+
+			Collection<AdaDeclarationPsiElement> declarations = AdaShortNameIndex.getDeclarations(
+				name, project, GlobalSearchScope.allScope(project));
+
+			AdaPsiElement declaration = declarations.size() != 1 ? null :
+				declarations.iterator().next().getNameIdentifier(name);
+
+			return CachedValueProvider.Result.create(declaration, PsiModificationTracker.MODIFICATION_COUNT);
+
+		});
+
+	}
+
+	/**
+	 * Returns the name of this reference as spelled in the source.
+	 * Note: Case-insensitive comparisons of names must go through
+	 *       `getIdentifierName` rather than through this text.
+	 *
 	 * @see com.intellij.psi.PsiReference#getCanonicalText()
 	 */
 	@NotNull
 	@Override
-	public String getCanonicalText() {
-		// TODO: Return proper canonical text here
-		return node.getText();
-	}
+	public String getCanonicalText() { return getText(); }
 
 	/**
 	 * @see com.intellij.psi.PsiReference#handleElementRename(String)
@@ -260,7 +362,10 @@ public final class AdaPsiReference extends AdaPsiElement
 	 */
 	@Override
 	public boolean isReferenceTo(@NotNull PsiElement element) {
-		return getText().equalsIgnoreCase(element.getText()) &&
+		AdaPsiElement adaElement = AdaPsiElement.getFrom(element);
+
+		return adaElement instanceof AdaPsiReference &&
+			((AdaPsiReference)adaElement).getIdentifierName() == getIdentifierName() &&
 			AdaPsiElement.areEqual(resolveAdaReference(), element);
 	}
 
@@ -3,14 +3,13 @@ package com.adacore.adaintellij.analysis.syntactic;
 import com.adacore.adaintellij.Utils;
 import com.adacore.adaintellij.lsp.AdaLSPDriverService;
 import com.adacore.adaintellij.lsp.AdaLSPServer;
-import com.adacore.adaintellij.lsp.LSPUtils;
-import com.adacore.adaintellij.misc.cache.Marker;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.List;
 
 import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
@@ -19,127 +18,81 @@ import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElemen
  * Ada program structure manager.
  * <p>
  * Due to the way Ada source code is parsed by the Ada-IntelliJ
- * plugin, additional syntax information can only be added to the
- * PSI tree elements after the tree has been constructed.
+ * plugin, additional syntax information, such as the kinds of the
+ * symbols declared in a file, is not part of the PSI tree and is
+ * instead queried from the ALS (Ada Language Server).
  * <p>
- * This class provides an API that can be used to query additional
- * syntax information about a given PSI file from the ALS (Ada
- * Language Server) and patch the underlying PSI tree with the
- * collected information.
- * Any component that requires specific structure information for a
- * certain file must therefore first call the corresponding patcher
- * from this class before reading that information from that file.
+ * This class provides an API that can be used to read that
+ * information for a given PSI element. The symbol kinds of a file
+ * are kept in the symbol kind overlay of its document, which
+ * outlives the PSI trees of the file and follows the edits of the
+ * document, and which is updated in the background whenever it is
+ * read while out of date.
  *
  * @see AdaParser
  * @see AdaPsiElement.AdaElementType
+ * @see AdaSymbolKindOverlay
  */
 public class AdaPsiStructureManager {
 
 	/**
-	 * Patch markers used to mark PSI files that already underwent
-	 * their corresponding patches. This is useful to avoid
-	 * reapplying the same patches to files that were not modified.
-	 * File modifications result in new PSI files being generated
-	 * without the markers added to previous PSI files, effectively
-	 * invalidating all patches previously applied to a file.
-	 * Each patch must have its own marker.
-	 */
-	private static final Marker SYMBOLS_PATCH_MARKER = Marker.getNewMarker();
-
-	/**
-	 * Applies all possible patches to the given PSI file.
+	 * Returns the Ada element type of the given element, as read from
+	 * the symbol kind overlay of its document, requesting an update of
+	 * that overlay if it is out of date, or `OTHER` if the element is
+	 * not the name of a symbol known to the overlay.
 	 *
-	 * @param psiFile The PSI file to patch.
+	 * @param element The element whose Ada element type to get.
+	 * @return The Ada element type of the element.
 	 */
-	public static void patchPsiFile(@NotNull AdaPsiFile psiFile) {
-		patchPsiFileElementTypes(psiFile);
-	}
-
-	/**
-	 * Makes a `textDocument/documentSymbol` request to the ALS and
-	 * patches the given PSI file with Ada element types based on
-	 * the returned symbol information for that file.
-	 *
-	 * @param psiFile The PSI file to patch.
-	 */
-	public static void patchPsiFileElementTypes(@NotNull AdaPsiFile psiFile) {
-
-		patchPsiFileIfMarked(
-			psiFile,
-				() -> {
-
-				Document    document    = Utils.getPsiFileDocument(psiFile);
-				VirtualFile virtualFile = Utils.getPsiFileVirtualFile(psiFile);
-
-				if (document == null || virtualFile == null) { return; }
-
-				String documentUri = virtualFile.getUrl();
-
-				// Make the request and wait for the result
-
-				AdaLSPServer lspServer = AdaLSPDriverService.getServer(psiFile.getProject());
+	@NotNull
+	public static AdaElementType getElementType(@NotNull AdaPsiElement element) {
 
-				if (lspServer == null) { return; }
+		PsiFile  psiFile  = element.getContainingFile();
+		Document document = psiFile == null ? null : Utils.getPsiFileDocument(psiFile);
 
-				List<DocumentSymbol> symbols = lspServer.documentSymbol(documentUri);
+		if (document == null) { return AdaElementType.OTHER; }
 
-				// For each symbol in the result...
+		AdaSymbolKindOverlay overlay = AdaSymbolKindOverlay.forDocument(document);
 
-				symbols.forEach(symbol -> {
+		if (!overlay.isUpToDate()) { overlay.requestUpdate(element.getProject()); }
 
-					// Find the PSI element at the given position
+		int start = element.getTextOffset();
 
-					PsiElement element = psiFile.findElementAt(
-						LSPUtils.positionToOffset(document, symbol.getSelectionRange().getStart()));
-
-					if (element == null) { return; }
-
-					// Get the corresponding `AdaPsiElement`
-
-					AdaPsiElement adaPsiElement = AdaPsiElement.getFrom(element);
-
-					if (adaPsiElement == null) { return; }
-
-					// Map the symbol kind to the corresponding Ada
-					// element type and set the type of the element
-
-					AdaElementType elementType =
-						LSPUtils.symbolKindToAdaElementType(symbol);
-
-					if (elementType == null) { return; }
-
-					adaPsiElement.setAdaElementType(elementType);
-
-				});
-
-			}
-		);
+		return overlay.kindAt(start, start + element.getTextLength());
 
 	}
 
 	/**
-	 * Applies the given patch only if the given PSI file is marked
-	 * with the given marker, then marks the file with that marker.
+	 * Makes a `textDocument/documentSymbol` request to the ALS and
+	 * returns the symbols of the given PSI file, updating the symbol
+	 * kind overlay of its document with them in passing. Returns an
+	 * empty list if the ALS is not running or the file has no
+	 * document.
 	 *
-	 * @param psiFile The PSI file to check for the marker.
-	 * @param patch   The patch to apply if the file is marked.
+	 * @param psiFile The PSI file whose symbols to get.
+	 * @return The top-level symbols of the file.
 	 */
-	private static void patchPsiFileIfMarked(
-		@NotNull AdaPsiFile psiFile,
-		@NotNull Runnable   patch
-	) {
+	@NotNull
+	public static List<DocumentSymbol> getDocumentSymbols(@NotNull AdaPsiFile psiFile) {
+
+		Document    document    = Utils.getPsiFileDocument(psiFile);
+		VirtualFile virtualFile = Utils.getPsiFileVirtualFile(psiFile);
+
+		if (document == null || virtualFile == null) { return Collections.emptyList(); }
+
+		AdaLSPServer lspServer = AdaLSPDriverService.getServer(psiFile.getProject());
 
-		// If the file is marked with the marker, then abort
+		if (lspServer == null) { return Collections.emptyList(); }
 
-		if (psiFile.isMarked(AdaPsiStructureManager.SYMBOLS_PATCH_MARKER)) { return; }
+		// Make the request and wait for the result
 
-		// Apply the patch
+		long stamp = document.getModificationStamp();
 
-		patch.run();
+		List<DocumentSymbol> symbols = lspServer.documentSymbol(virtualFile.getUrl());
 
-		// Mark the file with the marker
+		if (!symbols.isEmpty()) { AdaSymbolKindOverlay.forDocument(document).update(symbols, stamp); }
 
-		psiFile.mark(AdaPsiStructureManager.SYMBOLS_PATCH_MARKER);
+		return symbols;
 
 	}
 
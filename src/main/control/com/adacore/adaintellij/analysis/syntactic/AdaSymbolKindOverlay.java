@@ -0,0 +1,392 @@
+package com.adacore.adaintellij.analysis.syntactic;
+
+import com.adacore.adaintellij.Utils;
+import com.adacore.adaintellij.lsp.AdaLSPDriverService;
+import com.adacore.adaintellij.lsp.AdaLSPServer;
+import com.adacore.adaintellij.lsp.LSPUtils;
+import com.adacore.adaintellij.misc.cache.CacheKey;
+import com.adacore.adaintellij.misc.cache.CacheResult;
+import com.adacore.adaintellij.misc.cache.Cacher;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
+
+/**
+ * Overlay of the kinds of the symbols declared in a document, as
+ * reported by the ALS (Ada Language Server), namely a sorted table of
+ * the offset ranges of the names of the symbols along with their Ada
+ * element types.
+ * <p>
+ * The overlay is attached to the document rather than to its PSI file,
+ * so that it survives reparses, and is tagged with the modification
+ * stamp of the document for which the symbols were returned by the
+ * ALS. Edits of the document shift the ranges that follow them and
+ * discard the ranges they overlap, so that the kinds of all other
+ * symbols remain available while the overlay is out of date. Once it
+ * is out of date, the next read of the overlay requests the symbols
+ * of the document again from the ALS in the background.
+ *
+ * @see AdaPsiStructureManager
+ */
+public final class AdaSymbolKindOverlay {
+
+	/**
+	 * Cache key for the symbol kind overlays of documents.
+	 */
+	private static final CacheKey<AdaSymbolKindOverlay> OVERLAY_KEY = CacheKey.getNewKey();
+
+	/**
+	 * The Ada element types, indexed by the kinds stored in overlays.
+	 */
+	private static final AdaElementType[] ELEMENT_TYPES = AdaElementType.values();
+
+	/**
+	 * The document whose symbol kinds are overlaid.
+	 */
+	private final Document DOCUMENT;
+
+	/**
+	 * The current ranges and kinds of the overlay.
+	 */
+	private volatile Ranges ranges = Ranges.EMPTY;
+
+	/**
+	 * Whether an update of the overlay is currently in progress.
+	 */
+	private boolean updating = false;
+
+	/**
+	 * Constructs a new empty overlay given a document, and starts
+	 * tracking the changes of that document.
+	 *
+	 * @param document The document whose symbol kinds to overlay.
+	 */
+	private AdaSymbolKindOverlay(@NotNull Document document) {
+
+		DOCUMENT = document;
+
+		document.addDocumentListener(new DocumentListener() {
+
+			/**
+			 * @see com.intellij.openapi.editor.event.DocumentListener#documentChanged(DocumentEvent)
+			 */
+			@Override
+			public void documentChanged(@NotNull DocumentEvent event) {
+				ranges = ranges.shifted(event.getOffset(), event.getOldLength(), event.getNewLength());
+			}
+
+		});
+
+	}
+
+	/**
+	 * Returns the symbol kind overlay of the given document, creating it
+	 * if necessary.
+	 *
+	 * @param document The document.
+	 * @return The symbol kind overlay of the document.
+	 */
+	@NotNull
+	public static AdaSymbolKindOverlay forDocument(@NotNull Document document) {
+
+		synchronized (OVERLAY_KEY) {
+
+			CacheResult<AdaSymbolKindOverlay> cacheResult = Cacher.getCachedData(document, OVERLAY_KEY);
+
+			if (cacheResult.hit && cacheResult.data != null) { return cacheResult.data; }
+
+			AdaSymbolKindOverlay overlay = new AdaSymbolKindOverlay(document);
+
+			Cacher.cacheData(document, OVERLAY_KEY, overlay);
+
+			return overlay;
+
+		}
+
+	}
+
+	/**
+	 * Returns the kind of the symbol whose name spans exactly the given
+	 * range of the document, or `OTHER` if there is no such symbol in
+	 * the overlay.
+	 *
+	 * @param start The start offset of the name.
+	 * @param end The end offset of the name.
+	 * @return The kind of the symbol, or `OTHER`.
+	 */
+	@NotNull
+	public AdaElementType kindAt(int start, int end) { return ranges.kindAt(start, end); }
+
+	/**
+	 * Returns whether the symbols of this overlay were returned by the
+	 * ALS for the current text of the document.
+	 *
+	 * @return Whether this overlay is up to date.
+	 */
+	public boolean isUpToDate() { return ranges.VERSION == DOCUMENT.getModificationStamp(); }
+
+	/**
+	 * Requests the symbols of the document from the ALS of the given
+	 * project in the background and updates this overlay with them, if
+	 * this overlay is not up to date and is not being updated already.
+	 * The result of the request is discarded if the document changed
+	 * while waiting for it.
+	 *
+	 * @param project The project to which the document belongs.
+	 */
+	public void requestUpdate(@NotNull Project project) {
+
+		VirtualFile virtualFile = Utils.getDocumentVirtualFile(DOCUMENT);
+
+		if (virtualFile == null || !virtualFile.isInLocalFileSystem()) { return; }
+
+		synchronized (this) {
+			if (updating || isUpToDate()) { return; }
+			updating = true;
+		}
+
+		String documentUri = virtualFile.getUrl();
+
+		ApplicationManager.getApplication().executeOnPooledThread(() -> {
+
+			try {
+
+				AdaLSPServer lspServer = AdaLSPDriverService.getServer(project);
+
+				if (lspServer == null) { return; }
+
+				long stamp = ApplicationManager.getApplication().runReadAction(
+					(Computable<Long>)DOCUMENT::getModificationStamp);
+
+				List<DocumentSymbol> symbols = lspServer.documentSymbol(documentUri);
+
+				ApplicationManager.getApplication().runReadAction(() -> update(symbols, stamp));
+
+			} finally {
+
+				synchronized (this) { updating = false; }
+
+			}
+
+		});
+
+	}
+
+	/**
+	 * Replaces the contents of this overlay with the given symbols, if
+	 * they were returned for the document with the given modification
+	 * stamp and the document did not change since.
+	 * Must be called in a read action.
+	 *
+	 * @param symbols The top-level symbols of the document.
+	 * @param stamp The modification stamp of the document for which the
+	 *              symbols were returned.
+	 */
+	void update(@NotNull List<DocumentSymbol> symbols, long stamp) {
+
+		if (DOCUMENT.getModificationStamp() != stamp) { return; }
+
+		List<int[]> entries = new ArrayList<>();
+
+		collect(symbols, entries);
+
+		entries.sort((first, second) -> Integer.compare(first[0], second[0]));
+
+		int    size   = entries.size();
+		int[]  starts = new int[size];
+		int[]  ends   = new int[size];
+		byte[] kinds  = new byte[size];
+
+		for (int i = 0 ; i < size ; i++) {
+
+			int[] entry = entries.get(i);
+
+			starts[i] = entry[0];
+			ends[i]   = entry[1];
+			kinds[i]  = (byte)entry[2];
+
+		}
+
+		ranges = new Ranges(stamp, starts, ends, kinds, size);
+
+	}
+
+	/**
+	 * Collects the name ranges and kinds of the given symbols and of
+	 * their children, as arrays of start offset, end offset and kind,
+	 * in the given list. Symbols of no known kind are skipped.
+	 *
+	 * @param symbols The symbols to collect, or null.
+	 * @param entries The list in which to collect them.
+	 */
+	private void collect(@Nullable List<DocumentSymbol> symbols, @NotNull List<int[]> entries) {
+
+		if (symbols == null) { return; }
+
+		for (DocumentSymbol symbol : symbols) {
+
+			AdaElementType kind = LSPUtils.symbolKindToAdaElementType(symbol);
+
+			if (kind != null && symbol.getSelectionRange() != null) {
+				entries.add(new int[] {
+					LSPUtils.positionToOffset(DOCUMENT, symbol.getSelectionRange().getStart()),
+					LSPUtils.positionToOffset(DOCUMENT, symbol.getSelectionRange().getEnd()),
+					kind.ordinal()
+				});
+			}
+
+			collect(symbol.getChildren(), entries);
+
+		}
+
+	}
+
+	/**
+	 * Immutable sorted table of name ranges and symbol kinds.
+	 */
+	private static final class Ranges {
+
+		/**
+		 * Empty table, for documents whose symbols were never returned.
+		 */
+		static final Ranges EMPTY = new Ranges(-1, new int[0], new int[0], new byte[0], 0);
+
+		/**
+		 * The modification stamp of the document for which the symbols
+		 * of this table were returned by the ALS.
+		 */
+		final long VERSION;
+
+		/**
+		 * The start offsets of the names, in ascending order.
+		 */
+		final int[] STARTS;
+
+		/**
+		 * The end offsets of the names.
+		 */
+		final int[] ENDS;
+
+		/**
+		 * The kinds of the symbols, as ordinals of Ada element types.
+		 */
+		final byte[] KINDS;
+
+		/**
+		 * The number of ranges in this table.
+		 */
+		final int SIZE;
+
+		/**
+		 * Constructs a new table of ranges.
+		 *
+		 * @param version The modification stamp of the document.
+		 * @param starts The start offsets of the names.
+		 * @param ends The end offsets of the names.
+		 * @param kinds The kinds of the symbols.
+		 * @param size The number of ranges.
+		 */
+		Ranges(long version, @NotNull int[] starts, @NotNull int[] ends, @NotNull byte[] kinds, int size) {
+			VERSION = version;
+			STARTS  = starts;
+			ENDS    = ends;
+			KINDS   = kinds;
+			SIZE    = size;
+		}
+
+		/**
+		 * Returns the kind of the symbol whose name spans exactly the
+		 * given range, or `OTHER` if there is no such symbol.
+		 *
+		 * @param start The start offset of the name.
+		 * @param end The end offset of the name.
+		 * @return The kind of the symbol, or `OTHER`.
+		 */
+		@NotNull
+		AdaElementType kindAt(int start, int end) {
+
+			int low  = 0;
+			int high = SIZE - 1;
+
+			while (low <= high) {
+
+				int middle = (low + high) >>> 1;
+
+				if (STARTS[middle] < start) { low = middle + 1; }
+				else if (STARTS[middle] > start) { high = middle - 1; }
+				else {
+					return ENDS[middle] == end ?
+						ELEMENT_TYPES[KINDS[middle]] : AdaElementType.OTHER;
+				}
+
+			}
+
+			return AdaElementType.OTHER;
+
+		}
+
+		/**
+		 * Returns the table of the ranges of this table after the given
+		 * change of the document: ranges preceding the changed range
+		 * are kept, ranges following it are shifted by the change in
+		 * length and ranges overlapping it are discarded.
+		 *
+		 * @param offset The offset of the change.
+		 * @param oldLength The length of the replaced text.
+		 * @param newLength The length of the inserted text.
+		 * @return The shifted table.
+		 */
+		@NotNull
+		Ranges shifted(int offset, int oldLength, int newLength) {
+
+			if (SIZE == 0) { return this; }
+
+			int oldEnd = offset + oldLength;
+			int delta  = newLength - oldLength;
+
+			int[]  starts = new int[SIZE];
+			int[]  ends   = new int[SIZE];
+			byte[] kinds  = new byte[SIZE];
+			int    size   = 0;
+
+			for (int i = 0 ; i < SIZE ; i++) {
+
+				int start = STARTS[i];
+				int end   = ENDS[i];
+
+				// Drop the ranges that the change touches, whose names
+				// changed, and shift the ones following it
+
+				if (end >= offset && start <= oldEnd) { continue; }
+
+				if (start > oldEnd) {
+					start += delta;
+					end   += delta;
+				}
+
+				starts[size] = start;
+				ends[size]   = end;
+				kinds[size]  = KINDS[i];
+				size++;
+
+			}
+
+			return new Ranges(VERSION, starts, ends, kinds, size);
+
+		}
+
+	}
+
+}
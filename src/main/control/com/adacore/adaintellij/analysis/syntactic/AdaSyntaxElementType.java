@@ -0,0 +1,37 @@
+package com.adacore.adaintellij.analysis.syntactic;
+
+import com.adacore.adaintellij.AdaLanguage;
+import com.intellij.lang.Language;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Type of Ada syntax elements, namely the declarations, statements
+ * and other constructs grouping tokens in the trees built by the Ada
+ * parser.
+ *
+ * @see AdaParser
+ */
+public class AdaSyntaxElementType extends IElementType {
+
+	/**
+	 * Constructs a new Ada syntax element type.
+	 *
+	 * @param debugName The name of the element type, used for debugging purposes.
+	 *
+	 * @see com.intellij.psi.tree.IElementType#IElementType(String, Language)
+	 */
+	AdaSyntaxElementType(@NotNull @NonNls String debugName) {
+		super(debugName, AdaLanguage.INSTANCE);
+	}
+
+	/**
+	 * Returns a string representation of this element type.
+	 *
+	 * @return A string representation of this element type.
+	 */
+	@Override
+	public String toString() { return "AdaSyntaxElementType." + super.toString(); }
+
+}
@@ -0,0 +1,127 @@
+package com.adacore.adaintellij.analysis.syntactic;
+
+import com.adacore.adaintellij.analysis.syntactic.stubs.AdaDeclarationElementType;
+import com.intellij.psi.tree.TokenSet;
+
+/**
+ * Syntax element types for Ada 2012.
+ * Declarations of packages, subprograms, types and objects are of stub
+ * element types, so that library-level ones can be indexed.
+ *
+ * @see AdaParser
+ */
+public final class AdaSyntaxElementTypes {
+
+	/*
+		Context Clauses and Compilation Units
+	*/
+
+	public static final AdaSyntaxElementType WITH_CLAUSE                 = new AdaSyntaxElementType("WITH_CLAUSE");
+	public static final AdaSyntaxElementType USE_CLAUSE                  = new AdaSyntaxElementType("USE_CLAUSE");
+	public static final AdaSyntaxElementType PRAGMA                      = new AdaSyntaxElementType("PRAGMA");
+	public static final AdaSyntaxElementType SUBUNIT                     = new AdaSyntaxElementType("SUBUNIT");
+
+	/*
+		Declarations
+	*/
+
+	/**
+	 * Program unit declarations and bodies.
+	 */
+	public static final AdaDeclarationElementType PACKAGE_DECLARATION    = new AdaDeclarationElementType("PACKAGE_DECLARATION");
+	public static final AdaDeclarationElementType PACKAGE_BODY           = new AdaDeclarationElementType("PACKAGE_BODY");
+	public static final AdaDeclarationElementType SUBPROGRAM_DECLARATION = new AdaDeclarationElementType("SUBPROGRAM_DECLARATION");
+	public static final AdaDeclarationElementType SUBPROGRAM_BODY        = new AdaDeclarationElementType("SUBPROGRAM_BODY");
+	public static final AdaSyntaxElementType TASK_DECLARATION            = new AdaSyntaxElementType("TASK_DECLARATION");
+	public static final AdaSyntaxElementType TASK_BODY                   = new AdaSyntaxElementType("TASK_BODY");
+	public static final AdaSyntaxElementType PROTECTED_DECLARATION       = new AdaSyntaxElementType("PROTECTED_DECLARATION");
+	public static final AdaSyntaxElementType PROTECTED_BODY              = new AdaSyntaxElementType("PROTECTED_BODY");
+	public static final AdaSyntaxElementType ENTRY_DECLARATION           = new AdaSyntaxElementType("ENTRY_DECLARATION");
+	public static final AdaSyntaxElementType ENTRY_BODY                  = new AdaSyntaxElementType("ENTRY_BODY");
+	public static final AdaSyntaxElementType BODY_STUB                   = new AdaSyntaxElementType("BODY_STUB");
+
+	/**
+	 * Generic units.
+	 */
+	public static final AdaSyntaxElementType GENERIC_DECLARATION         = new AdaSyntaxElementType("GENERIC_DECLARATION");
+	public static final AdaSyntaxElementType GENERIC_FORMAL_DECLARATION  = new AdaSyntaxElementType("GENERIC_FORMAL_DECLARATION");
+	public static final AdaDeclarationElementType GENERIC_INSTANTIATION  = new AdaDeclarationElementType("GENERIC_INSTANTIATION");
+
+	/**
+	 * Other declarations.
+	 */
+	public static final AdaDeclarationElementType TYPE_DECLARATION       = new AdaDeclarationElementType("TYPE_DECLARATION");
+	public static final AdaDeclarationElementType SUBTYPE_DECLARATION    = new AdaDeclarationElementType("SUBTYPE_DECLARATION");
+	public static final AdaDeclarationElementType OBJECT_DECLARATION     = new AdaDeclarationElementType("OBJECT_DECLARATION");
+	public static final AdaSyntaxElementType RENAMING_DECLARATION        = new AdaSyntaxElementType("RENAMING_DECLARATION");
+	public static final AdaSyntaxElementType REPRESENTATION_CLAUSE       = new AdaSyntaxElementType("REPRESENTATION_CLAUSE");
+
+	/*
+		Statements
+	*/
+
+	public static final AdaSyntaxElementType LABEL                       = new AdaSyntaxElementType("LABEL");
+	public static final AdaSyntaxElementType SIMPLE_STATEMENT            = new AdaSyntaxElementType("SIMPLE_STATEMENT");
+	public static final AdaSyntaxElementType IF_STATEMENT                = new AdaSyntaxElementType("IF_STATEMENT");
+	public static final AdaSyntaxElementType CASE_STATEMENT              = new AdaSyntaxElementType("CASE_STATEMENT");
+	public static final AdaSyntaxElementType CASE_ALTERNATIVE            = new AdaSyntaxElementType("CASE_ALTERNATIVE");
+	public static final AdaSyntaxElementType LOOP_STATEMENT              = new AdaSyntaxElementType("LOOP_STATEMENT");
+	public static final AdaSyntaxElementType BLOCK_STATEMENT             = new AdaSyntaxElementType("BLOCK_STATEMENT");
+	public static final AdaSyntaxElementType EXTENDED_RETURN_STATEMENT   = new AdaSyntaxElementType("EXTENDED_RETURN_STATEMENT");
+	public static final AdaSyntaxElementType ACCEPT_STATEMENT            = new AdaSyntaxElementType("ACCEPT_STATEMENT");
+	public static final AdaSyntaxElementType SELECT_STATEMENT            = new AdaSyntaxElementType("SELECT_STATEMENT");
+	public static final AdaSyntaxElementType EXCEPTION_HANDLER           = new AdaSyntaxElementType("EXCEPTION_HANDLER");
+
+	/*
+		Lazily Parsed Bodies
+	*/
+
+	public static final AdaBodyElementType PACKAGE_BODY_CONTENTS    = new AdaBodyElementType("PACKAGE_BODY_CONTENTS", false);
+	public static final AdaBodyElementType SUBPROGRAM_BODY_CONTENTS = new AdaBodyElementType("SUBPROGRAM_BODY_CONTENTS", true);
+	public static final AdaBodyElementType BLOCK_CONTENTS           = new AdaBodyElementType("BLOCK_CONTENTS", true);
+
+	/*
+		Element Sets
+	*/
+
+	/**
+	 * Element set representing Ada declarations of program units and
+	 * their bodies.
+	 */
+	public static final TokenSet PROGRAM_UNIT_ELEMENT_SET = TokenSet.create(
+		PACKAGE_DECLARATION, PACKAGE_BODY, SUBPROGRAM_DECLARATION, SUBPROGRAM_BODY,
+		TASK_DECLARATION, TASK_BODY, PROTECTED_DECLARATION, PROTECTED_BODY,
+		ENTRY_DECLARATION, ENTRY_BODY, GENERIC_DECLARATION
+	);
+
+	/**
+	 * Element set representing Ada compound statements, which contain
+	 * other statements.
+	 */
+	public static final TokenSet COMPOUND_STATEMENT_ELEMENT_SET = TokenSet.create(
+		IF_STATEMENT, CASE_STATEMENT, LOOP_STATEMENT, BLOCK_STATEMENT,
+		EXTENDED_RETURN_STATEMENT, ACCEPT_STATEMENT, SELECT_STATEMENT
+	);
+
+	/**
+	 * Element set representing all Ada syntax elements.
+	 */
+	public static final TokenSet ALL_SYNTAX_ELEMENTS = TokenSet.create(
+		WITH_CLAUSE, USE_CLAUSE, PRAGMA, SUBUNIT,
+		PACKAGE_DECLARATION, PACKAGE_BODY, SUBPROGRAM_DECLARATION, SUBPROGRAM_BODY,
+		TASK_DECLARATION, TASK_BODY, PROTECTED_DECLARATION, PROTECTED_BODY,
+		ENTRY_DECLARATION, ENTRY_BODY, BODY_STUB,
+		GENERIC_DECLARATION, GENERIC_FORMAL_DECLARATION, GENERIC_INSTANTIATION,
+		TYPE_DECLARATION, SUBTYPE_DECLARATION, OBJECT_DECLARATION, RENAMING_DECLARATION,
+		REPRESENTATION_CLAUSE,
+		LABEL, SIMPLE_STATEMENT, IF_STATEMENT, CASE_STATEMENT, CASE_ALTERNATIVE,
+		LOOP_STATEMENT, BLOCK_STATEMENT, EXTENDED_RETURN_STATEMENT, ACCEPT_STATEMENT,
+		SELECT_STATEMENT, EXCEPTION_HANDLER
+	);
+
+	/**
+	 * Private default constructor to prevent instantiation.
+	 */
+	private AdaSyntaxElementTypes() {}
+
+}
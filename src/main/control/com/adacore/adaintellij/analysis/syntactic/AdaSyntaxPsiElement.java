@@ -0,0 +1,48 @@
+package com.adacore.adaintellij.analysis.syntactic;
+
+import com.intellij.extapi.psi.ASTWrapperPsiElement;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ada AST node representing a syntax element, such as a declaration
+ * or a statement. Unlike `AdaPsiElement`s, elements of this class are
+ * never leaves, as they group the elements of the tokens that make up
+ * the syntax element, as well as any nested syntax elements.
+ * <p>
+ * For detailed information about the structure of ASTs built by the
+ * Ada-IntelliJ Ada parser:
+ * @see AdaParser
+ */
+public final class AdaSyntaxPsiElement extends ASTWrapperPsiElement {
+
+	/**
+	 * Constructs a new AdaSyntaxPsiElement given a tree node.
+	 *
+	 * @param node The tree node to back the constructed
+	 *             PSI element.
+	 */
+	AdaSyntaxPsiElement(@NotNull ASTNode node) { super(node); }
+
+	/**
+	 * Returns the syntax element type of this element, which is either
+	 * an `AdaSyntaxElementType` or, for the lazily parsed contents of
+	 * bodies, an `AdaBodyElementType`.
+	 *
+	 * @return The syntax element type of this element.
+	 */
+	@NotNull
+	public IElementType getSyntaxElementType() { return getNode().getElementType(); }
+
+	/**
+	 * Returns a string representation of this PSI element.
+	 *
+	 * @return A string representation of this PSI element.
+	 */
+	@Override
+	public String toString() {
+		return "AdaSyntaxPsiElement(" + getNode().getElementType() + ")";
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.adacore.adaintellij.analysis.syntactic.diagnostics;
+
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiFile;
+import com.adacore.adaintellij.lsp.AdaLSPDriverService;
+import com.intellij.codeInsight.highlighting.HighlightErrorFilter;
+import com.intellij.psi.PsiErrorElement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Highlight error filter for Ada source code, hiding the syntax errors
+ * reported by the Ada parser while the ALS (Ada Language Server) is
+ * running.
+ * The Ada parser only recovers enough structure from erroneous code to
+ * build a usable tree, and the diagnostics shown to the user are those
+ * reported by the ALS, which are more accurate. When the ALS is not
+ * running, the errors of the parser are the only syntax errors shown.
+ *
+ * @see AdaAnnotator
+ */
+public final class AdaHighlightErrorFilter extends HighlightErrorFilter {
+
+	/**
+	 * @see com.intellij.codeInsight.highlighting.HighlightErrorFilter#shouldHighlightErrorElement(PsiErrorElement)
+	 */
+	@Override
+	public boolean shouldHighlightErrorElement(@NotNull PsiErrorElement element) {
+		return !(element.getContainingFile() instanceof AdaPsiFile) ||
+			!AdaLSPDriverService.isInitialized(element.getProject());
+	}
+
+}
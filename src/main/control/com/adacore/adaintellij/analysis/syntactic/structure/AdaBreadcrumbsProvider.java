@@ -0,0 +1,160 @@
+package com.adacore.adaintellij.analysis.syntactic.structure;
+
+import com.adacore.adaintellij.AdaLanguage;
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiElement;
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiFile;
+import com.intellij.lang.Language;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.ui.breadcrumbs.BreadcrumbsProvider;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Breadcrumbs provider for Ada files, showing the declarations that
+ * enclose the caret.
+ * <p>
+ * The crumbs are the elements of the names of the enclosing symbols,
+ * which are found in the interval tree of the symbol tree of the file
+ * instead of by walking up the PSI tree. The symbol tree is the one
+ * built for the structure view if it is up to date, or is otherwise
+ * built from the declarations of the PSI tree, so that moving the
+ * caret never waits for the ALS (Ada Language Server).
+ *
+ * @see AdaSymbolIntervalTree
+ */
+public final class AdaBreadcrumbsProvider implements BreadcrumbsProvider {
+
+	/**
+	 * The languages supported by this provider.
+	 */
+	private static final Language[] LANGUAGES = { AdaLanguage.INSTANCE };
+
+	/**
+	 * @see com.intellij.ui.breadcrumbs.BreadcrumbsProvider#getLanguages()
+	 */
+	@Override
+	public Language[] getLanguages() { return LANGUAGES; }
+
+	/**
+	 * Returns whether the given element is the name of a symbol, and
+	 * should therefore be shown as a crumb.
+	 *
+	 * @see com.intellij.ui.breadcrumbs.BreadcrumbsProvider#acceptElement(PsiElement)
+	 */
+	@Override
+	public boolean acceptElement(@NotNull PsiElement element) { return getSymbol(element) != null; }
+
+	/**
+	 * @see com.intellij.ui.breadcrumbs.BreadcrumbsProvider#getElementInfo(PsiElement)
+	 */
+	@NotNull
+	@Override
+	public String getElementInfo(@NotNull PsiElement element) {
+
+		AdaSymbolTree.Symbol symbol = getSymbol(element);
+
+		return symbol == null ? element.getText() : symbol.NAME;
+
+	}
+
+	/**
+	 * @see com.intellij.ui.breadcrumbs.BreadcrumbsProvider#getElementIcon(PsiElement)
+	 */
+	@Nullable
+	@Override
+	public Icon getElementIcon(@NotNull PsiElement element) {
+
+		AdaSymbolTree.Symbol symbol = getSymbol(element);
+
+		return symbol == null ? null : AdaPsiElement.getElementTypeIcon(symbol.KIND);
+
+	}
+
+	/**
+	 * Returns the element of the name of the innermost symbol enclosing
+	 * the given element, not including the symbol of which the element
+	 * is the name, or null if there is no such symbol.
+	 *
+	 * @see com.intellij.ui.breadcrumbs.BreadcrumbsProvider#getParent(PsiElement)
+	 */
+	@Nullable
+	@Override
+	public PsiElement getParent(@NotNull PsiElement element) {
+
+		PsiFile psiFile = element.getContainingFile();
+
+		if (!(psiFile instanceof AdaPsiFile)) { return null; }
+
+		AdaSymbolIntervalTree intervals = getIntervals((AdaPsiFile)psiFile);
+
+		int offset = element.getTextRange().getStartOffset();
+		int index  = intervals.indexAt(offset);
+
+		// Skip the symbol of which the element is the name
+
+		if (index >= 0 && intervals.getSymbol(index).getOffset() == offset &&
+			element instanceof AdaPsiElement)
+		{
+			index = intervals.getParent(index);
+		}
+
+		// Return the name of the innermost enclosing symbol, skipping
+		// symbols whose names cannot be found
+
+		for ( ; index >= 0 ; index = intervals.getParent(index)) {
+
+			PsiElement name = intervals.getSymbol(index).getElement((AdaPsiFile)psiFile);
+
+			if (name != null) { return name; }
+
+		}
+
+		return null;
+
+	}
+
+	/**
+	 * Returns the symbol of which the given element is the name, or null
+	 * if it is not the name of a symbol.
+	 *
+	 * @param element The element.
+	 * @return The symbol named by the element, or null.
+	 */
+	@Nullable
+	private static AdaSymbolTree.Symbol getSymbol(@NotNull PsiElement element) {
+
+		if (!(element instanceof AdaPsiElement)) { return null; }
+
+		PsiFile psiFile = element.getContainingFile();
+
+		if (!(psiFile instanceof AdaPsiFile)) { return null; }
+
+		AdaSymbolIntervalTree intervals = getIntervals((AdaPsiFile)psiFile);
+
+		int offset = element.getTextRange().getStartOffset();
+		int index  = intervals.indexAt(offset);
+
+		if (index < 0) { return null; }
+
+		AdaSymbolTree.Symbol symbol = intervals.getSymbol(index);
+
+		return symbol.getOffset() == offset ? symbol : null;
+
+	}
+
+	/**
+	 * Returns the interval tree of the symbols of the given file, without
+	 * querying the ALS.
+	 *
+	 * @param psiFile The file.
+	 * @return The interval tree of the file's symbols.
+	 */
+	@NotNull
+	private static AdaSymbolIntervalTree getIntervals(@NotNull AdaPsiFile psiFile) {
+		return AdaSymbolTree.forFile(psiFile, false).getIntervals();
+	}
+
+}
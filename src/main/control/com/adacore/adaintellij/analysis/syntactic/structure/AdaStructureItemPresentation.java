@@ -2,32 +2,52 @@ package com.adacore.adaintellij.analysis.syntactic.structure;
 
 import com.adacore.adaintellij.analysis.syntactic.AdaPsiElement;
 import com.intellij.navigation.ItemPresentation;
-import com.intellij.psi.NavigatablePsiElement;
 import com.intellij.psi.PsiFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 
+import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
+
 /**
  * The presentation of an item in the structure view of an Ada file.
  */
 public final class AdaStructureItemPresentation implements ItemPresentation {
 
 	/**
-	 * The PSI element that this item presentation represents.
+	 * The text of the item that this presentation represents.
+	 */
+	private final String TEXT;
+
+	/**
+	 * The Ada element type of the item that this presentation
+	 * represents.
 	 */
-	private final NavigatablePsiElement element;
+	private final AdaElementType ELEMENT_TYPE;
 
 	/**
 	 * Constructs a new AdaStructureItemPresentation given a
-	 * PSI element.
+	 * PSI file.
 	 *
-	 * @param element The PSI element represented by the
-	 *                constructed item presentation.
+	 * @param file The PSI file represented by the
+	 *             constructed item presentation.
 	 */
-	AdaStructureItemPresentation(@NotNull NavigatablePsiElement element) {
-		this.element = element;
+	AdaStructureItemPresentation(@NotNull PsiFile file) {
+		TEXT         = file.getName();
+		ELEMENT_TYPE = AdaElementType.OTHER;
+	}
+
+	/**
+	 * Constructs a new AdaStructureItemPresentation given a
+	 * symbol.
+	 *
+	 * @param symbol The symbol represented by the
+	 *               constructed item presentation.
+	 */
+	AdaStructureItemPresentation(@NotNull AdaSymbolTree.Symbol symbol) {
+		TEXT         = symbol.NAME;
+		ELEMENT_TYPE = symbol.KIND;
 	}
 
 	/**
@@ -35,10 +55,7 @@ public final class AdaStructureItemPresentation implements ItemPresentation {
 	 */
 	@Nullable
 	@Override
-	public String getPresentableText() {
-		return element instanceof PsiFile ?
-			((PsiFile)element).getName() : element.getText();
-	}
+	public String getPresentableText() { return TEXT; }
 
 	/**
 	 * @see com.intellij.navigation.ItemPresentation#getLocationString()
@@ -52,12 +69,6 @@ public final class AdaStructureItemPresentation implements ItemPresentation {
 	 */
 	@Nullable
 	@Override
-	public Icon getIcon(boolean unused) {
-
-		AdaPsiElement adaPsiElement = AdaPsiElement.getFrom(element);
-
-		return adaPsiElement == null ? null : adaPsiElement.getIcon();
-
-	}
+	public Icon getIcon(boolean unused) { return AdaPsiElement.getElementTypeIcon(ELEMENT_TYPE); }
 
 }
@@ -1,54 +1,90 @@
 package com.adacore.adaintellij.analysis.syntactic.structure;
 
-import com.adacore.adaintellij.analysis.syntactic.AdaPsiElement;
+import com.adacore.adaintellij.analysis.lexical.AdaIdentifierName;
 import com.adacore.adaintellij.analysis.syntactic.AdaPsiFile;
-import com.adacore.adaintellij.analysis.syntactic.AdaPsiReference;
 import com.intellij.ide.structureView.StructureViewTreeElement;
+import com.intellij.ide.util.PsiNavigationSupport;
 import com.intellij.ide.util.treeView.smartTree.SortableTreeElement;
 import com.intellij.ide.util.treeView.smartTree.TreeElement;
 import com.intellij.navigation.ItemPresentation;
-import com.intellij.psi.NavigatablePsiElement;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.pom.Navigatable;
+import com.intellij.psi.PsiElement;
 import org.jetbrains.annotations.NotNull;
-
-import java.util.stream.Stream;
-
-import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * Element in the structure view of an Ada file.
+ * Element in the structure view of an Ada file, representing either
+ * the file itself or a symbol of the symbol tree of the file.
+ *
+ * @see AdaSymbolTree
  */
 public final class AdaStructureViewElement implements StructureViewTreeElement, SortableTreeElement {
 
 	/**
-	 * The PSI element that this structure view element represents.
+	 * The file in which the symbol of this element is declared, or that
+	 * this element represents if it has no symbol.
+	 */
+	private final AdaPsiFile FILE;
+
+	/**
+	 * The symbol that this element represents, or null if this is the
+	 * root element representing the file itself.
+	 */
+	private final AdaSymbolTree.Symbol SYMBOL;
+
+	/**
+	 * Constructs a new root AdaStructureViewElement given a PSI file.
+	 *
+	 * @param file The PSI file represented by the constructed
+	 *             structure view element.
 	 */
-	private final NavigatablePsiElement element;
+	AdaStructureViewElement(@NotNull AdaPsiFile file) { this(file, null); }
 
 	/**
-	 * Constructs a new AdaStructureViewElement given a PSI
-	 * element.
+	 * Constructs a new AdaStructureViewElement given a PSI file and a
+	 * symbol declared in it.
 	 *
-	 * @param element The PSI element represented by the
-	 *                constructed structure view element.
+	 * @param file The PSI file in which the symbol is declared.
+	 * @param symbol The symbol represented by the constructed
+	 *               structure view element, or null.
 	 */
-	AdaStructureViewElement(@NotNull NavigatablePsiElement element) {
-		this.element = element;
+	private AdaStructureViewElement(@NotNull AdaPsiFile file, @Nullable AdaSymbolTree.Symbol symbol) {
+		FILE   = file;
+		SYMBOL = symbol;
 	}
 
 	/**
+	 * Returns the value of this element, namely the file if this is the
+	 * root element, or the element of the name of the symbol of this
+	 * element if it can be found, or the symbol itself otherwise.
+	 *
 	 * @see com.intellij.ide.structureView.StructureViewTreeElement#getValue()
 	 */
 	@Override
-	public Object getValue() { return element; }
+	public Object getValue() {
+
+		if (SYMBOL == null) { return FILE; }
+
+		PsiElement element = SYMBOL.getElement(FILE);
+
+		return element == null ? SYMBOL : element;
+
+	}
 
 	/**
-	 * Returns a string representing this element when sorting.
+	 * Returns a string representing this element when sorting, namely
+	 * the lowercase name of this element's symbol, so that elements are
+	 * sorted regardless of case.
 	 *
 	 * @return This element's sorting key.
 	 */
 	@NotNull
 	@Override
-	public String getAlphaSortKey() { return element.getText(); }
+	public String getAlphaSortKey() {
+		return SYMBOL == null ? FILE.getName() :
+			AdaIdentifierName.lowercase(SYMBOL.NAME, 0, SYMBOL.NAME.length());
+	}
 
 	/**
 	 * @see com.intellij.ide.util.treeView.smartTree.TreeElement#getPresentation()
@@ -56,50 +92,58 @@ public final class AdaStructureViewElement implements StructureViewTreeElement,
 	@NotNull
 	@Override
 	public ItemPresentation getPresentation() {
-		return new AdaStructureItemPresentation(element);
+		return SYMBOL == null ?
+			new AdaStructureItemPresentation(FILE) : new AdaStructureItemPresentation(SYMBOL);
 	}
 
 	/**
-	 * @see com.intellij.ide.util.treeView.smartTree.TreeElement#getChildren()
+	 * Returns the elements representing the children of this element's
+	 * symbol, or the top-level symbols of the file if this is the root
+	 * element. The symbols are read from the cached symbol tree of the
+	 * file, and the children of a symbol are only computed when this
+	 * method is called, namely when the element is expanded.
 	 *
-	 * Makes a `textDocument/documentSymbol` request to the ALS to get
-	 * the list of symbols in the given document, and returns them.
+	 * @see com.intellij.ide.util.treeView.smartTree.TreeElement#getChildren()
 	 */
 	@NotNull
 	@Override
 	public TreeElement[] getChildren() {
 
-		// If this element is not the root element representing
-		// the file itself, then return no children
+		AdaSymbolTree.Symbol[] symbols = SYMBOL == null ?
+			AdaSymbolTree.forFile(FILE).getRoots() : SYMBOL.getChildren();
 
-		if (!(element instanceof AdaPsiFile)) { return TreeElement.EMPTY_ARRAY; }
+		if (symbols.length == 0) { return TreeElement.EMPTY_ARRAY; }
 
-		// Filter this element's children by Ada element type,
-		// map them to `AdaStructureViewElement` and return them
+		TreeElement[] children = new TreeElement[symbols.length];
 
-		return Stream.of(element.getChildren())
-			.filter(element -> {
+		for (int i = 0 ; i < symbols.length ; i++) {
+			children[i] = new AdaStructureViewElement(FILE, symbols[i]);
+		}
 
-				if (element == null) { return false; }
+		return children;
 
-				AdaPsiElement adaPsiElement = AdaPsiElement.getFrom(element);
+	}
+
+	/**
+	 * Returns a navigatable to the name of this element's symbol, or to
+	 * the file if this is the root element, or null if there is no
+	 * such navigatable.
+	 *
+	 * @return A navigatable to this element, or null.
+	 */
+	@Nullable
+	private Navigatable getNavigatable() {
 
-				if (!(adaPsiElement instanceof AdaPsiReference)) { return false; }
+		if (SYMBOL == null) { return FILE; }
 
-				AdaElementType elementType = adaPsiElement.getAdaElementType();
+		Object value = getValue();
 
-				return
-					elementType == AdaElementType.PACKAGE_SPEC_IDENTIFIER ||
-					elementType == AdaElementType.PACKAGE_BODY_IDENTIFIER ||
-					elementType == AdaElementType.TYPE_IDENTIFIER         ||
-					elementType == AdaElementType.CONSTANT_IDENTIFIER     ||
-					elementType == AdaElementType.VARIABLE_IDENTIFIER     ||
-					elementType == AdaElementType.PROCEDURE_IDENTIFIER    ||
-					elementType == AdaElementType.FUNCTION_IDENTIFIER;
+		if (value instanceof Navigatable) { return (Navigatable)value; }
 
-			})
-			.map(element -> new AdaStructureViewElement((AdaPsiReference)element))
-			.toArray(TreeElement[]::new);
+		VirtualFile virtualFile = FILE.getVirtualFile();
+
+		return virtualFile == null ? null : PsiNavigationSupport.getInstance()
+			.createNavigatable(FILE.getProject(), virtualFile, SYMBOL.getOffset());
 
 	}
 
@@ -107,18 +151,36 @@ public final class AdaStructureViewElement implements StructureViewTreeElement,
 	 * @see com.intellij.pom.Navigatable#navigate(boolean)
 	 */
 	@Override
-	public void navigate(boolean requestFocus) { element.navigate(requestFocus); }
+	public void navigate(boolean requestFocus) {
+
+		Navigatable navigatable = getNavigatable();
+
+		if (navigatable != null) { navigatable.navigate(requestFocus); }
+
+	}
 
 	/**
 	 * @see com.intellij.pom.Navigatable#canNavigate()
 	 */
 	@Override
-	public boolean canNavigate() { return element.canNavigate(); }
+	public boolean canNavigate() {
+
+		Navigatable navigatable = getNavigatable();
+
+		return navigatable != null && navigatable.canNavigate();
+
+	}
 
 	/**
 	 * @see com.intellij.pom.Navigatable#canNavigateToSource()
 	 */
 	@Override
-	public boolean canNavigateToSource() { return element.canNavigateToSource(); }
+	public boolean canNavigateToSource() {
+
+		Navigatable navigatable = getNavigatable();
+
+		return navigatable != null && navigatable.canNavigateToSource();
+
+	}
 
 }
@@ -1,10 +1,10 @@
 package com.adacore.adaintellij.analysis.syntactic.structure;
 
 import com.adacore.adaintellij.analysis.syntactic.AdaPsiElement;
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiFile;
 import com.intellij.ide.structureView.StructureViewModel;
 import com.intellij.ide.structureView.StructureViewModelBase;
 import com.intellij.ide.structureView.StructureViewTreeElement;
-import com.intellij.psi.PsiFile;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -20,7 +20,7 @@ public final class AdaStructureViewModel extends StructureViewModelBase
 	 * @param psiFile The PSI file represented by the constructed
 	 *                model.
 	 */
-	AdaStructureViewModel(@NotNull PsiFile psiFile) {
+	AdaStructureViewModel(@NotNull AdaPsiFile psiFile) {
 		super(psiFile, new AdaStructureViewElement(psiFile));
 	}
 
@@ -0,0 +1,275 @@
+package com.adacore.adaintellij.analysis.syntactic.structure;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Interval tree of the declarations of the symbols of a symbol tree,
+ * answering which symbols enclose a given offset of a document.
+ * <p>
+ * The declarations of Ada symbols are properly nested: two of them
+ * either are disjoint or one contains the other. The intervals are
+ * therefore stored in preorder, sorted by start offset, along with the
+ * index of the innermost interval enclosing each of them. The innermost
+ * interval enclosing an offset is then the interval starting last at
+ * or before that offset, or one of its enclosing intervals, so that
+ * it is found by a binary search followed by a climb of at most the
+ * nesting depth of the declarations.
+ *
+ * @see AdaSymbolTree#getIntervals()
+ */
+public final class AdaSymbolIntervalTree {
+
+	/**
+	 * Orders symbols by the start offset of their declarations.
+	 */
+	private static final Comparator<AdaSymbolTree.Symbol> START_ORDER =
+		Comparator.comparingInt(AdaSymbolTree.Symbol::getStartOffset);
+
+	/**
+	 * The symbols of the intervals, in preorder.
+	 */
+	private final AdaSymbolTree.Symbol[] SYMBOLS;
+
+	/**
+	 * The start offsets of the intervals, in ascending order.
+	 */
+	private final int[] STARTS;
+
+	/**
+	 * The end offsets of the intervals.
+	 */
+	private final int[] ENDS;
+
+	/**
+	 * The indexes of the enclosing intervals of the intervals, or -1
+	 * for top-level intervals.
+	 */
+	private final int[] PARENTS;
+
+	/**
+	 * The number of intervals in this tree.
+	 */
+	private final int SIZE;
+
+	/**
+	 * Constructs a new interval tree given its intervals.
+	 *
+	 * @param symbols The symbols of the intervals.
+	 * @param starts The start offsets of the intervals.
+	 * @param ends The end offsets of the intervals.
+	 * @param parents The indexes of the enclosing intervals.
+	 * @param size The number of intervals.
+	 */
+	private AdaSymbolIntervalTree(
+		@NotNull AdaSymbolTree.Symbol[] symbols,
+		@NotNull int[]                  starts,
+		@NotNull int[]                  ends,
+		@NotNull int[]                  parents,
+		         int                    size
+	) {
+		SYMBOLS = symbols;
+		STARTS  = starts;
+		ENDS    = ends;
+		PARENTS = parents;
+		SIZE    = size;
+	}
+
+	/**
+	 * Returns the interval tree of the given symbols and of all their
+	 * descendants.
+	 *
+	 * @param roots The top-level symbols.
+	 * @return The interval tree of the symbols.
+	 */
+	@NotNull
+	static AdaSymbolIntervalTree of(@NotNull AdaSymbolTree.Symbol[] roots) {
+
+		Builder builder = new Builder();
+
+		builder.addAll(roots, -1);
+
+		return new AdaSymbolIntervalTree(
+			builder.symbols, builder.starts, builder.ends, builder.parents, builder.size);
+
+	}
+
+	/**
+	 * Returns the number of intervals in this tree.
+	 *
+	 * @return The number of intervals.
+	 */
+	public int size() { return SIZE; }
+
+	/**
+	 * Returns the symbol of the given interval.
+	 *
+	 * @param index The index of the interval.
+	 * @return The symbol of the interval.
+	 */
+	@NotNull
+	public AdaSymbolTree.Symbol getSymbol(int index) { return SYMBOLS[index]; }
+
+	/**
+	 * Returns the index of the innermost interval enclosing the given
+	 * interval, or -1 if it is a top-level interval.
+	 *
+	 * @param index The index of the interval.
+	 * @return The index of the enclosing interval, or -1.
+	 */
+	public int getParent(int index) { return PARENTS[index]; }
+
+	/**
+	 * Returns the index of the innermost interval enclosing the given
+	 * offset, or -1 if no interval encloses it. Intervals include
+	 * their end offset, so that an offset right after a declaration
+	 * is still in that declaration.
+	 *
+	 * @param offset The offset.
+	 * @return The index of the innermost enclosing interval, or -1.
+	 */
+	public int indexAt(int offset) {
+
+		// Find the last interval starting at or before the offset
+
+		int low  = 0;
+		int high = SIZE - 1;
+
+		while (low <= high) {
+
+			int middle = (low + high) >>> 1;
+
+			if (STARTS[middle] <= offset) { low = middle + 1; }
+			else { high = middle - 1; }
+
+		}
+
+		// Climb up to the first interval that encloses the offset
+
+		int index = high;
+
+		while (index >= 0 && ENDS[index] < offset) { index = PARENTS[index]; }
+
+		return index;
+
+	}
+
+	/**
+	 * Returns the symbols enclosing the given offset, from the outermost
+	 * one to the innermost one.
+	 *
+	 * @param offset The offset.
+	 * @return The symbols enclosing the offset.
+	 */
+	@NotNull
+	public AdaSymbolTree.Symbol[] symbolsAt(int offset) {
+
+		int depth = 0;
+
+		for (int index = indexAt(offset) ; index >= 0 ; index = PARENTS[index]) { depth++; }
+
+		AdaSymbolTree.Symbol[] symbols = new AdaSymbolTree.Symbol[depth];
+
+		for (int index = indexAt(offset) ; index >= 0 ; index = PARENTS[index]) {
+			symbols[--depth] = SYMBOLS[index];
+		}
+
+		return symbols;
+
+	}
+
+	/**
+	 * Builder of the intervals of an interval tree, walking a symbol
+	 * tree in preorder.
+	 */
+	private static final class Builder {
+
+		/**
+		 * The symbols, start offsets, end offsets and enclosing interval
+		 * indexes of the intervals added so far.
+		 */
+		private AdaSymbolTree.Symbol[] symbols = new AdaSymbolTree.Symbol[16];
+		private int[]                  starts  = new int[16];
+		private int[]                  ends    = new int[16];
+		private int[]                  parents = new int[16];
+
+		/**
+		 * The number of intervals added so far.
+		 */
+		private int size = 0;
+
+		/**
+		 * Adds the intervals of the given symbols and of their children,
+		 * sorted by start offset, with the given enclosing interval.
+		 *
+		 * @param children The symbols to add.
+		 * @param parent The index of their enclosing interval, or -1.
+		 */
+		void addAll(@NotNull AdaSymbolTree.Symbol[] children, int parent) {
+
+			AdaSymbolTree.Symbol[] sorted = children.clone();
+
+			Arrays.sort(sorted, START_ORDER);
+
+			for (AdaSymbolTree.Symbol symbol : sorted) {
+
+				int index = add(symbol, parent);
+
+				if (index >= 0) { addAll(symbol.getChildren(), index); }
+
+			}
+
+		}
+
+		/**
+		 * Adds the interval of the given symbol with the given enclosing
+		 * interval, unless it is empty, is not within its enclosing
+		 * interval or overlaps the previous interval (which would break
+		 * the order of the intervals), and returns its index.
+		 *
+		 * @param symbol The symbol to add.
+		 * @param parent The index of its enclosing interval, or -1.
+		 * @return The index of the interval, or -1 if it was not added.
+		 */
+		private int add(@NotNull AdaSymbolTree.Symbol symbol, int parent) {
+
+			int start = symbol.getStartOffset();
+			int end   = symbol.getEndOffset();
+
+			if (end <= start ||
+				(parent >= 0 && (start < starts[parent] || end > ends[parent])) ||
+				(size > 0 && start < starts[size - 1]))
+			{
+				return -1;
+			}
+
+			if (size == starts.length) { grow(); }
+
+			symbols[size] = symbol;
+			starts[size]  = start;
+			ends[size]    = end;
+			parents[size] = parent;
+
+			return size++;
+
+		}
+
+		/**
+		 * Doubles the capacity of the arrays of this builder.
+		 */
+		private void grow() {
+
+			int capacity = starts.length * 2;
+
+			symbols = Arrays.copyOf(symbols, capacity);
+			starts  = Arrays.copyOf(starts, capacity);
+			ends    = Arrays.copyOf(ends, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+
+		}
+
+	}
+
+}
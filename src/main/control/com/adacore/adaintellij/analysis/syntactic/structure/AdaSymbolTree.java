@@ -0,0 +1,1063 @@
+package com.adacore.adaintellij.analysis.syntactic.structure;
+
+import com.adacore.adaintellij.Utils;
+import com.adacore.adaintellij.analysis.syntactic.AdaDeclarationPsiElement;
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiFile;
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiReference;
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiStructureManager;
+import com.adacore.adaintellij.analysis.syntactic.stubs.AdaDeclarationElementType;
+import com.adacore.adaintellij.lsp.LSPUtils;
+import com.adacore.adaintellij.misc.cache.CacheKey;
+import com.adacore.adaintellij.misc.cache.CacheResult;
+import com.adacore.adaintellij.misc.cache.Cacher;
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
+import static com.adacore.adaintellij.analysis.syntactic.AdaSyntaxElementTypes.GENERIC_DECLARATION;
+
+/**
+ * Hierarchical tree of the symbols declared in an Ada file, from which
+ * the structure view of the file is built.
+ * The tree is built from the document symbols returned by the ALS (Ada
+ * Language Server), or from the declarations of the PSI tree of the
+ * file when the ALS is not available. It is cached in the document of
+ * the file along with the modification stamps of the document and of
+ * the file, and is only built again once either of them changes.
+ * Only the top-level symbols are computed when the tree is built: the
+ * children of a symbol are computed when they are first requested,
+ * namely when the symbol is expanded in the structure view, so that
+ * building the tree costs time proportional to the symbols displayed
+ * rather than to the tokens of the file.
+ * <p>
+ * The ranges of the document edited since its tree was last built are
+ * tracked, and shifted by the edits that follow them. When the tree is
+ * built again from the declarations of the file, the symbols of the
+ * previous tree whose declarations no edit touched are reused along
+ * with the children already computed for them, so that only the
+ * declarations in the edited parts of the file are walked again.
+ */
+public final class AdaSymbolTree {
+
+	/**
+	 * Cache key for the symbol trees of documents.
+	 */
+	private static final CacheKey<AdaSymbolTree> SYMBOL_TREE_KEY = CacheKey.getNewKey();
+
+	/**
+	 * Cache key for the edited ranges of documents.
+	 */
+	private static final CacheKey<EditedRanges> EDITED_RANGES_KEY = CacheKey.getNewKey();
+
+	/**
+	 * Empty symbol array, shared by symbols without children.
+	 */
+	private static final Symbol[] NO_SYMBOLS = new Symbol[0];
+
+	/**
+	 * The modification stamp of the document when this tree was built.
+	 */
+	private final long DOCUMENT_STAMP;
+
+	/**
+	 * The modification stamp of the PSI file when this tree was built.
+	 */
+	private final long FILE_STAMP;
+
+	/**
+	 * Whether this tree was built from the document symbols returned by
+	 * the ALS, as opposed to the declarations of the PSI tree.
+	 */
+	public final boolean FROM_SERVER;
+
+	/**
+	 * Whether the ALS was queried for the symbols of this tree, which
+	 * is not the case of trees built for clients that must not wait
+	 * for the ALS.
+	 */
+	private final boolean QUERIED;
+
+	/**
+	 * The top-level symbols of this tree.
+	 */
+	private final Symbol[] ROOTS;
+
+	/**
+	 * The symbols of the previous tree reused by the symbols of this
+	 * tree.
+	 */
+	private final Reuse REUSE;
+
+	/**
+	 * The interval tree of the symbols of this tree, or null if it was
+	 * not built yet.
+	 */
+	private volatile AdaSymbolIntervalTree intervals = null;
+
+	/**
+	 * Constructs a new symbol tree given its top-level symbols.
+	 *
+	 * @param documentStamp The modification stamp of the document.
+	 * @param fileStamp The modification stamp of the PSI file.
+	 * @param fromServer Whether the symbols come from the ALS.
+	 * @param queried Whether the ALS was queried for the symbols.
+	 * @param roots The top-level symbols.
+	 * @param reuse The symbols of the previous tree reused by the symbols.
+	 */
+	private AdaSymbolTree(
+		         long     documentStamp,
+		         long     fileStamp,
+		         boolean  fromServer,
+		         boolean  queried,
+		@NotNull Symbol[] roots,
+		@NotNull Reuse    reuse
+	) {
+		DOCUMENT_STAMP = documentStamp;
+		FILE_STAMP     = fileStamp;
+		FROM_SERVER    = fromServer;
+		QUERIED        = queried;
+		ROOTS          = roots;
+		REUSE          = reuse;
+	}
+
+	/**
+	 * Returns the symbol tree of the given file, building it if it was
+	 * not built yet or if the file changed since it was last built.
+	 * The ALS is queried for the symbols of the file if it is running,
+	 * and the declarations of the PSI tree are used otherwise, or if
+	 * the ALS does not return any symbols.
+	 *
+	 * @param psiFile The file whose symbol tree to get.
+	 * @return The symbol tree of the file.
+	 */
+	@NotNull
+	public static AdaSymbolTree forFile(@NotNull AdaPsiFile psiFile) { return forFile(psiFile, true); }
+
+	/**
+	 * Returns the symbol tree of the given file, building it if it was
+	 * not built yet or if the file changed since it was last built.
+	 * If the ALS must not be queried, then the cached tree is returned
+	 * if it is up to date, whether or not it was built from the
+	 * symbols of the ALS, and a new tree is otherwise built from the
+	 * declarations of the PSI tree, so that the call never waits for
+	 * the ALS.
+	 *
+	 * @param psiFile The file whose symbol tree to get.
+	 * @param queryServer Whether the ALS may be queried.
+	 * @return The symbol tree of the file.
+	 */
+	@NotNull
+	public static AdaSymbolTree forFile(@NotNull AdaPsiFile psiFile, boolean queryServer) {
+
+		Document document = Utils.getPsiFileDocument(psiFile);
+
+		if (document == null) {
+			return fromDeclarations(psiFile.getNode(), -1, psiFile.getModificationStamp(), false, Reuse.NONE);
+		}
+
+		EditedRanges editedRanges = EditedRanges.forDocument(document);
+
+		long documentStamp = document.getModificationStamp();
+		long fileStamp     = psiFile.getModificationStamp();
+
+		// Return the cached tree if neither the document nor the
+		// file changed since it was built
+
+		CacheResult<AdaSymbolTree> cacheResult = Cacher.getCachedData(document, SYMBOL_TREE_KEY);
+
+		AdaSymbolTree cached = cacheResult.data;
+
+		if (cacheResult.hit && cached != null &&
+			cached.DOCUMENT_STAMP == documentStamp && cached.FILE_STAMP == fileStamp &&
+			(cached.QUERIED || !queryServer))
+		{
+			return cached;
+		}
+
+		// Otherwise build a new tree, from the ALS if possible
+
+		List<DocumentSymbol> symbols = queryServer ?
+			AdaPsiStructureManager.getDocumentSymbols(psiFile) : Collections.emptyList();
+
+		// Reuse the symbols of the previous tree that no edit touched,
+		// unless the PSI tree does not reflect the edits yet, in which
+		// case they are kept for the next tree
+
+		Reuse reuse = Reuse.NONE;
+
+		if (PsiDocumentManager.getInstance(psiFile.getProject()).isCommitted(document)) {
+
+			int[] edited = editedRanges.take();
+
+			if (cacheResult.hit && cached != null) {
+				cached.REUSE.release();
+				reuse = Reuse.of(cached.ROOTS, edited, document, documentStamp);
+			}
+
+		}
+
+		AdaSymbolTree tree = symbols.isEmpty() ?
+			fromDeclarations(psiFile.getNode(), documentStamp, fileStamp, queryServer, reuse) :
+			fromDocumentSymbols(symbols, document, documentStamp, fileStamp);
+
+		// Note: Trees are built outside of any lock so that a slow
+		//       ALS request does not block other threads, in which
+		//       case concurrent requests may build the same tree
+		//       twice, of which either one is kept
+
+		Cacher.cacheData(document, SYMBOL_TREE_KEY, tree);
+
+		return tree;
+
+	}
+
+	/**
+	 * Returns a new symbol tree of the given document symbols.
+	 *
+	 * @param symbols The top-level document symbols.
+	 * @param document The document in which the symbols are declared.
+	 * @param documentStamp The modification stamp of the document.
+	 * @param fileStamp The modification stamp of the PSI file.
+	 * @return The symbol tree.
+	 */
+	@NotNull
+	static AdaSymbolTree fromDocumentSymbols(
+		@NotNull List<DocumentSymbol> symbols,
+		@NotNull Document             document,
+		         long                 documentStamp,
+		         long                 fileStamp
+	) {
+		return new AdaSymbolTree(
+			documentStamp, fileStamp, true, true, ServerSymbol.of(symbols, document), Reuse.NONE);
+	}
+
+	/**
+	 * Returns a new symbol tree of the declarations in the given tree
+	 * node.
+	 *
+	 * @param root The node containing the declarations.
+	 * @param documentStamp The modification stamp of the document.
+	 * @param fileStamp The modification stamp of the PSI file.
+	 * @param queried Whether the ALS was queried for symbols.
+	 * @param reuse The symbols of the previous tree to reuse.
+	 * @return The symbol tree.
+	 */
+	@NotNull
+	private static AdaSymbolTree fromDeclarations(
+		@NotNull ASTNode root,
+		         long    documentStamp,
+		         long    fileStamp,
+		         boolean queried,
+		@NotNull Reuse   reuse
+	) {
+		return new AdaSymbolTree(documentStamp, fileStamp, false, queried, LocalSymbol.in(root, reuse), reuse);
+	}
+
+	/**
+	 * Returns the top-level symbols of this tree.
+	 *
+	 * @return The top-level symbols.
+	 */
+	@NotNull
+	public Symbol[] getRoots() { return ROOTS; }
+
+	/**
+	 * Returns the interval tree of the symbols of this tree, building
+	 * it the first time it is requested, which computes the children
+	 * of all symbols.
+	 *
+	 * @return The interval tree of this tree's symbols.
+	 */
+	@NotNull
+	public AdaSymbolIntervalTree getIntervals() {
+
+		AdaSymbolIntervalTree built = intervals;
+
+		if (built == null) { intervals = built = AdaSymbolIntervalTree.of(ROOTS); }
+
+		return built;
+
+	}
+
+	/**
+	 * Symbol in a symbol tree, namely a named declaration along with the
+	 * symbols declared in it.
+	 */
+	public abstract static class Symbol {
+
+		/**
+		 * The name of this symbol, as displayed.
+		 */
+		public final String NAME;
+
+		/**
+		 * The kind of this symbol.
+		 */
+		public final AdaElementType KIND;
+
+		/**
+		 * The children of this symbol, or null if they were not
+		 * computed yet.
+		 */
+		private volatile Symbol[] children = null;
+
+		/**
+		 * Constructs a new symbol given its name and kind.
+		 *
+		 * @param name The name of the symbol.
+		 * @param kind The kind of the symbol.
+		 */
+		private Symbol(@NotNull String name, @NotNull AdaElementType kind) {
+			NAME = name;
+			KIND = kind;
+		}
+
+		/**
+		 * Returns the symbols declared in this symbol, computing them
+		 * the first time they are requested.
+		 *
+		 * @return The children of this symbol.
+		 */
+		@NotNull
+		public final Symbol[] getChildren() {
+
+			Symbol[] computed = children;
+
+			if (computed == null) { children = computed = computeChildren(); }
+
+			return computed;
+
+		}
+
+		/**
+		 * Computes the symbols declared in this symbol.
+		 *
+		 * @return The children of this symbol.
+		 */
+		@NotNull
+		abstract Symbol[] computeChildren();
+
+		/**
+		 * Returns the offset of the name of this symbol in its document.
+		 *
+		 * @return The offset of this symbol's name.
+		 */
+		public abstract int getOffset();
+
+		/**
+		 * Returns the start offset of the whole declaration of this
+		 * symbol in its document.
+		 *
+		 * @return The start offset of this symbol's declaration.
+		 */
+		public abstract int getStartOffset();
+
+		/**
+		 * Returns the end offset of the whole declaration of this
+		 * symbol in its document.
+		 *
+		 * @return The end offset of this symbol's declaration.
+		 */
+		public abstract int getEndOffset();
+
+		/**
+		 * Returns the element of the token of the name of this symbol in
+		 * the given file, or null if there is no such element.
+		 *
+		 * @param psiFile The file in which the symbol is declared.
+		 * @return The element of this symbol's name, or null.
+		 */
+		@Nullable
+		public abstract PsiElement getElement(@NotNull AdaPsiFile psiFile);
+
+	}
+
+	/**
+	 * Symbol backed by a document symbol returned by the ALS.
+	 */
+	private static final class ServerSymbol extends Symbol {
+
+		/**
+		 * The document symbol that this symbol represents.
+		 */
+		private final DocumentSymbol SYMBOL;
+
+		/**
+		 * The document in which this symbol is declared.
+		 */
+		private final Document DOCUMENT;
+
+		/**
+		 * The offset of the name of this symbol.
+		 */
+		private final int OFFSET;
+
+		/**
+		 * The start offset of the declaration of this symbol.
+		 */
+		private final int START_OFFSET;
+
+		/**
+		 * The end offset of the declaration of this symbol.
+		 */
+		private final int END_OFFSET;
+
+		/**
+		 * Constructs a new server symbol given a document symbol.
+		 *
+		 * @param symbol The document symbol.
+		 * @param document The document in which the symbol is declared.
+		 */
+		private ServerSymbol(@NotNull DocumentSymbol symbol, @NotNull Document document) {
+
+			super(symbol.getName(), kindOf(symbol));
+
+			SYMBOL       = symbol;
+			DOCUMENT     = document;
+			OFFSET       = LSPUtils.positionToOffset(document, symbol.getSelectionRange().getStart());
+			START_OFFSET = LSPUtils.positionToOffset(document, symbol.getRange().getStart());
+			END_OFFSET   = LSPUtils.positionToOffset(document, symbol.getRange().getEnd());
+
+		}
+
+		/**
+		 * Returns the symbols representing the given document symbols.
+		 *
+		 * @param symbols The document symbols, or null.
+		 * @param document The document in which the symbols are declared.
+		 * @return The symbols.
+		 */
+		@NotNull
+		static Symbol[] of(@Nullable List<DocumentSymbol> symbols, @NotNull Document document) {
+
+			if (symbols == null || symbols.isEmpty()) { return NO_SYMBOLS; }
+
+			Symbol[] result = new Symbol[symbols.size()];
+
+			for (int i = 0 ; i < result.length ; i++) {
+				result[i] = new ServerSymbol(symbols.get(i), document);
+			}
+
+			return result;
+
+		}
+
+		/**
+		 * Returns the kind of the given document symbol.
+		 *
+		 * @param symbol The document symbol.
+		 * @return The kind of the symbol.
+		 */
+		@NotNull
+		private static AdaElementType kindOf(@NotNull DocumentSymbol symbol) {
+
+			AdaElementType kind = LSPUtils.symbolKindToAdaElementType(symbol);
+
+			return kind == null ? AdaElementType.OTHER : kind;
+
+		}
+
+		/**
+		 * @see AdaSymbolTree.Symbol#computeChildren()
+		 */
+		@NotNull
+		@Override
+		Symbol[] computeChildren() { return of(SYMBOL.getChildren(), DOCUMENT); }
+
+		/**
+		 * @see AdaSymbolTree.Symbol#getOffset()
+		 */
+		@Override
+		public int getOffset() { return OFFSET; }
+
+		/**
+		 * @see AdaSymbolTree.Symbol#getStartOffset()
+		 */
+		@Override
+		public int getStartOffset() { return START_OFFSET; }
+
+		/**
+		 * @see AdaSymbolTree.Symbol#getEndOffset()
+		 */
+		@Override
+		public int getEndOffset() { return END_OFFSET; }
+
+		/**
+		 * @see AdaSymbolTree.Symbol#getElement(AdaPsiFile)
+		 */
+		@Nullable
+		@Override
+		public PsiElement getElement(@NotNull AdaPsiFile psiFile) {
+			return AdaPsiReference.findAt(psiFile, DOCUMENT, OFFSET);
+		}
+
+	}
+
+	/**
+	 * Symbol backed by a declaration in the PSI tree of the file.
+	 */
+	private static final class LocalSymbol extends Symbol {
+
+		/**
+		 * The declaration that this symbol represents.
+		 */
+		private final AdaDeclarationPsiElement DECLARATION;
+
+		/**
+		 * The symbols of the previous tree that the children of this
+		 * symbol may reuse.
+		 */
+		private final Reuse REUSE;
+
+		/**
+		 * Constructs a new local symbol given a declaration.
+		 *
+		 * @param declaration The declaration.
+		 * @param names The names declared by the declaration.
+		 * @param reuse The symbols of the previous tree to reuse.
+		 */
+		private LocalSymbol(
+			@NotNull AdaDeclarationPsiElement declaration,
+			@NotNull String[]                 names,
+			@NotNull Reuse                    reuse
+		) {
+			super(String.join(", ", names), declaration.getKind());
+			DECLARATION = declaration;
+			REUSE       = reuse;
+		}
+
+		/**
+		 * Returns the symbols of the declarations in the given tree
+		 * node, not including the declarations nested in them.
+		 * The formal parameters of a generic unit are declared in that
+		 * unit, so only the unit itself is found in a generic
+		 * declaration.
+		 *
+		 * @param parent The node containing the declarations.
+		 * @param reuse The symbols of the previous tree to reuse.
+		 * @return The symbols of the declarations.
+		 */
+		@NotNull
+		static Symbol[] in(@NotNull ASTNode parent, @NotNull Reuse reuse) {
+
+			List<Symbol> symbols = new ArrayList<>();
+
+			collect(parent, null, symbols, reuse);
+
+			return symbols.isEmpty() ? NO_SYMBOLS : symbols.toArray(NO_SYMBOLS);
+
+		}
+
+		/**
+		 * Collects the symbols of the declarations in the given tree
+		 * node that precede the given node, if any, in the given list.
+		 *
+		 * @param parent The node containing the declarations.
+		 * @param end The child of the node at which to stop, or null.
+		 * @param symbols The list in which to collect the symbols.
+		 * @param reuse The symbols of the previous tree to reuse.
+		 */
+		private static void collect(
+			@NotNull  ASTNode      parent,
+			@Nullable ASTNode      end,
+			@NotNull  List<Symbol> symbols,
+			@NotNull  Reuse        reuse
+		) {
+
+			for (ASTNode child = parent.getFirstChildNode() ; child != end ; child = child.getTreeNext()) {
+
+				// Leaf tokens contain no declarations
+
+				if (child.getFirstChildNode() == null) { continue; }
+
+				// Only keep the unit of a generic declaration
+
+				if (child.getElementType() == GENERIC_DECLARATION) {
+
+					ASTNode unit = child.getLastChildNode();
+
+					while (unit != null && !(unit.getElementType() instanceof AdaDeclarationElementType)) {
+						unit = unit.getTreePrev();
+					}
+
+					if (unit != null) { add(unit, symbols, reuse); }
+
+				}
+
+				// Do not look into declarations, the declarations of
+				// which are their own children
+
+				else if (child.getElementType() instanceof AdaDeclarationElementType) {
+					add(child, symbols, reuse);
+				}
+
+				// Look into other syntax elements, such as declarative
+				// parts and statements
+
+				else { collect(child, null, symbols, reuse); }
+
+			}
+
+		}
+
+		/**
+		 * Adds the symbol of the given declaration node to the given
+		 * list, if it is a named declaration of a known kind, reusing
+		 * the symbol of the previous tree for that declaration if no
+		 * edit touched it.
+		 *
+		 * @param node The declaration node.
+		 * @param symbols The list to which to add the symbol.
+		 * @param reuse The symbols of the previous tree to reuse.
+		 */
+		private static void add(
+			@NotNull ASTNode      node,
+			@NotNull List<Symbol> symbols,
+			@NotNull Reuse        reuse
+		) {
+
+			PsiElement element = node.getPsi();
+
+			if (!(element instanceof AdaDeclarationPsiElement)) { return; }
+
+			AdaDeclarationPsiElement declaration = (AdaDeclarationPsiElement)element;
+
+			LocalSymbol reused = reuse.take(declaration);
+
+			if (reused != null) {
+				symbols.add(reused);
+				return;
+			}
+
+			String[] names = declaration.getNames();
+
+			if (names.length == 0 || declaration.getKind() == AdaElementType.OTHER) { return; }
+
+			symbols.add(new LocalSymbol(declaration, names, reuse));
+
+		}
+
+		/**
+		 * @see AdaSymbolTree.Symbol#computeChildren()
+		 */
+		@NotNull
+		@Override
+		Symbol[] computeChildren() {
+
+			if (!DECLARATION.isValid()) { return NO_SYMBOLS; }
+
+			ASTNode node   = DECLARATION.getNode();
+			ASTNode parent = node.getTreeParent();
+
+			List<Symbol> symbols = new ArrayList<>();
+
+			// The formal parameters of a generic unit precede it in
+			// its generic declaration
+
+			if (parent != null && parent.getElementType() == GENERIC_DECLARATION) {
+				collect(parent, node, symbols, REUSE);
+			}
+
+			collect(node, null, symbols, REUSE);
+
+			return symbols.isEmpty() ? NO_SYMBOLS : symbols.toArray(NO_SYMBOLS);
+
+		}
+
+		/**
+		 * @see AdaSymbolTree.Symbol#getOffset()
+		 */
+		@Override
+		public int getOffset() {
+
+			PsiElement element = getNameElement();
+
+			return element == null ? DECLARATION.getTextOffset() : element.getTextOffset();
+
+		}
+
+		/**
+		 * @see AdaSymbolTree.Symbol#getStartOffset()
+		 */
+		@Override
+		public int getStartOffset() { return declarationNodeOf(DECLARATION).getStartOffset(); }
+
+		/**
+		 * @see AdaSymbolTree.Symbol#getEndOffset()
+		 */
+		@Override
+		public int getEndOffset() { return declarationNodeOf(DECLARATION).getTextRange().getEndOffset(); }
+
+		/**
+		 * @see AdaSymbolTree.Symbol#getElement(AdaPsiFile)
+		 */
+		@Nullable
+		@Override
+		public PsiElement getElement(@NotNull AdaPsiFile psiFile) { return getNameElement(); }
+
+		/**
+		 * Returns the node of the whole given declaration, including the
+		 * generic part of a generic unit.
+		 *
+		 * @param declaration The declaration.
+		 * @return The node of the whole declaration.
+		 */
+		@NotNull
+		static ASTNode declarationNodeOf(@NotNull AdaDeclarationPsiElement declaration) {
+
+			ASTNode node   = declaration.getNode();
+			ASTNode parent = node.getTreeParent();
+
+			return parent != null && parent.getElementType() == GENERIC_DECLARATION ? parent : node;
+
+		}
+
+		/**
+		 * Returns the element of the token of the first name declared by
+		 * the declaration of this symbol, or null if the declaration is
+		 * no longer valid or no longer declares any names.
+		 *
+		 * @return The element of this symbol's name, or null.
+		 */
+		@Nullable
+		private PsiElement getNameElement() {
+
+			if (!DECLARATION.isValid()) { return null; }
+
+			String[] names = DECLARATION.getNames();
+
+			return names.length == 0 ? null : DECLARATION.getNameIdentifier(names[0]);
+
+		}
+
+	}
+
+
+	/**
+	 * Symbols of a previous tree of a document whose declarations no
+	 * edit touched since that tree was built, keyed by the ranges of
+	 * their declarations. Reusing them is only possible while the
+	 * document is in the state for which the new tree was built, after
+	 * which they are released.
+	 */
+	private static final class Reuse {
+
+		/**
+		 * Empty set of reusable symbols.
+		 */
+		static final Reuse NONE = new Reuse(null, -1, Collections.emptyMap());
+
+		/**
+		 * The document of the symbols, or null.
+		 */
+		private final Document DOCUMENT;
+
+		/**
+		 * The modification stamp of the document for which the symbols
+		 * can be reused.
+		 */
+		private final long STAMP;
+
+		/**
+		 * The reusable symbols, keyed by the start and end offsets of
+		 * their declarations combined in a single long value.
+		 */
+		private volatile Map<Long, LocalSymbol> symbols;
+
+		/**
+		 * Constructs a new set of reusable symbols.
+		 *
+		 * @param document The document of the symbols.
+		 * @param stamp The modification stamp of the document.
+		 * @param symbols The reusable symbols, keyed by range.
+		 */
+		private Reuse(
+			@Nullable Document               document,
+			          long                   stamp,
+			@NotNull  Map<Long, LocalSymbol> symbols
+		) {
+			DOCUMENT     = document;
+			STAMP        = stamp;
+			this.symbols = symbols;
+		}
+
+		/**
+		 * Returns the reusable symbols among the given symbols of a
+		 * previous tree and their computed children, given the ranges
+		 * of the document edited since that tree was built.
+		 *
+		 * @param roots The top-level symbols of the previous tree.
+		 * @param edited The edited ranges of the document.
+		 * @param document The document of the tree.
+		 * @param stamp The modification stamp of the document.
+		 * @return The reusable symbols.
+		 */
+		@NotNull
+		static Reuse of(
+			@NotNull Symbol[] roots,
+			@NotNull int[]    edited,
+			@NotNull Document document,
+			         long     stamp
+		) {
+
+			Map<Long, LocalSymbol> symbols = new HashMap<>();
+
+			collect(roots, edited, symbols);
+
+			return symbols.isEmpty() ? NONE : new Reuse(document, stamp, symbols);
+
+		}
+
+		/**
+		 * Collects the given symbols that no edit touched in the given
+		 * map, and looks for such symbols among the computed children
+		 * of the others.
+		 *
+		 * @param symbols The symbols.
+		 * @param edited The edited ranges of the document.
+		 * @param reusable The map in which to collect the symbols.
+		 */
+		private static void collect(
+			@NotNull Symbol[]               symbols,
+			@NotNull int[]                  edited,
+			@NotNull Map<Long, LocalSymbol> reusable
+		) {
+
+			for (Symbol symbol : symbols) {
+
+				if (!(symbol instanceof LocalSymbol)) { continue; }
+
+				AdaDeclarationPsiElement declaration = ((LocalSymbol)symbol).DECLARATION;
+
+				if (!declaration.isValid()) { continue; }
+
+				TextRange range = LocalSymbol.declarationNodeOf(declaration).getTextRange();
+
+				if (!EditedRanges.touch(edited, range.getStartOffset(), range.getEndOffset())) {
+					reusable.put(key(range), (LocalSymbol)symbol);
+					continue;
+				}
+
+				Symbol[] children = symbol.children;
+
+				if (children != null) { collect(children, edited, reusable); }
+
+			}
+
+		}
+
+		/**
+		 * Returns the reusable symbol of the given declaration, or null
+		 * if there is none or if the document changed since the
+		 * symbols were found reusable.
+		 *
+		 * @param declaration The declaration.
+		 * @return The reusable symbol of the declaration, or null.
+		 */
+		@Nullable
+		LocalSymbol take(@NotNull AdaDeclarationPsiElement declaration) {
+
+			Map<Long, LocalSymbol> reusable = symbols;
+
+			if (reusable.isEmpty()) { return null; }
+
+			if (DOCUMENT == null || DOCUMENT.getModificationStamp() != STAMP) {
+				release();
+				return null;
+			}
+
+			LocalSymbol symbol = reusable.get(key(LocalSymbol.declarationNodeOf(declaration).getTextRange()));
+
+			return symbol != null && symbol.DECLARATION == declaration ? symbol : null;
+
+		}
+
+		/**
+		 * Releases the reusable symbols, so that the previous tree can
+		 * be garbage-collected.
+		 */
+		void release() { symbols = Collections.emptyMap(); }
+
+		/**
+		 * Returns the key of the given range in reusable symbol maps.
+		 *
+		 * @param range The range.
+		 * @return The key of the range.
+		 */
+		private static long key(@NotNull TextRange range) {
+			return ((long)range.getStartOffset() << 32) | range.getEndOffset();
+		}
+
+	}
+
+	/**
+	 * Ranges of a document edited since its symbol tree was last built,
+	 * as pairs of start and end offsets in the current text of the
+	 * document. Edits shift the ranges that follow them and merge the
+	 * ranges they overlap into the range of their new text.
+	 */
+	private static final class EditedRanges {
+
+		/**
+		 * Empty range array, for documents without edits.
+		 */
+		private static final int[] NO_RANGES = new int[0];
+
+		/**
+		 * The current edited ranges.
+		 */
+		private int[] ranges = NO_RANGES;
+
+		/**
+		 * Constructs a new empty set of edited ranges given a document,
+		 * and starts tracking the changes of that document.
+		 *
+		 * @param document The document whose edits to track.
+		 */
+		private EditedRanges(@NotNull Document document) {
+
+			document.addDocumentListener(new DocumentListener() {
+
+				/**
+				 * @see com.intellij.openapi.editor.event.DocumentListener#documentChanged(DocumentEvent)
+				 */
+				@Override
+				public void documentChanged(@NotNull DocumentEvent event) {
+					synchronized (EditedRanges.this) {
+						ranges = shifted(ranges, event.getOffset(), event.getOldLength(), event.getNewLength());
+					}
+				}
+
+			});
+
+		}
+
+		/**
+		 * Returns the edited ranges of the given document, creating them
+		 * if necessary.
+		 *
+		 * @param document The document.
+		 * @return The edited ranges of the document.
+		 */
+		@NotNull
+		static EditedRanges forDocument(@NotNull Document document) {
+
+			synchronized (EDITED_RANGES_KEY) {
+
+				CacheResult<EditedRanges> cacheResult = Cacher.getCachedData(document, EDITED_RANGES_KEY);
+
+				if (cacheResult.hit && cacheResult.data != null) { return cacheResult.data; }
+
+				EditedRanges editedRanges = new EditedRanges(document);
+
+				Cacher.cacheData(document, EDITED_RANGES_KEY, editedRanges);
+
+				return editedRanges;
+
+			}
+
+		}
+
+		/**
+		 * Returns the current edited ranges and clears them.
+		 *
+		 * @return The edited ranges.
+		 */
+		@NotNull
+		synchronized int[] take() {
+
+			int[] taken = ranges;
+
+			ranges = NO_RANGES;
+
+			return taken;
+
+		}
+
+		/**
+		 * Returns whether the given range overlaps or touches any of the
+		 * given edited ranges.
+		 *
+		 * @param ranges The edited ranges.
+		 * @param start The start offset of the range.
+		 * @param end The end offset of the range.
+		 * @return Whether the range was touched by an edit.
+		 */
+		static boolean touch(@NotNull int[] ranges, int start, int end) {
+
+			for (int i = 0 ; i < ranges.length ; i += 2) {
+				if (end >= ranges[i] && start <= ranges[i + 1]) { return true; }
+			}
+
+			return false;
+
+		}
+
+		/**
+		 * Returns the given edited ranges after the given change of the
+		 * document, including the range of the new text of the change.
+		 *
+		 * @param ranges The edited ranges.
+		 * @param offset The offset of the change.
+		 * @param oldLength The length of the replaced text.
+		 * @param newLength The length of the inserted text.
+		 * @return The shifted ranges.
+		 */
+		@NotNull
+		static int[] shifted(@NotNull int[] ranges, int offset, int oldLength, int newLength) {
+
+			int oldEnd = offset + oldLength;
+			int delta  = newLength - oldLength;
+
+			int editedStart = offset;
+			int editedEnd   = offset + newLength;
+
+			int[] result = new int[ranges.length + 2];
+			int   size   = 0;
+
+			for (int i = 0 ; i < ranges.length ; i += 2) {
+
+				int start = ranges[i];
+				int end   = ranges[i + 1];
+
+				// Keep the ranges preceding the change, shift the ones
+				// following it and merge the others into its range
+
+				if (end < offset) {
+					result[size++] = start;
+					result[size++] = end;
+				} else if (start > oldEnd) {
+					result[size++] = start + delta;
+					result[size++] = end + delta;
+				} else {
+					editedStart = Math.min(editedStart, start);
+					editedEnd   = Math.max(editedEnd, end > oldEnd ? end + delta : editedEnd);
+				}
+
+			}
+
+			result[size++] = editedStart;
+			result[size++] = editedEnd;
+
+			return size == result.length ? result : Arrays.copyOf(result, size);
+
+		}
+
+	}
+
+}
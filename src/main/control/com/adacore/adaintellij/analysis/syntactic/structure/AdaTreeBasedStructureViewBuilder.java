@@ -1,7 +1,6 @@
 package com.adacore.adaintellij.analysis.syntactic.structure;
 
 import com.adacore.adaintellij.analysis.syntactic.AdaPsiFile;
-import com.adacore.adaintellij.analysis.syntactic.AdaPsiStructureManager;
 import com.intellij.ide.structureView.StructureViewModel;
 import com.intellij.ide.structureView.TreeBasedStructureViewBuilder;
 import com.intellij.openapi.editor.Editor;
@@ -35,11 +34,9 @@ public final class AdaTreeBasedStructureViewBuilder extends TreeBasedStructureVi
 	@Override
 	public StructureViewModel createStructureViewModel(@Nullable Editor editor) {
 
-		// Patch the file with Ada element types
-
-		AdaPsiStructureManager.patchPsiFileElementTypes(file);
-
-		// Return a new Ada structure view model
+		// Note: The structure view is built from the symbol tree of
+		//       the file, which holds the kinds of the symbols, so the
+		//       file does not need to be patched with element types
 
 		return new AdaStructureViewModel(file);
 
@@ -0,0 +1,185 @@
+package com.adacore.adaintellij.analysis.syntactic.stubs;
+
+import com.adacore.adaintellij.AdaLanguage;
+import com.adacore.adaintellij.analysis.lexical.AdaIdentifierName;
+import com.adacore.adaintellij.analysis.syntactic.AdaDeclarationPsiElement;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.*;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IFileElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
+import static com.adacore.adaintellij.analysis.syntactic.AdaSyntaxElementTypes.*;
+
+/**
+ * Type of Ada declarations of packages, subprograms, types and objects,
+ * for which stubs are built when they are declared at library level.
+ * A declaration is at library level if it is a library unit or subunit,
+ * or if it is in the visible, private or body declarative part of a
+ * library-level package. Formal parameters of generic units, and
+ * declarations in subprogram, task, protected and entry bodies, are not
+ * at library level.
+ * <p>
+ * Each stub is indexed by the declared names in the short name index,
+ * and by their fully qualified names in the qualified name index, both
+ * in lowercase as Ada names are case-insensitive.
+ *
+ * @see AdaShortNameIndex
+ * @see AdaQualifiedNameIndex
+ */
+public final class AdaDeclarationElementType
+	extends IStubElementType<AdaDeclarationStub, AdaDeclarationPsiElement>
+{
+
+	/**
+	 * Constructs a new Ada declaration element type.
+	 *
+	 * @param debugName The name of the element type, used for debugging purposes.
+	 */
+	public AdaDeclarationElementType(@NotNull @NonNls String debugName) {
+		super(debugName, AdaLanguage.INSTANCE);
+	}
+
+	/**
+	 * @see com.intellij.psi.stubs.StubSerializer#getExternalId()
+	 */
+	@NotNull
+	@Override
+	public String getExternalId() { return "ada." + getDebugName(); }
+
+	/**
+	 * @see com.intellij.psi.stubs.IStubElementType#createPsi(StubElement)
+	 */
+	@Override
+	public AdaDeclarationPsiElement createPsi(@NotNull AdaDeclarationStub stub) {
+		return new AdaDeclarationPsiElement(stub, this);
+	}
+
+	/**
+	 * @see com.intellij.psi.stubs.IStubElementType#createStub(PsiElement, StubElement)
+	 */
+	@NotNull
+	@Override
+	public AdaDeclarationStub createStub(@NotNull AdaDeclarationPsiElement psi, StubElement parentStub) {
+		return new AdaDeclarationStub(parentStub, this, psi.getKind(), psi.getQualifier(), psi.getNames());
+	}
+
+	/**
+	 * Creates stubs only for library-level declarations that declare
+	 * names of a known kind.
+	 *
+	 * @see com.intellij.psi.stubs.IStubElementType#shouldCreateStub(ASTNode)
+	 */
+	@Override
+	public boolean shouldCreateStub(ASTNode node) {
+
+		PsiElement psi = node.getPsi();
+
+		if (!(psi instanceof AdaDeclarationPsiElement) || !isLibraryLevel(node)) { return false; }
+
+		AdaDeclarationPsiElement declaration = (AdaDeclarationPsiElement)psi;
+
+		return declaration.getKind() != AdaElementType.OTHER && declaration.getNames().length > 0;
+
+	}
+
+	/**
+	 * @see com.intellij.psi.stubs.StubSerializer#serialize(StubElement, StubOutputStream)
+	 */
+	@Override
+	public void serialize(@NotNull AdaDeclarationStub stub, @NotNull StubOutputStream dataStream)
+		throws IOException
+	{
+
+		dataStream.writeVarInt(stub.KIND.ordinal());
+		dataStream.writeName(stub.QUALIFIER);
+		dataStream.writeVarInt(stub.NAMES.length);
+
+		for (String name : stub.NAMES) { dataStream.writeName(name); }
+
+	}
+
+	/**
+	 * @see com.intellij.psi.stubs.StubSerializer#deserialize(StubInputStream, StubElement)
+	 */
+	@NotNull
+	@Override
+	public AdaDeclarationStub deserialize(@NotNull StubInputStream dataStream, StubElement parentStub)
+		throws IOException
+	{
+
+		AdaElementType kind      = AdaElementType.values()[dataStream.readVarInt()];
+		String         qualifier = dataStream.readNameString();
+		String[]       names     = new String[dataStream.readVarInt()];
+
+		for (int i = 0 ; i < names.length ; i++) { names[i] = dataStream.readNameString(); }
+
+		return new AdaDeclarationStub(parentStub, this, kind, qualifier, names);
+
+	}
+
+	/**
+	 * @see com.intellij.psi.stubs.StubSerializer#indexStub(StubElement, IndexSink)
+	 */
+	@Override
+	public void indexStub(@NotNull AdaDeclarationStub stub, @NotNull IndexSink sink) {
+
+		for (String name : stub.NAMES) {
+
+			String qualifiedName = AdaDeclarationPsiElement.qualify(stub.QUALIFIER, name);
+
+			sink.occurrence(AdaShortNameIndex.KEY, AdaIdentifierName.lowercase(name, 0, name.length()));
+			sink.occurrence(AdaQualifiedNameIndex.KEY,
+				AdaIdentifierName.lowercase(qualifiedName, 0, qualifiedName.length()));
+
+		}
+
+	}
+
+	/**
+	 * Returns a string representation of this element type.
+	 *
+	 * @return A string representation of this element type.
+	 */
+	@Override
+	public String toString() { return "AdaDeclarationElementType." + super.toString(); }
+
+	/**
+	 * Returns whether or not the given declaration node is at library
+	 * level.
+	 *
+	 * Note: Only the program units of a generic declaration are at
+	 *       library level, as opposed to its formal parameters.
+	 *
+	 * @param node The declaration node.
+	 * @return Whether or not the declaration is at library level.
+	 */
+	static boolean isLibraryLevel(@NotNull ASTNode node) {
+
+		ASTNode parent = node.getTreeParent();
+
+		if (parent == null) { return false; }
+
+		IElementType parentType = parent.getElementType();
+
+		if (parentType instanceof IFileElementType || parentType == SUBUNIT) {
+			return true;
+		} else if (parentType == PACKAGE_BODY_CONTENTS) {
+			ASTNode body = parent.getTreeParent();
+			return body != null && isLibraryLevel(body);
+		} else if (parentType == GENERIC_DECLARATION) {
+			return PROGRAM_UNIT_ELEMENT_SET.contains(node.getElementType()) && isLibraryLevel(parent);
+		} else if (parentType == PACKAGE_DECLARATION || parentType == PACKAGE_BODY) {
+			return isLibraryLevel(parent);
+		}
+
+		return false;
+
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.adacore.adaintellij.analysis.syntactic.stubs;
+
+import com.adacore.adaintellij.analysis.syntactic.AdaDeclarationPsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
+
+/**
+ * Stub of a library-level Ada declaration, holding what is needed to
+ * index and present the declaration without parsing its file.
+ */
+public final class AdaDeclarationStub extends StubBase<AdaDeclarationPsiElement> {
+
+	/**
+	 * The kind of the declaration.
+	 */
+	public final AdaElementType KIND;
+
+	/**
+	 * The qualifier of the declared names, or null.
+	 */
+	@Nullable
+	public final String QUALIFIER;
+
+	/**
+	 * The declared names, without their qualifier.
+	 */
+	@NotNull
+	public final String[] NAMES;
+
+	/**
+	 * Constructs a new declaration stub.
+	 *
+	 * @param parent The parent stub.
+	 * @param elementType The element type of the declaration.
+	 * @param kind The kind of the declaration.
+	 * @param qualifier The qualifier of the declared names.
+	 * @param names The declared names.
+	 */
+	AdaDeclarationStub(
+		StubElement       parent,
+		IStubElementType  elementType,
+		@NotNull  AdaElementType kind,
+		@Nullable String         qualifier,
+		@NotNull  String[]       names
+	) {
+		super(parent, elementType);
+		KIND      = kind;
+		QUALIFIER = qualifier;
+		NAMES     = names;
+	}
+
+}
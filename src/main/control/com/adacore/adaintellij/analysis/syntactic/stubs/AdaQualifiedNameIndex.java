@@ -0,0 +1,54 @@
+package com.adacore.adaintellij.analysis.syntactic.stubs;
+
+import com.adacore.adaintellij.analysis.lexical.AdaIdentifierName;
+import com.adacore.adaintellij.analysis.syntactic.AdaDeclarationPsiElement;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Index of library-level Ada declarations by their lowercase
+ * fully qualified declared names (e.g. `Ada.Text_IO.Put_Line`).
+ *
+ * @see AdaDeclarationElementType
+ */
+public final class AdaQualifiedNameIndex extends StringStubIndexExtension<AdaDeclarationPsiElement> {
+
+	/**
+	 * The key of this index.
+	 */
+	public static final StubIndexKey<String, AdaDeclarationPsiElement> KEY =
+		StubIndexKey.createIndexKey("ada.declaration.qualifiedName");
+
+	/**
+	 * @see com.intellij.psi.stubs.StubIndexExtension#getKey()
+	 */
+	@NotNull
+	@Override
+	public StubIndexKey<String, AdaDeclarationPsiElement> getKey() { return KEY; }
+
+	/**
+	 * Returns the library-level declarations of the given name in the
+	 * given scope, ignoring case.
+	 *
+	 * @param name The name to look for.
+	 * @param project The project in which to look for declarations.
+	 * @param scope The scope in which to look for declarations.
+	 * @return The declarations of the given name.
+	 */
+	@NotNull
+	public static Collection<AdaDeclarationPsiElement> getDeclarations(
+		@NotNull String            name,
+		@NotNull Project           project,
+		@NotNull GlobalSearchScope scope
+	) {
+		return StubIndex.getElements(KEY,
+			AdaIdentifierName.lowercase(name, 0, name.length()), project, scope, AdaDeclarationPsiElement.class);
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.adacore.adaintellij.analysis.syntactic.stubs;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.stubs.DefaultStubBuilder;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+
+import static com.adacore.adaintellij.analysis.syntactic.AdaSyntaxElementTypes.*;
+
+/**
+ * Builder of the stub trees of Ada files. Bodies in which no library
+ * level declarations can appear are skipped, so that building stubs
+ * does not parse the contents of subprogram bodies and blocks.
+ *
+ * @see AdaDeclarationElementType
+ */
+public final class AdaStubBuilder extends DefaultStubBuilder {
+
+	/**
+	 * Element set representing the constructs that never contain
+	 * library-level declarations.
+	 */
+	private static final TokenSet SKIPPED_ELEMENT_SET = TokenSet.create(
+		SUBPROGRAM_BODY_CONTENTS, BLOCK_CONTENTS,
+		TASK_DECLARATION, TASK_BODY, PROTECTED_DECLARATION, PROTECTED_BODY, ENTRY_BODY
+	);
+
+	/**
+	 * @see com.intellij.psi.stubs.DefaultStubBuilder#skipChildProcessingWhenBuildingStubs(ASTNode, ASTNode)
+	 */
+	@Override
+	public boolean skipChildProcessingWhenBuildingStubs(@NotNull ASTNode parent, @NotNull ASTNode node) {
+		return SKIPPED_ELEMENT_SET.contains(node.getElementType());
+	}
+
+}
@@ -126,6 +126,21 @@ public class AdaLSPDriverService {
         return project.getComponent(AdaLSPDriverService.class).server;
     }
 
+    /**
+     * Returns whether the given project's LSP session is initialized,
+     * namely whether the ALS is running and reporting diagnostics.
+     *
+     * @param project The project for which to check the LSP session.
+     * @return Whether the given project's LSP session is initialized.
+     */
+    public static boolean isInitialized(@NotNull Project project) {
+
+        AdaLSPDriverService driverService = project.getComponent(AdaLSPDriverService.class);
+
+        return driverService != null && driverService.initialized;
+
+    }
+
     /**
      * Prepares client text document capability settings, to be used in the parameters
      * of a client `initialize` request, and returns them.
@@ -1,8 +1,11 @@
 package com.adacore.adaintellij.misc;
 
+import com.adacore.adaintellij.Utils;
+import com.adacore.adaintellij.analysis.lexical.AdaPairTable;
 import com.adacore.adaintellij.analysis.lexical.AdaTokenTypes;
 import com.intellij.lang.BracePair;
 import com.intellij.lang.PairedBraceMatcher;
+import com.intellij.openapi.editor.Document;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.tree.IElementType;
 import org.jetbrains.annotations.NotNull;
@@ -30,8 +33,26 @@ public class AdaBraceMatcher implements PairedBraceMatcher {
         return true;
     }
 
+    /**
+     * Returns the start of the statement or declaration of the given
+     * opening parenthesis, as found in the pair table of the file's
+     * document, or the offset of the parenthesis itself if it is not
+     * part of a pair.
+     *
+     * @see com.intellij.lang.PairedBraceMatcher#getCodeConstructStart(PsiFile, int)
+     */
     @Override
     public int getCodeConstructStart(PsiFile file, int openingBraceOffset) {
-        return 0;
+
+        Document document = file == null ? null : Utils.getPsiFileDocument(file);
+
+        if (document == null) { return openingBraceOffset; }
+
+        AdaPairTable pairs = AdaPairTable.forDocument(document);
+
+        int index = pairs.openerIndexAt(openingBraceOffset);
+
+        return index >= 0 ? pairs.constructStart(index) : openingBraceOffset;
+
     }
 }
@@ -0,0 +1,136 @@
+package com.adacore.adaintellij.misc;
+
+import com.adacore.adaintellij.analysis.lexical.AdaPairTable;
+import com.adacore.adaintellij.analysis.lexical.AdaTokenTypes;
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiFile;
+import com.intellij.codeInsight.highlighting.HighlightUsagesHandlerBase;
+import com.intellij.codeInsight.highlighting.HighlightUsagesHandlerFactoryBase;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Factory of handlers highlighting the keyword pairs of Ada constructs,
+ * such as `if` and `end if`, when the caret is on one of them.
+ * <p>
+ * The platform's brace matching only handles pairs of single tokens
+ * whose types tell openers from closers, which Ada keywords do not (the
+ * `if` of `end if` closes the construct that another `if` opens), so
+ * keyword pairs are instead highlighted by this factory from the pair
+ * table of the document.
+ *
+ * @see AdaPairTable
+ * @see AdaBraceMatcher
+ */
+public final class AdaPairHighlightUsagesHandlerFactory extends HighlightUsagesHandlerFactoryBase {
+
+	/**
+	 * Returns a handler highlighting the keyword pair of the given target
+	 * element, or null if it is not a keyword of a pair.
+	 *
+	 * @see com.intellij.codeInsight.highlighting.HighlightUsagesHandlerFactoryBase#createHighlightUsagesHandler(Editor, PsiFile, PsiElement)
+	 */
+	@Nullable
+	@Override
+	public HighlightUsagesHandlerBase<PsiElement> createHighlightUsagesHandler(
+		@NotNull Editor     editor,
+		@NotNull PsiFile    file,
+		@NotNull PsiElement target
+	) {
+
+		if (!(file instanceof AdaPsiFile) || target.getNode() == null) { return null; }
+
+		// Parentheses are already highlighted by the brace matcher
+
+		IElementType type = target.getNode().getElementType();
+
+		if (type == AdaTokenTypes.LEFT_PARENTHESIS || type == AdaTokenTypes.RIGHT_PARENTHESIS) { return null; }
+
+		AdaPairTable pairs = AdaPairTable.forDocument(editor.getDocument());
+
+		int index = pairs.indexAt(target.getTextRange().getStartOffset());
+
+		return index < 0 ? null : new PairHandler(editor, file, target, pairs, index);
+
+	}
+
+	/**
+	 * Handler highlighting the opener and closer of a keyword pair.
+	 */
+	private static final class PairHandler extends HighlightUsagesHandlerBase<PsiElement> {
+
+		/**
+		 * The keyword on which highlighting was requested.
+		 */
+		private final PsiElement TARGET;
+
+		/**
+		 * The ranges of the opener and of the closer of the pair.
+		 */
+		private final TextRange OPENER;
+		private final TextRange CLOSER;
+
+		/**
+		 * Constructs a new PairHandler given an editor, a file, a target
+		 * keyword and the pair of that keyword.
+		 *
+		 * @param editor The editor in which to highlight.
+		 * @param file The file of the editor.
+		 * @param target The keyword on which highlighting was requested.
+		 * @param pairs The pair table of the editor's document.
+		 * @param index The index of the pair of the keyword.
+		 */
+		PairHandler(
+			@NotNull Editor       editor,
+			@NotNull PsiFile      file,
+			@NotNull PsiElement   target,
+			@NotNull AdaPairTable pairs,
+			         int          index
+		) {
+
+			super(editor, file);
+
+			TARGET = target;
+			OPENER = new TextRange(pairs.openStart(index), pairs.openEnd(index));
+			CLOSER = new TextRange(pairs.closeStart(index), pairs.closeEnd(index));
+
+		}
+
+		/**
+		 * @see com.intellij.codeInsight.highlighting.HighlightUsagesHandlerBase#getTargets()
+		 */
+		@NotNull
+		@Override
+		public List<PsiElement> getTargets() { return Collections.singletonList(TARGET); }
+
+		/**
+		 * @see com.intellij.codeInsight.highlighting.HighlightUsagesHandlerBase#selectTargets(List, Consumer)
+		 */
+		@Override
+		protected void selectTargets(
+			@NotNull List<PsiElement>           targets,
+			@NotNull Consumer<List<PsiElement>> selectionConsumer
+		) {
+			selectionConsumer.consume(targets);
+		}
+
+		/**
+		 * @see com.intellij.codeInsight.highlighting.HighlightUsagesHandlerBase#computeUsages(List)
+		 */
+		@Override
+		public void computeUsages(@NotNull List<PsiElement> targets) {
+			myReadUsages.add(OPENER);
+			myReadUsages.add(CLOSER);
+		}
+
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.adacore.adaintellij.file.AdaBodyFileType;
+import com.adacore.adaintellij.file.AdaSpecFileType;
+import com.adacore.adaintellij.file.GPRFileType;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.cache.impl.id.IdTableBuilding;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiSearchHelper;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the AdaIdIndexer class, checking that it is registered
+ * for all Ada and GPR file types and that it fills the word index.
+ */
+public class AdaIdIndexerTest extends LightJavaCodeInsightFixtureTestCase {
+
+	// Constants
+
+	private static final String BODY_TEXT =
+		"procedure Main is\n" +
+		"begin\n" +
+		"   Put_Line (\"Hello\");\n" +
+		"end Main;\n";
+
+	// Setup and teardown
+
+	@BeforeEach
+	public void setup() throws Exception { super.setUp(); }
+
+	@AfterEach
+	public void teardown() throws Exception { super.tearDown(); }
+
+	// Helper methods
+
+	/**
+	 * Returns the files of the project containing the given word in
+	 * code, ignoring case.
+	 *
+	 * @param word The word to look for.
+	 * @return The files containing the word.
+	 */
+	private List<PsiFile> filesWithWord(String word) {
+
+		List<PsiFile> files = new ArrayList<>();
+
+		PsiSearchHelper.getInstance(getProject()).processAllFilesWithWord(
+			word, GlobalSearchScope.allScope(getProject()), file -> files.add(file), false);
+
+		return files;
+
+	}
+
+	// Test methods
+
+	@Test
+	public void testIndexerIsRegisteredForAdaAndGPRFileTypes() {
+		assertInstanceOf(IdTableBuilding.getFileTypeIndexer(AdaBodyFileType.INSTANCE), AdaIdIndexer.class);
+		assertInstanceOf(IdTableBuilding.getFileTypeIndexer(AdaSpecFileType.INSTANCE), AdaIdIndexer.class);
+		assertInstanceOf(IdTableBuilding.getFileTypeIndexer(GPRFileType.INSTANCE), AdaIdIndexer.class);
+	}
+
+	@Test
+	public void testIdentifiersAreFoundInAnyCase() {
+
+		PsiFile file = myFixture.configureByText("main.adb", BODY_TEXT);
+
+		assertContainsElements(filesWithWord("Put_Line"), file);
+		assertContainsElements(filesWithWord("PUT_LINE"), file);
+		assertDoesntContain(filesWithWord("Hello_World"), file);
+
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the AdaIdentifierName class.
+ */
+final class AdaIdentifierNameTest {
+
+	// Testing AdaIdentifierName#of(CharSequence, int, int) method
+
+	@Test
+	void names_differing_in_case_are_same_instance() {
+
+		AdaIdentifierName name = AdaIdentifierName.of("Put_Line");
+
+		assertSame(name, AdaIdentifierName.of("PUT_LINE"));
+		assertSame(name, AdaIdentifierName.of(new StringBuilder("put_line")));
+		assertSame(name, AdaIdentifierName.of("Ada.Text_IO.Put_Line (X);", 12, 20));
+
+		assertEquals("put_line", name.NAME);
+		assertEquals(name.HASH, name.hashCode());
+
+	}
+
+	@Test
+	void different_names_are_different_instances() {
+		assertNotSame(AdaIdentifierName.of("Put"), AdaIdentifierName.of("Put_Line"));
+		assertNotSame(AdaIdentifierName.of("X1"), AdaIdentifierName.of("X2"));
+	}
+
+	@Test
+	void names_remain_unique_when_table_grows() {
+
+		List<AdaIdentifierName> names = new ArrayList<>();
+
+		for (int i = 0 ; i < 10000 ; i++) {
+			names.add(AdaIdentifierName.of("Name_" + i));
+		}
+
+		for (int i = 0 ; i < 10000 ; i++) {
+			assertSame(names.get(i), AdaIdentifierName.of("NAME_" + i));
+		}
+
+	}
+
+	@Test
+	void names_are_unique_across_threads() throws InterruptedException {
+
+		AdaIdentifierName[][] names   = new AdaIdentifierName[4][1000];
+		Thread[]              threads = new Thread[names.length];
+
+		for (int t = 0 ; t < threads.length ; t++) {
+			AdaIdentifierName[] threadNames = names[t];
+			threads[t] = new Thread(() -> {
+				for (int i = 0 ; i < threadNames.length ; i++) {
+					threadNames[i] = AdaIdentifierName.of("Concurrent_" + i);
+				}
+			});
+			threads[t].start();
+		}
+
+		for (Thread thread : threads) { thread.join(); }
+
+		for (int i = 0 ; i < names[0].length ; i++) {
+			for (int t = 1 ; t < names.length ; t++) {
+				assertSame(names[0][i], names[t][i]);
+			}
+		}
+
+	}
+
+	@Test
+	void unreferenced_names_are_removed_from_table() {
+
+		// Initialization
+
+		AdaIdentifierName kept = AdaIdentifierName.of("Kept_Name");
+		int               id   = kept.ID;
+
+		for (int i = 0 ; i < 10000 ; i++) { AdaIdentifierName.of("Transient_" + i); }
+
+		int size = AdaIdentifierName.tableSize();
+
+		// Testing
+
+		// Collect the transient names, interning new names so that the
+		// table removes them
+
+		for (int attempt = 0 ; attempt < 50 && AdaIdentifierName.tableSize() >= size - 5000 ; attempt++) {
+			System.gc();
+			AdaIdentifierName.of("Collector_" + attempt);
+		}
+
+		assertTrue(AdaIdentifierName.tableSize() < size - 5000, "Unreferenced names not removed");
+
+		assertSame(kept, AdaIdentifierName.of("KEPT_NAME"));
+		assertEquals(id, AdaIdentifierName.of("kept_name").ID);
+
+		// Names interned again are still unique
+
+		AdaIdentifierName name = AdaIdentifierName.of("Transient_42");
+
+		assertSame(name, AdaIdentifierName.of("TRANSIENT_42"));
+
+	}
+
+	// Testing AdaIdentifierName#areEqual(CharSequence, CharSequence) method
+
+	@Test
+	void texts_are_compared_ignoring_case() {
+		assertTrue(AdaIdentifierName.areEqual("Text_IO", "TEXT_io"));
+		assertFalse(AdaIdentifierName.areEqual("Text_IO", "Text_I"));
+		assertFalse(AdaIdentifierName.areEqual("Text_IO", "Text_IP"));
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the AdaIdentifierTable class.
+ */
+final class AdaIdentifierTableTest {
+
+	// Constants
+
+	private static final String TEXT =
+		"procedure Main is\n" +
+		"   Count : Integer := 0; -- Count\n" +
+		"begin\n" +
+		"   COUNT := count + Integer'(1);\n" +
+		"   Put_Line (\"Count\");\n" +
+		"end Main;\n";
+
+	// Helper methods
+
+	/**
+	 * Returns the identifier table of the given text.
+	 *
+	 * @param text The text.
+	 * @return The identifier table of the text.
+	 */
+	private static AdaIdentifierTable tableOf(String text) {
+		return AdaTokenCache.Tokens.lex(text, 0).identifiers();
+	}
+
+	// Testing AdaIdentifierTable#build(CharSequence, IElementType[], int[], int) method
+
+	@Test
+	void table_holds_identifiers_in_text_order() {
+
+		AdaIdentifierTable table = tableOf(TEXT);
+
+		String[] expected = { "Main", "Count", "Integer", "COUNT", "count", "Integer", "Put_Line", "Main" };
+
+		assertEquals(expected.length, table.size());
+
+		for (int i = 0 ; i < expected.length ; i++) {
+			assertEquals(expected[i], TEXT.substring(table.start(i), table.end(i)));
+			assertSame(AdaIdentifierName.of(expected[i]), table.name(i));
+			assertEquals(table.name(i).ID, table.nameId(i));
+		}
+
+	}
+
+	// Testing AdaIdentifierTable#indexAt(int) method
+
+	@Test
+	void identifiers_are_found_at_any_of_their_offsets() {
+
+		AdaIdentifierTable table = tableOf(TEXT);
+
+		int start = TEXT.indexOf("Put_Line");
+		int index = table.indexAt(start);
+
+		assertEquals(6, index);
+		assertEquals(index, table.indexAt(start + 3));
+		assertEquals(index, table.indexAt(start + "Put_Line".length() - 1));
+
+	}
+
+	@Test
+	void offsets_outside_identifiers_have_no_index() {
+
+		AdaIdentifierTable table = tableOf(TEXT);
+
+		assertEquals(-1, table.indexAt(0));
+		assertEquals(-1, table.indexAt(TEXT.indexOf(":=")));
+		assertEquals(-1, table.indexAt(TEXT.indexOf("-- Count") + 4));
+		assertEquals(-1, table.indexAt(TEXT.indexOf("\"Count\"") + 1));
+		assertEquals(-1, table.indexAt(TEXT.length() - 1));
+
+	}
+
+	// Testing AdaIdentifierTable#indexesOf(AdaIdentifierName) method
+
+	@Test
+	void identifiers_are_found_by_name_ignoring_case() {
+
+		AdaIdentifierTable table = tableOf(TEXT);
+
+		assertArrayEquals(new int[] { 1, 3, 4 }, table.indexesOf(AdaIdentifierName.of("count")));
+		assertArrayEquals(new int[] { 0, 7 }, table.indexesOf(AdaIdentifierName.of("MAIN")));
+		assertArrayEquals(new int[0], table.indexesOf(AdaIdentifierName.of("Missing")));
+
+	}
+
+	@Test
+	void identifiers_are_found_by_name_after_collections() {
+
+		AdaIdentifierTable table = tableOf("procedure Only_In_This_Table is begin null; end Only_In_This_Table;");
+
+		// The table keeps its names, and therefore their ids, alive
+
+		for (int attempt = 0 ; attempt < 5 ; attempt++) {
+			System.gc();
+			AdaIdentifierName.of("Collector_" + attempt);
+		}
+
+		assertArrayEquals(new int[] { 0, 1 }, table.indexesOf(AdaIdentifierName.of("only_in_this_table")));
+
+	}
+
+	@Test
+	void empty_text_has_empty_table() {
+
+		AdaIdentifierTable table = tableOf("");
+
+		assertEquals(0, table.size());
+		assertEquals(-1, table.indexAt(0));
+		assertArrayEquals(new int[0], table.indexesOf(AdaIdentifierName.of("X")));
+
+	}
+
+}
@@ -4,9 +4,12 @@ import com.adacore.adaintellij.AdaTestUtils;
 import org.junit.jupiter.api.Test;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -138,4 +141,73 @@ final class AdaLexerTest {
 		);
 	}
 
+	// Testing lexing without copying the buffer
+
+	@Test
+	void lexer_analyses_original_buffer() {
+
+		// Initialization
+
+		CharSequence buffer = new StringBuilder("Procedure Main Is Begin X := 16#FF#E1; End;");
+
+		AdaLexer lexer = new AdaLexer();
+
+		lexer.start(buffer, 0, buffer.length(), 0);
+
+		// Testing
+
+		assertSame(buffer, lexer.getBufferSequence());
+		assertEquals(AdaTokenTypes.PROCEDURE_KEYWORD, lexer.getTokenType());
+
+		lexer.start(buffer, 24, buffer.length(), 0);
+
+		assertEquals(AdaTokenTypes.IDENTIFIER, lexer.getTokenType());
+		lexer.advance();
+		lexer.advance();
+		lexer.advance();
+		lexer.advance();
+		assertEquals(AdaTokenTypes.BASED_LITERAL, lexer.getTokenType());
+		assertEquals(29, lexer.getTokenStart());
+		assertEquals(37, lexer.getTokenEnd());
+
+	}
+
+	// Testing restarting the lexer
+
+	@Test
+	void lexer_restarts_at_any_token_with_its_state() {
+
+		// Initialization
+
+		String text = "X := Foo'Access; C := Character'('A'); Y := T'(Q'Range);";
+
+		AdaLexer lexer = new AdaLexer();
+
+		List<int[]>          tokenData = new ArrayList<>();
+		List<AdaLexer.Token> tokens    = new ArrayList<>();
+
+		lexer.start(text, 0, text.length(), 0);
+
+		while (lexer.getTokenType() != null) {
+			tokenData.add(new int[] { lexer.getTokenStart(), lexer.getState() });
+			tokens.add(new AdaLexer.Token(lexer.getTokenType(), lexer.getTokenStart(), lexer.getTokenEnd()));
+			lexer.advance();
+		}
+
+		// Testing
+
+		for (int i = 0 ; i < tokens.size() ; i++) {
+
+			lexer.start(text, tokenData.get(i)[0], text.length(), tokenData.get(i)[1]);
+
+			for (int j = i ; j < tokens.size() ; j++) {
+				assertEquals(tokens.get(j), new AdaLexer.Token(
+					lexer.getTokenType(), lexer.getTokenStart(), lexer.getTokenEnd()));
+				lexer.advance();
+			}
+
+		}
+
+	}
+
 }
@@ -0,0 +1,287 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the AdaPairTable class.
+ */
+final class AdaPairTableTest {
+
+	// Constants
+
+	private static final String TEXT =
+		"package body Counters is\n" +
+		"   procedure Reset (C : in out Counter; V : Integer) is\n" +
+		"      Last : Integer := (if V > 0 then V else 0);\n" +
+		"   begin\n" +
+		"      Outer : for I in 1 .. V loop\n" +
+		"         if I = Last then -- end if\n" +
+		"            exit Outer;\n" +
+		"         end if;\n" +
+		"      end loop Outer;\n" +
+		"   end Reset;\n" +
+		"   function Zero return Integer is (0);\n" +
+		"   procedure Skip is null;\n" +
+		"   type Empty is null record;\n" +
+		"   type Point is record\n" +
+		"      X, Y : Integer;\n" +
+		"   end record;\n" +
+		"   package Lists is new Generic_Lists (Point);\n" +
+		"begin\n" +
+		"   case Mode is\n" +
+		"      when others => declare\n" +
+		"         Y : Integer := 0;\n" +
+		"      begin\n" +
+		"         null;\n" +
+		"      end;\n" +
+		"   end case;\n" +
+		"end Counters;\n";
+
+	// Helper methods
+
+	/**
+	 * Returns the pair table of the given text.
+	 *
+	 * @param text The text.
+	 * @return The pair table of the text.
+	 */
+	private static AdaPairTable tableOf(String text) {
+		return AdaTokenCache.Tokens.lex(text, 0).pairs();
+	}
+
+	/**
+	 * Returns the index of the pair opened by the given occurrence of
+	 * the given text, failing if there is no such pair.
+	 *
+	 * @param table The pair table.
+	 * @param opener The text of the opener.
+	 * @param occurrence The occurrence of the opener, starting from 0.
+	 * @return The index of the pair.
+	 */
+	private static int pairOf(AdaPairTable table, String opener, int occurrence) {
+
+		int offset = -1;
+
+		for (int i = 0 ; i <= occurrence ; i++) { offset = TEXT.indexOf(opener, offset + 1); }
+
+		int index = table.openerIndexAt(offset);
+
+		assertTrue(index >= 0, "No pair opened at " + opener);
+
+		return index;
+
+	}
+
+	/**
+	 * Returns the text of the closer of the given pair.
+	 *
+	 * @param table The pair table.
+	 * @param index The index of the pair.
+	 * @return The text of the closer.
+	 */
+	private static String closerOf(AdaPairTable table, int index) {
+		return TEXT.substring(table.closeStart(index), table.closeEnd(index));
+	}
+
+	// Testing AdaPairTable#build(CharSequence, IElementType[], int[], int) method
+
+	@Test
+	void keywords_are_paired_with_their_end() {
+
+		AdaPairTable table = tableOf(TEXT);
+
+		int ifPair   = pairOf(table, "if I", 0);
+		int loopPair = pairOf(table, "loop\n", 0);
+		int casePair = pairOf(table, "case", 0);
+
+		assertEquals("end if", closerOf(table, ifPair));
+		assertEquals("end loop", closerOf(table, loopPair));
+		assertEquals("end case", closerOf(table, casePair));
+		assertEquals("end record", closerOf(table, pairOf(table, "record\n", 0)));
+
+		assertEquals(TEXT.indexOf("end if;"), table.closeStart(ifPair));
+		assertEquals(TEXT.indexOf("end loop"), table.closeStart(loopPair));
+
+	}
+
+	@Test
+	void is_and_begin_of_bodies_share_their_end() {
+
+		AdaPairTable table = tableOf(TEXT);
+
+		int isPair    = pairOf(table, "is\n", 1);
+		int beginPair = pairOf(table, "begin", 0);
+
+		assertEquals(TEXT.indexOf("end Reset"), table.closeStart(isPair));
+		assertEquals(TEXT.indexOf("end Reset"), table.closeStart(beginPair));
+
+		int packagePair = pairOf(table, "is\n", 0);
+		int bodyPair    = pairOf(table, "begin", 1);
+
+		assertEquals(TEXT.indexOf("end Counters"), table.closeStart(packagePair));
+		assertEquals(TEXT.indexOf("end Counters"), table.closeStart(bodyPair));
+
+		int declarePair = pairOf(table, "declare", 0);
+
+		assertEquals(table.closeStart(declarePair), table.closeStart(pairOf(table, "begin", 2)));
+		assertEquals("end", closerOf(table, declarePair));
+
+	}
+
+	@Test
+	void parentheses_are_paired() {
+
+		AdaPairTable table = tableOf(TEXT);
+
+		int parameters = pairOf(table, "(C", 0);
+
+		assertEquals(TEXT.indexOf(") is"), table.closeStart(parameters));
+		assertEquals(")", closerOf(table, parameters));
+
+		int expression = pairOf(table, "(if", 0);
+
+		assertEquals(TEXT.indexOf(");\n   begin"), table.closeStart(expression));
+
+	}
+
+	@Test
+	void non_opening_keywords_are_not_paired() {
+
+		AdaPairTable table = tableOf(TEXT);
+
+		assertEquals(-1, table.openerIndexAt(TEXT.indexOf("if V")));
+		assertEquals(-1, table.openerIndexAt(TEXT.indexOf("is (0)")));
+		assertEquals(-1, table.openerIndexAt(TEXT.indexOf("is null;")));
+		assertEquals(-1, table.openerIndexAt(TEXT.indexOf("is null record")));
+		assertEquals(-1, table.openerIndexAt(TEXT.indexOf("record;")));
+		assertEquals(-1, table.openerIndexAt(TEXT.indexOf("is record")));
+		assertEquals(-1, table.openerIndexAt(TEXT.indexOf("is new")));
+		assertEquals(-1, table.openerIndexAt(TEXT.indexOf("is\n      when")));
+		assertEquals(-1, table.openerIndexAt(TEXT.indexOf("end if;") + 4));
+
+	}
+
+	@Test
+	void aspect_specifications_do_not_start_statements() {
+
+		String text =
+			"package Outer is\n" +
+			"   package Inner with SPARK_Mode => On is\n" +
+			"      X : Integer;\n" +
+			"   end Inner;\n" +
+			"   Y : Integer with Volatile => True;\n" +
+			"end Outer;\n" +
+			"package body Bodies is\n" +
+			"   procedure Q with Inline => True is\n" +
+			"   begin\n" +
+			"      case X is\n" +
+			"         when 1 => if Y then null; end if;\n" +
+			"         when others => null;\n" +
+			"      end case;\n" +
+			"   end Q;\n" +
+			"begin\n" +
+			"   null;\n" +
+			"end Bodies;\n";
+
+		AdaPairTable table = tableOf(text);
+
+		int outer = table.openerIndexAt(text.indexOf("is\n"));
+		int inner = table.openerIndexAt(text.indexOf("is\n      X"));
+
+		assertTrue(outer >= 0 && inner >= 0);
+		assertEquals(text.indexOf("end Outer"), table.closeStart(outer));
+		assertEquals(text.indexOf("end Inner"), table.closeStart(inner));
+		assertEquals(text.indexOf("package Inner"), table.constructStart(inner));
+
+		int header = table.openerIndexAt(text.indexOf("is\n   begin"));
+		int begin  = table.openerIndexAt(text.indexOf("begin"));
+
+		assertTrue(header >= 0 && begin >= 0);
+		assertEquals(text.indexOf("end Q"), table.closeStart(header));
+		assertEquals(text.indexOf("end Q"), table.closeStart(begin));
+		assertEquals(text.indexOf("procedure Q"), table.constructStart(begin));
+
+		// The `=>` of a case alternative still starts a statement
+
+		int ifPair = table.openerIndexAt(text.indexOf("if Y"));
+
+		assertEquals(text.indexOf("end if"), table.closeStart(ifPair));
+		assertEquals(text.indexOf("if Y"), table.constructStart(ifPair));
+
+		int bodies = table.openerIndexAt(text.indexOf("begin\n   null"));
+
+		assertEquals(text.indexOf("end Bodies"), table.closeStart(bodies));
+		assertEquals(text.indexOf("package body"), table.constructStart(bodies));
+
+	}
+
+	@Test
+	void unbalanced_pairs_are_left_out() {
+
+		String text = "procedure P is\nbegin\n   if (X then\n   end if;\n   loop\n";
+
+		AdaPairTable table = tableOf(text);
+
+		assertEquals(1, table.size());
+		assertEquals(text.indexOf("if"), table.openStart(0));
+		assertEquals(text.indexOf("end if"), table.closeStart(0));
+
+		assertEquals(-1, table.openerIndexAt(text.indexOf("is")));
+		assertEquals(-1, table.openerIndexAt(text.indexOf("(")));
+		assertEquals(-1, table.openerIndexAt(text.indexOf("loop")));
+
+	}
+
+	// Testing AdaPairTable#constructStart(int) method
+
+	@Test
+	void constructs_start_at_their_statement_or_declaration() {
+
+		AdaPairTable table = tableOf(TEXT);
+
+		assertEquals(TEXT.indexOf("if I"), table.constructStart(pairOf(table, "if I", 0)));
+		assertEquals(TEXT.indexOf("Outer :"), table.constructStart(pairOf(table, "loop\n", 0)));
+		assertEquals(TEXT.indexOf("procedure Reset"), table.constructStart(pairOf(table, "begin", 0)));
+		assertEquals(TEXT.indexOf("procedure Reset"), table.constructStart(pairOf(table, "(C", 0)));
+		assertEquals(TEXT.indexOf("type Point"), table.constructStart(pairOf(table, "record\n", 0)));
+		assertEquals(0, table.constructStart(pairOf(table, "begin", 1)));
+		assertEquals(TEXT.indexOf("declare"), table.constructStart(pairOf(table, "begin", 2)));
+
+	}
+
+	// Testing AdaPairTable#indexAt(int) method
+
+	@Test
+	void pairs_are_found_from_both_ends() {
+
+		AdaPairTable table = tableOf(TEXT);
+
+		int ifPair = pairOf(table, "if I", 0);
+
+		assertEquals(ifPair, table.indexAt(TEXT.indexOf("if I") + 1));
+		assertEquals(ifPair, table.indexAt(TEXT.indexOf("end if;")));
+		assertEquals(ifPair, table.indexAt(TEXT.indexOf("end if;") + "end i".length()));
+
+		// The `end` of a body leads to its `begin` rather than its `is`
+
+		assertEquals(pairOf(table, "begin", 0), table.indexAt(TEXT.indexOf("end Reset")));
+
+		assertEquals(-1, table.indexAt(TEXT.indexOf("exit")));
+		assertEquals(-1, table.indexAt(TEXT.indexOf("Reset;")));
+		assertEquals(-1, table.indexAt(TEXT.indexOf("-- end if") + 3));
+
+	}
+
+	@Test
+	void empty_text_has_empty_table() {
+
+		AdaPairTable table = tableOf("");
+
+		assertEquals(0, table.size());
+		assertEquals(-1, table.indexAt(0));
+
+	}
+
+}
@@ -0,0 +1,234 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the AdaTokenCache class.
+ */
+final class AdaTokenCacheTest {
+
+	// Constants
+
+	private static final String TEXT =
+		"with Ada.Text_IO; use Ada.Text_IO;\n" +
+		"procedure Main is\n" +
+		"   X : Integer := 16#FF#;\n" +
+		"   S : String := \"Hello, \"\"World\"\"!\";\n" +
+		"begin\n" +
+		"   -- Print the attributes\n" +
+		"   Put_Line (Integer'Image (X) & S (1 .. 2) & Character'Val (65)'Img);\n" +
+		"   X := X + 1_000 * 2#1010# + 1.5E-3;\n" +
+		"end Main;\n";
+
+	/**
+	 * Text fragments inserted by random edits, chosen to join, split
+	 * and reinterpret surrounding tokens.
+	 */
+	private static final String[] FRAGMENTS = {
+		"", " ", "\n", "\"", "'", "-", "--", "#", ".", "e", "_", "1", "X", "is", "'A'", "\u00e9", "\t", "\"\n"
+	};
+
+	// Helper methods
+
+	/**
+	 * Asserts that the given tokens are the tokens of their text, as
+	 * analysed from scratch.
+	 *
+	 * @param tokens The tokens to check.
+	 */
+	private static void assertTokensOfText(AdaTokenCache.Tokens tokens) {
+
+		AdaTokenCache.Tokens expected = AdaTokenCache.Tokens.lex(tokens.TEXT, 0);
+
+		assertEquals(expected.SIZE, tokens.SIZE, "Token count");
+
+		for (int i = 0 ; i < expected.SIZE ; i++) {
+			assertSame(expected.TYPES[i], tokens.TYPES[i], "Type of token " + i);
+			assertEquals(expected.STARTS[i], tokens.STARTS[i], "Start of token " + i);
+			assertEquals(expected.STATES[i], tokens.STATES[i], "State of token " + i);
+		}
+
+	}
+
+	// Testing AdaTokenCache.Tokens#lex(CharSequence, long) method
+
+	@Test
+	void tokens_are_same_as_lexer_tokens() {
+
+		// Initialization
+
+		AdaTokenCache.Tokens tokens = AdaTokenCache.Tokens.lex(TEXT, 0);
+
+		AdaLexer lexer = new AdaLexer();
+
+		lexer.start(TEXT, 0, TEXT.length(), 0);
+
+		// Testing
+
+		for (int i = 0 ; i < tokens.SIZE ; i++) {
+
+			assertSame(lexer.getTokenType(), tokens.TYPES[i]);
+			assertEquals(lexer.getTokenStart(), tokens.STARTS[i]);
+			assertEquals(lexer.getTokenEnd(), tokens.tokenEnd(i));
+			assertEquals(lexer.getState(), tokens.STATES[i]);
+
+			lexer.advance();
+
+		}
+
+		assertNull(lexer.getTokenType());
+
+	}
+
+	// Testing AdaTokenCache.Tokens#relexed(CharSequence, long) method
+
+	@Test
+	void relexing_unchanged_text_reuses_tokens() {
+
+		// Initialization
+
+		AdaTokenCache.Tokens tokens = AdaTokenCache.Tokens.lex(TEXT, 0);
+
+		// Testing
+
+		AdaTokenCache.Tokens relexed = tokens.relexed(new StringBuilder(TEXT), 1);
+
+		assertSame(tokens.STARTS, relexed.STARTS);
+		assertEquals(1, relexed.STAMP);
+
+	}
+
+	@Test
+	void relexing_keeps_tokens_outside_changed_lines() {
+
+		// Initialization
+
+		AdaTokenCache.Tokens tokens = AdaTokenCache.Tokens.lex(TEXT, 0);
+
+		int    offset  = TEXT.indexOf("Integer := 16");
+		String changed = TEXT.substring(0, offset) + "Natural" + TEXT.substring(offset + "Integer".length());
+
+		// Testing
+
+		AdaTokenCache.Tokens relexed = tokens.relexed(changed, 1);
+
+		assertTokensOfText(relexed);
+
+		int lastIndex = relexed.SIZE - 1;
+
+		assertSame(tokens.TYPES[tokens.SIZE - 1], relexed.TYPES[lastIndex]);
+		assertEquals(tokens.STARTS[tokens.SIZE - 1], relexed.STARTS[lastIndex]);
+
+	}
+
+	@Test
+	void relexing_after_random_edits_produces_same_tokens_as_full_lexing() {
+
+		// Initialization
+
+		Random random = new Random(42);
+
+		AdaTokenCache.Tokens tokens = AdaTokenCache.Tokens.lex(TEXT, 0);
+
+		// Testing
+
+		for (int edit = 0 ; edit < 2000 ; edit++) {
+
+			String text   = tokens.TEXT.toString();
+			int    start  = random.nextInt(text.length() + 1);
+			int    end    = Math.min(text.length(), start + random.nextInt(4));
+			String edited = text.substring(0, start) +
+				FRAGMENTS[random.nextInt(FRAGMENTS.length)] + text.substring(end);
+
+			// Restore the original text from time to time, so that the
+			// text does not drift too far from valid Ada
+
+			if (edit % 50 == 49) { edited = TEXT; }
+
+			tokens = tokens.relexed(edited, edit);
+
+			assertTokensOfText(tokens);
+
+		}
+
+	}
+
+	// Testing AdaTokenCache.Tokens#relexed(CharSequence, long, ChangedRange) method
+
+	@Test
+	void relexing_merged_edit_ranges_produces_same_tokens_as_full_lexing() {
+
+		// Initialization
+
+		Random random = new Random(42);
+
+		AdaTokenCache.Tokens tokens = AdaTokenCache.Tokens.lex(TEXT, 0);
+
+		// Testing
+
+		for (int round = 0 ; round < 1000 ; round++) {
+
+			String text = tokens.TEXT.toString();
+
+			// Apply a few edits, merging their ranges as the events of
+			// a document would be
+
+			AdaTokenCache.ChangedRange changed = AdaTokenCache.ChangedRange.NONE;
+
+			for (int edit = random.nextInt(4) ; edit > 0 ; edit--) {
+
+				int    start    = random.nextInt(text.length() + 1);
+				int    end      = Math.min(text.length(), start + random.nextInt(4));
+				String fragment = FRAGMENTS[random.nextInt(FRAGMENTS.length)];
+
+				text    = text.substring(0, start) + fragment + text.substring(end);
+				changed = changed.merged(start, end - start, fragment.length());
+
+			}
+
+			if (round % 50 == 49) {
+				changed = changed.merged(0, text.length(), TEXT.length());
+				text    = TEXT;
+			}
+
+			assertTrue(changed.fits(tokens.TEXT, text));
+
+			tokens = tokens.relexed(text, round, changed);
+
+			assertTokensOfText(tokens);
+
+		}
+
+	}
+
+	// Testing AdaTokenCache.ChangedRange#merged(int, int, int) method
+
+	@Test
+	void merged_ranges_cover_all_edits() {
+
+		// "0123456789" -> "01ab23456789" -> "01ab2345"
+
+		AdaTokenCache.ChangedRange changed = AdaTokenCache.ChangedRange.NONE;
+
+		assertTrue(changed.isEmpty());
+
+		changed = changed.merged(2, 0, 2);
+
+		assertEquals(2, changed.START);
+		assertEquals(2, changed.OLD_END);
+		assertEquals(4, changed.NEW_END);
+
+		changed = changed.merged(8, 4, 0);
+
+		assertEquals(2, changed.START);
+		assertEquals(10, changed.OLD_END);
+		assertEquals(8, changed.NEW_END);
+		assertTrue(changed.fits("0123456789", "01ab2345"));
+
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.intellij.lang.cacheBuilder.WordOccurrence;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the AdaWordsScanner class.
+ */
+final class AdaWordsScannerTest {
+
+	// Constants
+
+	private static final String TEXT =
+		"procedure Main is -- TODO: Print more\n" +
+		"   Count : Integer := 16#FF#;\n" +
+		"begin\n" +
+		"   Put_Line (\"Hello world\");\n" +
+		"end main;\n";
+
+	// Helper methods
+
+	/**
+	 * Returns the words reported by the given scanner for the given
+	 * text, as strings of the form `KIND:word`.
+	 *
+	 * @param scanner The scanner to use.
+	 * @param text The text to scan.
+	 * @return The reported words.
+	 */
+	private static List<String> scan(AdaWordsScanner scanner, String text) {
+
+		List<String> words = new ArrayList<>();
+
+		scanner.processWords(text, occurrence -> {
+			words.add(occurrence.getKind() + ":" +
+				occurrence.getBaseText().subSequence(occurrence.getStart(), occurrence.getEnd()));
+			return true;
+		});
+
+		return words;
+
+	}
+
+	// Testing AdaWordsScanner#processWords(CharSequence, Processor) method
+
+	@Test
+	void identifiers_are_reported_as_written() {
+
+		List<String> words = scan(AdaWordsScanner.forAda(), TEXT);
+
+		assertTrue(words.contains("CODE:Main"));
+		assertTrue(words.contains("CODE:main"));
+		assertTrue(words.contains("CODE:Put_Line"));
+		assertFalse(words.contains("CODE:put_line"));
+
+		// Every identifier is reported once
+
+		assertEquals(1, words.stream().filter("CODE:main"::equals).count());
+
+	}
+
+	@Test
+	void keywords_and_numbers_are_not_reported() {
+
+		List<String> words = scan(AdaWordsScanner.forAda(), TEXT);
+
+		assertFalse(words.contains("CODE:procedure"));
+		assertFalse(words.contains("CODE:begin"));
+		assertTrue(words.stream().noneMatch(word -> word.contains("FF")));
+
+	}
+
+	@Test
+	void comments_and_strings_are_split_into_words() {
+
+		List<String> words = scan(AdaWordsScanner.forAda(), TEXT);
+
+		assertTrue(words.contains(WordOccurrence.Kind.COMMENTS + ":TODO"));
+		assertTrue(words.contains(WordOccurrence.Kind.COMMENTS + ":more"));
+		assertTrue(words.contains(WordOccurrence.Kind.LITERALS + ":Hello"));
+		assertTrue(words.contains(WordOccurrence.Kind.LITERALS + ":world"));
+
+	}
+
+	@Test
+	void scanning_stops_when_processor_returns_false() {
+
+		List<String> words = new ArrayList<>();
+
+		AdaWordsScanner.forAda().processWords(TEXT, occurrence -> {
+			words.add(occurrence.getBaseText().toString());
+			return false;
+		});
+
+		assertEquals(1, words.size());
+
+	}
+
+	@Test
+	void gpr_file_identifiers_are_reported() {
+
+		List<String> words = scan(AdaWordsScanner.forGPRFile(),
+			"project Default is\n   for Main use (\"main.adb\");\nend Default;\n");
+
+		assertTrue(words.contains("CODE:Default"));
+		assertTrue(words.contains("CODE:default"));
+		assertTrue(words.contains(WordOccurrence.Kind.LITERALS + ":adb"));
+
+	}
+
+}
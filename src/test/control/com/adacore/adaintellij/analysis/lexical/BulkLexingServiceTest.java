@@ -0,0 +1,119 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the BulkLexingService class.
+ */
+final class BulkLexingServiceTest {
+
+	// Testing BulkLexingService#lexPaths(Collection, Charset, TokenConsumer) method
+
+	@Test
+	void lexPaths_analyses_every_file_with_its_lexer(@TempDir Path directory) throws IOException {
+
+		// Initialization
+
+		List<Path> paths = new ArrayList<>();
+
+		for (int i = 0 ; i < 64 ; i++) {
+
+			Path path = directory.resolve("unit_" + i + (i % 2 == 0 ? ".adb" : ".gpr"));
+
+			Files.write(path, ("project P_" + i + " is end P_" + i + ";").getBytes(StandardCharsets.UTF_8));
+
+			paths.add(path);
+
+		}
+
+		Map<Path, List<String>> tokens = new ConcurrentHashMap<>();
+
+		BulkLexingService service = new BulkLexingService(4);
+
+		// Testing
+
+		try {
+
+			service.lexPaths(paths, StandardCharsets.UTF_8, (path, text, tokenType, tokenStart, tokenEnd) ->
+				tokens.computeIfAbsent(path, p -> new ArrayList<>()).add(tokenType.toString()));
+
+		} finally {
+			service.dispose();
+		}
+
+		assertEquals(paths.size(), tokens.size());
+
+		for (Path path : paths) {
+
+			String firstToken = tokens.get(path).get(0);
+
+			assertEquals(
+				path.toString().endsWith(".gpr") ?
+					GPRFileTokenTypes.PROJECT_KEYWORD.toString() : AdaTokenTypes.IDENTIFIER.toString(),
+				firstToken
+			);
+
+		}
+
+	}
+
+	@Test
+	void lexPaths_maps_files_only_in_supported_charsets(@TempDir Path directory) throws IOException {
+
+		// Initialization
+
+		Path path = directory.resolve("main.adb");
+
+		Files.write(path, "procedure Main is begin null; end Main;".getBytes(StandardCharsets.UTF_16));
+
+		Map<Charset, Class<?>> textClasses = new ConcurrentHashMap<>();
+
+		BulkLexingService service = new BulkLexingService(2);
+
+		// Testing
+
+		try {
+
+			for (Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.UTF_16 }) {
+				service.lexPaths(Collections.singletonList(path), charset,
+					(source, text, tokenType, tokenStart, tokenEnd) -> textClasses.put(charset, text.getClass()));
+			}
+
+		} finally {
+			service.dispose();
+		}
+
+		assertEquals(MappedFileText.class, textClasses.get(StandardCharsets.UTF_8));
+		assertEquals(String.class, textClasses.get(StandardCharsets.UTF_16));
+
+	}
+
+	@Test
+	void lexPaths_reports_unreadable_files(@TempDir Path directory) {
+
+		BulkLexingService service = new BulkLexingService(2);
+
+		try {
+			assertThrows(IOException.class, () -> service.lexPaths(
+				Collections.singletonList(directory.resolve("missing.adb")),
+				StandardCharsets.UTF_8,
+				(path, text, tokenType, tokenStart, tokenEnd) -> fail("Missing file analysed")
+			));
+		} finally {
+			service.dispose();
+		}
+
+	}
+
+}
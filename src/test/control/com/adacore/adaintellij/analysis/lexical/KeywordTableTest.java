@@ -0,0 +1,89 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import com.intellij.psi.tree.IElementType;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.adacore.adaintellij.analysis.lexical.AdaTokenTypes.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the KeywordTable class.
+ */
+final class KeywordTableTest {
+
+	// Constants
+
+	private static final KeywordTable KEYWORDS;
+
+	static {
+
+		Map<String, IElementType> keywordTokenTypes = new LinkedHashMap<>();
+
+		keywordTokenTypes.put(IS_KEYWORD.TOKEN_TEXT       , IS_KEYWORD);
+		keywordTokenTypes.put(PROCEDURE_KEYWORD.TOKEN_TEXT, PROCEDURE_KEYWORD);
+		keywordTokenTypes.put(PROTECTED_KEYWORD.TOKEN_TEXT, PROTECTED_KEYWORD);
+		keywordTokenTypes.put(RANGE_KEYWORD.TOKEN_TEXT    , RANGE_KEYWORD);
+
+		KEYWORDS = new KeywordTable(keywordTokenTypes);
+
+	}
+
+	// Testing KeywordTable#KeywordTable(Map) constructor
+
+	@Test
+	void constructor_rejects_empty_and_duplicate_keywords() {
+
+		assertThrows(IllegalArgumentException.class, () -> new KeywordTable(new LinkedHashMap<>()));
+
+		Map<String, IElementType> keywordTokenTypes = new LinkedHashMap<>();
+
+		keywordTokenTypes.put("is", IS_KEYWORD);
+		keywordTokenTypes.put("IS", IS_KEYWORD);
+
+		assertThrows(IllegalArgumentException.class, () -> new KeywordTable(keywordTokenTypes));
+
+	}
+
+	@Test
+	void table_is_built_for_all_lexer_keywords() {
+
+		AdaLexer lexer = new AdaLexer();
+
+		for (IElementType tokenType : KEYWORD_TOKEN_SET.getTypes()) {
+
+			String keyword = ((AdaFixedTokenType)tokenType).TOKEN_TEXT;
+
+			assertSame(tokenType, lexer.keywords().get(keyword, 0, keyword.length()));
+
+		}
+
+	}
+
+	// Testing KeywordTable#get(CharSequence, int, int) method
+
+	@Test
+	void get_finds_keywords_ignoring_case() {
+
+		assertSame(IS_KEYWORD       , KEYWORDS.get("is", 0, 2));
+		assertSame(IS_KEYWORD       , KEYWORDS.get("Is", 0, 2));
+		assertSame(PROCEDURE_KEYWORD, KEYWORDS.get("PROCEDURE", 0, 9));
+		assertSame(RANGE_KEYWORD    , KEYWORDS.get("Foo'Range", 4, 9));
+
+	}
+
+	@Test
+	void get_does_not_find_partial_or_extended_keywords() {
+
+		assertNull(KEYWORDS.get("proc", 0, 4));
+		assertNull(KEYWORDS.get("procedures", 0, 10));
+		assertNull(KEYWORDS.get("protecte", 0, 8));
+		assertNull(KEYWORDS.get("i", 0, 1));
+		assertNull(KEYWORDS.get("", 0, 0));
+		assertNull(KEYWORDS.get("record", 0, 6));
+
+	}
+
+}
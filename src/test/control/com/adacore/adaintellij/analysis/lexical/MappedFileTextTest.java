@@ -0,0 +1,166 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the MappedFileText class.
+ */
+final class MappedFileTextTest {
+
+	// Helper methods
+
+	/**
+	 * Returns a long Ada text containing non-ASCII characters, including
+	 * supplementary characters at various offsets relative to windows.
+	 *
+	 * @return The text.
+	 */
+	private static String longText() {
+
+		StringBuilder text = new StringBuilder();
+
+		for (int i = 0 ; i < 3000 ; i++) {
+			text.append("\u00dcber_").append(i).append(" := \"\ud83d\ude00 \u00e9 ").append(i % 7 == 0 ? "\u2028" : "")
+				.append("\"; -- Comment \u00e9\u4e2d\n");
+		}
+
+		return text.toString();
+
+	}
+
+	// Testing MappedFileText#charAt(int) method
+
+	@Test
+	void utf8_file_is_decoded_correctly(@TempDir Path directory) throws IOException {
+
+		// Initialization
+
+		String text = longText();
+		Path   path = directory.resolve("text.adb");
+
+		Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+
+		// Testing
+
+		try (MappedFileText mappedText = MappedFileText.open(path, StandardCharsets.UTF_8)) {
+
+			assertEquals(text.length(), mappedText.length());
+
+			for (int i = 0 ; i < text.length() ; i++) {
+				assertEquals(text.charAt(i), mappedText.charAt(i));
+			}
+
+			// Random access across windows
+
+			for (int i = text.length() - 1 ; i >= 0 ; i -= 4099) {
+				assertEquals(text.charAt(i), mappedText.charAt(i));
+			}
+
+			assertEquals(text.substring(10, 200), mappedText.subSequence(10, 200).toString());
+			assertThrows(IndexOutOfBoundsException.class, () -> mappedText.charAt(text.length()));
+
+		}
+
+	}
+
+	@Test
+	void utf8_byte_order_mark_and_malformed_bytes_are_handled(@TempDir Path directory) throws IOException {
+
+		// Initialization
+
+		Path path = directory.resolve("text.adb");
+
+		Files.write(path, new byte[] {
+			(byte)0xef, (byte)0xbb, (byte)0xbf,  // Byte order mark
+			'A',
+			(byte)0xc3, (byte)0xa9,              // Small e with acute accent
+			(byte)0xc0, (byte)0x80,              // Overlong encoding
+			(byte)0xe2, (byte)0x82,              // Truncated sequence
+		});
+
+		// Testing
+
+		try (MappedFileText mappedText = MappedFileText.open(path, StandardCharsets.UTF_8)) {
+			assertEquals("A\u00e9\ufffd\ufffd\ufffd\ufffd", mappedText.toString());
+		}
+
+	}
+
+	@Test
+	void latin1_file_is_decoded_correctly(@TempDir Path directory) throws IOException {
+
+		// Initialization
+
+		String text = "Caf\u00e9 := \"\u00ff\";";
+		Path   path = directory.resolve("text.adb");
+
+		Files.write(path, text.getBytes(StandardCharsets.ISO_8859_1));
+
+		// Testing
+
+		try (MappedFileText mappedText = MappedFileText.open(path, StandardCharsets.ISO_8859_1)) {
+			assertEquals(text, mappedText.toString());
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> MappedFileText.open(path, StandardCharsets.UTF_16));
+
+	}
+
+	@Test
+	void ascii_file_is_decoded_like_platform_decoder(@TempDir Path directory) throws IOException {
+
+		// Initialization
+
+		byte[] bytes = "Caf\u00e9 := \"\u00ff\";".getBytes(StandardCharsets.ISO_8859_1);
+		Path   path  = directory.resolve("text.adb");
+
+		Files.write(path, bytes);
+
+		// Testing
+
+		try (MappedFileText mappedText = MappedFileText.open(path, StandardCharsets.US_ASCII)) {
+			assertEquals(new String(bytes, StandardCharsets.US_ASCII), mappedText.toString());
+			assertEquals('\ufffd', mappedText.charAt(3));
+		}
+
+	}
+
+	// Testing lexing mapped files
+
+	@Test
+	void mapped_file_is_lexed_like_string(@TempDir Path directory) throws IOException {
+
+		// Initialization
+
+		String text = longText();
+		Path   path = directory.resolve("text.adb");
+
+		Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+
+		// Testing
+
+		try (MappedFileText mappedText = MappedFileText.open(path, StandardCharsets.UTF_8)) {
+
+			Iterator<Lexer.Token> expectedTokens = Lexer.textTokens(text);
+			Iterator<Lexer.Token> mappedTokens   = Lexer.textTokens(mappedText);
+
+			while (expectedTokens.hasNext()) {
+				assertEquals(expectedTokens.next(), mappedTokens.next());
+			}
+
+			assertFalse(mappedTokens.hasNext());
+
+		}
+
+	}
+
+}
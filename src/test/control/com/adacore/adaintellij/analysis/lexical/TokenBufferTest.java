@@ -0,0 +1,120 @@
+package com.adacore.adaintellij.analysis.lexical;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the TokenBuffer class.
+ */
+final class TokenBufferTest {
+
+	// Constants
+
+	private static final String TEXT = "procedure Main is X : Integer := 16#FF#; begin null; end Main; -- Done";
+
+	// Testing TokenBuffer#lex(CharSequence) method
+
+	@Test
+	void buffer_holds_same_tokens_as_lexer() {
+
+		// Initialization
+
+		TokenBuffer buffer = TokenBuffer.forAda(1);
+
+		buffer.lex(TEXT);
+
+		Iterator<Lexer.Token> tokens = Lexer.textTokens(TEXT);
+
+		// Testing
+
+		int index = 0;
+
+		while (tokens.hasNext()) {
+
+			Lexer.Token token = tokens.next();
+
+			assertSame(token.TOKEN_TYPE, buffer.tokenType(index));
+			assertEquals(token.TOKEN_TYPE.getIndex(), buffer.tokenTypeIndex(index));
+			assertEquals(token.START_OFFSET, buffer.tokenStart(index));
+			assertEquals(token.END_OFFSET, buffer.tokenEnd(index));
+
+			index++;
+
+		}
+
+		assertEquals(index, buffer.size());
+
+	}
+
+	@Test
+	void buffer_is_reused_across_texts() {
+
+		// Initialization
+
+		TokenBuffer buffer = TokenBuffer.forAda();
+
+		buffer.lex(TEXT);
+
+		int capacity = buffer.capacity();
+
+		// Testing
+
+		buffer.lex("X := 1;");
+
+		assertEquals(6, buffer.size());
+		assertEquals(capacity, buffer.capacity());
+		assertSame(AdaTokenTypes.SEMICOLON, buffer.tokenType(5));
+		assertThrows(IndexOutOfBoundsException.class, () -> buffer.tokenStart(6));
+
+		buffer.clear();
+
+		assertEquals(0, buffer.size());
+
+	}
+
+	// Testing TokenBuffer#tokenIndexAt(int) method
+
+	@Test
+	void tokenIndexAt_finds_token_containing_offset() {
+
+		// Initialization
+
+		TokenBuffer buffer = TokenBuffer.forAda();
+
+		buffer.lex(TEXT);
+
+		// Testing
+
+		for (int offset = 0 ; offset < TEXT.length() ; offset++) {
+
+			int index = buffer.tokenIndexAt(offset);
+
+			assertTrue(buffer.tokenStart(index) <= offset && offset < buffer.tokenEnd(index));
+
+		}
+
+		assertEquals(-1, buffer.tokenIndexAt(-1));
+		assertEquals(-1, buffer.tokenIndexAt(TEXT.length()));
+
+	}
+
+	@Test
+	void gpr_file_buffer_uses_gpr_file_lexer() {
+
+		// Initialization
+
+		TokenBuffer buffer = TokenBuffer.forGPRFile();
+
+		buffer.lex("project Foo is end Foo;");
+
+		// Testing
+
+		assertSame(GPRFileTokenTypes.PROJECT_KEYWORD, buffer.tokenType(0));
+		assertEquals(GPRFileTokenTypes.SEMICOLON.getIndex(), buffer.tokenTypeIndex(buffer.size() - 1));
+
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.adacore.adaintellij.analysis.lexical.regex;
+
+import org.junit.jupiter.api.Test;
+
+import static com.adacore.adaintellij.analysis.lexical.regex.LexerRegexTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the CharacterSetRegex class.
+ */
+final class CharacterSetRegexTest {
+
+	// Constants
+
+	private static final CharacterSetRegex DIGIT_REGEX = CharacterSetRegex.fromRange('0', '9');
+
+	private static final CharacterSetRegex EXTENDED_DIGIT_REGEX =
+		DIGIT_REGEX.union(CharacterSetRegex.fromRange('a', 'f'));
+
+	private static final CharacterSetRegex NON_DIGIT_REGEX = DIGIT_REGEX.complement();
+
+	private static final CharacterSetRegex LOWERCASE_HEXADECIMAL_LETTER_REGEX =
+		EXTENDED_DIGIT_REGEX.intersection(CharacterSetRegex.fromGeneralCategory("Ll"));
+
+	// Testing helper construction methods
+
+	@Test
+	void fromRange_rejects_invalid_bounds() {
+		assertThrows(IllegalArgumentException.class, () -> CharacterSetRegex.fromRange('9', '0'));
+	}
+
+	@Test
+	void equal_sets_are_equal_regexes() {
+
+		assertEquals(DIGIT_REGEX, CharacterSetRegex.fromCharacters('0', '1', '2', '3', '4', '5', '6', '7', '8', '9'));
+		assertEquals(DIGIT_REGEX, NON_DIGIT_REGEX.complement());
+		assertEquals(CharacterSetRegex.fromRange('a', 'f'), LOWERCASE_HEXADECIMAL_LETTER_REGEX);
+		assertNotEquals(DIGIT_REGEX, EXTENDED_DIGIT_REGEX);
+
+	}
+
+	// Testing CharacterSetRegex#nullable() method
+
+	@Test
+	void character_set_regex_is_never_nullable() {
+
+		assertFalse(DIGIT_REGEX.nullable());
+		assertFalse(EXTENDED_DIGIT_REGEX.nullable());
+		assertFalse(NON_DIGIT_REGEX.nullable());
+
+	}
+
+	// Testing CharacterSetRegex#contains(char) method
+
+	@Test
+	void character_set_regex_contains_set_characters_only() {
+
+		for (int character = 0 ; character <= Character.MAX_VALUE ; character++) {
+
+			boolean isDigit         = character >= '0' && character <= '9';
+			boolean isExtendedDigit = isDigit || (character >= 'a' && character <= 'f');
+
+			assertEquals(isDigit, DIGIT_REGEX.contains((char)character));
+			assertEquals(isExtendedDigit, EXTENDED_DIGIT_REGEX.contains((char)character));
+			assertEquals(!isDigit, NON_DIGIT_REGEX.contains((char)character));
+
+		}
+
+	}
+
+	// Testing CharacterSetRegex#advanced(char) method
+
+	@Test
+	void character_set_regex_does_not_advance_when_it_should_not() {
+
+		assertRegexDoesNotAdvance(DIGIT_REGEX, "a");
+		assertRegexDoesNotAdvance(DIGIT_REGEX, "12");
+		assertRegexDoesNotAdvance(EXTENDED_DIGIT_REGEX, "g");
+		assertRegexDoesNotAdvance(EXTENDED_DIGIT_REGEX, "A");
+		assertRegexDoesNotAdvance(NON_DIGIT_REGEX, "5");
+
+	}
+
+	@Test
+	void character_set_regex_matches_when_it_should() {
+
+		assertRegexMatches(DIGIT_REGEX, "0");
+		assertRegexMatches(DIGIT_REGEX, "9");
+		assertRegexMatches(EXTENDED_DIGIT_REGEX, "c");
+		assertRegexMatches(NON_DIGIT_REGEX, "x");
+		assertRegexMatches(NON_DIGIT_REGEX, "\uffff");
+
+	}
+
+	@Test
+	void character_set_regex_can_be_negated() {
+
+		LexerRegex regex = new NotRegex(EXTENDED_DIGIT_REGEX);
+
+		assertRegexMatches(regex, "g");
+		assertRegexDoesNotAdvance(regex, "e");
+
+	}
+
+}
@@ -128,6 +128,42 @@ final class ConcatenationRegexTest {
 
 	}
 
+	// Testing structural equality and smart construction method
+
+	@Test
+	void structurally_identical_regexes_are_equal() {
+
+		// Initialization
+
+		LexerRegex regex1 = new ConcatenationRegex(new UnitRegex("a"), new ZeroOrMoreRegex(new UnitRegex("b")));
+		LexerRegex regex2 = new ConcatenationRegex(new UnitRegex("a"), new ZeroOrMoreRegex(new UnitRegex("b")));
+		LexerRegex regex3 = new ConcatenationRegex(new UnitRegex("a"), new ZeroOrMoreRegex(new UnitRegex("b")), 1);
+
+		// Testing
+
+		assertEquals(regex1, regex2);
+		assertEquals(regex1.hashCode(), regex2.hashCode());
+		assertNotEquals(regex1, regex3);
+		assertSame(LexerRegex.intern(regex1), LexerRegex.intern(regex2));
+
+	}
+
+	@Test
+	void of_drops_empty_first_subregex() {
+
+		// Initialization
+
+		LexerRegex regex = new UnitRegex("abc");
+
+		// Testing
+
+		assertNull(ConcatenationRegex.of(null, regex, 0));
+		assertNull(ConcatenationRegex.of(regex, null, 0));
+		assertEquals(regex, ConcatenationRegex.of(new UnitRegex(""), regex, 0));
+		assertTrue(ConcatenationRegex.of(new UnitRegex(""), regex, 1) instanceof ConcatenationRegex);
+
+	}
+
 	// Testing ConcatenationRegex#nullable() method
 
 	@Test
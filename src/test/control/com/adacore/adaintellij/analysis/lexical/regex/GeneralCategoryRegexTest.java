@@ -2,9 +2,11 @@ package com.adacore.adaintellij.analysis.lexical.regex;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.regex.Pattern;
+
 import static com.adacore.adaintellij.analysis.lexical.regex.LexerRegexTestUtils.assertRegexDoesNotAdvance;
 import static com.adacore.adaintellij.analysis.lexical.regex.LexerRegexTestUtils.assertRegexMatches;
-import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * JUnit test class for the GeneralCategoryRegex class.
@@ -119,4 +121,46 @@ final class GeneralCategoryRegexTest {
 
 	}
 
+	// Testing GeneralCategoryRegex#matches(char) and #matches(int) methods
+
+	@Test
+	void general_category_regex_matches_same_characters_as_java_patterns() {
+
+		String[] categories = { "Lu", "Ll", "Lt", "Lm", "Lo", "Mn", "Mc", "Nd", "Nl",
+			"Pc", "Cc", "Cf", "Co", "Cs", "Cn", "Zs", "Zl", "Zp", "L", "N", "C", "LC" };
+
+		for (String category : categories) {
+
+			GeneralCategoryRegex regex = new GeneralCategoryRegex(category);
+
+			Pattern pattern = Pattern.compile("\\p{" + category + "}");
+
+			for (int character = 0 ; character <= Character.MAX_VALUE ; character += 7) {
+				assertEquals(
+					pattern.matcher(String.valueOf((char)character)).matches(),
+					regex.matches((char)character),
+					category + " " + character
+				);
+			}
+
+		}
+
+	}
+
+	@Test
+	void general_category_regex_matches_supplementary_code_points() {
+
+		assertTrue(((GeneralCategoryRegex)LETTER_UPPERCASE_REGEX).matches(0x1D400));   // Mathematical bold capital A
+		assertTrue(((GeneralCategoryRegex)LETTER_OTHER_REGEX).matches(0x20000));       // CJK extension B ideograph
+		assertTrue(((GeneralCategoryRegex)NUMBER_DECIMAL_REGEX).matches(0x1D7CE));     // Mathematical bold digit zero
+		assertFalse(((GeneralCategoryRegex)LETTER_LOWERCASE_REGEX).matches(0x1D400));
+		assertFalse(((GeneralCategoryRegex)OTHER_SURROGATE_REGEX).matches(0x1D400));
+
+	}
+
+	@Test
+	void general_category_regex_rejects_unknown_categories() {
+		assertThrows(IllegalArgumentException.class, () -> new GeneralCategoryRegex("Xx"));
+	}
+
 }
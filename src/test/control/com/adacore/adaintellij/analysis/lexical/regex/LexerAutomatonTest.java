@@ -0,0 +1,273 @@
+package com.adacore.adaintellij.analysis.lexical.regex;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the LexerAutomaton class.
+ */
+final class LexerAutomatonTest {
+
+	// Constants
+
+	private static final LexerRegex IDENTIFIER_REGEX =
+		new OneOrMoreRegex(new GeneralCategoryRegex("Ll"));
+
+	private static final LexerRegex IS_KEYWORD_REGEX   = new UnitRegex("is", 1);
+	private static final LexerRegex ISNT_KEYWORD_REGEX = new UnitRegex("isnt", 1);
+
+	private static final LexerRegex NUMBER_REGEX =
+		new OneOrMoreRegex(UnionRegex.fromRange('0', '9'));
+
+	private static final LexerRegex DOT_REGEX        = new UnitRegex(".");
+	private static final LexerRegex DOUBLE_DOT_REGEX = new UnitRegex("..");
+
+	private static final LexerRegex REAL_REGEX =
+		ConcatenationRegex.fromRegexes(NUMBER_REGEX, new UnitRegex("."), NUMBER_REGEX);
+
+	private static final Map<LexerRegex, String> REGEX_TOKENS = new LinkedHashMap<>();
+
+	static {
+
+		REGEX_TOKENS.put(IDENTIFIER_REGEX  , "identifier");
+		REGEX_TOKENS.put(IS_KEYWORD_REGEX  , "is");
+		REGEX_TOKENS.put(ISNT_KEYWORD_REGEX, "isnt");
+		REGEX_TOKENS.put(NUMBER_REGEX      , "number");
+		REGEX_TOKENS.put(DOT_REGEX         , "dot");
+		REGEX_TOKENS.put(DOUBLE_DOT_REGEX  , "double-dot");
+		REGEX_TOKENS.put(REAL_REGEX        , "real");
+
+	}
+
+	private static final LexerAutomaton<String> AUTOMATON =
+		LexerAutomaton.compile(
+			REGEX_TOKENS,
+			Collections.singletonList(new HashSet<>(Arrays.asList(IDENTIFIER_REGEX, NUMBER_REGEX)))
+		);
+
+	// Helper methods
+
+	/**
+	 * Runs the automaton from the given state over the given sequence
+	 * and returns the token accepted by the reached state, or null if
+	 * the automaton dies or reaches a non-accepting state.
+	 *
+	 * @param state The state from which to run the automaton.
+	 * @param sequence The sequence of characters.
+	 * @return The accepted token.
+	 */
+	private static String acceptedToken(int state, String sequence) {
+
+		for (char character : sequence.toCharArray()) {
+			state = AUTOMATON.nextState(state, character);
+			if (state == LexerAutomaton.DEAD_STATE) { return null; }
+		}
+
+		return AUTOMATON.acceptedToken(state);
+
+	}
+
+	// Testing LexerAutomaton#compile(Map, List) method
+
+	@Test
+	void compile_rejects_starting_regexes_that_are_not_root_regexes() {
+
+		assertThrows(IllegalArgumentException.class, () -> LexerAutomaton.compile(
+			REGEX_TOKENS,
+			Collections.singletonList(Collections.singleton(new UnitRegex("is", 1)))
+		));
+
+	}
+
+	@Test
+	void compile_produces_minimized_automaton() {
+
+		// Initialization
+
+		Map<LexerRegex, String> regexTokens = new LinkedHashMap<>();
+
+		regexTokens.put(new UnitRegex("ab"), "token");
+		regexTokens.put(new UnitRegex("cb"), "token");
+
+		// Testing
+		// Note: The states reached after "a" and "c" are equivalent, and
+		//       so are the ones reached after "ab" and "cb"
+
+		assertEquals(3, LexerAutomaton.compile(regexTokens).stateCount());
+
+	}
+
+	// Testing LexerAutomaton#acceptedToken(int) method
+
+	@Test
+	void automaton_accepts_tokens_of_matching_regexes() {
+
+		int startState = AUTOMATON.startState();
+
+		assertEquals("identifier", acceptedToken(startState, "abc"));
+		assertEquals("identifier", acceptedToken(startState, "i"));
+		assertEquals("identifier", acceptedToken(startState, "isn"));
+		assertEquals("number"    , acceptedToken(startState, "123"));
+		assertEquals("dot"       , acceptedToken(startState, "."));
+		assertEquals("double-dot", acceptedToken(startState, ".."));
+		assertEquals("real"      , acceptedToken(startState, "1.5"));
+
+	}
+
+	@Test
+	void automaton_prefers_regexes_with_higher_priority() {
+
+		int startState = AUTOMATON.startState();
+
+		assertEquals("is"  , acceptedToken(startState, "is"));
+		assertEquals("isnt", acceptedToken(startState, "isnt"));
+		assertEquals("identifier", acceptedToken(startState, "isnta"));
+
+	}
+
+	@Test
+	void automaton_does_not_accept_partial_matches() {
+
+		int startState = AUTOMATON.startState();
+
+		assertNull(acceptedToken(startState, "1."));
+		assertNull(acceptedToken(startState, "..."));
+		assertNull(acceptedToken(startState, "A"));
+		assertNull(acceptedToken(startState, "a1"));
+
+	}
+
+	@Test
+	void additional_start_states_only_match_starting_regexes() {
+
+		int startState = AUTOMATON.startState(0);
+
+		assertEquals("identifier", acceptedToken(startState, "is"));
+		assertEquals("identifier", acceptedToken(startState, "isnt"));
+		assertEquals("number"    , acceptedToken(startState, "42"));
+
+		assertNull(acceptedToken(startState, "."));
+		assertNull(acceptedToken(startState, "1.5"));
+
+	}
+
+	@Test
+	void automaton_matches_regexes_on_any_character() {
+
+		// Initialization
+
+		Map<LexerRegex, String> regexTokens = new LinkedHashMap<>();
+
+		regexTokens.put(IDENTIFIER_REGEX, "identifier");
+		regexTokens.put(IS_KEYWORD_REGEX, "is");
+		regexTokens.put(NUMBER_REGEX    , "number");
+		regexTokens.put(REAL_REGEX      , "real");
+
+		LexerAutomaton<String> automaton = LexerAutomaton.compile(regexTokens);
+
+		// Testing
+
+		for (int character = 0 ; character <= Character.MAX_VALUE ; character++) {
+
+			LexerRegex advancedIdentifier = IDENTIFIER_REGEX.advanced((char)character);
+			LexerRegex advancedNumber     = NUMBER_REGEX.advanced((char)character);
+
+			int state = automaton.nextState(automaton.startState(), (char)character);
+
+			if (advancedIdentifier == null && advancedNumber == null) {
+				assertEquals(LexerAutomaton.DEAD_STATE, state);
+			} else {
+				assertEquals(
+					advancedIdentifier != null ? "identifier" : "number",
+					automaton.acceptedToken(state)
+				);
+			}
+
+		}
+
+	}
+
+	// Testing LexerAutomaton#write(OutputStream, Function) and
+	// LexerAutomaton#read(InputStream, Function) methods
+
+	@Test
+	void read_returns_automaton_equivalent_to_written_automaton() throws IOException {
+
+		// Initialization
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		AUTOMATON.write(output, Function.identity());
+
+		LexerAutomaton<String> automaton = LexerAutomaton.read(
+			new ByteArrayInputStream(output.toByteArray()), Function.identity());
+
+		// Testing
+
+		assertEquals(AUTOMATON.stateCount(), automaton.stateCount());
+		assertEquals(AUTOMATON.startState(), automaton.startState());
+		assertEquals(AUTOMATON.startState(0), automaton.startState(0));
+
+		for (int state = 0 ; state < AUTOMATON.stateCount() ; state++) {
+
+			assertEquals(AUTOMATON.acceptedToken(state), automaton.acceptedToken(state));
+
+			for (int character = 0 ; character <= Character.MAX_VALUE ; character++) {
+				assertEquals(
+					AUTOMATON.nextState(state, (char)character),
+					automaton.nextState(state, (char)character)
+				);
+			}
+
+		}
+
+	}
+
+	@Test
+	void read_rejects_unknown_tokens() throws IOException {
+
+		// Initialization
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		AUTOMATON.write(output, Function.identity());
+
+		// Testing
+
+		assertThrows(IOException.class, () -> LexerAutomaton.read(
+			new ByteArrayInputStream(output.toByteArray()),
+			name -> name.equals("real") ? null : name
+		));
+
+	}
+
+	@Test
+	void read_rejects_malformed_input() throws IOException {
+
+		// Initialization
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		AUTOMATON.write(output, Function.identity());
+
+		byte[] bytes     = output.toByteArray();
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+		byte[] corrupted = bytes.clone();
+
+		corrupted[0] ^= 1;
+
+		// Testing
+
+		assertThrows(IOException.class, () -> LexerAutomaton.read(
+			new ByteArrayInputStream(truncated), Function.identity()));
+		assertThrows(IOException.class, () -> LexerAutomaton.read(
+			new ByteArrayInputStream(corrupted), Function.identity()));
+
+	}
+
+}
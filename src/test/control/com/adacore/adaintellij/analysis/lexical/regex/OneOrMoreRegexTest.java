@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 
 import static com.adacore.adaintellij.analysis.lexical.regex.LexerRegexTestUtils.*;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -65,6 +67,23 @@ final class OneOrMoreRegexTest {
 
 	}
 
+	@Test
+	void repeated_derivatives_are_cached() {
+
+		// Initialization
+
+		LexerRegex regex = new OneOrMoreRegex(new GeneralCategoryRegex("Ll"));
+
+		LexerRegex advancedRegex = regex.advanced('a');
+
+		// Testing
+
+		assertNotNull(advancedRegex);
+		assertSame(advancedRegex, regex.advanced('z'));
+		assertSame(advancedRegex.advanced('a'), advancedRegex.advanced('a').advanced('b'));
+
+	}
+
 	@Test
 	void one_or_more_regex_does_not_match_when_it_should_not() {
 
@@ -150,6 +150,61 @@ final class UnionRegexTest {
 
 	}
 
+	// Testing smart construction method
+
+	@Test
+	void of_drops_empty_subregexes() {
+
+		assertNull(UnionRegex.of(null, null, 0));
+		assertSame(LexerRegex.intern(LOWER_CASE_A_UNIT_REGEX), UnionRegex.of(LOWER_CASE_A_UNIT_REGEX, null, 0));
+		assertSame(LexerRegex.intern(LOWER_CASE_B_UNIT_REGEX), UnionRegex.of(null, LOWER_CASE_B_UNIT_REGEX, 0));
+
+	}
+
+	@Test
+	void of_flattens_and_deduplicates_subregexes() {
+
+		// Initialization
+
+		LexerRegex regex1 = UnionRegex.of(
+			UnionRegex.of(new UnitRegex("a"), new UnitRegex("b"), 0),
+			UnionRegex.of(new UnitRegex("c"), new UnitRegex("a"), 0),
+			0
+		);
+
+		LexerRegex regex2 = UnionRegex.of(
+			new UnitRegex("c"),
+			UnionRegex.of(new UnitRegex("b"), new UnitRegex("a"), 0),
+			0
+		);
+
+		// Testing
+
+		assertSame(regex1, regex2);
+		assertSame(LexerRegex.intern(new UnitRegex("a")), UnionRegex.of(new UnitRegex("a"), new UnitRegex("a"), 0));
+
+		assertRegexMatches(regex1, "a");
+		assertRegexMatches(regex1, "b");
+		assertRegexMatches(regex1, "c");
+		assertRegexDoesNotAdvance(regex1, "d");
+
+	}
+
+	@Test
+	void of_preserves_priority() {
+
+		// Initialization
+
+		LexerRegex regex = UnionRegex.of(new UnitRegex("a"), new UnitRegex("a"), 1);
+
+		// Testing
+
+		assertNotNull(regex);
+		assertEquals(1, regex.PRIORITY);
+		assertRegexMatches(regex, "a");
+
+	}
+
 	// Testing UnionRegex#nullable() method
 
 	@Test
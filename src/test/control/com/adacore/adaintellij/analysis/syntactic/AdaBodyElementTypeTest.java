@@ -0,0 +1,149 @@
+package com.adacore.adaintellij.analysis.syntactic;
+
+import com.adacore.adaintellij.AdaLanguage;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.adacore.adaintellij.analysis.syntactic.AdaSyntaxElementTypes.*;
+
+/**
+ * Test class for the AdaBodyElementType class.
+ */
+public class AdaBodyElementTypeTest extends LightJavaCodeInsightFixtureTestCase {
+
+	// Constants
+
+	private static final String TEXT =
+		"package body P is\n" +
+		"   procedure First is\n" +
+		"   begin\n" +
+		"      null;\n" +
+		"   end First;\n" +
+		"   procedure Second is\n" +
+		"      X : Integer := 0;\n" +
+		"   begin\n" +
+		"      declare\n" +
+		"         Y : Integer := X;\n" +
+		"      begin\n" +
+		"         X := Y + 1;\n" +
+		"      end;\n" +
+		"   end Second;\n" +
+		"end P;\n";
+
+	// Setup and teardown
+
+	@BeforeEach
+	public void setup() throws Exception { super.setUp(); }
+
+	@AfterEach
+	public void teardown() throws Exception { super.tearDown(); }
+
+	// Helper methods
+
+	/**
+	 * Returns whether the given text can be reparsed on its own as the
+	 * contents of a subprogram body.
+	 *
+	 * @param text The text to check.
+	 * @return Whether the text is parsable.
+	 */
+	private boolean isParsable(String text) {
+		return SUBPROGRAM_BODY_CONTENTS.isParsable(null, text, AdaLanguage.INSTANCE, getProject());
+	}
+
+	/**
+	 * Returns the body contents element enclosing the first occurrence
+	 * of the given text in the given file.
+	 *
+	 * @param file The file in which to look for the element.
+	 * @param text The text in the body contents element.
+	 * @return The enclosing body contents element.
+	 */
+	private static AdaSyntaxPsiElement getBodyContents(PsiFile file, String text) {
+
+		PsiElement element = file.findElementAt(file.getText().indexOf(text));
+
+		while (element != null && !(element instanceof PsiFile)) {
+
+			if (element instanceof AdaSyntaxPsiElement &&
+				((AdaSyntaxPsiElement)element).getSyntaxElementType() instanceof AdaBodyElementType)
+			{
+				return (AdaSyntaxPsiElement)element;
+			}
+
+			element = element.getParent();
+
+		}
+
+		fail("No body contents element at: " + text);
+
+		return null;
+
+	}
+
+	// Testing AdaBodyElementType#isParsable method
+
+	@Test
+	public void testCompleteBodyIsParsable() {
+		assertTrue(isParsable("X : Integer;\nbegin\n   X := 0;\nend Q;"));
+		assertTrue(isParsable("begin\n   if X then\n      null;\n   end if;\nend;"));
+	}
+
+	@Test
+	public void testUnterminatedBodyIsNotParsable() {
+		assertFalse(isParsable("begin\n   null;\n"));
+		assertFalse(isParsable("begin\n   null;\nend Q"));
+	}
+
+	@Test
+	public void testBodyFollowedByTokensIsNotParsable() {
+		assertFalse(isParsable("begin\n   null;\nend Q;\nprocedure R is begin null; end R;"));
+		assertFalse(isParsable("begin\n   null;\nend if;"));
+	}
+
+	// Testing incremental reparsing
+
+	@Test
+	public void testEditReparsesOnlyEnclosingBody() {
+
+		// Initialization
+
+		PsiFile file = myFixture.configureByText("p.adb", TEXT);
+
+		AdaSyntaxPsiElement first  = getBodyContents(file, "null;");
+		AdaSyntaxPsiElement second = getBodyContents(file, "X : Integer");
+		AdaSyntaxPsiElement block  = getBodyContents(file, "Y : Integer");
+
+		assertEquals(PACKAGE_BODY_CONTENTS, getBodyContents(file, "procedure First").getSyntaxElementType());
+		assertEquals(SUBPROGRAM_BODY_CONTENTS, first.getSyntaxElementType());
+		assertEquals(SUBPROGRAM_BODY_CONTENTS, second.getSyntaxElementType());
+		assertEquals(BLOCK_CONTENTS, block.getSyntaxElementType());
+
+		// Testing
+
+		Document document = myFixture.getEditor().getDocument();
+
+		WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+			document.insertString(TEXT.indexOf("X := Y + 1;"), "X := Y;\n         ");
+			PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+		});
+
+		assertEquals(document.getText(), file.getText());
+
+		assertTrue(first.isValid());
+		assertTrue(second.isValid());
+		assertSame(first, getBodyContents(file, "null;"));
+		assertSame(second, getBodyContents(file, "X : Integer"));
+
+		assertTrue(getBodyContents(file, "Y : Integer").getText().contains("X := Y;"));
+
+	}
+
+}
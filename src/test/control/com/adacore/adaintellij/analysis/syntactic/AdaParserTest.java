@@ -0,0 +1,209 @@
+package com.adacore.adaintellij.analysis.syntactic;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+
+import static com.adacore.adaintellij.analysis.syntactic.AdaSyntaxElementTypes.*;
+
+/**
+ * Test class for the AdaParser class, checking the structure of the
+ * trees it builds.
+ */
+public class AdaParserTest extends LightJavaCodeInsightFixtureTestCase {
+
+	// Constants
+
+	private static final String PACKAGE_BODY_TEXT =
+		"with Ada.Text_IO; use Ada.Text_IO;\n" +
+		"package body Counters is\n" +
+		"   type Counter is record\n" +
+		"      Value : Integer := 0;\n" +
+		"   end record;\n" +
+		"   procedure Increment (C : in out Counter) is\n" +
+		"   begin\n" +
+		"      if C.Value < Integer'Last and then C.Value >= 0 then\n" +
+		"         C.Value := C.Value + 1;\n" +
+		"      else\n" +
+		"         Put_Line (\"Overflow\");\n" +
+		"      end if;\n" +
+		"   end Increment;\n" +
+		"end Counters;\n";
+
+	private static final String BROKEN_TEXT =
+		"procedure Broken is\n" +
+		"begin\n" +
+		"   if True then\n" +
+		"      null;\n" +
+		"   end case;\n" +
+		"end Broken;\n" +
+		"procedure Next is\n" +
+		"begin\n" +
+		"   null;\n" +
+		"end Next;\n";
+
+	// Setup and teardown
+
+	@BeforeEach
+	public void setup() throws Exception { super.setUp(); }
+
+	@AfterEach
+	public void teardown() throws Exception { super.tearDown(); }
+
+	// Helper methods
+
+	/**
+	 * Returns the syntax element of the given type that is the closest
+	 * ancestor of the given element, failing if there is none.
+	 *
+	 * @param element The element whose ancestor to get.
+	 * @param type The type of the ancestor to get.
+	 * @return The ancestor of the given type.
+	 */
+	private static PsiElement getAncestor(PsiElement element, IElementType type) {
+
+		PsiElement parent = element.getParent();
+
+		while (parent != null && !(parent instanceof PsiFile)) {
+
+			if (parent.getNode().getElementType() == type) { return parent; }
+
+			parent = parent.getParent();
+
+		}
+
+		fail("No ancestor of type " + type + " for element: " + element.getText());
+
+		return null;
+
+	}
+
+	/**
+	 * Returns the Ada element at the start of the first occurrence of
+	 * the given text in the given file.
+	 *
+	 * @param file The file in which to look for the element.
+	 * @param text The text at which the element starts.
+	 * @return The Ada element at the given text.
+	 */
+	private static AdaPsiElement getElementAt(PsiFile file, String text) {
+
+		PsiElement leaf = file.findElementAt(file.getText().indexOf(text));
+
+		assertNotNull(leaf);
+
+		AdaPsiElement element = AdaPsiElement.getFrom(leaf);
+
+		assertNotNull(element);
+
+		return element;
+
+	}
+
+	// Testing tree structure
+
+	@Test
+	public void testDeclarationsAndStatementsAreNested() {
+
+		// Initialization
+
+		PsiFile file = myFixture.configureByText("counters.adb", PACKAGE_BODY_TEXT);
+
+		// Testing
+
+		assertEquals(PACKAGE_BODY_TEXT, file.getText());
+		assertEmpty(PsiTreeUtil.findChildrenOfType(file, PsiErrorElement.class));
+
+		PsiElement[] children = file.getChildren();
+
+		assertEquals(3, children.length);
+		assertEquals(WITH_CLAUSE, children[0].getNode().getElementType());
+		assertEquals(USE_CLAUSE, children[1].getNode().getElementType());
+		assertEquals(PACKAGE_BODY, children[2].getNode().getElementType());
+
+		AdaPsiElement assigned = getElementAt(file, "C.Value := ");
+
+		PsiElement statement  = getAncestor(assigned, SIMPLE_STATEMENT);
+		PsiElement ifElement  = getAncestor(statement, IF_STATEMENT);
+		PsiElement subprogram = getAncestor(ifElement, SUBPROGRAM_BODY);
+
+		assertEquals("C.Value := C.Value + 1;", statement.getText());
+		assertTrue(ifElement.getText().startsWith("if C.Value"));
+		assertTrue(ifElement.getText().endsWith("end if;"));
+		assertSame(children[2], getAncestor(subprogram, PACKAGE_BODY));
+
+		PsiElement record = getAncestor(getElementAt(file, "type Counter"), TYPE_DECLARATION);
+
+		assertTrue(record.getText().endsWith("end record;"));
+
+	}
+
+	@Test
+	public void testTokenElementsKeepTheirContainingFile() {
+
+		// Initialization
+
+		PsiFile file = myFixture.configureByText("counters.adb", PACKAGE_BODY_TEXT);
+
+		// Testing
+
+		Collection<AdaPsiReference> references = PsiTreeUtil.findChildrenOfType(file, AdaPsiReference.class);
+
+		assertNotEmpty(references);
+
+		for (AdaPsiReference reference : references) {
+			assertSame(file, reference.getContainingFile());
+		}
+
+	}
+
+	@Test
+	public void testTokensAreLeavesBackingTheirOwnPsiElements() {
+
+		// Initialization
+
+		PsiFile file = myFixture.configureByText("counters.adb", PACKAGE_BODY_TEXT);
+
+		// Testing
+
+		PsiElement identifier = file.findElementAt(PACKAGE_BODY_TEXT.indexOf("Increment"));
+		PsiElement keyword    = file.findElementAt(PACKAGE_BODY_TEXT.indexOf("procedure"));
+
+		assertInstanceOf(identifier, AdaPsiReference.class);
+		assertInstanceOf(keyword, AdaPsiElement.class);
+		assertSame(identifier, identifier.getNode());
+		assertNull(identifier.getFirstChild());
+		assertSame(SUBPROGRAM_BODY, identifier.getParent().getNode().getElementType());
+
+	}
+
+	// Testing error recovery
+
+	@Test
+	public void testParserRecoversFromErroneousCode() {
+
+		// Initialization
+
+		PsiFile file = myFixture.configureByText("broken.adb", BROKEN_TEXT);
+
+		// Testing
+
+		assertEquals(BROKEN_TEXT, file.getText());
+		assertNotEmpty(PsiTreeUtil.findChildrenOfType(file, PsiErrorElement.class));
+
+		PsiElement next = getAncestor(getElementAt(file, "Next is"), SUBPROGRAM_BODY);
+
+		assertTrue(next.getText().startsWith("procedure Next"));
+		assertSame(file, next.getParent());
+
+	}
+
+}
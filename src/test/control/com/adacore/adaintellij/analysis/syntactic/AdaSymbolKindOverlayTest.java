@@ -0,0 +1,189 @@
+package com.adacore.adaintellij.analysis.syntactic;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
+
+/**
+ * Test class for the AdaSymbolKindOverlay class, checking how symbol
+ * kinds are read and how they follow the edits of their document.
+ */
+public class AdaSymbolKindOverlayTest extends LightJavaCodeInsightFixtureTestCase {
+
+	// Constants
+
+	private static final String SPEC_TEXT =
+		"package Counters is\n" +
+		"   type Counter is private;\n" +
+		"   function Value (C : Counter) return Integer;\n" +
+		"end Counters;\n";
+
+	// Fields
+
+	private Document document;
+
+	private AdaSymbolKindOverlay overlay;
+
+	// Setup and teardown
+
+	@BeforeEach
+	public void setup() throws Exception {
+
+		super.setUp();
+
+		myFixture.configureByText("counters.ads", SPEC_TEXT);
+
+		document = myFixture.getEditor().getDocument();
+		overlay  = AdaSymbolKindOverlay.forDocument(document);
+
+		// Fill the overlay as if the ALS had returned the symbols of
+		// the document
+
+		DocumentSymbol counter = symbol("Counter", SymbolKind.Class, 1, 8);
+		DocumentSymbol value   = symbol("Value", SymbolKind.Function, 2, 12);
+		DocumentSymbol root    = symbol("Counters", SymbolKind.Package, 0, 8);
+
+		root.setChildren(Arrays.asList(counter, value));
+
+		ApplicationManager.getApplication().runReadAction(() ->
+			overlay.update(Collections.singletonList(root), document.getModificationStamp()));
+
+	}
+
+	@AfterEach
+	public void teardown() throws Exception { super.tearDown(); }
+
+	// Helper methods
+
+	/**
+	 * Returns a new document symbol whose name is at the given
+	 * position.
+	 *
+	 * @param name The name of the symbol.
+	 * @param kind The kind of the symbol.
+	 * @param line The line of the name.
+	 * @param column The column of the name.
+	 * @return The document symbol.
+	 */
+	private static DocumentSymbol symbol(String name, SymbolKind kind, int line, int column) {
+
+		Range range = new Range(new Position(line, column), new Position(line, column + name.length()));
+
+		return new DocumentSymbol(name, kind, range, range);
+
+	}
+
+	/**
+	 * Returns the overlaid kind of the first occurrence of the given
+	 * name between spaces in the document.
+	 *
+	 * @param name The name to look for.
+	 * @return The kind of the name.
+	 */
+	private AdaElementType kindOf(String name) {
+
+		int start = document.getText().indexOf(" " + name + " ") + 1;
+
+		return overlay.kindAt(start, start + name.length());
+
+	}
+
+	/**
+	 * Replaces the first occurrence of the given text in the document.
+	 *
+	 * @param text The text to replace.
+	 * @param replacement The replacement text.
+	 */
+	private void replace(String text, String replacement) {
+
+		int start = document.getText().indexOf(text);
+
+		WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+			document.replaceString(start, start + text.length(), replacement);
+			PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+		});
+
+	}
+
+	// Test methods
+
+	@Test
+	public void testKindsAreReadFromTheOverlay() {
+
+		assertTrue(overlay.isUpToDate());
+		assertSame(overlay, AdaSymbolKindOverlay.forDocument(document));
+
+		assertEquals(AdaElementType.PACKAGE_SPEC_IDENTIFIER, kindOf("Counters"));
+		assertEquals(AdaElementType.TYPE_IDENTIFIER, kindOf("Counter"));
+		assertEquals(AdaElementType.FUNCTION_IDENTIFIER, kindOf("Value"));
+		assertEquals(AdaElementType.OTHER, kindOf("return"));
+
+		// Names must match the ranges of the symbols exactly
+
+		int start = SPEC_TEXT.indexOf("Value");
+
+		assertEquals(AdaElementType.OTHER, overlay.kindAt(start, start + 2));
+
+	}
+
+	@Test
+	public void testElementTypesOfElementsAreReadFromTheOverlay() {
+
+		AdaPsiElement element = (AdaPsiElement)myFixture.getFile().findElementAt(SPEC_TEXT.indexOf("Value"));
+
+		assertEquals(AdaElementType.FUNCTION_IDENTIFIER, element.getAdaElementType());
+
+	}
+
+	@Test
+	public void testRangesAreShiftedThroughEdits() {
+
+		replace("is\n   type", "is\n\n   type");
+
+		assertFalse(overlay.isUpToDate());
+
+		assertEquals(AdaElementType.PACKAGE_SPEC_IDENTIFIER, kindOf("Counters"));
+		assertEquals(AdaElementType.TYPE_IDENTIFIER, kindOf("Counter"));
+		assertEquals(AdaElementType.FUNCTION_IDENTIFIER, kindOf("Value"));
+
+	}
+
+	@Test
+	public void testRangesTouchedByEditsAreDiscarded() {
+
+		replace("Value", "Total");
+
+		assertEquals(AdaElementType.OTHER, kindOf("Total"));
+		assertEquals(AdaElementType.TYPE_IDENTIFIER, kindOf("Counter"));
+
+	}
+
+	@Test
+	public void testSymbolsOfOutdatedDocumentsAreIgnored() {
+
+		long stamp = document.getModificationStamp();
+
+		replace("Value", "Total");
+
+		ApplicationManager.getApplication().runReadAction(() ->
+			overlay.update(Collections.singletonList(symbol("Total", SymbolKind.Function, 2, 12)), stamp));
+
+		assertEquals(AdaElementType.OTHER, kindOf("Total"));
+
+	}
+
+}
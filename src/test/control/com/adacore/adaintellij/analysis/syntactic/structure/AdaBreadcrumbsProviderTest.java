@@ -0,0 +1,103 @@
+package com.adacore.adaintellij.analysis.syntactic.structure;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for the AdaBreadcrumbsProvider class, checking the crumbs
+ * of the declarations enclosing various offsets of a file.
+ */
+public class AdaBreadcrumbsProviderTest extends LightJavaCodeInsightFixtureTestCase {
+
+	// Constants
+
+	private static final String BODY_TEXT =
+		"with Ada.Text_IO;\n" +
+		"package body Counters is\n" +
+		"   Instances : Integer := 0;\n" +
+		"   function Value (C : Counter) return Integer is\n" +
+		"      Local : Integer := C.Current;\n" +
+		"   begin\n" +
+		"      return Local;\n" +
+		"   end Value;\n" +
+		"   generic\n" +
+		"      type Element is private;\n" +
+		"   procedure Apply (E : Element);\n" +
+		"end Counters;\n";
+
+	// Fields
+
+	private final AdaBreadcrumbsProvider provider = new AdaBreadcrumbsProvider();
+
+	// Setup and teardown
+
+	@BeforeEach
+	public void setup() throws Exception {
+		super.setUp();
+		myFixture.configureByText("counters.adb", BODY_TEXT);
+	}
+
+	@AfterEach
+	public void teardown() throws Exception { super.tearDown(); }
+
+	// Helper methods
+
+	/**
+	 * Returns the crumbs of the first occurrence of the given text in
+	 * the file, from the innermost one to the outermost one, as they
+	 * are collected by the platform.
+	 *
+	 * @param text The text at which to collect the crumbs.
+	 * @return The texts of the crumbs.
+	 */
+	private List<String> crumbsAt(String text) {
+
+		List<String> crumbs = new ArrayList<>();
+
+		PsiElement element = myFixture.getFile().findElementAt(BODY_TEXT.indexOf(text));
+
+		while (element != null) {
+
+			if (provider.acceptElement(element)) { crumbs.add(provider.getElementInfo(element)); }
+
+			element = provider.getParent(element);
+
+		}
+
+		return crumbs;
+
+	}
+
+	// Test methods
+
+	@Test
+	public void testCrumbsAreTheEnclosingDeclarations() {
+		assertOrderedEquals(crumbsAt("return Local"), "Value", "Counters");
+		assertOrderedEquals(crumbsAt("Current"), "Local", "Value", "Counters");
+		assertOrderedEquals(crumbsAt(": Integer := 0"), "Instances", "Counters");
+	}
+
+	@Test
+	public void testNamesAreTheirOwnCrumbs() {
+		assertOrderedEquals(crumbsAt("Value ("), "Value", "Counters");
+		assertOrderedEquals(crumbsAt("Counters is"), "Counters");
+	}
+
+	@Test
+	public void testGenericFormalsAreInTheirGenericUnit() {
+		assertOrderedEquals(crumbsAt("Element is"), "Element", "Apply", "Counters");
+		assertOrderedEquals(crumbsAt("generic"), "Apply", "Counters");
+	}
+
+	@Test
+	public void testCrumbsOutsideDeclarationsAreEmpty() {
+		assertEmpty(crumbsAt("Ada.Text_IO"));
+	}
+
+}
@@ -0,0 +1,168 @@
+package com.adacore.adaintellij.analysis.syntactic.structure;
+
+import com.adacore.adaintellij.analysis.syntactic.AdaPsiFile;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
+
+/**
+ * Test class for the AdaSymbolTree class, checking the symbol trees
+ * built from the declarations of files when the ALS is not running.
+ */
+public class AdaSymbolTreeTest extends LightJavaCodeInsightFixtureTestCase {
+
+	// Constants
+
+	private static final String BODY_TEXT =
+		"with Ada.Text_IO;\n" +
+		"package body Counters is\n" +
+		"   Instances : Integer := 0;\n" +
+		"   function Value (C : Counter) return Integer is\n" +
+		"      Local, Other : Integer := C.Current;\n" +
+		"   begin\n" +
+		"      declare\n" +
+		"         Nested : Integer := Local;\n" +
+		"      begin\n" +
+		"         return Nested;\n" +
+		"      end;\n" +
+		"   end Value;\n" +
+		"   generic\n" +
+		"      type Element is private;\n" +
+		"   procedure Apply (E : Element);\n" +
+		"   procedure Apply (E : Element) is null;\n" +
+		"end Counters;\n";
+
+	// Fields
+
+	private AdaPsiFile file;
+
+	// Setup and teardown
+
+	@BeforeEach
+	public void setup() throws Exception {
+		super.setUp();
+		file = (AdaPsiFile)myFixture.configureByText("counters.adb", BODY_TEXT);
+	}
+
+	@AfterEach
+	public void teardown() throws Exception { super.tearDown(); }
+
+	// Helper methods
+
+	/**
+	 * Returns the names of the given symbols.
+	 *
+	 * @param symbols The symbols.
+	 * @return The names of the symbols.
+	 */
+	private static String[] namesOf(AdaSymbolTree.Symbol[] symbols) {
+		return Arrays.stream(symbols).map(symbol -> symbol.NAME).toArray(String[]::new);
+	}
+
+	// Test methods
+
+	@Test
+	public void testSymbolsAreNestedInTheirDeclarations() {
+
+		AdaSymbolTree tree = AdaSymbolTree.forFile(file);
+
+		assertFalse(tree.FROM_SERVER);
+
+		AdaSymbolTree.Symbol[] roots = tree.getRoots();
+
+		assertOrderedEquals(namesOf(roots), "Counters");
+		assertEquals(AdaElementType.PACKAGE_BODY_IDENTIFIER, roots[0].KIND);
+
+		AdaSymbolTree.Symbol[] members = roots[0].getChildren();
+
+		assertOrderedEquals(namesOf(members), "Instances", "Value", "Apply", "Apply");
+		assertEquals(AdaElementType.FUNCTION_IDENTIFIER, members[1].KIND);
+
+		// Declarations of blocks are declared in the enclosing body, and
+		// objects declaring several names are a single symbol
+
+		assertOrderedEquals(namesOf(members[1].getChildren()), "Local, Other", "Nested");
+
+		// Generic formal parameters are declared in their generic unit
+
+		assertOrderedEquals(namesOf(members[2].getChildren()), "Element");
+		assertEmpty(members[3].getChildren());
+
+	}
+
+	@Test
+	public void testSymbolsPointToTheirNames() {
+
+		AdaSymbolTree.Symbol value = AdaSymbolTree.forFile(file).getRoots()[0].getChildren()[1];
+
+		assertEquals(BODY_TEXT.indexOf("Value"), value.getOffset());
+		assertEquals("Value", value.getElement(file).getText());
+
+	}
+
+	@Test
+	public void testTreeIsCachedUntilTheDocumentChanges() {
+
+		AdaSymbolTree tree = AdaSymbolTree.forFile(file);
+
+		AdaSymbolTree.Symbol[] members = tree.getRoots()[0].getChildren();
+
+		assertSame(tree, AdaSymbolTree.forFile(file));
+		assertSame(members, tree.getRoots()[0].getChildren());
+
+		// Insert a declaration and check that the tree is built again
+
+		Document document = myFixture.getEditor().getDocument();
+
+		WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+			document.insertString(BODY_TEXT.indexOf("   Instances"), "   Total : Integer;\n");
+			PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+		});
+
+		AdaSymbolTree updated = AdaSymbolTree.forFile(file);
+
+		assertNotSame(tree, updated);
+		assertOrderedEquals(namesOf(updated.getRoots()[0].getChildren()),
+			"Total", "Instances", "Value", "Apply", "Apply");
+
+	}
+
+	@Test
+	public void testSymbolsUntouchedByEditsAreReused() {
+
+		AdaSymbolTree.Symbol[] members = AdaSymbolTree.forFile(file).getRoots()[0].getChildren();
+
+		AdaSymbolTree.Symbol[] formals = members[2].getChildren();
+
+		// Edit the body of `Value` and check that only the symbols
+		// enclosing the edit are built again
+
+		Document document = myFixture.getEditor().getDocument();
+
+		WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+			document.insertString(BODY_TEXT.indexOf("         return"), "         null;\n");
+			PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+		});
+
+		AdaSymbolTree.Symbol[] updated = AdaSymbolTree.forFile(file).getRoots()[0].getChildren();
+
+		assertOrderedEquals(namesOf(updated), "Instances", "Value", "Apply", "Apply");
+
+		assertSame(members[0], updated[0]);
+		assertNotSame(members[1], updated[1]);
+		assertSame(members[2], updated[2]);
+		assertSame(formals, updated[2].getChildren());
+
+		assertEquals(document.getText().indexOf("Apply"), updated[2].getOffset());
+
+	}
+
+}
@@ -0,0 +1,165 @@
+package com.adacore.adaintellij.analysis.syntactic.stubs;
+
+import com.adacore.adaintellij.analysis.syntactic.AdaDeclarationPsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+
+import static com.adacore.adaintellij.analysis.syntactic.AdaPsiElement.AdaElementType;
+
+/**
+ * Test class for the AdaDeclarationElementType class, checking which
+ * declarations get stubs and how they are indexed.
+ */
+public class AdaDeclarationElementTypeTest extends LightJavaCodeInsightFixtureTestCase {
+
+	// Constants
+
+	private static final String SPEC_TEXT =
+		"package Counters is\n" +
+		"   type Counter is private;\n" +
+		"   Max, Min : constant Integer := 10;\n" +
+		"   Overflow : exception;\n" +
+		"   generic\n" +
+		"      type Element is private;\n" +
+		"   procedure Apply (E : Element);\n" +
+		"   function Value (C : Counter) return Integer;\n" +
+		"private\n" +
+		"   type Counter is record\n" +
+		"      Current : Integer := 0;\n" +
+		"   end record;\n" +
+		"end Counters;\n";
+
+	private static final String BODY_TEXT =
+		"package body Counters is\n" +
+		"   Instances : Integer := 0;\n" +
+		"   function Value (C : Counter) return Integer is\n" +
+		"      Local : Integer := C.Current;\n" +
+		"   begin\n" +
+		"      return Local;\n" +
+		"   end Value;\n" +
+		"   procedure Reset is separate;\n" +
+		"end Counters;\n";
+
+	private static final String CHILD_TEXT =
+		"package Counters.Extra is\n" +
+		"   Limit : Integer;\n" +
+		"end Counters.Extra;\n";
+
+	private static final String SUBUNIT_TEXT =
+		"separate (Counters)\n" +
+		"procedure Reset is\n" +
+		"begin\n" +
+		"   null;\n" +
+		"end Reset;\n";
+
+	// Setup and teardown
+
+	@BeforeEach
+	public void setup() throws Exception {
+		super.setUp();
+		myFixture.configureByText("counters.ads", SPEC_TEXT);
+		myFixture.configureByText("counters.adb", BODY_TEXT);
+		myFixture.configureByText("counters-extra.ads", CHILD_TEXT);
+		myFixture.configureByText("counters-reset.adb", SUBUNIT_TEXT);
+	}
+
+	@AfterEach
+	public void teardown() throws Exception { super.tearDown(); }
+
+	// Helper methods
+
+	/**
+	 * Returns the declarations of the given short name.
+	 *
+	 * @param name The short name to look for.
+	 * @return The declarations of the given name.
+	 */
+	private Collection<AdaDeclarationPsiElement> getDeclarations(String name) {
+		return AdaShortNameIndex.getDeclarations(
+			name, getProject(), GlobalSearchScope.allScope(getProject()));
+	}
+
+	/**
+	 * Returns the unique declaration of the given fully qualified name,
+	 * failing if there is none or more than one.
+	 *
+	 * @param qualifiedName The fully qualified name to look for.
+	 * @return The declaration of the given name.
+	 */
+	private AdaDeclarationPsiElement getQualifiedDeclaration(String qualifiedName) {
+
+		Collection<AdaDeclarationPsiElement> declarations = AdaQualifiedNameIndex.getDeclarations(
+			qualifiedName, getProject(), GlobalSearchScope.allScope(getProject()));
+
+		assertEquals("Declarations of " + qualifiedName, 1, declarations.size());
+
+		return declarations.iterator().next();
+
+	}
+
+	// Test methods
+
+	@Test
+	public void testLibraryLevelDeclarationsAreIndexed() {
+
+		assertEquals(AdaElementType.PACKAGE_SPEC_IDENTIFIER,
+			getQualifiedDeclaration("Counters").getKind());
+		assertEquals(AdaElementType.FUNCTION_IDENTIFIER,
+			getQualifiedDeclaration("Counters.Value").getKind());
+		assertEquals(AdaElementType.PROCEDURE_IDENTIFIER,
+			getQualifiedDeclaration("Counters.Apply").getKind());
+		assertEquals(AdaElementType.VARIABLE_IDENTIFIER,
+			getQualifiedDeclaration("Counters.Instances").getKind());
+
+		AdaDeclarationPsiElement constants = getQualifiedDeclaration("Counters.Min");
+
+		assertEquals(AdaElementType.CONSTANT_IDENTIFIER, constants.getKind());
+		assertOrderedEquals(constants.getNames(), "Max", "Min");
+		assertSame(constants, getQualifiedDeclaration("Counters.Max"));
+
+		// The private type is declared twice in the specification, and
+		// both the function and the package have a spec and a body
+
+		assertEquals(2, getDeclarations("Counter").size());
+		assertEquals(2, getDeclarations("Value").size());
+		assertEquals(2, getDeclarations("Counters").size());
+
+	}
+
+	@Test
+	public void testChildUnitsAndSubunitsAreQualifiedByTheirParent() {
+
+		AdaDeclarationPsiElement child = getQualifiedDeclaration("Counters.Extra");
+
+		assertEquals("Counters", child.getQualifier());
+		assertEquals("Extra", child.getName());
+
+		assertEquals("Counters.Extra", getQualifiedDeclaration("Counters.Extra.Limit").getQualifier());
+		assertEquals(AdaElementType.PROCEDURE_IDENTIFIER,
+			getQualifiedDeclaration("Counters.Reset").getKind());
+
+	}
+
+	@Test
+	public void testDeclarationsAreLookedUpIgnoringCase() {
+
+		assertSame(getQualifiedDeclaration("Counters.Extra"), getQualifiedDeclaration("COUNTERS.extra"));
+		assertEquals(1, getDeclarations("INSTANCES").size());
+		assertEquals("Instances", getDeclarations("instances").iterator().next().getName());
+
+	}
+
+	@Test
+	public void testLocalDeclarationsAreNotIndexed() {
+		assertEmpty(getDeclarations("Local"));
+		assertEmpty(getDeclarations("Element"));
+		assertEmpty(getDeclarations("Current"));
+		assertEmpty(getDeclarations("Overflow"));
+	}
+
+}